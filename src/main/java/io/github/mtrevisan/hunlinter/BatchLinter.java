@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter;
+
+import io.github.mtrevisan.hunlinter.parsers.ParserManager;
+import io.github.mtrevisan.hunlinter.services.Packager;
+import io.github.mtrevisan.hunlinter.services.eventbus.EventBusService;
+import io.github.mtrevisan.hunlinter.services.eventbus.EventHandler;
+import io.github.mtrevisan.hunlinter.services.system.TimeWatch;
+import io.github.mtrevisan.hunlinter.workers.ProjectLoaderWorker;
+import io.github.mtrevisan.hunlinter.workers.autocorrect.AutoCorrectLinterWorker;
+import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerAbstract;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsJSONWriter;
+import io.github.mtrevisan.hunlinter.workers.dictionary.DictionaryLinterWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.DictionaryPassWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.DuplicatesWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.PoSFSAWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.WordCountWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.WordlistFSAWorker;
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
+import io.github.mtrevisan.hunlinter.workers.exceptions.ProjectNotFoundException;
+import io.github.mtrevisan.hunlinter.workers.hyphenation.HyphenationLinterWorker;
+import io.github.mtrevisan.hunlinter.workers.thesaurus.ThesaurusLinterWorker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+
+/**
+ * Headless entry point that loads a project once and runs a selection of workers on it, writing their findings as JSON.
+ * <p>
+ * Usage: {@code BatchLinter <project folder> [--language=<code>] [--tasks=<task>,...] [--format=json|ndjson]
+ * [--output=<file>] [--output-folder=<folder>] [--threads=<n>]}, where the tasks are among {@code dictionary}, {@code thesaurus},
+ * {@code hyphenation}, {@code autocorrect}, {@code duplicates}, {@code word-count}, {@code wordlist-fsa}, and {@code pos-fsa}
+ * (the linters by default).
+ * The {@code dictionary}, {@code duplicates}, {@code word-count}, and {@code wordlist-fsa} tasks, if more than one is selected,
+ * share a single expansion of the dictionary.
+ * The {@code --threads} option bounds the number of threads each task uses (all the available processors by default).
+ * </p>
+ * <p>
+ * The findings are written to the standard output (or to the given file), the log goes to the standard error.
+ * The exit code is {@code 0} if no errors were found, {@code 1} if some were found, {@code 2} if the project cannot be loaded or
+ * the arguments are wrong.
+ * </p>
+ */
+public final class BatchLinter{
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BatchLinter.class);
+
+	private static final int EXIT_SUCCESS = 0;
+	private static final int EXIT_ERRORS_FOUND = 1;
+	private static final int EXIT_FAILURE = 2;
+
+	private static final String OPTION_LANGUAGE = "--language=";
+	private static final String OPTION_TASKS = "--tasks=";
+	private static final String OPTION_FORMAT = "--format=";
+	private static final String OPTION_OUTPUT = "--output=";
+	private static final String OPTION_OUTPUT_FOLDER = "--output-folder=";
+	private static final String OPTION_THREADS = "--threads=";
+
+	private static final long EVENT_BUS_DRAIN_TIMEOUT = 5_000l;
+
+
+	private enum Task{
+		DICTIONARY("dictionary", (parserManager, outputFolder) -> new DictionaryLinterWorker(parserManager, null),
+			(parserManager, outputFolder) -> DictionaryLinterWorker.createInflectionConsumer(parserManager.getAffixData(),
+				parserManager.getChecker())),
+		THESAURUS("thesaurus", (parserManager, outputFolder) -> new ThesaurusLinterWorker(parserManager.getTheParser(),
+			parserManager.getLanguage(), parserManager.getDicParser(), parserManager.getWordGenerator(), null), null),
+		HYPHENATION("hyphenation", (parserManager, outputFolder) -> new HyphenationLinterWorker(parserManager, null), null),
+		AUTO_CORRECT("autocorrect", (parserManager, outputFolder) -> new AutoCorrectLinterWorker(parserManager.getAcoParser(),
+			parserManager.getLanguage(), parserManager.getDicParser(), parserManager.getWordGenerator(), null), null),
+		DUPLICATES("duplicates", (parserManager, outputFolder) -> new DuplicatesWorker(parserManager, null,
+			getDuplicatesFile(parserManager, outputFolder)),
+			(parserManager, outputFolder) -> DuplicatesWorker.createInflectionConsumer(parserManager.getLanguage(),
+				parserManager.getDicParser(), parserManager.getWordGenerator(), getDuplicatesFile(parserManager, outputFolder))),
+		WORD_COUNT("word-count", (parserManager, outputFolder) -> new WordCountWorker(parserManager, null),
+			(parserManager, outputFolder) -> WordCountWorker.createInflectionConsumer(parserManager.getLanguage(),
+				parserManager.getDicParser().getCharset())),
+		WORDLIST_FSA("wordlist-fsa", (parserManager, outputFolder) -> new WordlistFSAWorker(parserManager, null,
+			getWordlistFile(parserManager, outputFolder)),
+			(parserManager, outputFolder) -> WordlistFSAWorker.createInflectionConsumer(parserManager.getAffixData(),
+				parserManager.getDicParser().getCharset(), getWordlistFile(parserManager, outputFolder))),
+		POS_FSA("pos-fsa", (parserManager, outputFolder) -> new PoSFSAWorker(parserManager, null,
+			outputFolder.resolve(parserManager.getLanguage() + "-PoS.dict").toFile()), null);
+
+		private static final List<Task> LINTERS = List.of(DICTIONARY, THESAURUS, HYPHENATION, AUTO_CORRECT);
+
+		private final String code;
+		private final BiFunction<ParserManager, Path, WorkerAbstract<?>> creator;
+		//creator of the receiver of a shared dictionary pass, if the task can take part in one
+		private final BiFunction<ParserManager, Path, InflectionConsumer<?>> consumerCreator;
+
+		Task(final String code, final BiFunction<ParserManager, Path, WorkerAbstract<?>> creator,
+				final BiFunction<ParserManager, Path, InflectionConsumer<?>> consumerCreator){
+			this.code = code;
+			this.creator = creator;
+			this.consumerCreator = consumerCreator;
+		}
+
+		private static File getDuplicatesFile(final ParserManager parserManager, final Path outputFolder){
+			return outputFolder.resolve(parserManager.getLanguage() + "-duplicates.txt")
+				.toFile();
+		}
+
+		private static File getWordlistFile(final ParserManager parserManager, final Path outputFolder){
+			return outputFolder.resolve(parserManager.getLanguage() + "-wordlist.dict")
+				.toFile();
+		}
+
+		static Task fromCode(final String code){
+			for(final Task task : values())
+				if(task.code.equals(code))
+					return task;
+			throw new IllegalArgumentException("Unknown task: " + code);
+		}
+	}
+
+	private record Options(Path projectPath, String language, List<Task> tasks, DiagnosticsJSONWriter.Format format, Path output,
+		Path outputFolder, int threads){}
+
+	//receives the warnings published on the event bus, attributing them to the task currently running
+	static final class WarningsListener{
+		private final DiagnosticsJSONWriter writer;
+		private volatile String task = ProjectLoaderWorker.WORKER_NAME;
+
+		WarningsListener(final DiagnosticsJSONWriter writer){
+			this.writer = writer;
+		}
+
+		void setTask(final String task){
+			this.task = task;
+		}
+
+		@EventHandler
+		@SuppressWarnings("unused")
+		public void parsingWarnings(final LinterWarning warning){
+			final IndexDataPair<?> data = warning.getData();
+			final int index = (data != null? data.getIndex(): -1);
+			final Diagnostic diagnostic = Diagnostic.warning(index, (data != null? data.getData(): null), warning.getMessage());
+			//equal warnings are delivered once, but each one is a finding
+			for(int i = 0; i < warning.getOccurrences(); i ++)
+				writer.write(task, diagnostic);
+		}
+	}
+
+
+	private BatchLinter(){}
+
+
+	public static void main(final String[] args){
+		System.setProperty("java.awt.headless", Boolean.TRUE.toString());
+		//keep the standard output for the findings
+		final PrintStream stdout = System.out;
+		System.setOut(System.err);
+
+		int exitCode;
+		try{
+			final Options options = parseOptions(args);
+			exitCode = run(options, stdout);
+		}
+		catch(final IllegalArgumentException iae){
+			LOGGER.error(iae.getMessage());
+			LOGGER.error("Usage: BatchLinter <project folder> [--language=<code>] [--tasks=<task>,...] [--format=json|ndjson]"
+				+ " [--output=<file>] [--output-folder=<folder>] [--threads=<n>]");
+			exitCode = EXIT_FAILURE;
+		}
+		catch(final IOException | SAXException | ProjectNotFoundException e){
+			LOGGER.error("Cannot load project: {}", e.getMessage());
+			exitCode = EXIT_FAILURE;
+		}
+		catch(final IllegalStateException ise){
+			//the diagnostics written so far are incomplete
+			LOGGER.error(ise.getMessage());
+			exitCode = EXIT_FAILURE;
+		}
+		System.exit(exitCode);
+	}
+
+	private static Options parseOptions(final String[] args){
+		Path projectPath = null;
+		String language = null;
+		List<Task> tasks = Task.LINTERS;
+		DiagnosticsJSONWriter.Format format = DiagnosticsJSONWriter.Format.NDJSON;
+		Path output = null;
+		Path outputFolder = Path.of(".");
+		int threads = 0;
+		for(final String arg : args){
+			if(arg.startsWith(OPTION_LANGUAGE))
+				language = arg.substring(OPTION_LANGUAGE.length());
+			else if(arg.startsWith(OPTION_TASKS)){
+				final String[] codes = arg.substring(OPTION_TASKS.length())
+					.split(",");
+				tasks = new ArrayList<>(codes.length);
+				for(final String code : codes)
+					tasks.add(Task.fromCode(code.trim().toLowerCase(Locale.ROOT)));
+			}
+			else if(arg.startsWith(OPTION_FORMAT))
+				format = DiagnosticsJSONWriter.Format.valueOf(arg.substring(OPTION_FORMAT.length())
+					.toUpperCase(Locale.ROOT));
+			else if(arg.startsWith(OPTION_OUTPUT))
+				output = Path.of(arg.substring(OPTION_OUTPUT.length()));
+			else if(arg.startsWith(OPTION_OUTPUT_FOLDER))
+				outputFolder = Path.of(arg.substring(OPTION_OUTPUT_FOLDER.length()));
+			else if(arg.startsWith(OPTION_THREADS)){
+				threads = Integer.parseInt(arg.substring(OPTION_THREADS.length()));
+				if(threads <= 0)
+					throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+			}
+			else if(arg.startsWith("--") || projectPath != null)
+				throw new IllegalArgumentException("Unknown argument: " + arg);
+			else
+				projectPath = Path.of(arg);
+		}
+		if(projectPath == null)
+			throw new IllegalArgumentException("Missing project folder");
+
+		return new Options(projectPath, language, tasks, format, output, outputFolder, threads);
+	}
+
+	private static int run(final Options options, final PrintStream stdout) throws IOException, SAXException,
+			ProjectNotFoundException{
+		final Packager packager = new Packager();
+		final ParserManager parserManager = new ParserManager(packager);
+
+		packager.reload(options.projectPath);
+		final List<String> availableLanguages = packager.getLanguages();
+		final String language = (options.language != null? options.language
+			: (availableLanguages.isEmpty()? null: availableLanguages.getFirst()));
+		packager.extractConfigurationFolders(language);
+
+		final Writer out = (options.output != null
+			? Files.newBufferedWriter(options.output, StandardCharsets.UTF_8)
+			: new OutputStreamWriter(stdout, StandardCharsets.UTF_8));
+		final DiagnosticsJSONWriter writer = new DiagnosticsJSONWriter(options.format, out);
+		final WarningsListener warningsListener = new WarningsListener(writer);
+		EventBusService.subscribe(warningsListener);
+		try{
+			//load the parsers once, they are shared by all the tasks
+			final int loadErrors = execute(new ProjectLoaderWorker(packager, parserManager, null, null), options.threads, writer, warningsListener);
+			if(loadErrors > 0)
+				return EXIT_FAILURE;
+
+			if(!options.tasks.isEmpty())
+				Files.createDirectories(options.outputFolder);
+			//the tasks that expand the dictionary share a single pass
+			final List<Task> passTasks = new ArrayList<>(0);
+			for(final Task task : options.tasks)
+				if(task.consumerCreator != null)
+					passTasks.add(task);
+			if(passTasks.size() > 1)
+				executeDictionaryPass(passTasks, parserManager, options.outputFolder, options.threads, writer, warningsListener);
+			for(final Task task : options.tasks){
+				if(passTasks.size() > 1 && passTasks.contains(task))
+					continue;
+
+				final WorkerAbstract<?> worker;
+				try{
+					worker = task.creator.apply(parserManager, options.outputFolder);
+				}
+				catch(final RuntimeException re){
+					//e.g. the project lacks the file the task works on
+					writeTaskFailure(task.code, re, writer);
+					continue;
+				}
+				execute(worker, options.threads, writer, warningsListener);
+			}
+
+			waitForPendingEvents();
+			return (writer.getErrors() > 0? EXIT_ERRORS_FOUND: EXIT_SUCCESS);
+		}
+		finally{
+			EventBusService.unsubscribe(warningsListener);
+			writer.close();
+		}
+	}
+
+	private static void executeDictionaryPass(final List<Task> tasks, final ParserManager parserManager, final Path outputFolder,
+			final int threads, final DiagnosticsJSONWriter writer, final WarningsListener warningsListener){
+		final List<InflectionConsumer<?>> consumers = new ArrayList<>(tasks.size());
+		for(final Task task : tasks){
+			try{
+				consumers.add(task.consumerCreator.apply(parserManager, outputFolder));
+			}
+			catch(final RuntimeException re){
+				writeTaskFailure(task.code, re, writer);
+			}
+		}
+		if(!consumers.isEmpty())
+			execute(new DictionaryPassWorker(parserManager, consumers, null), threads, writer, warningsListener);
+	}
+
+	private static void writeTaskFailure(final String task, final Exception exception, final DiagnosticsJSONWriter writer){
+		writer.write(task, Diagnostic.error(-1, null, "Cannot execute task: {}", exception.getMessage()));
+		writer.endTask(task, 0l);
+	}
+
+	/** @return	The number of errors reported by the worker. */
+	private static int execute(final WorkerAbstract<?> worker, final int threads, final DiagnosticsJSONWriter writer,
+			final WarningsListener warningsListener){
+		final String workerName = worker.getWorkerName();
+		warningsListener.setTask(workerName);
+		final int previousErrors = writer.getErrors();
+		worker.getWorkerData()
+			.withParallelism(threads)
+			.withDiagnosticsListener(diagnostic -> writer.write(workerName, diagnostic));
+
+		final TimeWatch watch = TimeWatch.start();
+		worker.executeSynchronously();
+		watch.stop();
+
+		waitForPendingEvents();
+		writer.endTask(workerName, watch.time(TimeUnit.MILLISECONDS));
+		return writer.getErrors() - previousErrors;
+	}
+
+	//warnings are delivered asynchronously by the event bus
+	private static void waitForPendingEvents(){
+		final long start = System.currentTimeMillis();
+		while(EventBusService.hasPendingEvents()){
+			if(System.currentTimeMillis() - start >= EVENT_BUS_DRAIN_TIMEOUT)
+				throw new IllegalStateException("Event bus not drained within " + EVENT_BUS_DRAIN_TIMEOUT
+					+ " ms, the warnings of the current task may be incomplete");
+
+			try{
+				Thread.sleep(10l);
+			}
+			catch(final InterruptedException ie){
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the event bus to drain", ie);
+			}
+		}
+	}
+
+}
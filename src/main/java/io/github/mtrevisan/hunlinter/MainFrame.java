@@ -34,6 +34,7 @@ import io.github.mtrevisan.hunlinter.gui.dialogs.FileDownloaderDialog;
 import io.github.mtrevisan.hunlinter.gui.dialogs.FontChooserDialog;
 import io.github.mtrevisan.hunlinter.gui.events.LoadProjectEvent;
 import io.github.mtrevisan.hunlinter.gui.events.PreLoadProjectEvent;
+import io.github.mtrevisan.hunlinter.gui.events.ReloadComponentEvent;
 import io.github.mtrevisan.hunlinter.gui.events.TabbedPaneEnableEvent;
 import io.github.mtrevisan.hunlinter.gui.panes.AutoCorrectLayeredPane;
 import io.github.mtrevisan.hunlinter.gui.panes.CompoundsLayeredPane;
@@ -81,6 +82,7 @@ import javax.swing.JFrame;
 import javax.swing.JLayeredPane;
 import javax.swing.KeyStroke;
 import javax.swing.MenuSelectionManager;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
@@ -133,6 +135,10 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 	private static final Logger LOGGER = LoggerFactory.getLogger(MainFrame.class);
 
 	public static final Integer ACTION_COMMAND_INITIALIZE = 0;
+	public static final Integer ACTION_COMMAND_INITIALIZE_AID = 1;
+	public static final Integer ACTION_COMMAND_INITIALIZE_HYPHENATION = 2;
+	public static final Integer ACTION_COMMAND_INITIALIZE_SENTENCE_EXCEPTIONS = 3;
+	public static final Integer ACTION_COMMAND_INITIALIZE_WORD_EXCEPTIONS = 4;
 	public static final Integer ACTION_COMMAND_GUI_CLEAR_ALL = 10;
 	public static final Integer ACTION_COMMAND_GUI_CLEAR_DICTIONARY = 11;
 	public static final Integer ACTION_COMMAND_GUI_CLEAR_AID = 12;
@@ -262,6 +268,7 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
       dicMenu = new javax.swing.JMenu();
       dicLinterMenuItem = new javax.swing.JMenuItem();
       dicSortDictionaryMenuItem = new javax.swing.JMenuItem();
+      dicSortAllSectionsMenuItem = new javax.swing.JMenuItem();
       dicRulesReducerMenuItem = new javax.swing.JMenuItem();
 		dicAffixExtractionMenuItem = new javax.swing.JMenuItem();
       dicDuplicatesSeparator = new javax.swing.JPopupMenu.Separator();
@@ -372,6 +379,11 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
       dicSortDictionaryMenuItem.setText("Sort dictionary…");
       dicMenu.add(dicSortDictionaryMenuItem);
 
+      dicSortAllSectionsMenuItem.setAction(new DictionarySortAllAction(parserManager, workerManager, this));
+      dicSortAllSectionsMenuItem.setMnemonic('a');
+      dicSortAllSectionsMenuItem.setText("Sort all sections");
+      dicMenu.add(dicSortAllSectionsMenuItem);
+
       dicRulesReducerMenuItem.setAction(new AffixRulesReducerAction(parserManager));
       dicRulesReducerMenuItem.setMnemonic('r');
       dicRulesReducerMenuItem.setText("Rules reducer…");
@@ -653,6 +665,19 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 		projectLoaderAction.actionPerformed(event);
 	}
 
+	@EventHandler
+	@SuppressWarnings("unused")
+	public final void reloadComponent(final ReloadComponentEvent reloadComponentEvent){
+		final Path path = reloadComponentEvent.getPath();
+		//workers are started and ended on the EDT, so checking for them there leaves no window for a new one to start
+		SwingUtilities.invokeLater(() -> {
+			if(WorkerManager.isAnyWorkerRunning())
+				parserManager.postponeReloadComponent(path);
+			else
+				parserManager.reloadComponent(path);
+		});
+	}
+
 	@EventHandler
 	@SuppressWarnings("unused")
 	public final void loadFileInternal(final BusExceptionEvent exceptionEvent){
@@ -678,15 +703,19 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 	public static void parsingWarnings(final LinterWarning warningEvent){
 		final String errorMessage = ExceptionHelper.getMessage(warningEvent);
 		final Object eventData = warningEvent.getData();
+		//equal warnings published close together are delivered once
+		final int occurrences = warningEvent.getOccurrences();
+		final String occurrencesText = (occurrences > 1? " (" + occurrences + " times)": StringUtils.EMPTY);
 		if(eventData != null){
 			final int eventIndex = warningEvent.getIndex();
 			final String lineText = (eventIndex >= 0? ", line " + (eventIndex + 1): StringUtils.EMPTY);
-			LOGGER.trace("WARN: {}{}: {}", errorMessage, lineText, eventData);
-			LOGGER.warn(ParserManager.MARKER_APPLICATION, "WARN: {}{}: {}", warningEvent.getMessage(), lineText, eventData);
+			LOGGER.trace("WARN: {}{}: {}{}", errorMessage, lineText, eventData, occurrencesText);
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "WARN: {}{}: {}{}", warningEvent.getMessage(), lineText, eventData,
+				occurrencesText);
 		}
 		else{
-			LOGGER.trace("WARN: {}", errorMessage);
-			LOGGER.warn(ParserManager.MARKER_APPLICATION, "WARN: {}", warningEvent.getMessage());
+			LOGGER.trace("WARN: {}{}", errorMessage, occurrencesText);
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "WARN: {}{}", warningEvent.getMessage(), occurrencesText);
 		}
 	}
 
@@ -698,6 +727,7 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 //			filFontMenuItem.setEnabled(true);
 			dicLinterMenuItem.setEnabled(true);
 			dicSortDictionaryMenuItem.setEnabled(true);
+			dicSortAllSectionsMenuItem.setEnabled(true);
 			dicMenu.setEnabled(true);
 
 
@@ -760,6 +790,32 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 		parserManager.startFileListener();
 	}
 
+	@EventHandler
+	@SuppressWarnings({"unused", "NumberEquality"})
+	public final void componentReloaded(final Integer actionCommand){
+		if(actionCommand == ACTION_COMMAND_INITIALIZE_HYPHENATION){
+			hypMenu.setEnabled(parserManager.getHyphenator() != null);
+			EventBusService.publish(new TabbedPaneEnableEvent(hypLayeredPane, hypMenu.isEnabled()));
+		}
+		else if(actionCommand == ACTION_COMMAND_INITIALIZE_SENTENCE_EXCEPTIONS)
+			EventBusService.publish(new TabbedPaneEnableEvent(sexLayeredPane,
+				(parserManager.getSexParser().getExceptionsCounter() > 0)));
+		else if(actionCommand == ACTION_COMMAND_INITIALIZE_WORD_EXCEPTIONS)
+			EventBusService.publish(new TabbedPaneEnableEvent(wexLayeredPane,
+				(parserManager.getWexParser().getExceptionsCounter() > 0)));
+	}
+
+	@EventHandler
+	@SuppressWarnings({"unused", "NumberEquality"})
+	public final void relintDictionary(final Integer actionCommand){
+		if(actionCommand != ACTION_COMMAND_PARSER_RELOAD_DICTIONARY)
+			return;
+
+		//check only the lines changed since the last lint, if the user has linted the dictionary already
+		((DictionaryLinterAction)dicLinterMenuItem.getAction())
+			.relintChangedLines();
+	}
+
 	private void loadLanguageDependentFont(){
 		final String language = parserManager.getLanguage();
 		final String fontFamilyName = preferences.get(FONT_FAMILY_NAME_PREFIX + language, null);
@@ -947,6 +1003,9 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
 				if(stateValue == SwingWorker.StateValue.DONE){
 					final String workerName = ((WorkerAbstract<?>)evt.getSource()).getWorkerName();
 					WorkerManager.callOnEnd(workerName);
+
+					if(!WorkerManager.isAnyWorkerRunning())
+						parserManager.reloadPostponedComponents();
 				}
 			}
 			case WorkerAbstract.PROPERTY_WORKER_CANCELLED -> mainProgressBar.setForeground(MultiProgressBarUI.ERROR_COLOR);
@@ -1022,6 +1081,7 @@ public class MainFrame extends JFrame implements ActionListener, PropertyChangeL
    private javax.swing.JMenuItem dicRulesReducerMenuItem;
    private javax.swing.JMenuItem dicAffixExtractionMenuItem;
    private javax.swing.JMenuItem dicSortDictionaryMenuItem;
+   private javax.swing.JMenuItem dicSortAllSectionsMenuItem;
    private javax.swing.JMenuItem dicStatisticsMenuItem;
    private javax.swing.JPopupMenu.Separator dicStatisticsSeparator;
    private javax.swing.JMenuItem dicWordCountMenuItem;
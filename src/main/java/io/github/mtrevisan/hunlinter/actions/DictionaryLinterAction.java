@@ -25,6 +25,7 @@
 package io.github.mtrevisan.hunlinter.actions;
 
 import io.github.mtrevisan.hunlinter.workers.WorkerManager;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerAbstract;
 
 import javax.swing.AbstractAction;
 import javax.swing.ImageIcon;
@@ -68,22 +69,27 @@ public class DictionaryLinterAction extends AbstractAction{
 	public final void actionPerformed(final ActionEvent event){
 		MenuSelectionManager.defaultManager().clearSelectedPath();
 
-		workerManager.createDictionaryLinterWorker(
-			worker -> {
-				setEnabled(false);
-
-				worker.addPropertyChangeListener(propertyChangeListener);
-				worker.execute();
-			},
-			worker -> {
-				//change color of progress bar to reflect an error
-				if(worker.isCancelled())
-					propertyChangeListener.propertyChange(worker.propertyChangeEventWorkerCancelled);
-
-				setEnabled(true);
-			},
-			onCancelled
-		);
+		workerManager.createDictionaryLinterWorker(this::onStart, this::onEnd, onCancelled);
+	}
+
+	/** Re-lint the lines of the dictionary changed since the last lint, if the dictionary was already linted. */
+	public final void relintChangedLines(){
+		workerManager.createIncrementalDictionaryLinterWorker(this::onStart, this::onEnd, onCancelled);
+	}
+
+	private void onStart(final WorkerAbstract<?> worker){
+		setEnabled(false);
+
+		worker.addPropertyChangeListener(propertyChangeListener);
+		worker.execute();
+	}
+
+	private void onEnd(final WorkerAbstract<?> worker){
+		//change color of progress bar to reflect an error
+		if(worker.isCancelled())
+			propertyChangeListener.propertyChange(worker.propertyChangeEventWorkerCancelled);
+
+		setEnabled(true);
 	}
 
 
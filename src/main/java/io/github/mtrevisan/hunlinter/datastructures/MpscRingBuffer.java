@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/**
+ * A bounded, lock-free, multiple-producer single-consumer FIFO queue backed by a ring buffer.
+ * <p>
+ * Each slot carries a sequence number telling whether it is free for the producer of a given round or filled for the consumer,
+ * so that producers only contend on a single counter and the consumer never contends at all.
+ * </p>
+ * <p>
+ * NOTE: {@link #poll()} and {@link #drain(Consumer, int)} must be called by a single thread at a time.
+ * </p>
+ *
+ * @param <E>	The type of the elements.
+ * @see <a href="https://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">Bounded MPMC queue</a>
+ */
+public class MpscRingBuffer<E>{
+
+	private static final int SPINS_BEFORE_PARKING = 100;
+	private static final long PARK_NANOS = 10_000l;
+
+
+	private final int mask;
+	private final AtomicReferenceArray<E> elements;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+
+	/**
+	 * @param capacity	The maximum number of elements, rounded up to the next power of two.
+	 */
+	public MpscRingBuffer(final int capacity){
+		if(capacity <= 0 || capacity > (1 << 30))
+			throw new IllegalArgumentException("Capacity must be between 1 and 2^30, was " + capacity);
+
+		final int size = (capacity == 1? 1: Integer.highestOneBit(capacity - 1) << 1);
+		mask = size - 1;
+		elements = new AtomicReferenceArray<>(size);
+		sequences = new AtomicLongArray(size);
+		for(int i = 0; i < size; i ++)
+			sequences.set(i, i);
+	}
+
+	public final int capacity(){
+		return mask + 1;
+	}
+
+	/**
+	 * Inserts the given element, if there is room for it.
+	 *
+	 * @param element	The element to be inserted.
+	 * @return	Whether the element was inserted.
+	 */
+	public final boolean offer(final E element){
+		Objects.requireNonNull(element, "Element cannot be null");
+
+		while(true){
+			final long position = tail.get();
+			final int index = (int)(position & mask);
+			final long difference = sequences.get(index) - position;
+			if(difference == 0l){
+				if(tail.compareAndSet(position, position + 1)){
+					elements.lazySet(index, element);
+					//publish the element to the consumer
+					sequences.set(index, position + 1);
+					return true;
+				}
+			}
+			else if(difference < 0l)
+				//the slot of this round is still to be consumed: the buffer is full
+				return false;
+			//else another producer has taken the slot, retry with the next one
+		}
+	}
+
+	/**
+	 * Inserts the given element, waiting for room to become available.
+	 *
+	 * @param element	The element to be inserted.
+	 */
+	public final void put(final E element){
+		int spins = 0;
+		while(!offer(element)){
+			if(spins < SPINS_BEFORE_PARKING){
+				Thread.onSpinWait();
+				spins ++;
+			}
+			else
+				LockSupport.parkNanos(this, PARK_NANOS);
+		}
+	}
+
+	/**
+	 * Retrieves and removes the first element.
+	 *
+	 * @return	The first element, or {@code null} if the buffer is empty.
+	 */
+	public final E poll(){
+		final long position = head;
+		final int index = (int)(position & mask);
+		if(sequences.get(index) != position + 1)
+			return null;
+
+		final E element = elements.get(index);
+		elements.lazySet(index, null);
+		//hand the slot to the producers of the next round
+		sequences.set(index, position + mask + 1);
+		head = position + 1;
+		return element;
+	}
+
+	/**
+	 * Retrieves and removes at most the given number of elements.
+	 *
+	 * @param consumer	The receiver of the elements, in insertion order.
+	 * @param limit	The maximum number of elements to remove.
+	 * @return	The number of elements removed.
+	 */
+	public final int drain(final Consumer<? super E> consumer, final int limit){
+		int count = 0;
+		E element;
+		while(count < limit && (element = poll()) != null){
+			consumer.accept(element);
+			count ++;
+		}
+		return count;
+	}
+
+	public final boolean isEmpty(){
+		return (tail.get() == head);
+	}
+
+	public final int size(){
+		return (int)Math.max(tail.get() - head, 0l);
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.dynamicarray;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Append-only array of primitive ints that can be filled by several threads without locking.
+ * <p>
+ * Each thread appends into a chunk of its own; once full, the chunk is published atomically and the thread starts a new one.
+ * Elements appended by the same thread keep their relative order, while there is no order between elements appended by different
+ * threads.
+ * </p>
+ * <p>
+ * NOTE: the reading methods see the chunks not yet full only if called after all the appending threads have finished (e.g. after
+ * the parallel stream that fills the array has completed).
+ * </p>
+ */
+public final class ConcurrentDynamicIntArray{
+
+	private static final int CHUNK_SIZE_DEFAULT = 1024;
+
+
+	/** A chunk being filled, accessed only by its owner thread. */
+	private static final class Chunk{
+		private int[] data;
+		private int size;
+
+		Chunk(final int capacity){
+			data = new int[capacity];
+		}
+	}
+
+
+	private final int chunkSize;
+	/** The full chunks, in publication order. */
+	private final Queue<int[]> published = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger publishedCount = new AtomicInteger();
+	/** The chunks being filled, one per appending thread. */
+	private final Queue<Chunk> chunks = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Chunk> localChunk = ThreadLocal.withInitial(this::createChunk);
+
+
+	public ConcurrentDynamicIntArray(){
+		this(CHUNK_SIZE_DEFAULT);
+	}
+
+	/**
+	 * @param chunkSize	The number of elements each thread accumulates before publishing them.
+	 */
+	public ConcurrentDynamicIntArray(final int chunkSize){
+		if(chunkSize <= 0)
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+
+		this.chunkSize = chunkSize;
+	}
+
+	private Chunk createChunk(){
+		final Chunk chunk = new Chunk(chunkSize);
+		chunks.add(chunk);
+		return chunk;
+	}
+
+	public void add(final int x){
+		final Chunk chunk = localChunk.get();
+		chunk.data[chunk.size ++] = x;
+
+		if(chunk.size == chunkSize){
+			published.add(chunk.data);
+			publishedCount.incrementAndGet();
+
+			chunk.data = new int[chunkSize];
+			chunk.size = 0;
+		}
+	}
+
+	public int size(){
+		int size = publishedCount.get() * chunkSize;
+		for(final Chunk chunk : chunks)
+			size += chunk.size;
+		return size;
+	}
+
+	public boolean isEmpty(){
+		return (size() == 0);
+	}
+
+	/**
+	 * Performs the given action for each element, without boxing.
+	 *
+	 * @param action	The action to be performed for each element.
+	 */
+	public void forEach(final IntConsumer action){
+		for(final int[] data : published)
+			for(int i = 0; i < chunkSize; i ++)
+				action.accept(data[i]);
+		for(final Chunk chunk : chunks)
+			for(int i = 0; i < chunk.size; i ++)
+				action.accept(chunk.data[i]);
+	}
+
+	/**
+	 * @return	A new array containing all the elements.
+	 */
+	public int[] toArray(){
+		final int[] array = new int[size()];
+		int offset = 0;
+		for(final int[] data : published){
+			System.arraycopy(data, 0, array, offset, chunkSize);
+			offset += chunkSize;
+		}
+		for(final Chunk chunk : chunks){
+			System.arraycopy(chunk.data, 0, array, offset, chunk.size);
+			offset += chunk.size;
+		}
+		return array;
+	}
+
+}
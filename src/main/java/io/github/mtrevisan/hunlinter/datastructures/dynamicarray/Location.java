@@ -25,19 +25,21 @@
 package io.github.mtrevisan.hunlinter.datastructures.dynamicarray;
 
 
-class Location{
+final class Location{
 
-	private static final double LN2 = Math.log(2.);
-
-	final int block;
-	final int element;
+	private Location(){}
 
+	/** Returns the index of the Block containing the element at the given index. */
+	static int block(final int index){
+		final int r = index + 1;
+		final int k = log2(r);
+		return computeP(k) + computeDataBlock(r, k);
+	}
 
-	Location(final int index){
+	/** Returns the position, inside its Block, of the element at the given index. */
+	static int element(final int index){
 		final int r = index + 1;
-		final int k = (int)log2(r);
-		block = computeP(k) + computeDataBlock(r, k);
-		element = computeElement(r, k);
+		return computeElement(r, log2(r));
 	}
 
 	/** Helper method computing `p`, the number of data block in superblock prior to superblock `k`. */
@@ -80,9 +82,9 @@ class Location{
 		return r & mask;
 	}
 
-	/** Returns the log base 2 of n. */
-	private static double log2(final int n){
-		return (Math.log(n) / LN2);
+	/** Returns the floor of the log base 2 of n. */
+	static int log2(final int n){
+		return 31 - Integer.numberOfLeadingZeros(n);
 	}
 
 	/** Returns a mask of `N` 1 bits. */
@@ -26,7 +26,7 @@ package io.github.mtrevisan.hunlinter.datastructures.fsa;
 
 import com.carrotsearch.hppcrt.IntSet;
 import com.carrotsearch.hppcrt.sets.IntHashSet;
-import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.DynamicIntArray;
+import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.UnsyncDynamicIntArray;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSAFlags;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.lookup.ByteSequenceIterator;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.FSAHeader;
@@ -35,6 +35,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Locale;
@@ -187,12 +191,12 @@ public abstract class FSAAbstract implements Iterable<ByteBuffer>{
 	 * @param v   Visitor to receive traversal calls.
 	 */
 	public final void visitPostOrder(final StateVisitor v){
-		final DynamicIntArray stack = new DynamicIntArray();
+		final UnsyncDynamicIntArray stack = new UnsyncDynamicIntArray();
 		//push root node to first stack
 		stack.push(getRootNode());
 
 		//post-order traversal stack
-		final DynamicIntArray out = new DynamicIntArray();
+		final UnsyncDynamicIntArray out = new UnsyncDynamicIntArray();
 
 		//loop while first stack is not empty
 		while(!stack.isEmpty()){
@@ -250,6 +254,20 @@ public abstract class FSAAbstract implements Iterable<ByteBuffer>{
 		};
 	}
 
+	/**
+	 * A factory for reading automata in any of the supported versions from a memory-mapped file.
+	 *
+	 * @param path	The file to read automaton data from.
+	 * @return	Returns an instantiated automaton. Never null.
+	 * @throws IOException	If the file does not represent an automaton or is otherwise invalid.
+	 */
+	public static FSAAbstract read(final Path path) throws IOException{
+		try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return read(new ByteBufferInputStream(buffer));
+		}
+	}
+
 	/**
 	 * A factory for reading a specific FSA subclass, including proper casting.
 	 *
@@ -270,4 +288,31 @@ public abstract class FSAAbstract implements Iterable<ByteBuffer>{
 		return clazz.cast(fsa);
 	}
 
+
+	private static final class ByteBufferInputStream extends InputStream{
+
+		private final ByteBuffer buffer;
+
+
+		private ByteBufferInputStream(final ByteBuffer buffer){
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read(){
+			return (buffer.hasRemaining()? buffer.get() & 0xFF: -1);
+		}
+
+		@Override
+		public int read(final byte[] bytes, final int offset, final int length){
+			if(!buffer.hasRemaining())
+				return -1;
+
+			final int size = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, size);
+			return size;
+		}
+
+	}
+
 }
@@ -32,6 +32,10 @@ import java.util.Set;
 
 /**
  * An FSA with constant-size arc representation produced directly by {@link FSABuilder}.
+ * <p>
+ * Nodes and arcs are identified by the index of their (first) arc, so an {@code int} identifier addresses up to
+ * {@code ARC_SIZE * 2^31} bytes.
+ * </p>
  *
  * @see FSABuilder
  * @see "org.carrot2.morfologik-parent, 2.1.7-SNAPSHOT, 2020-01-02"
@@ -53,7 +57,7 @@ public class ConstantArcSizeFSA extends FSAAbstract{
 	/** Offset of the address field inside an arc. */
 	public static final int ADDRESS_OFFSET = LABEL_OFFSET + LABEL_SIZE;
 
-	/** A dummy address of the terminal state. */
+	/** A dummy index of the terminal state. */
 	static final int TERMINAL_STATE = 0;
 
 	/** An arc flag indicating the arc is last within its state. */
@@ -66,14 +70,14 @@ public class ConstantArcSizeFSA extends FSAAbstract{
 	 * root or to the terminal state, indicating an empty automaton.
 	 */
 	private final int epsilon;
-	/** FSA data, serialized as a byte array. */
-	private final byte[] data;
+	/** FSA data, arcs are addressed by their index. */
+	private final PagedByteStore data;
 
 
 	/**
-	 * @param data FSA data. There must be no trailing bytes after the last state.
+	 * @param data FSA data.
 	 */
-	ConstantArcSizeFSA(final byte[] data, final int epsilon){
+	ConstantArcSizeFSA(final PagedByteStore data, final int epsilon){
 		if(epsilon != 0)
 			throw new IllegalArgumentException("Epsilon is not zero: " + epsilon);
 
@@ -98,21 +102,17 @@ public class ConstantArcSizeFSA extends FSAAbstract{
 
 	@Override
 	public final byte getArcLabel(final int arc){
-		return data[arc + LABEL_OFFSET];
+		return data.get(address(arc) + LABEL_OFFSET);
 	}
 
-	/** Returns the address of an arc. */
-	private int getArcTarget(int arc){
-		arc += ADDRESS_OFFSET;
-		return (data[arc]) << 24
-			| (data[arc + 1] & 0xFF) << 16
-			| (data[arc + 2] & 0xFF) << 8
-			| (data[arc + 3] & 0xFF);
+	/** Returns the target state index of an arc. */
+	private int getArcTarget(final int arc){
+		return data.getInt(address(arc) + ADDRESS_OFFSET);
 	}
 
 	@Override
 	public final boolean isArcFinal(final int arc){
-		return ((data[arc + FLAGS_OFFSET] & BIT_ARC_FINAL) != 0);
+		return ((data.get(address(arc) + FLAGS_OFFSET) & BIT_ARC_FINAL) != 0);
 	}
 
 	@Override
@@ -121,7 +121,7 @@ public class ConstantArcSizeFSA extends FSAAbstract{
 	}
 
 	private boolean isArcLast(final int arc){
-		return (data[arc + FLAGS_OFFSET] & BIT_ARC_LAST) != 0;
+		return (data.get(address(arc) + FLAGS_OFFSET) & BIT_ARC_LAST) != 0;
 	}
 
 	@Override
@@ -134,8 +134,13 @@ public class ConstantArcSizeFSA extends FSAAbstract{
 		return Collections.emptySet();
 	}
 
-	private static int skipArc(final int offset){
-		return offset + ARC_SIZE;
+	private static int skipArc(final int arc){
+		return arc + 1;
+	}
+
+	/** Returns the byte address of the arc with the given index. */
+	static long address(final int arc){
+		return (long)arc * ARC_SIZE;
 	}
 
 }
@@ -0,0 +1,506 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import io.github.mtrevisan.hunlinter.services.sorters.externalsorter.LoserTree;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Collects byte sequences within a fixed memory budget and gives them back sorted in byte-lexicographic order and without
+ * duplicates, as required by {@link FSABuilder#add(byte[])}.
+ * <p>
+ * Whenever the sequences kept in memory exceed the budget, they are sorted and spilled to a temporary run file; the runs,
+ * together with the sequences still in memory, are then merged with a {@link LoserTree}.
+ * </p>
+ * <p>
+ * The sorted sequences can also be split into {@link Partition partitions} by ranges of their leading byte, each of which can be
+ * merged independently of (and concurrently with) the others.
+ * </p>
+ * <p>
+ * The collecting methods are thread-safe; a full buffer is sorted and spilled outside the lock, so the other threads can keep
+ * adding sequences in the meantime.
+ * </p>
+ */
+public final class ExternalSequenceSorter implements Closeable{
+
+	/** Estimated heap occupation of a {@code byte[]} beside its content (header, padding, and the reference to it). */
+	private static final int SEQUENCE_OVERHEAD = 24;
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int RUN_BUFFER_SIZE = 65_536;
+	private static final long MEMORY_BUDGET_MIN = 16 * 1024 * 1024;
+	/** Number of distinct leading bytes (the empty sequence is counted within the leading byte zero). */
+	private static final int LEADING_BYTES = 256;
+
+	private static final Comparator<byte[]> COMPARATOR = LexicographicalComparator.lexicographicalComparator();
+
+
+	/**
+	 * A run spilled to disk.
+	 *
+	 * @param file	The file of the run.
+	 * @param offsets	The offset in the file of the first sequence for each leading byte (the last entry is the file length).
+	 * @param indexes	The index of the first sequence for each leading byte (the last entry is the number of sequences).
+	 */
+	private record Run(File file, long[] offsets, int[] indexes){}
+
+	/**
+	 * The sequences whose leading byte lies in a given range.
+	 */
+	public static final class Partition{
+		private final List<Run> runs;
+		private final byte[][] sequences;
+		private final int fromLeadingByte;
+		private final int toLeadingByte;
+		private final long size;
+
+		private Partition(final List<Run> runs, final byte[][] sequences, final int fromLeadingByte, final int toLeadingByte,
+				final long size){
+			this.runs = runs;
+			this.sequences = sequences;
+			this.fromLeadingByte = fromLeadingByte;
+			this.toLeadingByte = toLeadingByte;
+			this.size = size;
+		}
+
+		/**
+		 * @return	The number of sequences added to this partition, duplicates included.
+		 */
+		public long size(){
+			return size;
+		}
+
+		/**
+		 * Feeds all the distinct sequences of this partition, in byte-lexicographic order, to the given action.
+		 *
+		 * @param action	The action that receives the sequences (e.g. {@link FSABuilder#add(byte[])}).
+		 * @throws IOException	If a run cannot be read.
+		 */
+		public void forEachSorted(final Consumer<byte[]> action) throws IOException{
+			final int runsCount = runs.size();
+			final SequenceSource[] sources = new SequenceSource[runsCount + 1];
+			try{
+				for(int i = 0; i < runsCount; i ++)
+					sources[i] = new RunSource(runs.get(i), fromLeadingByte, toLeadingByte);
+				sources[runsCount] = new MemorySource(sequences, lowerBound(sequences, fromLeadingByte),
+					lowerBound(sequences, toLeadingByte));
+
+				final LoserTree tree = new LoserTree(sources.length,
+					(source1, source2) -> COMPARATOR.compare(sources[source1].peek(), sources[source2].peek()),
+					source -> sources[source].peek() == null);
+				byte[] previous = null;
+				int winner;
+				while((winner = tree.winner()) >= 0){
+					final byte[] sequence = sources[winner].peek();
+					if(previous == null || !Arrays.equals(sequence, previous)){
+						action.accept(sequence);
+
+						previous = sequence;
+					}
+
+					sources[winner].next();
+					tree.replay();
+				}
+			}
+			finally{
+				for(int i = 0; i < sources.length; i ++)
+					if(sources[i] != null)
+						sources[i].close();
+			}
+		}
+	}
+
+	private interface SequenceSource extends Closeable{
+		/** @return	The current sequence, or {@code null} if the source is exhausted. */
+		byte[] peek();
+
+		void next() throws IOException;
+	}
+
+	private static final class MemorySource implements SequenceSource{
+		private final byte[][] sequences;
+		private final int end;
+		private int index;
+
+		MemorySource(final byte[][] sequences, final int start, final int end){
+			this.sequences = sequences;
+			this.end = end;
+			index = start;
+		}
+
+		@Override
+		public byte[] peek(){
+			return (index < end? sequences[index]: null);
+		}
+
+		@Override
+		public void next(){
+			index ++;
+		}
+
+		@Override
+		public void close(){}
+	}
+
+	private static final class RunSource implements SequenceSource{
+		private final DataInputStream is;
+		private int remaining;
+		private byte[] current;
+
+		RunSource(final Run run, final int fromLeadingByte, final int toLeadingByte) throws IOException{
+			final FileChannel channel = FileChannel.open(run.file.toPath(), StandardOpenOption.READ);
+			channel.position(run.offsets[fromLeadingByte]);
+			is = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), RUN_BUFFER_SIZE));
+			remaining = run.indexes[toLeadingByte] - run.indexes[fromLeadingByte];
+			next();
+		}
+
+		@Override
+		public byte[] peek(){
+			return current;
+		}
+
+		@Override
+		public void next() throws IOException{
+			if(remaining == 0){
+				current = null;
+				return;
+			}
+
+			current = new byte[is.readInt()];
+			is.readFully(current);
+			remaining --;
+		}
+
+		@Override
+		public void close() throws IOException{
+			is.close();
+		}
+	}
+
+
+	private final long memoryBudget;
+
+	/** The sequences in memory, the first {@link #sequencesCount} of which are meaningful. */
+	private byte[][] sequences = new byte[INITIAL_CAPACITY][];
+	private int sequencesCount;
+	private long memoryUsed;
+	private long size;
+	/** Number of sequences added for each leading byte, duplicates included. */
+	private final long[] leadingByteCounts = new long[LEADING_BYTES];
+	private final List<Run> runs = new ArrayList<>(0);
+	/** Number of buffers being spilled outside the lock. */
+	private int pendingSpills;
+	/** Incremented on {@link #close()}, so that the runs of the spills still in progress are discarded. */
+	private int generation;
+
+
+	/**
+	 * Creates a sorter whose budget is a fraction of the currently available memory.
+	 *
+	 * @return	The sorter.
+	 */
+	public static ExternalSequenceSorter withAvailableMemory(){
+		return new ExternalSequenceSorter(Math.max(JavaHelper.estimateAvailableMemory() >> 2, MEMORY_BUDGET_MIN));
+	}
+
+	/**
+	 * @param memoryBudget	The maximum number of bytes the sequences kept in memory can occupy before being spilled to disk.
+	 */
+	public ExternalSequenceSorter(final long memoryBudget){
+		if(memoryBudget <= 0)
+			throw new IllegalArgumentException("Memory budget must be positive");
+
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Adds a sequence, spilling the sequences in memory to disk if the budget is exceeded.
+	 *
+	 * @param sequence	The sequence to be added.
+	 * @throws UncheckedIOException	If the sequences cannot be spilled to disk.
+	 */
+	public void add(final byte[] sequence){
+		final byte[][] fullSequences;
+		final int spillGeneration;
+		synchronized(this){
+			store(sequence);
+
+			fullSequences = detachIfFull();
+			spillGeneration = generation;
+		}
+		if(fullSequences != null)
+			spill(fullSequences, spillGeneration);
+	}
+
+	/**
+	 * Adds the given sequences, spilling the sequences in memory to disk if the budget is exceeded.
+	 *
+	 * @param sequences	The sequences to be added.
+	 * @throws UncheckedIOException	If the sequences cannot be spilled to disk.
+	 */
+	public void addAll(final Collection<byte[]> sequences){
+		final byte[][] fullSequences;
+		final int spillGeneration;
+		synchronized(this){
+			for(final byte[] sequence : sequences)
+				store(sequence);
+
+			fullSequences = detachIfFull();
+			spillGeneration = generation;
+		}
+		if(fullSequences != null)
+			spill(fullSequences, spillGeneration);
+	}
+
+	private void store(final byte[] sequence){
+		if(sequencesCount == sequences.length)
+			sequences = Arrays.copyOf(sequences, sequences.length + (sequences.length >> 1));
+		sequences[sequencesCount ++] = sequence;
+		memoryUsed += sequence.length + SEQUENCE_OVERHEAD;
+		leadingByteCounts[leadingByte(sequence)] ++;
+		size ++;
+	}
+
+	/**
+	 * Hands over the sequences in memory if the budget is exceeded, the caller being in charge of spilling them (outside the
+	 * lock).
+	 *
+	 * @return	The sequences to be spilled, or {@code null} if the budget is not exceeded.
+	 */
+	private byte[][] detachIfFull(){
+		if(memoryUsed < memoryBudget)
+			return null;
+
+		final byte[][] fullSequences = Arrays.copyOf(sequences, sequencesCount);
+		sequences = new byte[INITIAL_CAPACITY][];
+		sequencesCount = 0;
+		memoryUsed = 0l;
+		pendingSpills ++;
+		return fullSequences;
+	}
+
+	/**
+	 * @return	The number of sequences added, duplicates included.
+	 */
+	public synchronized long size(){
+		return size;
+	}
+
+	/**
+	 * @return	The number of runs spilled to disk so far.
+	 */
+	public synchronized int getRunsCount(){
+		return runs.size();
+	}
+
+	private static int leadingByte(final byte[] sequence){
+		return (sequence.length > 0? sequence[0] & 0xFF: 0);
+	}
+
+	/** Returns the index of the first sequence whose leading byte is not less than the given one. */
+	private static int lowerBound(final byte[][] sequences, final int leadingByte){
+		int low = 0;
+		int high = sequences.length;
+		while(low < high){
+			final int middle = (low + high) >>> 1;
+			if(leadingByte(sequences[middle]) < leadingByte)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private void spill(final byte[][] fullSequences, final int spillGeneration){
+		Run run = null;
+		try{
+			run = writeRun(fullSequences, sortAndRemoveDuplicates(fullSequences, fullSequences.length));
+		}
+		finally{
+			synchronized(this){
+				if(run != null){
+					if(spillGeneration == generation)
+						runs.add(run);
+					else
+						run.file.delete();
+				}
+				pendingSpills --;
+				notifyAll();
+			}
+		}
+	}
+
+	private static Run writeRun(final byte[][] sequences, final int count){
+		try{
+			final File file = FileHelper.createDeleteOnExitFile("hunlinter-fsa-run", ".dat");
+			final long[] offsets = new long[LEADING_BYTES + 1];
+			final int[] indexes = new int[LEADING_BYTES + 1];
+			try(final DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()),
+					RUN_BUFFER_SIZE))){
+				int leadingByte = 0;
+				long offset = 0l;
+				for(int i = 0; i < count; i ++){
+					for(final int current = leadingByte(sequences[i]); leadingByte <= current; leadingByte ++){
+						offsets[leadingByte] = offset;
+						indexes[leadingByte] = i;
+					}
+
+					os.writeInt(sequences[i].length);
+					os.write(sequences[i]);
+					offset += Integer.BYTES + sequences[i].length;
+				}
+				for( ; leadingByte <= LEADING_BYTES; leadingByte ++){
+					offsets[leadingByte] = offset;
+					indexes[leadingByte] = count;
+				}
+			}
+			return new Run(file, offsets, indexes);
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+	/** Waits for the spills in progress to be completed. */
+	private void awaitSpills(){
+		try{
+			while(pendingSpills > 0)
+				wait();
+		}
+		catch(final InterruptedException ie){
+			Thread.currentThread().interrupt();
+
+			throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for the runs to be spilled"));
+		}
+	}
+
+	/** Sorts the sequences in memory and removes the duplicates, returning the number of distinct sequences. */
+	private int sortInMemory(){
+		sequencesCount = sortAndRemoveDuplicates(sequences, sequencesCount);
+		return sequencesCount;
+	}
+
+	/** Sorts the first {@code count} sequences and removes the duplicates, returning the number of distinct sequences. */
+	private static int sortAndRemoveDuplicates(final byte[][] sequences, final int count){
+		Arrays.parallelSort(sequences, 0, count, COMPARATOR);
+
+		int distinct = 0;
+		for(int i = 0; i < count; i ++)
+			if(distinct == 0 || !Arrays.equals(sequences[i], sequences[distinct - 1]))
+				sequences[distinct ++] = sequences[i];
+		Arrays.fill(sequences, distinct, count, null);
+		return distinct;
+	}
+
+	/**
+	 * Splits the sorted sequences into ranges of leading bytes holding about the same number of sequences.
+	 * <p>
+	 * NOTE: no sequence should be added while the partitions are being read.
+	 * </p>
+	 *
+	 * @param maxPartitions	The maximum number of partitions.
+	 * @return	The partitions, in byte-lexicographic order.
+	 */
+	public synchronized List<Partition> partition(final int maxPartitions){
+		awaitSpills();
+
+		final int count = sortInMemory();
+		final byte[][] sortedSequences = Arrays.copyOf(sequences, count);
+		final List<Run> runsSnapshot = List.copyOf(runs);
+
+		final long target = Math.max((size + maxPartitions - 1) / Math.max(maxPartitions, 1), 1l);
+		final List<Partition> partitions = new ArrayList<>(Math.max(maxPartitions, 1));
+		int fromLeadingByte = 0;
+		long partitionSize = 0l;
+		for(int leadingByte = 0; leadingByte < LEADING_BYTES; leadingByte ++){
+			partitionSize += leadingByteCounts[leadingByte];
+
+			if(partitionSize >= target && leadingByte + 1 < LEADING_BYTES && partitions.size() + 1 < maxPartitions){
+				partitions.add(new Partition(runsSnapshot, sortedSequences, fromLeadingByte, leadingByte + 1, partitionSize));
+
+				fromLeadingByte = leadingByte + 1;
+				partitionSize = 0l;
+			}
+		}
+		partitions.add(new Partition(runsSnapshot, sortedSequences, fromLeadingByte, LEADING_BYTES, partitionSize));
+		return partitions;
+	}
+
+	/**
+	 * Feeds all the distinct sequences, in byte-lexicographic order, to the given action, then releases every resource.
+	 *
+	 * @param action	The action that receives the sequences (e.g. {@link FSABuilder#add(byte[])}).
+	 * @throws IOException	If a run cannot be read.
+	 */
+	public synchronized void forEachSorted(final Consumer<byte[]> action) throws IOException{
+		try{
+			partition(1).get(0)
+				.forEachSorted(action);
+		}
+		finally{
+			close();
+		}
+	}
+
+	/**
+	 * Discards all the sequences and deletes the runs.
+	 */
+	@Override
+	public synchronized void close(){
+		generation ++;
+		for(int i = 0; i < runs.size(); i ++)
+			runs.get(i).file.delete();
+		runs.clear();
+
+		sequences = new byte[INITIAL_CAPACITY][];
+		sequencesCount = 0;
+		memoryUsed = 0l;
+		size = 0l;
+		Arrays.fill(leadingByteCounts, 0l);
+	}
+
+}
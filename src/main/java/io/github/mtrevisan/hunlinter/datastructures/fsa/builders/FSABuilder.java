@@ -32,6 +32,11 @@ import java.util.Arrays;
 /**
  * Fast, memory-conservative, Finite State Automaton builder, returning an in-memory {@link FSAAbstract} that is a trade-off
  * between construction speed and memory consumption.
+ * <p>
+ * The automaton is kept in a {@link PagedByteStore paged store}, either on the heap or off-heap, so that it grows without copying
+ * the states already built and can exceed the size of an array; states and arcs are addressed by their arc index, that is, up
+ * to {@link Integer#MAX_VALUE} arcs.
+ * </p>
  *
  * @see <a href="https://www.aclweb.org/anthology/J00-1002.pdf">Incremental Construction of Minimal Acyclic Finite-State Automata</a>
  * @see "org.carrot2.morfologik-parent, 2.1.7-SNAPSHOT, 2020-01-02"
@@ -40,34 +45,32 @@ public class FSABuilder{
 
 	/** A megabyte. */
 	private static final int MB = 1024 * 1024;
-	/** Internal serialized FSA buffer expand ratio. */
-	private static final int BUFFER_GROWTH_SIZE = 5 * MB;
+	/** Default size of a page of the serialized FSA buffer. */
+	private static final int PAGE_SIZE = 4 * MB;
 	/** Maximum number of labels from a single state. */
 	private static final int MAX_LABELS = 256;
 
 
-	/** Internal serialized FSA buffer expand ratio. */
-	private final int bufferGrowthSize;
 	/**
 	 * Holds serialized and mutable states.
 	 * Each state is a sequential list of arcs, the last arc is marked with {@link ConstantArcSizeFSA#BIT_ARC_LAST}.
 	 */
-	private byte[] serialized = new byte[0];
+	private PagedByteStore serialized;
 	/**
-	 * Number of bytes already taken in {@link #serialized}.
+	 * Number of arcs already taken in {@link #serialized}.
 	 * Start from 1 to keep 0 a sentinel value (for the hash set and final state).
 	 */
 	private int size;
 
 	/**
 	 * States on the "active path" (still mutable).
-	 * Values are addresses of each state's first arc.
+	 * Values are indexes of each state's first arc.
 	 */
 	private int[] activePath = new int[0];
 	/** Current length of the active path. */
 	private int activePathLen;
 
-	/** The next offset at which an arc will be added to the given state on {@link #activePath}. */
+	/** The next arc index at which an arc will be added to the given state on {@link #activePath}. */
 	private int[] nextArcOffset = new int[0];
 	/** Root state (if negative, the automaton has been built already and cannot be extended). */
 	private int root;
@@ -79,7 +82,7 @@ public class FSABuilder{
 	private final int epsilon;
 
 	/**
-	 * Hash set of state addresses in {@link #serialized}, hashed by {@link #hash(int, int)}.
+	 * Hash set of state indexes in {@link #serialized}, hashed by {@link #hash(int, int)}.
 	 * Zero reserved for an unoccupied slot.
 	 */
 	private int[] hashSet = new int[2];
@@ -88,18 +91,19 @@ public class FSABuilder{
 
 
 	public FSABuilder(){
-		this(BUFFER_GROWTH_SIZE);
+		this(PAGE_SIZE, false);
 	}
 
 	/**
-	 * @param bufferGrowthSize Buffer growth size (in bytes) when constructing the automaton.
+	 * @param pageSize	Size (in bytes) of a page of the buffer used when constructing the automaton.
+	 * @param offHeap	Whether the buffer should be allocated outside the heap.
 	 */
-	public FSABuilder(final int bufferGrowthSize){
-		this.bufferGrowthSize = Math.max(bufferGrowthSize, ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS);
+	public FSABuilder(final int pageSize, final boolean offHeap){
+		serialized = new PagedByteStore(Math.max(pageSize, ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS), offHeap);
 
 		//allocate epsilon state
 		epsilon = allocateState(1);
-		serialized[epsilon + ConstantArcSizeFSA.FLAGS_OFFSET] |= ConstantArcSizeFSA.BIT_ARC_LAST;
+		serialized.or(ConstantArcSizeFSA.address(epsilon) + ConstantArcSizeFSA.FLAGS_OFFSET, ConstantArcSizeFSA.BIT_ARC_LAST);
 
 		//allocate root, with an initial empty set of output arcs
 		expandActivePath(1);
@@ -145,7 +149,7 @@ public class FSABuilder{
 		//freeze all the states after the common prefix
 		for(int i = activePathLen - 1; i > commonPrefix; i --){
 			final int frozenState = freezeState(i);
-			setArcTarget(nextArcOffset[i - 1] - ConstantArcSizeFSA.ARC_SIZE, frozenState);
+			setArcTarget(nextArcOffset[i - 1] - 1, frozenState);
 			nextArcOffset[i] = activePath[i];
 		}
 
@@ -154,11 +158,12 @@ public class FSABuilder{
 		for(int i = commonPrefix + 1, j = start + commonPrefix; i <= len; i ++){
 			final int p = nextArcOffset[i - 1];
 
-			serialized[p + ConstantArcSizeFSA.FLAGS_OFFSET] = (byte)(i == len? ConstantArcSizeFSA.BIT_ARC_FINAL: 0);
-			serialized[p + ConstantArcSizeFSA.LABEL_OFFSET] = sequence[j ++];
+			final long address = ConstantArcSizeFSA.address(p);
+			serialized.set(address + ConstantArcSizeFSA.FLAGS_OFFSET, (byte)(i == len? ConstantArcSizeFSA.BIT_ARC_FINAL: 0));
+			serialized.set(address + ConstantArcSizeFSA.LABEL_OFFSET, sequence[j ++]);
 			setArcTarget(p, i == len? ConstantArcSizeFSA.TERMINAL_STATE: activePath[i]);
 
-			nextArcOffset[i - 1] = p + ConstantArcSizeFSA.ARC_SIZE;
+			nextArcOffset[i - 1] = p + 1;
 		}
 
 		//save last sequence's length so that we don't need to calculate it again
@@ -182,7 +187,7 @@ public class FSABuilder{
 			setArcTarget(epsilon, root);
 		}
 
-		final FSAAbstract fsa = new ConstantArcSizeFSA(Arrays.copyOf(serialized, size), epsilon);
+		final FSAAbstract fsa = new ConstantArcSizeFSA(serialized, epsilon);
 
 		//clear support data:
 		serialized = null;
@@ -192,33 +197,25 @@ public class FSABuilder{
 	}
 
 	private synchronized boolean isArcLast(final int arc){
-		return ((serialized[arc + ConstantArcSizeFSA.FLAGS_OFFSET] & ConstantArcSizeFSA.BIT_ARC_LAST) != 0);
+		return ((serialized.get(ConstantArcSizeFSA.address(arc) + ConstantArcSizeFSA.FLAGS_OFFSET) & ConstantArcSizeFSA.BIT_ARC_LAST) != 0);
 	}
 
 	private synchronized boolean isArcFinal(final int arc){
-		return ((serialized[arc + ConstantArcSizeFSA.FLAGS_OFFSET] & ConstantArcSizeFSA.BIT_ARC_FINAL) != 0);
+		return ((serialized.get(ConstantArcSizeFSA.address(arc) + ConstantArcSizeFSA.FLAGS_OFFSET) & ConstantArcSizeFSA.BIT_ARC_FINAL) != 0);
 	}
 
 	private synchronized byte getArcLabel(final int arc){
-		return serialized[arc + ConstantArcSizeFSA.LABEL_OFFSET];
+		return serialized.get(ConstantArcSizeFSA.address(arc) + ConstantArcSizeFSA.LABEL_OFFSET);
 	}
 
-	/** Fills the target state address of an arc. */
-	private void setArcTarget(int arc, int state){
-		arc += ConstantArcSizeFSA.ADDRESS_OFFSET + ConstantArcSizeFSA.TARGET_ADDRESS_SIZE;
-		for(int i = 0; i < ConstantArcSizeFSA.TARGET_ADDRESS_SIZE; i ++){
-			serialized[-- arc] = (byte)state;
-			state >>>= 8;
-		}
+	/** Fills the target state index of an arc. */
+	private void setArcTarget(final int arc, final int state){
+		serialized.setInt(ConstantArcSizeFSA.address(arc) + ConstantArcSizeFSA.ADDRESS_OFFSET, state);
 	}
 
-	/** Returns the address of an arc. */
-	private synchronized int getArcTarget(int arc){
-		arc += ConstantArcSizeFSA.ADDRESS_OFFSET;
-		return (serialized[arc]) << 24
-			| (serialized[arc + 1] & 0xFF) << 16
-			| (serialized[arc + 2] & 0xFF) << 8
-			| (serialized[arc + 3] & 0xFF);
+	/** Returns the target state index of an arc. */
+	private synchronized int getArcTarget(final int arc){
+		return serialized.getInt(ConstantArcSizeFSA.address(arc) + ConstantArcSizeFSA.ADDRESS_OFFSET);
 	}
 
 	/**
@@ -230,7 +227,7 @@ public class FSABuilder{
 		int index;
 		int start = 0;
 		for(index = 0; index < max; index ++){
-			final int lastArc = nextArcOffset[index] - ConstantArcSizeFSA.ARC_SIZE;
+			final int lastArc = nextArcOffset[index] - 1;
 			if(sequence[start ++] != getArcLabel(lastArc))
 				break;
 		}
@@ -244,14 +241,14 @@ public class FSABuilder{
 	private int freezeState(final int activePathIndex){
 		final int start = activePath[activePathIndex];
 		final int end = nextArcOffset[activePathIndex];
-		final int length = end - start;
+		final int arcs = end - start;
 
 		//set the last arc flag on the current active path's state
-		serialized[end - ConstantArcSizeFSA.ARC_SIZE + ConstantArcSizeFSA.FLAGS_OFFSET] |= ConstantArcSizeFSA.BIT_ARC_LAST;
+		serialized.or(ConstantArcSizeFSA.address(end - 1) + ConstantArcSizeFSA.FLAGS_OFFSET, ConstantArcSizeFSA.BIT_ARC_LAST);
 
 		//try to locate a state with an identical content in the hash set
 		final int bucketMask = (hashSet.length - 1);
-		int slot = hash(start, length) & bucketMask;
+		int slot = hash(start, arcs) & bucketMask;
 		for(int i = 0; ; ){
 			int state = hashSet[slot];
 			if(state == 0){
@@ -262,7 +259,7 @@ public class FSABuilder{
 
 				return state;
 			}
-			else if(areRegionsEquivalent(state, start, length))
+			else if(areRegionsEquivalent(state, start, arcs))
 				return state;
 
 			slot = (slot + (++ i)) & bucketMask;
@@ -283,23 +280,21 @@ public class FSABuilder{
 		hashSet = newHashSet;
 	}
 
-	/** The total length of the serialized state data (all arcs). */
+	/** The number of arcs of the serialized state. */
 	private int stateLength(final int state){
 		int arc = state;
 		while(!isArcLast(arc))
-			arc += ConstantArcSizeFSA.ARC_SIZE;
-		return arc - state + ConstantArcSizeFSA.ARC_SIZE;
+			arc ++;
+		return arc - state + 1;
 	}
 
-	/** Return {@code true} if two regions in {@link #serialized} are identical. */
-	private boolean areRegionsEquivalent(int start1, int start2, int len){
-		if(Math.max(start1, start2) + len > size)
+	/** Return {@code true} if two regions (given in arcs) in {@link #serialized} are identical. */
+	private boolean areRegionsEquivalent(final int start1, final int start2, final int arcs){
+		if(Math.max(start1, start2) + arcs > size)
 			return false;
 
-		while(len -- > 0)
-			if(serialized[start1 ++] != serialized[start2 ++])
-				return false;
-		return true;
+		return serialized.equals(ConstantArcSizeFSA.address(start1), ConstantArcSizeFSA.address(start2),
+			arcs * ConstantArcSizeFSA.ARC_SIZE);
 	}
 
 	/** Serialize a given state on the active path. */
@@ -308,20 +303,17 @@ public class FSABuilder{
 
 		final int newState = size;
 		final int start = activePath[activePathIndex];
-		final int len = nextArcOffset[activePathIndex] - start;
-		System.arraycopy(serialized, start, serialized, newState, len);
+		final int arcs = nextArcOffset[activePathIndex] - start;
+		serialized.copy(ConstantArcSizeFSA.address(start), ConstantArcSizeFSA.address(newState), arcs * ConstantArcSizeFSA.ARC_SIZE);
 
-		size += len;
+		size += arcs;
 		return newState;
 	}
 
-	/** Hash code of a fragment of {@link #serialized} array. */
-	private int hash(int start, final int byteCount){
-		if(byteCount % ConstantArcSizeFSA.ARC_SIZE != 0)
-			throw new IllegalArgumentException("Not an arc multiply: " + byteCount + " mod " + ConstantArcSizeFSA.ARC_SIZE);
-
+	/** Hash code of a sequence of arcs of {@link #serialized}. */
+	private int hash(int start, final int arcs){
 		int h = 0;
-		for(int arcs = byteCount / ConstantArcSizeFSA.ARC_SIZE; -- arcs >= 0; start += ConstantArcSizeFSA.ARC_SIZE){
+		for(int i = arcs; -- i >= 0; start ++){
 			h = 17 * h + getArcLabel(start);
 			h = 17 * h + getArcTarget(start);
 			if(isArcFinal(start))
@@ -348,20 +340,22 @@ public class FSABuilder{
 	/**
 	 * Allocate space for a state with the given number of outgoing labels.
 	 *
-	 * @return state offset
+	 * @return state index
 	 */
 	private synchronized int allocateState(final int labels){
 		expandBuffers();
 
 		final int state = size;
-		size += labels * ConstantArcSizeFSA.ARC_SIZE;
+		size += labels;
 		return state;
 	}
 
 	/** Expand internal buffers for the next state. */
 	private void expandBuffers(){
-		if(serialized.length < size + ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS)
-			serialized = Arrays.copyOf(serialized, serialized.length + bufferGrowthSize);
+		if(size > Integer.MAX_VALUE - MAX_LABELS)
+			throw new IllegalStateException("Automaton too large, the number of arcs exceeds " + Integer.MAX_VALUE);
+
+		serialized.ensureCapacity(ConstantArcSizeFSA.address(size + MAX_LABELS));
 	}
 
 }
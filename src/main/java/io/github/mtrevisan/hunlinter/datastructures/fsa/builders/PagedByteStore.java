@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Growable byte storage addressed by {@code long}, made of fixed-size pages, either on the heap or off-heap.
+ * <p>
+ * Growing the storage only allocates new pages, the bytes already stored are never copied, and the total size is not limited by
+ * the maximum length of an array.
+ * </p>
+ * <p>
+ * Multibyte values are stored in big-endian order, and can span two pages.
+ * </p>
+ */
+final class PagedByteStore{
+
+	private final int pageBits;
+	private final int pageMask;
+	private final boolean offHeap;
+
+	private ByteBuffer[] pages = new ByteBuffer[0];
+	private int pagesCount;
+
+
+	/**
+	 * @param pageSize	The size of a page, in bytes (rounded up to the next power of two).
+	 * @param offHeap	Whether the pages should be allocated outside the heap.
+	 */
+	PagedByteStore(final int pageSize, final boolean offHeap){
+		if(pageSize <= 0 || pageSize > (1 << 30))
+			throw new IllegalArgumentException("Page size must be between 1 and 2^30: " + pageSize);
+
+		pageBits = 32 - Integer.numberOfLeadingZeros(pageSize - 1);
+		pageMask = (1 << pageBits) - 1;
+		this.offHeap = offHeap;
+	}
+
+	/**
+	 * @return	The number of addressable bytes.
+	 */
+	long capacity(){
+		return (long)pagesCount << pageBits;
+	}
+
+	/**
+	 * Allocates pages until the given number of bytes is addressable.
+	 *
+	 * @param size	The number of bytes that should be addressable.
+	 */
+	void ensureCapacity(final long size){
+		while(capacity() < size){
+			if(pagesCount == pages.length)
+				pages = Arrays.copyOf(pages, Math.max(pages.length << 1, 16));
+
+			final int pageSize = pageMask + 1;
+			pages[pagesCount ++] = (offHeap? ByteBuffer.allocateDirect(pageSize): ByteBuffer.allocate(pageSize));
+		}
+	}
+
+	byte get(final long address){
+		return pages[(int)(address >>> pageBits)].get((int)address & pageMask);
+	}
+
+	void set(final long address, final byte value){
+		pages[(int)(address >>> pageBits)].put((int)address & pageMask, value);
+	}
+
+	void or(final long address, final int mask){
+		final ByteBuffer page = pages[(int)(address >>> pageBits)];
+		final int offset = (int)address & pageMask;
+		page.put(offset, (byte)(page.get(offset) | mask));
+	}
+
+	int getInt(final long address){
+		final int offset = (int)address & pageMask;
+		if(offset + Integer.BYTES <= pageMask + 1)
+			return pages[(int)(address >>> pageBits)].getInt(offset);
+
+		int value = 0;
+		for(int i = 0; i < Integer.BYTES; i ++)
+			value = (value << 8) | (get(address + i) & 0xFF);
+		return value;
+	}
+
+	void setInt(final long address, final int value){
+		final int offset = (int)address & pageMask;
+		if(offset + Integer.BYTES <= pageMask + 1)
+			pages[(int)(address >>> pageBits)].putInt(offset, value);
+		else
+			for(int i = 0; i < Integer.BYTES; i ++)
+				set(address + i, (byte)(value >>> ((Integer.BYTES - 1 - i) << 3)));
+	}
+
+	/**
+	 * Copies a region into another, non-overlapping, one.
+	 *
+	 * @param from	The address of the source region.
+	 * @param to	The address of the destination region.
+	 * @param length	The number of bytes to be copied.
+	 */
+	void copy(long from, long to, int length){
+		while(length > 0){
+			final int fromOffset = (int)from & pageMask;
+			final int toOffset = (int)to & pageMask;
+			final int chunk = Math.min(length, (pageMask + 1) - Math.max(fromOffset, toOffset));
+			pages[(int)(to >>> pageBits)]
+				.put(toOffset, pages[(int)(from >>> pageBits)], fromOffset, chunk);
+
+			from += chunk;
+			to += chunk;
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Copies an array into a region.
+	 *
+	 * @param to	The address of the destination region.
+	 * @param bytes	The source array.
+	 * @param length	The number of bytes to be copied.
+	 */
+	void put(long to, final byte[] bytes, final int length){
+		int offset = 0;
+		while(offset < length){
+			final int toOffset = (int)to & pageMask;
+			final int chunk = Math.min(length - offset, (pageMask + 1) - toOffset);
+			pages[(int)(to >>> pageBits)]
+				.put(toOffset, bytes, offset, chunk);
+
+			to += chunk;
+			offset += chunk;
+		}
+	}
+
+	/**
+	 * @return	Whether the region holds the same bytes of the given array.
+	 */
+	boolean equals(long address, final byte[] bytes, final int length){
+		for(int i = 0; i < length; i ++)
+			if(get(address ++) != bytes[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * @return	Whether the two regions hold the same bytes.
+	 */
+	boolean equals(long address1, long address2, int length){
+		while(length -- > 0)
+			if(get(address1 ++) != get(address2 ++))
+				return false;
+		return true;
+	}
+
+}
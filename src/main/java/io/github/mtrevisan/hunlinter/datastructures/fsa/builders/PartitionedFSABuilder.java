@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import com.carrotsearch.hppcrt.IntIntMap;
+import com.carrotsearch.hppcrt.maps.IntIntHashMap;
+import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.UnsyncDynamicIntArray;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+
+/**
+ * Builds a minimal automaton out of the sequences of an {@link ExternalSequenceSorter} using several threads.
+ * <p>
+ * The sorted sequences are split into {@link ExternalSequenceSorter.Partition partitions} by ranges of their leading byte, the
+ * sub-automaton of each partition is built concurrently by its own {@link FSABuilder}, then the sub-automata are joined at the
+ * root.
+ * While joining, the states of every sub-automaton are interned, bottom-up, into a single register, so that equivalent states
+ * built by different partitions are shared: the result is the same minimal automaton a single {@link FSABuilder} would have
+ * built.
+ * </p>
+ * <p>
+ * The partitions are built in the pool of the calling thread, if any, or in the common pool otherwise.
+ * </p>
+ */
+public final class PartitionedFSABuilder{
+
+	/** A megabyte. */
+	private static final int MB = 1024 * 1024;
+	/** Size of a page of the serialized FSA buffer. */
+	private static final int PAGE_SIZE = 4 * MB;
+	/** Maximum number of labels from a single state. */
+	private static final int MAX_LABELS = 256;
+
+
+	/** Holds the interned states, in the same layout of {@link FSABuilder}. */
+	private final PagedByteStore serialized = new PagedByteStore(PAGE_SIZE, false);
+	/** Number of arcs already taken in {@link #serialized}. */
+	private int size;
+	/** Hash set of state indexes in {@link #serialized}, zero reserved for an unoccupied slot. */
+	private int[] hashSet = new int[16];
+	/** Number of entries currently stored in {@link #hashSet}. */
+	private int hashSize;
+	/** The arcs of the state being interned. */
+	private final byte[] scratch = new byte[ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS];
+
+
+	private PartitionedFSABuilder(){
+		//allocate epsilon state
+		serialized.ensureCapacity(ConstantArcSizeFSA.ARC_SIZE);
+		serialized.set(ConstantArcSizeFSA.FLAGS_OFFSET, (byte)ConstantArcSizeFSA.BIT_ARC_LAST);
+		size = 1;
+	}
+
+	/**
+	 * Builds the minimal automaton of all the sequences of the given sorter, then releases the sorter.
+	 *
+	 * @param sorter	The sorter holding the sequences.
+	 * @param partitions	The maximum number of partitions to be built concurrently.
+	 * @param onSequence	Called (possibly concurrently) after each sequence has been added to its sub-automaton, can be
+	 * 	{@code null}.
+	 * @return	The automaton encoding of all the sequences.
+	 * @throws IOException	If a run of the sorter cannot be read.
+	 */
+	public static FSAAbstract build(final ExternalSequenceSorter sorter, final int partitions, final Runnable onSequence)
+			throws IOException{
+		final List<FSAAbstract> automata;
+		try{
+			automata = sorter.partition(partitions)
+				.parallelStream()
+				.map(partition -> buildPartition(partition, onSequence))
+				.toList();
+		}
+		catch(final UncheckedIOException uioe){
+			throw uioe.getCause();
+		}
+		finally{
+			sorter.close();
+		}
+
+		return new PartitionedFSABuilder()
+			.join(automata);
+	}
+
+	private static FSAAbstract buildPartition(final ExternalSequenceSorter.Partition partition, final Runnable onSequence){
+		final FSABuilder builder = new FSABuilder();
+		try{
+			partition.forEachSorted(sequence -> {
+				builder.add(sequence);
+
+				if(onSequence != null)
+					onSequence.run();
+			});
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+		return builder.complete();
+	}
+
+	private FSAAbstract join(final List<FSAAbstract> automata){
+		final byte[] root = new byte[ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS];
+		int rootArcsCount = 0;
+		for(int i = 0; i < automata.size(); i ++){
+			final FSAAbstract fsa = automata.get(i);
+			final int subRoot = fsa.getRootNode();
+			if(subRoot == ConstantArcSizeFSA.TERMINAL_STATE)
+				//an empty sub-automaton
+				continue;
+
+			final IntIntMap mapping = internStates(fsa, subRoot);
+			for(int arc = fsa.getFirstArc(subRoot); arc != 0; arc = fsa.getNextArc(arc))
+				writeArc(root, rootArcsCount ++, fsa, arc, mapping, false);
+		}
+
+		int rootState = ConstantArcSizeFSA.TERMINAL_STATE;
+		if(rootArcsCount > 0){
+			final int lastFlags = (rootArcsCount - 1) * ConstantArcSizeFSA.ARC_SIZE + ConstantArcSizeFSA.FLAGS_OFFSET;
+			root[lastFlags] |= ConstantArcSizeFSA.BIT_ARC_LAST;
+			rootState = intern(root, rootArcsCount);
+		}
+		//point epsilon to the root
+		serialized.setInt(ConstantArcSizeFSA.ADDRESS_OFFSET, rootState);
+
+		final FSAAbstract fsa = new ConstantArcSizeFSA(serialized, 0);
+
+		//clear support data:
+		hashSet = null;
+
+		return fsa;
+	}
+
+	/**
+	 * Interns all the states reachable from the given root (excluded), children first.
+	 *
+	 * @return	The mapping between the states of the sub-automaton and the interned ones.
+	 */
+	private IntIntMap internStates(final FSAAbstract fsa, final int root){
+		final IntIntMap mapping = new IntIntHashMap();
+		final UnsyncDynamicIntArray stack = new UnsyncDynamicIntArray();
+		for(int arc = fsa.getFirstArc(root); arc != 0; arc = fsa.getNextArc(arc))
+			if(!fsa.isArcTerminal(arc))
+				stack.push(fsa.getEndNode(arc));
+
+		while(!stack.isEmpty()){
+			final int state = stack.get(stack.size() - 1);
+			if(mapping.containsKey(state)){
+				stack.pop();
+				continue;
+			}
+
+			//intern the state only when all its children have been interned
+			boolean childrenInterned = true;
+			for(int arc = fsa.getFirstArc(state); arc != 0; arc = fsa.getNextArc(arc))
+				if(!fsa.isArcTerminal(arc) && !mapping.containsKey(fsa.getEndNode(arc))){
+					stack.push(fsa.getEndNode(arc));
+					childrenInterned = false;
+				}
+			if(childrenInterned){
+				stack.pop();
+
+				int arcs = 0;
+				for(int arc = fsa.getFirstArc(state); arc != 0; arc = fsa.getNextArc(arc))
+					writeArc(scratch, arcs ++, fsa, arc, mapping, fsa.getNextArc(arc) == 0);
+				mapping.put(state, intern(scratch, arcs));
+			}
+		}
+		return mapping;
+	}
+
+	private static void writeArc(final byte[] buffer, final int index, final FSAAbstract fsa, final int arc, final IntIntMap mapping,
+			final boolean last){
+		final int offset = index * ConstantArcSizeFSA.ARC_SIZE;
+		buffer[offset + ConstantArcSizeFSA.FLAGS_OFFSET] = (byte)((fsa.isArcFinal(arc)? ConstantArcSizeFSA.BIT_ARC_FINAL: 0)
+			| (last? ConstantArcSizeFSA.BIT_ARC_LAST: 0));
+		buffer[offset + ConstantArcSizeFSA.LABEL_OFFSET] = fsa.getArcLabel(arc);
+		final int target = (fsa.isArcTerminal(arc)? ConstantArcSizeFSA.TERMINAL_STATE: mapping.get(fsa.getEndNode(arc)));
+		final int address = offset + ConstantArcSizeFSA.ADDRESS_OFFSET;
+		buffer[address] = (byte)(target >>> 24);
+		buffer[address + 1] = (byte)(target >>> 16);
+		buffer[address + 2] = (byte)(target >>> 8);
+		buffer[address + 3] = (byte)target;
+	}
+
+	/** Returns the index of a state equal to the given one, appending it if there is none. */
+	private int intern(final byte[] state, final int arcs){
+		final int length = arcs * ConstantArcSizeFSA.ARC_SIZE;
+		final int bucketMask = (hashSet.length - 1);
+		int slot = hash(state, length) & bucketMask;
+		for(int i = 0; ; ){
+			int index = hashSet[slot];
+			if(index == 0){
+				index = append(state, arcs);
+				hashSet[slot] = index;
+				if(++ hashSize > hashSet.length / 2)
+					expandAndRehash();
+
+				return index;
+			}
+			//NOTE: the last arc flag makes the equality of the content imply the equality of the length
+			else if(index + arcs <= size && serialized.equals(ConstantArcSizeFSA.address(index), state, length))
+				return index;
+
+			slot = (slot + (++ i)) & bucketMask;
+		}
+	}
+
+	private int append(final byte[] state, final int arcs){
+		if(size > Integer.MAX_VALUE - arcs)
+			throw new IllegalStateException("Automaton too large, the number of arcs exceeds " + Integer.MAX_VALUE);
+
+		final int index = size;
+		size += arcs;
+		serialized.ensureCapacity(ConstantArcSizeFSA.address(size));
+		serialized.put(ConstantArcSizeFSA.address(index), state, arcs * ConstantArcSizeFSA.ARC_SIZE);
+		return index;
+	}
+
+	/** Reallocate and rehash the hash set. */
+	private void expandAndRehash(){
+		final byte[] state = new byte[ConstantArcSizeFSA.ARC_SIZE * MAX_LABELS];
+		final int[] newHashSet = new int[(hashSet.length << 1)];
+		final int bucketMask = (newHashSet.length - 1);
+		for(final int index : hashSet)
+			if(index > 0){
+				final int length = readState(index, state);
+				int slot = hash(state, length) & bucketMask;
+				for(int i = 0; newHashSet[slot] > 0; )
+					slot = (slot + (++ i)) & bucketMask;
+				newHashSet[slot] = index;
+			}
+		hashSet = newHashSet;
+	}
+
+	/** Copies the arcs of a stored state into the given buffer, returning their length in bytes. */
+	private int readState(final int index, final byte[] buffer){
+		int length = 0;
+		long address = ConstantArcSizeFSA.address(index);
+		boolean last;
+		do{
+			for(int i = 0; i < ConstantArcSizeFSA.ARC_SIZE; i ++)
+				buffer[length ++] = serialized.get(address ++);
+			last = ((buffer[length - ConstantArcSizeFSA.ARC_SIZE + ConstantArcSizeFSA.FLAGS_OFFSET]
+				& ConstantArcSizeFSA.BIT_ARC_LAST) != 0);
+		}while(!last);
+		return length;
+	}
+
+	private static int hash(final byte[] state, final int length){
+		int h = 0;
+		for(int i = 0; i < length; i ++)
+			h = 31 * h + state[i];
+		return h;
+	}
+
+}
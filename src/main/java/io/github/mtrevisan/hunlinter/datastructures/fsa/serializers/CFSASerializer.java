@@ -29,7 +29,7 @@ import com.carrotsearch.hppcrt.IntSet;
 import com.carrotsearch.hppcrt.cursors.IntIntCursor;
 import com.carrotsearch.hppcrt.maps.IntIntHashMap;
 import com.carrotsearch.hppcrt.sets.IntHashSet;
-import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.DynamicIntArray;
+import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.UnsyncDynamicIntArray;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.CFSA;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSAFlags;
@@ -129,7 +129,7 @@ public class CFSASerializer implements FSASerializerInterface{
 		numbers = (serializeWithNumbers? rightLanguageForAllStates(fsa): new IntIntHashMap());
 
 		//linearize all the states, optimizing their layout
-		final DynamicIntArray linearized = linearize(fsa);
+		final UnsyncDynamicIntArray linearized = linearize(fsa);
 		if(progressCallback != null)
 			progressCallback.accept(40);
 
@@ -217,22 +217,22 @@ public class CFSASerializer implements FSASerializerInterface{
 	}
 
 	/** Linearization of states. */
-	private DynamicIntArray linearize(final FSAAbstract fsa) throws IOException{
+	private UnsyncDynamicIntArray linearize(final FSAAbstract fsa) throws IOException{
 		//states with most in-links (these should be placed as close to the start of the automaton as possible
 		//so that v-coded addresses are tiny)
 		final IntIntMap inLinkCount = computeInLinkCount(fsa);
 
 		//ordered states for serialization
-		final DynamicIntArray linearized = new DynamicIntArray();
+		final UnsyncDynamicIntArray linearized = new UnsyncDynamicIntArray();
 
 		//determine which states should be linearized first (at fixed positions) so to minimize the place occupied by goto fields
 		final int[] states = computeFirstStates(inLinkCount, Integer.MAX_VALUE, 2);
 
 		//compute initial addresses, without node rearrangements
-		final int serializedSize = linearizeAndCalculateOffsets(fsa, new DynamicIntArray(), linearized, offsets);
+		final int serializedSize = linearizeAndCalculateOffsets(fsa, new UnsyncDynamicIntArray(), linearized, offsets);
 
 		//probe for better node arrangements by selecting between [lower, upper] nodes from the potential candidate nodes list
-		final DynamicIntArray sublist = new DynamicIntArray();
+		final UnsyncDynamicIntArray sublist = new UnsyncDynamicIntArray();
 		sublist.addAll(states);
 
 		//probe the initial region a little, looking for optimal cut (it can't be binary search because the result isn't monotonic)
@@ -258,10 +258,10 @@ public class CFSASerializer implements FSASerializerInterface{
 	}
 
 	/** Linearize all states, putting {@code states} in front of the automaton and calculating stable state offsets. */
-	private int linearizeAndCalculateOffsets(final FSAAbstract fsa, final DynamicIntArray states, final DynamicIntArray linearized,
+	private int linearizeAndCalculateOffsets(final FSAAbstract fsa, final UnsyncDynamicIntArray states, final UnsyncDynamicIntArray linearized,
 			final IntIntMap offsets) throws IOException{
 		final IntSet visited = new IntHashSet();
-		final DynamicIntArray nodes = new DynamicIntArray();
+		final UnsyncDynamicIntArray nodes = new UnsyncDynamicIntArray();
 		linearized.clear();
 
 		//linearize states with most in-links first
@@ -291,7 +291,7 @@ public class CFSASerializer implements FSASerializerInterface{
 	}
 
 	/** Add a state to linearized list. */
-	private static void linearizeState(final FSAAbstract fsa, final DynamicIntArray nodes, final DynamicIntArray linearized,
+	private static void linearizeState(final FSAAbstract fsa, final UnsyncDynamicIntArray nodes, final UnsyncDynamicIntArray linearized,
 			final IntSet visited, final int node){
 		linearized.add(node);
 		visited.add(node);
@@ -331,7 +331,7 @@ public class CFSASerializer implements FSASerializerInterface{
 	private static IntIntMap computeInLinkCount(final FSAAbstract fsa){
 		final IntIntMap inLinkCount = new IntIntHashMap();
 		final IntSet visited = new IntHashSet();
-		final DynamicIntArray nodes = new DynamicIntArray();
+		final UnsyncDynamicIntArray nodes = new UnsyncDynamicIntArray();
 		nodes.push(fsa.getRootNode());
 
 		while(!nodes.isEmpty()){
@@ -354,7 +354,7 @@ public class CFSASerializer implements FSASerializerInterface{
 	}
 
 	/** Update arc offsets assuming the given goto length. */
-	private int emitNodes(final FSAAbstract fsa, final OutputStream os, final DynamicIntArray linearized) throws IOException{
+	private int emitNodes(final FSAAbstract fsa, final OutputStream os, final UnsyncDynamicIntArray linearized) throws IOException{
 		int offset = 0;
 
 		//add epsilon state
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.symbols;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+
+/**
+ * Immutable list of symbols stored as their ids into a {@link SymbolTable}.
+ * <p>
+ * Membership tests are performed on the ids, without comparing strings, by a binary search over the ids sorted in ascending
+ * order (the order of the list itself is kept for iteration).
+ * Callers that repeat the same query over many lists should resolve the id of the symbol once (see
+ * {@link SymbolTable#internNullable(String)}) and use {@link #containsId(int)}.
+ * </p>
+ */
+public final class SymbolList extends AbstractList<String> implements RandomAccess{
+
+	private static final int[] EMPTY_IDS = new int[0];
+
+
+	private final SymbolTable symbols;
+	private final int[] ids;
+	/** The ids in ascending order (the same array as {@link #ids} if already sorted). */
+	private final int[] sortedIds;
+
+
+	public static SymbolList of(final SymbolTable symbols, final String[] values){
+		Objects.requireNonNull(symbols, "Symbol table cannot be null");
+
+		final int size = (values != null? values.length: 0);
+		final int[] ids = new int[size];
+		for(int i = 0; i < size; i ++)
+			ids[i] = symbols.intern(values[i]);
+		return new SymbolList(symbols, ids);
+	}
+
+	public static SymbolList of(final SymbolTable symbols, final Collection<String> values){
+		Objects.requireNonNull(symbols, "Symbol table cannot be null");
+
+		if(values instanceof SymbolList list && list.symbols == symbols)
+			return list;
+
+		final int[] ids = new int[values != null? values.size(): 0];
+		if(values != null){
+			int i = 0;
+			for(final String value : values)
+				ids[i ++] = symbols.intern(value);
+		}
+		return new SymbolList(symbols, ids);
+	}
+
+	private SymbolList(final SymbolTable symbols, final int[] ids){
+		this.symbols = symbols;
+		this.ids = ids;
+		sortedIds = sortIds(ids);
+	}
+
+	private static int[] sortIds(final int[] ids){
+		for(int i = 1; i < ids.length; i ++)
+			if(ids[i - 1] > ids[i]){
+				final int[] sorted = Arrays.copyOf(ids, ids.length);
+				Arrays.sort(sorted);
+				return sorted;
+			}
+		return ids;
+	}
+
+	public SymbolTable getSymbolTable(){
+		return symbols;
+	}
+
+	@Override
+	public String get(final int index){
+		return symbols.symbol(ids[index]);
+	}
+
+	public int getId(final int index){
+		return ids[index];
+	}
+
+	@Override
+	public int size(){
+		return ids.length;
+	}
+
+	@Override
+	public boolean isEmpty(){
+		return (ids.length == 0);
+	}
+
+	@Override
+	public boolean contains(final Object obj){
+		return (obj instanceof String symbol && containsId(symbols.idOf(symbol)));
+	}
+
+	public boolean containsId(final int id){
+		return (id != SymbolTable.NOT_FOUND && Arrays.binarySearch(sortedIds, id) >= 0);
+	}
+
+	/**
+	 * @param ids	The ids of the symbols to search for.
+	 * @return	Whether at least one of the given symbols is in this list.
+	 */
+	public boolean containsAnyId(final int[] ids){
+		for(int i = 0; i < ids.length; i ++)
+			if(containsId(ids[i]))
+				return true;
+		return false;
+	}
+
+	@Override
+	public int indexOf(final Object obj){
+		return (obj instanceof String symbol? indexOfId(symbols.idOf(symbol)): -1);
+	}
+
+	private int indexOfId(final int id){
+		if(containsId(id))
+			for(int i = 0; i < ids.length; i ++)
+				if(ids[i] == id)
+					return i;
+		return -1;
+	}
+
+	/**
+	 * @param others	The symbols to be added.
+	 * @return	A list with the symbols of this list followed by the given ones not already present, without duplicates.
+	 */
+	public SymbolList union(final Collection<String> others){
+		final int othersSize = (others != null? others.size(): 0);
+		int[] union = new int[ids.length + othersSize];
+		int size = 0;
+		for(int i = 0; i < ids.length; i ++)
+			size = addIfAbsent(union, size, ids[i]);
+		if(others instanceof SymbolList list && list.symbols == symbols)
+			for(int i = 0; i < list.ids.length; i ++)
+				size = addIfAbsent(union, size, list.ids[i]);
+		else if(others != null)
+			for(final String other : others)
+				size = addIfAbsent(union, size, symbols.intern(other));
+		if(size < union.length)
+			union = Arrays.copyOf(union, size);
+		return new SymbolList(symbols, union);
+	}
+
+	private static int addIfAbsent(final int[] array, final int size, final int id){
+		for(int i = 0; i < size; i ++)
+			if(array[i] == id)
+				return size;
+
+		array[size] = id;
+		return size + 1;
+	}
+
+	/**
+	 * @param symbol	The symbol to be removed.
+	 * @return	A list without the given symbol (this same list if the symbol is not present).
+	 */
+	public SymbolList without(final String symbol){
+		final int index = indexOf(symbol);
+		if(index < 0)
+			return this;
+
+		final int[] remaining = new int[ids.length - 1];
+		System.arraycopy(ids, 0, remaining, 0, index);
+		System.arraycopy(ids, index + 1, remaining, index, remaining.length - index);
+		return new SymbolList(symbols, remaining);
+	}
+
+	/**
+	 * @return	A list with the symbols in their natural order (this same list if already sorted).
+	 */
+	public SymbolList sorted(){
+		int i = 1;
+		while(i < ids.length && get(i - 1).compareTo(get(i)) <= 0)
+			i ++;
+		if(i >= ids.length)
+			return this;
+
+		//insertion sort, the lists are short
+		final int[] sorted = Arrays.copyOf(ids, ids.length);
+		for(; i < sorted.length; i ++){
+			final int id = sorted[i];
+			final String symbol = symbols.symbol(id);
+			int j = i - 1;
+			while(j >= 0 && symbols.symbol(sorted[j]).compareTo(symbol) > 0){
+				sorted[j + 1] = sorted[j];
+				j --;
+			}
+			sorted[j + 1] = id;
+		}
+		return new SymbolList(symbols, sorted);
+	}
+
+	@Override
+	public boolean equals(final Object obj){
+		if(this == obj)
+			return true;
+		if(obj instanceof SymbolList rhs && rhs.symbols == symbols)
+			return Arrays.equals(ids, rhs.ids);
+		return (obj instanceof List && super.equals(obj));
+	}
+
+	@Override
+	public int hashCode(){
+		return super.hashCode();
+	}
+
+}
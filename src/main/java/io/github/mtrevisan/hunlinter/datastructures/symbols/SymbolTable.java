@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.symbols;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Thread-safe pool that maps each distinct string (a flag, a morphological field) to a dense {@code int} id.
+ * <p>
+ * Ids are assigned in order of first appearance, starting from zero, and are never reassigned. Lookups by id are lock-free.
+ * </p>
+ */
+public final class SymbolTable{
+
+	public static final int NOT_FOUND = -1;
+
+	private static final int INITIAL_CAPACITY = 256;
+
+
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+	private volatile String[] symbols = new String[INITIAL_CAPACITY];
+	private int size;
+
+
+	/**
+	 * @param symbol	The symbol to be interned.
+	 * @return	The id of the given symbol, assigning a new one if the symbol was never seen before.
+	 */
+	public int intern(final String symbol){
+		final Integer id = ids.get(symbol);
+		return (id != null? id: add(symbol));
+	}
+
+	private synchronized int add(final String symbol){
+		final Integer id = ids.get(symbol);
+		if(id != null)
+			return id;
+
+		if(size == symbols.length)
+			symbols = Arrays.copyOf(symbols, size + (size >> 1));
+		symbols[size] = symbol;
+		//NOTE: the id is published after the symbol is stored, so that whoever reads the id can also read the symbol
+		ids.put(symbol, size);
+		return size ++;
+	}
+
+	/**
+	 * Resolves the id of a symbol once, in order to query many lists with it (see {@link SymbolList#containsId(int)}).
+	 * <p>
+	 * The symbol is interned, so that lists created afterwards with the same symbol share its id.
+	 * </p>
+	 *
+	 * @param symbol	The symbol to be interned, can be {@code null}.
+	 * @return	The id of the given symbol, or {@link #NOT_FOUND} if the symbol is {@code null}.
+	 */
+	public int internNullable(final String symbol){
+		return (symbol != null? intern(symbol): NOT_FOUND);
+	}
+
+	/**
+	 * @param symbols	The symbols to be interned, any of which can be {@code null}.
+	 * @return	The ids of the given symbols ({@link #NOT_FOUND} for the {@code null} ones).
+	 */
+	public int[] internNullable(final String[] symbols){
+		final int[] ids = new int[symbols.length];
+		for(int i = 0; i < symbols.length; i ++)
+			ids[i] = internNullable(symbols[i]);
+		return ids;
+	}
+
+	/**
+	 * @param symbol	The symbol to search for.
+	 * @return	The id of the given symbol, or {@link #NOT_FOUND} if it was never interned.
+	 */
+	public int idOf(final String symbol){
+		final Integer id = (symbol != null? ids.get(symbol): null);
+		return (id != null? id: NOT_FOUND);
+	}
+
+	/**
+	 * @param id	The id of the symbol.
+	 * @return	The symbol with the given id.
+	 */
+	public String symbol(final int id){
+		return symbols[id];
+	}
+
+	public int size(){
+		return ids.size();
+	}
+
+}
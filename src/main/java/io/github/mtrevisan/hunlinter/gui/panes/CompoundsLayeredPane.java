@@ -370,7 +370,19 @@ public class CompoundsLayeredPane extends JLayeredPane implements ActionListener
 		openDicButton.setEnabled(packager.getDictionaryFile() != null);
 
 
-		//aid file:
+		initializeAid();
+	}
+
+	@EventHandler
+	@SuppressWarnings({"unused", "NumberEquality"})
+	public final void initializeAid(final Integer actionCommand){
+		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE_AID)
+			return;
+
+		initializeAid();
+	}
+
+	private void initializeAid(){
 		final List<String> lines = parserManager.getAidParser().getLines();
 		ruleFlagsAidComboBox.removeAllItems();
 		for(final String line : lines)
@@ -37,8 +37,6 @@ import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.vos.AffixEntry;
-import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
-import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntryFactory;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.Packager;
 import io.github.mtrevisan.hunlinter.services.eventbus.EventHandler;
@@ -100,7 +98,6 @@ public class DictionaryLayeredPane extends JLayeredPane{
 
 	private final Packager packager;
 	private final ParserManager parserManager;
-	private DictionaryEntryFactory dictionaryEntryFactory;
 
 	private String formerInputText;
 
@@ -336,8 +333,6 @@ public class DictionaryLayeredPane extends JLayeredPane{
 		GUIHelper.addSorterToTable(table, comparator, comparatorAffix);
 
 		try{
-			dictionaryEntryFactory = new DictionaryEntryFactory(parserManager.getAffixData());
-
 			//affix file:
 			inputTextField.setEnabled(true);
 			inputTextField.requestFocusInWindow();
@@ -345,15 +340,7 @@ public class DictionaryLayeredPane extends JLayeredPane{
 			openDicButton.setEnabled(packager.getDictionaryFile() != null);
 
 
-			//aid file:
-			final List<String> lines = parserManager.getAidParser().getLines();
-			ruleFlagsAidComboBox.removeAllItems();
-			for(final String line : lines)
-				ruleFlagsAidComboBox.addItem(line);
-			//enable combo-box only if an AID file exists
-			final boolean aidLinesPresent = !lines.isEmpty();
-			ruleFlagsAidComboBox.setEnabled(aidLinesPresent);
-			openAidButton.setEnabled(aidLinesPresent);
+			initializeAid();
 		}
 		catch(final RuntimeException re){
 			LOGGER.error(ParserManager.MARKER_APPLICATION, "A bad error occurred: {}", re.getMessage());
@@ -362,6 +349,26 @@ public class DictionaryLayeredPane extends JLayeredPane{
 		}
 	}
 
+	@EventHandler
+	@SuppressWarnings({"unused", "NumberEquality"})
+	public final void initializeAid(final Integer actionCommand){
+		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE_AID)
+			return;
+
+		initializeAid();
+	}
+
+	private void initializeAid(){
+		final List<String> lines = parserManager.getAidParser().getLines();
+		ruleFlagsAidComboBox.removeAllItems();
+		for(final String line : lines)
+			ruleFlagsAidComboBox.addItem(line);
+		//enable combo-box only if an AID file exists
+		final boolean aidLinesPresent = !lines.isEmpty();
+		ruleFlagsAidComboBox.setEnabled(aidLinesPresent);
+		openAidButton.setEnabled(aidLinesPresent);
+	}
+
 	@EventHandler
 	@SuppressWarnings({"unused", "NumberEquality"})
 	public final void clear(final Integer actionCommand){
@@ -412,8 +419,7 @@ public class DictionaryLayeredPane extends JLayeredPane{
 
 		if(StringUtils.isNotBlank(text)){
 			try{
-				final DictionaryEntry dicEntry = dictionaryEntryFactory.createFromDictionaryLine(text);
-				final List<Inflection> inflections = parserManager.getWordGenerator().applyAffixRules(dicEntry);
+				final List<Inflection> inflections = parserManager.getWordGenerator().applyAffixRules(text);
 
 				@SuppressWarnings("unchecked")
 				final HunLinterTableModelInterface<Inflection> dm = (HunLinterTableModelInterface<Inflection>)table.getModel();
@@ -372,7 +372,7 @@ public class HyphenationLayeredPane extends JLayeredPane{
 	@EventHandler
 	@SuppressWarnings({"unused", "NumberEquality"})
 	public final void initialize(final Integer actionCommand){
-		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE)
+		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE && actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE_HYPHENATION)
 			return;
 
 		openHypButton.setEnabled(packager.getHyphenationFile() != null);
@@ -223,7 +223,7 @@ public class SentenceExceptionsLayeredPane extends JLayeredPane{
 	@EventHandler
 	@SuppressWarnings({"unused", "NumberEquality"})
 	public final void initialize(final Integer actionCommand){
-		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE)
+		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE && actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE_SENTENCE_EXCEPTIONS)
 			return;
 
 		if(parserManager.getSexParser().getExceptionsCounter() > 0){
@@ -225,7 +225,7 @@ public class WordExceptionsLayeredPane extends JLayeredPane{
 	@EventHandler
 	@SuppressWarnings({"unused", "NumberEquality"})
 	public final void initialize(final Integer actionCommand){
-		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE)
+		if(actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE && actionCommand != MainFrame.ACTION_COMMAND_INITIALIZE_WORD_EXCEPTIONS)
 			return;
 
 		if(parserManager.getWexParser().getExceptionsCounter() > 0){
@@ -34,6 +34,7 @@ import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenatorInterface;
 import io.github.mtrevisan.hunlinter.services.RegexHelper;
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.services.system.PropertiesUTF8;
 import org.slf4j.Logger;
@@ -48,6 +49,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 
@@ -66,7 +68,7 @@ public final class BaseBuilder{
 
 	private static class LanguageData{
 		private Class<? extends DictionaryCorrectnessChecker> baseClass;
-		private Comparator<String> comparator;
+		private CollationKeySorter sorter;
 		private BloomFilterParameters dictionaryBaseData;
 		private BiFunction<AffixData, HyphenatorInterface, DictionaryCorrectnessChecker> checker;
 		private Orthography orthography;
@@ -76,17 +78,19 @@ public final class BaseBuilder{
 	private static final LanguageData LANGUAGE_DATA_DEFAULT = new LanguageData();
 	static{
 		LANGUAGE_DATA_DEFAULT.baseClass = DictionaryCorrectnessChecker.class;
-		LANGUAGE_DATA_DEFAULT.comparator = COMPARATOR_DEFAULT;
+		LANGUAGE_DATA_DEFAULT.sorter = CollationKeySorter.naturalOrder();
 		LANGUAGE_DATA_DEFAULT.dictionaryBaseData = DictionaryBaseData.getInstance();
 		LANGUAGE_DATA_DEFAULT.checker = DictionaryCorrectnessChecker::new;
 		LANGUAGE_DATA_DEFAULT.orthography = Orthography.getInstance();
 		LANGUAGE_DATA_DEFAULT.wordTokenizer = new WordTokenizer();
 	}
 	private static final Map<String, LanguageData> DATA = new HashMap<>(1);
+	//sorters of the languages without specific data
+	private static final Map<String, CollationKeySorter> SORTERS = new ConcurrentHashMap<>(1);
 	static{
 		final LanguageData langData = new LanguageData();
 		langData.baseClass = DictionaryCorrectnessCheckerVEC.class;
-		langData.comparator = WordVEC.sorterComparator();
+		langData.sorter = new CollationKeySorter(WordVEC.sorterCollator());
 		langData.dictionaryBaseData = DictionaryBaseDataVEC.getInstance();
 		langData.checker = DictionaryCorrectnessCheckerVEC::new;
 		langData.orthography = OrthographyVEC.getInstance();
@@ -104,31 +108,44 @@ public final class BaseBuilder{
 	 * @return	The comparator for the specified language, or a default comparator if the specified language is not supported.
 	 */
 	public static Comparator<String> getComparator(final String language){
+		return getSorter(language)
+			.comparator();
+	}
+
+	/**
+	 * Retrieves the sorter (by collation keys) for sorting strings in a specified language.
+	 *
+	 * @param language	The language code.
+	 * @return	The sorter for the specified language, or a sorter by natural order if the specified language is not supported.
+	 */
+	public static CollationKeySorter getSorter(final String language){
 		LanguageData languageData = DATA.get(language);
 		if(languageData == null && language != null && language.contains("-")){
 			final String realLanguageCode = language.substring(0, language.indexOf('-'));
 			languageData = DATA.get(realLanguageCode);
 		}
-		if(languageData == null){
-			languageData = LANGUAGE_DATA_DEFAULT;
-
-			if(language != null){
-				Collator collator = Collator.getInstance(Locale.forLanguageTag(language));
-
-				//make ordering per-word
-				if(collator instanceof RuleBasedCollator ruleBasedCollator){
-					try{
-						//insert a collation rule to sort the space character before the underscore
-						final String rules = ruleBasedCollator.getRules();
-						collator = new RuleBasedCollator(RegexHelper.replaceAll(rules, PATTERN_REPLACEMENT, "<' '='\t'<'_'"));
-					}
-					catch(final ParseException ignored){}
-				}
-
-				languageData.comparator = collator::compare;
+		if(languageData != null)
+			return languageData.sorter;
+		if(language == null)
+			return LANGUAGE_DATA_DEFAULT.sorter;
+
+		return SORTERS.computeIfAbsent(language, BaseBuilder::createSorter);
+	}
+
+	private static CollationKeySorter createSorter(final String language){
+		Collator collator = Collator.getInstance(Locale.forLanguageTag(language));
+
+		//make ordering per-word
+		if(collator instanceof RuleBasedCollator ruleBasedCollator){
+			try{
+				//insert a collation rule to sort the space character before the underscore
+				final String rules = ruleBasedCollator.getRules();
+				collator = new RuleBasedCollator(RegexHelper.replaceAll(rules, PATTERN_REPLACEMENT, "<' '='\t'<'_'"));
 			}
+			catch(final ParseException ignored){}
 		}
-		return languageData.comparator;
+
+		return new CollationKeySorter(collator);
 	}
 
 	/**
@@ -30,9 +30,8 @@ import io.github.mtrevisan.hunlinter.parsers.enums.MorphologicalTag;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenatorInterface;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
-import io.github.mtrevisan.hunlinter.services.eventbus.EventBusService;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
-import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
 
 import java.util.List;
 import java.util.Objects;
@@ -81,54 +80,76 @@ public class DictionaryCorrectnessChecker{
 	 * Checks if the given dictionary entry has a matching circumfix flag based on the affix data.
 	 *
 	 * @param dicEntry	The dictionary entry to check.
-	 * @throws LinterException	If the circumfix flag is invalid for the dictionary entry.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the circumfix flag is valid for the dictionary entry.
 	 */
-	public final void checkCircumfix(final DictionaryEntry dicEntry){
+	public final boolean checkCircumfix(final DictionaryEntry dicEntry, final DiagnosticsSink sink){
 		final String circumfixFlag = affixData.getCircumfixFlag();
-		if(circumfixFlag != null && dicEntry.hasContinuationFlag(circumfixFlag))
-			throw new LinterException(INVALID_CIRCUMFIX_FLAG, dicEntry.getWord(), circumfixFlag);
+		if(circumfixFlag != null && dicEntry.hasContinuationFlag(circumfixFlag)){
+			sink.error(INVALID_CIRCUMFIX_FLAG, dicEntry.getWord(), circumfixFlag);
+			return false;
+		}
+		return true;
 	}
 
-	/** Used by the correctness check worker after calling {@link #loadRules()}. */
+	/**
+	 * Checks the inflection for correctness.
+	 *
+	 * @param inflection	The inflection to be checked.
+	 * @param index	The line number of the inflection in the dictionary.
+	 * @throws LinterException	If the inflection is not correct.
+	 */
+	public final void checkInflection(final Inflection inflection, final int index){
+		checkInflection(inflection, DiagnosticsSink.throwing(index));
+	}
+
+	/**
+	 * Used by the correctness check worker after calling {@link #loadRules()}.
+	 * <p>
+	 * The check stops at the first error, while warnings do not stop it.
+	 * </p>
+	 *
+	 * @param inflection	The inflection to be checked.
+	 * @param sink	The receiver of the findings.
+	 * @return	Whether the inflection has no errors.
+	 */
 	@SuppressWarnings("DesignForExtension")
-	public void checkInflection(final Inflection inflection, final int index){
+	public boolean checkInflection(final Inflection inflection, final DiagnosticsSink sink){
 		final String forbidCompoundFlag = affixData.getForbidCompoundFlag();
-		if(forbidCompoundFlag != null && !inflection.hasInflectionRules() && inflection.hasContinuationFlag(forbidCompoundFlag))
-			throw new LinterException(NON_AFFIX_ENTRY_CONTAINS_FORBID_COMPOUND_FLAG, AffixOption.FORBID_COMPOUND_FLAG.getCode());
+		if(forbidCompoundFlag != null && !inflection.hasInflectionRules() && inflection.hasContinuationFlag(forbidCompoundFlag)){
+			sink.error(NON_AFFIX_ENTRY_CONTAINS_FORBID_COMPOUND_FLAG, AffixOption.FORBID_COMPOUND_FLAG.getCode());
+			return false;
+		}
 
 		if(rulesLoader.isMorphologicalFieldsCheck())
-			morphologicalFieldCheck(inflection, index);
+			morphologicalFieldCheck(inflection, sink);
 
-		incompatibilityCheck(inflection);
+		return incompatibilityCheck(inflection, sink);
 	}
 
 	/**
-	 * Checks the morphological fields of an inflection and publishes LinterWarnings if necessary.
+	 * Checks the morphological fields of an inflection and emits warnings if necessary.
 	 *
 	 * @param inflection	The inflection to check.
-	 * @param index	The line number of the inflection in the dictionary.
+	 * @param sink	The receiver of the warnings.
 	 */
-	private void morphologicalFieldCheck(final Inflection inflection, final int index){
+	private void morphologicalFieldCheck(final Inflection inflection, final DiagnosticsSink sink){
 		if(!inflection.hasMorphologicalFields())
-			EventBusService.publish(new LinterWarning(NO_MORPHOLOGICAL_FIELD, inflection.getWord())
-				.withIndex(index));
+			sink.warning(NO_MORPHOLOGICAL_FIELD, inflection.getWord());
 
 		final List<String> morphologicalFields = inflection.getMorphologicalFieldsAsList();
 		final int size = (morphologicalFields != null? morphologicalFields.size(): 0);
 		for(int i = 0; i < size; i ++){
 			final String morphologicalField = morphologicalFields.get(i);
 			if(morphologicalField.length() < 4)
-				EventBusService.publish(new LinterWarning(INVALID_MORPHOLOGICAL_FIELD_PREFIX, inflection.getWord(), morphologicalField)
-					.withIndex(index));
+				sink.warning(INVALID_MORPHOLOGICAL_FIELD_PREFIX, inflection.getWord(), morphologicalField);
 
 			final MorphologicalTag key = MorphologicalTag.createFromCode(morphologicalField);
 			if(!rulesLoader.containsDataField(key))
-				EventBusService.publish(new LinterWarning(UNKNOWN_MORPHOLOGICAL_FIELD_PREFIX, inflection.getWord(), morphologicalField)
-					.withIndex(index));
+				sink.warning(UNKNOWN_MORPHOLOGICAL_FIELD_PREFIX, inflection.getWord(), morphologicalField);
 			final Set<String> morphologicalFieldTypes = rulesLoader.getDataField(key);
 			if(morphologicalFieldTypes != null && !morphologicalFieldTypes.contains(morphologicalField))
-				EventBusService.publish(new LinterWarning(UNKNOWN_MORPHOLOGICAL_FIELD_VALUE, inflection.getWord(), morphologicalField)
-					.withIndex(index));
+				sink.warning(UNKNOWN_MORPHOLOGICAL_FIELD_VALUE, inflection.getWord(), morphologicalField);
 		}
 	}
 
@@ -136,13 +157,13 @@ public class DictionaryCorrectnessChecker{
 	 * Performs an incompatibility check on the given inflection.
 	 *
 	 * @param inflection	The inflection to check for incompatibilities.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the inflection has no incompatibilities.
 	 */
-	private void incompatibilityCheck(final Inflection inflection){
-		rulesLoader.letterToFlagIncompatibilityCheck(inflection);
-
-		rulesLoader.flagToFlagIncompatibilityCheck(inflection);
-
-		rulesLoader.letterToFlagCompatibilityCheck(inflection);
+	private boolean incompatibilityCheck(final Inflection inflection, final DiagnosticsSink sink){
+		return (rulesLoader.letterToFlagIncompatibilityCheck(inflection, sink)
+			&& rulesLoader.flagToFlagIncompatibilityCheck(inflection, sink)
+			&& rulesLoader.letterToFlagCompatibilityCheck(inflection, sink));
 	}
 
 	/**
@@ -25,7 +25,7 @@
 package io.github.mtrevisan.hunlinter.languages;
 
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
-import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 
 import java.util.Arrays;
 
@@ -47,16 +47,20 @@ public class LetterMatcherEntry{
 	}
 
 	/**
-	 * Matches an inflection against a set of wrong flags and throws a {@link LinterException} if any of the wrong flags are present.
+	 * Matches an inflection against a set of wrong flags and emits an error if any of the wrong flags are present.
 	 *
 	 * @param inflection	The inflection to match against.
-	 * @throws LinterException	If any of the wrong flags are present in the inflection.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether none of the wrong flags are present in the inflection.
 	 */
-	public final void match(final Inflection inflection){
+	public final boolean match(final Inflection inflection, final DiagnosticsSink sink){
 		if(!inflection.getContinuationFlags().isEmpty())
 			for(int i = 0; i < wrongFlags.length; i ++)
-				if(inflection.hasContinuationFlag(wrongFlags[i]))
-					throw new LinterException(messagePattern, masterLetter, wrongFlags[i], correctRule);
+				if(inflection.hasContinuationFlag(wrongFlags[i])){
+					sink.error(messagePattern, masterLetter, wrongFlags[i], correctRule);
+					return false;
+				}
+		return true;
 	}
 
 	@Override
@@ -25,7 +25,7 @@
 package io.github.mtrevisan.hunlinter.languages;
 
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
-import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 
 import java.util.Arrays;
 
@@ -43,11 +43,14 @@ public class RuleMatcherEntry{
 		this.wrongFlags = wrongFlags;
 	}
 
-	public final void match(final Inflection inflection){
+	public final boolean match(final Inflection inflection, final DiagnosticsSink sink){
 		if(!inflection.getContinuationFlags().isEmpty())
 			for(int i = 0; i < wrongFlags.length; i ++)
-				if(inflection.hasContinuationFlag(wrongFlags[i]))
-					throw new LinterException(messagePattern, masterFlag, wrongFlags[i]);
+				if(inflection.hasContinuationFlag(wrongFlags[i])){
+					sink.error(messagePattern, masterFlag, wrongFlags[i]);
+					return false;
+				}
+		return true;
 	}
 
 	@Override
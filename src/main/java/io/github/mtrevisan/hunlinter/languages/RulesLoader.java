@@ -29,6 +29,7 @@ import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrateg
 import io.github.mtrevisan.hunlinter.parsers.enums.MorphologicalTag;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.system.PropertiesUTF8;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -264,33 +265,39 @@ public class RulesLoader{
 		return canHaveNoInflections.contains(flag);
 	}
 
-	public final void letterToFlagIncompatibilityCheck(final Inflection inflection){
+	public final boolean letterToFlagIncompatibilityCheck(final Inflection inflection, final DiagnosticsSink sink){
 		final String word = inflection.getWord();
 		for(int i = 0; i < letterAndRulesNotCombinableKeys.length; i ++)
 			if(StringUtils.containsAny(word, letterAndRulesNotCombinableKeys[i])){
 				final LetterMatcherEntry[] letterMatcherEntries = letterAndRulesNotCombinable.get(letterAndRulesNotCombinableKeys[i]);
 				for(int j = 0; j < letterMatcherEntries.length; j ++)
-					letterMatcherEntries[j].match(inflection);
+					if(!letterMatcherEntries[j].match(inflection, sink))
+						return false;
 			}
+		return true;
 	}
 
-	public final void flagToFlagIncompatibilityCheck(final Inflection inflection){
+	public final boolean flagToFlagIncompatibilityCheck(final Inflection inflection, final DiagnosticsSink sink){
 		for(int i = 0; i < ruleAndRulesNotCombinableKeys.length; i ++)
 			if(inflection.hasContinuationFlag(ruleAndRulesNotCombinableKeys[i])){
 				final RuleMatcherEntry[] ruleMatcherEntries = ruleAndRulesNotCombinable.get(ruleAndRulesNotCombinableKeys[i]);
 				for(int j = 0; j < ruleMatcherEntries.length; j ++)
-					ruleMatcherEntries[j].match(inflection);
+					if(!ruleMatcherEntries[j].match(inflection, sink))
+						return false;
 			}
+		return true;
 	}
 
-	public final void letterToFlagCompatibilityCheck(final Inflection inflection){
+	public final boolean letterToFlagCompatibilityCheck(final Inflection inflection, final DiagnosticsSink sink){
 		final String word = inflection.getWord();
 		for(int i = 0; i < letterAndRulesCombinableKeys.length; i ++)
 			if(!StringUtils.containsAny(word, letterAndRulesCombinableKeys[i])){
 				final LetterMatcherEntry[] letterMatcherEntries = letterAndRulesCombinable.get(letterAndRulesCombinableKeys[i]);
 				for(int j = 0; j < letterMatcherEntries.length; j ++)
-					letterMatcherEntries[j].match(inflection);
+					if(!letterMatcherEntries[j].match(inflection, sink))
+						return false;
 			}
+		return true;
 	}
 
 }
@@ -34,9 +34,8 @@ import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenatorInterface;
 import io.github.mtrevisan.hunlinter.parsers.vos.AffixEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.RegexHelper;
-import io.github.mtrevisan.hunlinter.services.eventbus.EventBusService;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
-import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
@@ -143,59 +142,77 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 	 * Checks the inflection for correctness, performing various checks and validations.
 	 *
 	 * @param inflection	The inflection to be checked.
-	 * @param index	The line number of the inflection in the dictionary.
+	 * @param sink	The receiver of the findings.
+	 * @return	Whether the inflection has no errors.
 	 */
 	@Override
-	public final void checkInflection(final Inflection inflection, final int index){
-		super.checkInflection(inflection, index);
+	public final boolean checkInflection(final Inflection inflection, final DiagnosticsSink sink){
+		if(!super.checkInflection(inflection, sink))
+			return false;
 
-		if(!rulesLoader.containsHasToContainStressDerivationalSuffix(inflection.getMorphologicalFields(MorphologicalTag.DERIVATIONAL_SUFFIX)))
-			stressCheck(inflection);
+		if(!rulesLoader.containsHasToContainStressDerivationalSuffix(inflection.getMorphologicalFields(MorphologicalTag.DERIVATIONAL_SUFFIX))
+				&& !stressCheck(inflection, sink))
+			return false;
 
-		variantsCheck(inflection);
+		if(!variantsCheck(inflection, sink))
+			return false;
 
-		incompatibilityCheck(inflection, index);
+		incompatibilityCheck(inflection, sink);
 
-		orthographyCheck(inflection);
+		return orthographyCheck(inflection, sink);
 	}
 
 	/**
 	 * Perform stress checks on an inflection.
 	 *
 	 * @param inflection	The inflection to be checked.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the inflection has no stress errors.
 	 */
-	private void stressCheck(final Inflection inflection){
+	private boolean stressCheck(final Inflection inflection, final DiagnosticsSink sink){
 		final boolean canAdmitStress = canAdmitStress(inflection.getMorphologicalFieldStem());
 		final String derivedWord = inflection.getWord().toLowerCase(Locale.ROOT);
 		final String[] subwords = StringUtils.split(derivedWord, WORD_SEPARATORS);
 		for(int i = 0; i < subwords.length; i ++){
 			final String subword = subwords[i];
-			stressCheck(subword, inflection, (i == subwords.length - 1));
+			if(!stressCheck(subword, inflection, (i == subwords.length - 1), sink))
+				return false;
 
 			final String markedDefaultStressWord = WordVEC.markDefaultStress(subword);
-			if(!subword.equals(markedDefaultStressWord) && !canAdmitStress && !canAdmitStress(inflection))
-				throw new LinterException(UNNECESSARY_STRESS, inflection.getWord());
+			if(!subword.equals(markedDefaultStressWord) && !canAdmitStress && !canAdmitStress(inflection)){
+				sink.error(UNNECESSARY_STRESS, inflection.getWord());
+				return false;
+			}
 		}
+		return true;
 	}
 
 	/**
-	 * Checks the given inflection for language variants and throws exceptions if any inconsistencies are found.
+	 * Checks the given inflection for language variants and emits an error if any inconsistencies are found.
 	 *
 	 * @param inflection	The inflection to be checked.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the inflection has no inconsistencies.
 	 */
-	private void variantsCheck(final Inflection inflection){
+	private boolean variantsCheck(final Inflection inflection, final DiagnosticsSink sink){
 		String derivedWord = inflection.getWord().toLowerCase(Locale.ROOT);
 		for(int i = 0; i < WORD_SEPARATORS.length(); i ++)
 			derivedWord = StringUtils.remove(derivedWord, WORD_SEPARATORS.charAt(i));
 
 		final Collection<LanguageVariant> variants = EnumSet.noneOf(LanguageVariant.class);
 		if(derivedWord.contains(GraphemeVEC.GRAPHEME_L_STROKE)){
-			if(RegexHelper.find(derivedWord, patternNonVanishingEl))
-				throw new LinterException(WORD_WITH_VAN_EL_CANNOT_CONTAIN_NON_VAN_EL, inflection.getWord());
-			if(inflection.hasContinuationFlag(northernPluralRule))
-				throw new LinterException(WORD_WITH_VAN_EL_CANNOT_CONTAIN_RULE, northernPluralRule, northernPluralStressedRule, inflection.getWord());
-			if(RegexHelper.find(derivedWord, patternVanishingElNextToConsonant))
-				throw new LinterException(WORD_WITH_VAN_EL_NEAR_CONSONANT, inflection.getWord());
+			if(RegexHelper.find(derivedWord, patternNonVanishingEl)){
+				sink.error(WORD_WITH_VAN_EL_CANNOT_CONTAIN_NON_VAN_EL, inflection.getWord());
+				return false;
+			}
+			if(inflection.hasContinuationFlag(northernPluralRule)){
+				sink.error(WORD_WITH_VAN_EL_CANNOT_CONTAIN_RULE, northernPluralRule, northernPluralStressedRule, inflection.getWord());
+				return false;
+			}
+			if(RegexHelper.find(derivedWord, patternVanishingElNextToConsonant)){
+				sink.error(WORD_WITH_VAN_EL_NEAR_CONSONANT, inflection.getWord());
+				return false;
+			}
 
 			variants.add(LanguageVariant.VENETIAN);
 		}
@@ -203,38 +220,43 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 				|| derivedWord.contains(GraphemeVEC.GRAPHEME_D_STROKE) || derivedWord.contains(GraphemeVEC.GRAPHEME_T_STROKE))
 			variants.add(LanguageVariant.NORTHERN);
 
-		if(variants.size() > 1)
-			throw new LinterException(WORD_WITH_MIXED_VARIANTS, inflection.getWord());
+		if(variants.size() > 1){
+			sink.error(WORD_WITH_MIXED_VARIANTS, inflection.getWord());
+			return false;
+		}
+		return true;
 	}
 
 	/**
 	 * Performs an incompatibility check on the given inflection.
 	 * <p>
-	 * If the inflection has more than one part of speech, it publishes a linter warning event with the specified index.
+	 * If the inflection has more than one part of speech, it emits a warning.
 	 * </p>
 	 *
 	 * @param inflection	The inflection to be checked.
-	 * @param index	The line number of the inflection in the dictionary.
+	 * @param sink	The receiver of the warning.
 	 */
-	private static void incompatibilityCheck(final Inflection inflection, final int index){
+	private static void incompatibilityCheck(final Inflection inflection, final DiagnosticsSink sink){
 		final List<String> pos = inflection.getMorphologicalFieldPartOfSpeech();
 		if(pos.size() > 1)
-			EventBusService.publish(new LinterWarning(SINGLE_POS_NOT_PRESENT)
-				.withIndex(index));
+			sink.warning(SINGLE_POS_NOT_PRESENT);
 	}
 
 	/**
 	 * Checks the orthography of the given inflection by performing various checks and validations.
 	 *
 	 * @param inflection	The inflection to be checked.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the inflection is correctly spelled.
 	 */
-	private void orthographyCheck(final Inflection inflection){
+	private boolean orthographyCheck(final Inflection inflection, final DiagnosticsSink sink){
 		if(hasToCheckForOrthographyAndSyllabation(inflection)){
 			final String word = inflection.getWord()
 				.toLowerCase(Locale.ROOT);
 			if(!rulesLoader.containsUnsyllabableWords(word) && !rulesLoader.containsValidStressedWords(word))
-				orthographyCheck(word);
+				return orthographyCheck(word, sink);
 		}
+		return true;
 	}
 
 	/**
@@ -251,16 +273,20 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 	/**
 	 * Performs an orthography check on the given word.
 	 * <p>
-	 * If the word is misspelled, a {@link LinterException} is thrown with the misspelled word and the corrected word.
+	 * If the word is misspelled, an error is emitted with the misspelled word and the corrected word.
 	 * </p>
 	 *
 	 * @param word	The word to be checked for orthography.
-	 * @throws LinterException	If the word is misspelled.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the word is correctly spelled.
 	 */
-	private void orthographyCheck(final String word){
+	private boolean orthographyCheck(final String word, final DiagnosticsSink sink){
 		final String correctedDerivedWord = orthography.correctOrthography(word);
-		if(!correctedDerivedWord.equals(word))
-			throw new LinterException(MISSPELLED, word, correctedDerivedWord);
+		if(!correctedDerivedWord.equals(word)){
+			sink.error(MISSPELLED, word, correctedDerivedWord);
+			return false;
+		}
+		return true;
 	}
 
 	/**
@@ -273,7 +299,7 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 	@Override
 	protected final void checkCompoundInflection(final String subword, final int subwordIndex, final Inflection inflection){
 		if(subwordIndex == 0)
-			stressCheck(subword, inflection, false);
+			stressCheck(subword, inflection, false, DiagnosticsSink.throwing(-1));
 
 		ciuiCheck(subword, inflection);
 	}
@@ -285,12 +311,17 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 	 * @param subword	The subword to be checked.
 	 * @param inflection	The inflection containing the subword.
 	 * @param lastSubword	Flag indicating if the subword is the last in the inflection.
+	 * @param sink	The receiver of the error.
+	 * @return	Whether the subword has no stress errors.
 	 */
-	private void stressCheck(final String subword, final Inflection inflection, final boolean lastSubword){
+	private boolean stressCheck(final String subword, final Inflection inflection, final boolean lastSubword,
+			final DiagnosticsSink sink){
 		if(!rulesLoader.containsValidStressedWords(subword)){
 			final int stresses = WordVEC.countStresses(subword);
-			if(!rulesLoader.isWordCanHaveMultipleStresses() && stresses > 1)
-				throw new LinterException(MULTIPLE_STRESSES, inflection.getWord());
+			if(!rulesLoader.isWordCanHaveMultipleStresses() && stresses > 1){
+				sink.error(MULTIPLE_STRESSES, inflection.getWord());
+				return false;
+			}
 
 			final AffixEntry appliedRule = getLastAppliedRule(inflection);
 			if(appliedRule != null){
@@ -298,13 +329,18 @@ public class DictionaryCorrectnessCheckerVEC extends DictionaryCorrectnessChecke
 				//retrieve last applied rule
 				if(stresses == 0 && (rulesLoader.containsHasToContainStress(appliedRuleFlag)
 						|| rulesLoader.containsHasToContainStressDerivationalSuffix(appliedRule.getMorphologicalFields(
-							MorphologicalTag.DERIVATIONAL_SUFFIX))))
-					throw new LinterException(MISSING_STRESS, inflection.getWord(), appliedRuleFlag);
+							MorphologicalTag.DERIVATIONAL_SUFFIX)))){
+					sink.error(MISSING_STRESS, inflection.getWord(), appliedRuleFlag);
+					return false;
+				}
 				if(lastSubword && rulesLoader.containsCannotContainStress(appliedRuleFlag) && stresses > 0
-						&& WordVEC.countStresses(appliedRule.getAppending()) == 0)
-					throw new LinterException(ALREADY_PRESENT_STRESS, inflection.getWord(), appliedRuleFlag);
+						&& WordVEC.countStresses(appliedRule.getAppending()) == 0){
+					sink.error(ALREADY_PRESENT_STRESS, inflection.getWord(), appliedRuleFlag);
+					return false;
+				}
 			}
 		}
+		return true;
 	}
 
 	/**
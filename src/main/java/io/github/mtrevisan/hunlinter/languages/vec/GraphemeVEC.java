@@ -33,14 +33,8 @@ import java.util.regex.Pattern;
 final class GraphemeVEC{
 
 	static final String GRAPHEME_D_STROKE = "đ";
-	static final String GRAPHEME_H = "h";
-	static final String GRAPHEME_J = "j";
-	static final String GRAPHEME_I = "i";
-	static final String GRAPHEME_L = "l";
 	static final String GRAPHEME_L_STROKE = "ƚ";
-	static final String GRAPHEME_S = "s";
 	static final String GRAPHEME_T_STROKE = "ŧ";
-	static final String GRAPHEME_X = "x";
 
 	private static final Pattern DIPHTONG1 = RegexHelper.pattern("[àèéíòóú][aeoiu]");
 	private static final Pattern DIPHTONG2 = RegexHelper.pattern("[aeo][aeo]");
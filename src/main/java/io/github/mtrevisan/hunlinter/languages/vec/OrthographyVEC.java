@@ -26,41 +26,49 @@ package io.github.mtrevisan.hunlinter.languages.vec;
 
 import io.github.mtrevisan.hunlinter.languages.Orthography;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenationParser;
-import io.github.mtrevisan.hunlinter.services.RegexHelper;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 
 public final class OrthographyVEC extends Orthography{
 
-	private static final String[] STRESS_CODES = {"a\\", "e\\", "o\\", "e/", "i/", "i\\", "ì", "i:", "o/", "u/", "u\\", "ù", "u:"};
-	private static final String[] TRUE_STRESS = {"à", "è", "ò", "é", "í", "í", "í", "ï", "ó", "ú", "ú", "ú", "ü"};
+	//NOTE: the rules below are applied in order, each one to the result of the previous one; every rule is a left-to-right scan
+	// over a character buffer with bounded lookahead and lookbehind, and never lengthens the word, so the whole rewriting
+	// happens in place
 
-	private static final String[] EXTENDED_CHARS = {"dh", "jh", "lh", "nh", "th"};
-	private static final String[] TRUE_CHARS = {"đ", "ɉ", "ƚ", "ñ", "ŧ"};
+	//stress codes: `a\`, `e\`, `o\`, `e/`, `i/`, `i\`, `i:`, `o/`, `u/`, `u\`, `u:` (and `ì`, `ù`)
+	private static final String STRESS_CODE_VOWELS = "aeiou";
+	private static final String[] STRESS_CODES_BY_VOWEL = {"\\", "\\/", "/\\:", "\\/", "/\\:"};
+	private static final String[] TRUE_STRESS_BY_VOWEL = {"à", "èé", "ííï", "òó", "úúü"};
 
-	private static final String[] MB_MP = {"mb", "mp"};
-	private static final String[] NB_NP = {"nb", "np"};
+	//`dh`, `jh`, `lh`, `nh`, `th` into `đ`, `ɉ`, `ƚ`, `ñ`, `ŧ`
+	private static final String EXTENDED_CHARS = "djlnt";
+	private static final String TRUE_CHARS = "đɉƚñŧ";
 
 	//here `ï` and `ü` are really consonants, but are treated as vowels, in order for `argüio` to be valid
-	private static final Pattern PATTERN_IUMLAUT_C = RegexHelper.pattern("ï([^aeiouàèéíïòóúü])");
-	private static final Pattern PATTERN_UUMLAUT_C = RegexHelper.pattern("ü([^aeiouàèéíïòóúü])");
-	private static final Pattern PATTERN_V_IUMLAUT = RegexHelper.pattern("([aeiouàèéíòóú])ï");
-	private static final Pattern PATTERN_V_UUMLAUT = RegexHelper.pattern("([aeiouàèéíòóú])ü");
-
-	private static final Pattern PATTERN_REMOVE_H_FROM_NOT_FH = RegexHelper.pattern("(?<!f)h(?!aeiouàèéíòóú)");
-
-	private static final Pattern PATTERN_J_INTO_I = RegexHelper.pattern("^j(?=[^aeiouàèéíïòóúüh])");
-	private static final Pattern PATTERN_I_INITIAL_INTO_J = RegexHelper.pattern("^i(?=[aeiouàèéíïòóúü])");
-	private static final Pattern PATTERN_LH_INITIAL_INTO_L = RegexHelper.pattern("^ƚ(?=[^ʼaeiouàèéíïòóúüjw])");
-	private static final Pattern PATTERN_LH_INSIDE_INTO_L = RegexHelper.pattern("([aeiouàèéíïòóúü])ƚ(?=[^aeiouàèéíïòóúüjw])|([^ ʼaeiouàèéíïòóúü–-])ƚ(?=[aeiouàèéíïòóúüjw])");
-	private static final Pattern PATTERN_X_INTO_S = RegexHelper.pattern(GraphemeVEC.GRAPHEME_X + "(?=[cfkpstŧ])");
-	private static final Pattern PATTERN_S_INTO_X = RegexHelper.pattern(GraphemeVEC.GRAPHEME_S + "(?=([mnñbdgɉvrl]))");
+	private static final String VOWELS = "aeiouàèéíïòóúü";
+	private static final String VOWELS_NO_UMLAUT = "aeiouàèéíòóú";
+	private static final String VOWELS_OR_JW = VOWELS + "jw";
+	private static final String NOT_BEFORE_L_STROKE_INTO_L = VOWELS + " ʼ–-";
+	private static final String X_INTO_S_FOLLOWERS = "cfkpstŧ";
+	private static final String S_INTO_X_FOLLOWERS = "mnñbdgɉvrl";
 	private static final String FALSE_S_INTO_X = "èsre";
 
+	private static final char H = 'h';
+	private static final char I = 'i';
+	private static final char J = 'j';
+	private static final char L = 'l';
+	private static final char L_STROKE = 'ƚ';
+	private static final char S = 's';
+	private static final char X = 'x';
+	private static final char I_UMLAUT = 'ï';
+	private static final char U_UMLAUT = 'ü';
+
+	private static final ThreadLocal<Rewriter> REWRITERS = ThreadLocal.withInitial(Rewriter::new);
+
+
 	private static class SingletonHelper{
 		private static final Orthography INSTANCE = new OrthographyVEC();
 	}
@@ -77,86 +85,244 @@ public final class OrthographyVEC extends Orthography{
 	 * Corrects the orthography of a given word.
 	 *
 	 * @param word	The word to be corrected.
-	 * @return	The corrected word.
+	 * @return	The corrected word (the very same instance if nothing has to be corrected).
 	 */
 	@Override
 	public String correctOrthography(final String word){
+		final Rewriter rewriter = REWRITERS.get();
+
 		//correct stress
-		String correctedWord = StringUtils.replaceEach(word, STRESS_CODES, TRUE_STRESS);
+		rewriter.load(word);
+		rewriter.correctStressCodes();
+		String correctedWord = rewriter.toString(word);
 
 		correctedWord = WordVEC.markDefaultStress(correctedWord);
 
+		rewriter.load(correctedWord);
 		//correct h occurrences after d, j, l, n, t
-		correctedWord = StringUtils.replaceEach(correctedWord, EXTENDED_CHARS, TRUE_CHARS);
-
+		rewriter.correctExtendedChars();
 		//remove other occurrences of h not into fhV
-		if(correctedWord.length() > 1 && correctedWord.contains(GraphemeVEC.GRAPHEME_H))
-			correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_REMOVE_H_FROM_NOT_FH, StringUtils.EMPTY);
-
+		rewriter.removeH();
 		//correct mb/mp occurrences into nb/np
-		correctedWord = StringUtils.replaceEach(correctedWord, MB_MP, NB_NP);
-
+		rewriter.correctMbMp();
 		//correct ïC/üC occurrences into iC/uC
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_IUMLAUT_C, "i$1");
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_UUMLAUT_C, "u$1");
+		rewriter.correctUmlautBeforeConsonant(I_UMLAUT, I);
+		rewriter.correctUmlautBeforeConsonant(U_UMLAUT, 'u');
 		//correct Vï/Vü occurrences into Vi/Vu
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_V_IUMLAUT, "$1i");
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_V_UUMLAUT, "$1u");
-
-		correctedWord = correctIJOccurrences(correctedWord);
-
+		rewriter.correctUmlautAfterVowel(I_UMLAUT, I);
+		rewriter.correctUmlautAfterVowel(U_UMLAUT, 'u');
+		//correct i occurrences into j at the beginning of a word followed by a vowel and between vowels, correcting also the converse
+		rewriter.correctIJ();
 		//correct lh occurrences into l not at the beginning of a word and not between vowels
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_LH_INITIAL_INTO_L, GraphemeVEC.GRAPHEME_L);
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_LH_INSIDE_INTO_L, "$1l");
+		rewriter.correctInitialLStroke();
+		rewriter.correctInnerLStroke();
 		//correct x occurrences into s prior to c, f, k, p, s, t, ŧ
 		//correct s occurrences into x prior to m, n, ñ, b, d, g, j, ɉ, v, r, l
-		correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_X_INTO_S, GraphemeVEC.GRAPHEME_S);
-		if(!correctedWord.endsWith(FALSE_S_INTO_X))
-			correctedWord = RegexHelper.replaceAll(correctedWord, PATTERN_S_INTO_X, GraphemeVEC.GRAPHEME_X);
-
+		rewriter.correctXS();
 		//eliminate consonant geminates
-		correctedWord = reduceGeminates(correctedWord);
-
-		return correctedWord;
+		rewriter.reduceGeminates();
+		return rewriter.toString(correctedWord);
 	}
 
-	/**
-	 * Corrects occurrences of 'i' into 'j' at the beginning of a word followed by a vowel and between vowels, correcting also the converse.
-	 *
-	 * @param word	The word to be corrected.
-	 * @return	The corrected word.
-	 */
-	private static String correctIJOccurrences(String word){
-		//correct i occurrences into j at the beginning of a word followed by a vowel and between vowels,
-		//correcting also the converse
-		word = RegexHelper.replaceAll(word, PATTERN_J_INTO_I, GraphemeVEC.GRAPHEME_I);
-		word = RegexHelper.replaceAll(word, PATTERN_I_INITIAL_INTO_J, GraphemeVEC.GRAPHEME_J);
-		return word;
-	}
 
-	/**
-	 * Reduces geminates in a given word, excluding cases such as /^[ie]nn/, /^d[ei]ss/, or /[eo]nne$/.
-	 *
-	 * @param word	The word to reduce geminates in.
-	 * @return	The word with geminates reduced.
-	 */
-	//FIXME speed up
-	private static String reduceGeminates(final CharSequence word){
-		final StringBuilder sb = new StringBuilder(word);
-		for(int i = 1; i < sb.length(); i ++){
-			char chr = sb.charAt(i);
-			if(chr == sb.charAt(i - 1) && Arrays.binarySearch(WordVEC.VOWELS_ARRAY, chr) < 0){
-				final boolean starting1With = (i == 2 && ((chr = word.charAt(0)) == 'i' || chr == 'e'));
-				final boolean starting2With = (i == 3 && word.charAt(0) == 'd' && ((chr = word.charAt(1)) == 'e' || chr == 'i'));
-				final boolean endingWith = (i == sb.length() - 2 && ((chr = word.charAt(word.length() - 4)) == 'o' || chr == 'e')
-					&& word.charAt(word.length() - 1) == 'e');
-				if(!starting1With && !starting2With && !endingWith){
-					sb.replace(i - 1, i + 1, String.valueOf(sb.charAt(i)));
-					i --;
+	/** In-place rewriter of a word, reused by the calling thread. */
+	private static final class Rewriter{
+		private char[] buffer = new char[32];
+		private int length;
+		private boolean changed;
+
+
+		private void load(final String word){
+			length = word.length();
+			if(buffer.length < length)
+				buffer = new char[length << 1];
+			word.getChars(0, length, buffer, 0);
+			changed = false;
+		}
+
+		private String toString(final String original){
+			return (changed? new String(buffer, 0, length): original);
+		}
+
+		private void set(final int index, final char chr){
+			buffer[index] = chr;
+			changed = true;
+		}
+
+		private void correctStressCodes(){
+			int w = 0;
+			for(int r = 0; r < length; r ++){
+				final char chr = buffer[r];
+				final int vowelIndex = STRESS_CODE_VOWELS.indexOf(chr);
+				final int codeIndex = (vowelIndex >= 0 && r + 1 < length
+					? STRESS_CODES_BY_VOWEL[vowelIndex].indexOf(buffer[r + 1])
+					: -1);
+				if(codeIndex >= 0){
+					buffer[w ++] = TRUE_STRESS_BY_VOWEL[vowelIndex].charAt(codeIndex);
+					r ++;
+					changed = true;
+				}
+				else if(chr == 'ì' || chr == 'ù'){
+					buffer[w ++] = (chr == 'ì'? 'í': 'ú');
+					changed = true;
+				}
+				else
+					buffer[w ++] = chr;
+			}
+			length = w;
+		}
+
+		private void correctExtendedChars(){
+			int w = 0;
+			for(int r = 0; r < length; r ++){
+				final char chr = buffer[r];
+				final int index = (r + 1 < length && buffer[r + 1] == H? EXTENDED_CHARS.indexOf(chr): -1);
+				if(index >= 0){
+					buffer[w ++] = TRUE_CHARS.charAt(index);
+					r ++;
+					changed = true;
+				}
+				else
+					buffer[w ++] = chr;
+			}
+			length = w;
+		}
+
+		private void removeH(){
+			if(length <= 1)
+				return;
+
+			int w = 0;
+			char previous = 0;
+			for(int r = 0; r < length; r ++){
+				final char chr = buffer[r];
+				if(chr == H && previous != 'f' && !regionMatches(r + 1, VOWELS_NO_UMLAUT))
+					changed = true;
+				else
+					buffer[w ++] = chr;
+				previous = chr;
+			}
+			length = w;
+		}
+
+		private boolean regionMatches(final int offset, final String text){
+			if(offset < 0 || offset + text.length() > length)
+				return false;
+			for(int i = 0; i < text.length(); i ++)
+				if(buffer[offset + i] != text.charAt(i))
+					return false;
+			return true;
+		}
+
+		private void correctMbMp(){
+			for(int i = 0; i + 1 < length; i ++)
+				if(buffer[i] == 'm' && (buffer[i + 1] == 'b' || buffer[i + 1] == 'p'))
+					set(i, 'n');
+		}
+
+		private void correctUmlautBeforeConsonant(final char umlaut, final char replacement){
+			for(int i = 0; i + 1 < length; i ++)
+				if(buffer[i] == umlaut && VOWELS.indexOf(buffer[i + 1]) < 0)
+					set(i, replacement);
+		}
+
+		private void correctUmlautAfterVowel(final char umlaut, final char replacement){
+			char previous = (length > 0? buffer[0]: 0);
+			for(int i = 1; i < length; i ++){
+				final char chr = buffer[i];
+				if(chr == umlaut && VOWELS_NO_UMLAUT.indexOf(previous) >= 0)
+					set(i, replacement);
+				previous = chr;
+			}
+		}
+
+		private void correctIJ(){
+			if(length > 1){
+				final char next = buffer[1];
+				if(buffer[0] == J && next != H && VOWELS.indexOf(next) < 0)
+					set(0, I);
+				else if(buffer[0] == I && VOWELS.indexOf(next) >= 0)
+					set(0, J);
+			}
+		}
+
+		private void correctInitialLStroke(){
+			if(length > 1 && buffer[0] == L_STROKE && buffer[1] != 'ʼ' && VOWELS_OR_JW.indexOf(buffer[1]) < 0)
+				set(0, L);
+		}
+
+		private void correctInnerLStroke(){
+			int w = 0;
+			int r = 0;
+			while(r < length){
+				final char chr = buffer[r];
+				if(r + 2 < length && buffer[r + 1] == L_STROKE){
+					final boolean nextIsVowel = (VOWELS_OR_JW.indexOf(buffer[r + 2]) >= 0);
+					if(VOWELS.indexOf(chr) >= 0 && !nextIsVowel){
+						buffer[w ++] = chr;
+						buffer[w ++] = L;
+						r += 2;
+						changed = true;
+						continue;
+					}
+					if(NOT_BEFORE_L_STROKE_INTO_L.indexOf(chr) < 0 && nextIsVowel){
+						//NOTE: the preceding character is dropped along with the `ƚ`
+						buffer[w ++] = L;
+						r += 2;
+						changed = true;
+						continue;
+					}
+				}
+				buffer[w ++] = chr;
+				r ++;
+			}
+			length = w;
+		}
+
+		private void correctXS(){
+			for(int i = 0; i + 1 < length; i ++)
+				if(buffer[i] == X && X_INTO_S_FOLLOWERS.indexOf(buffer[i + 1]) >= 0)
+					set(i, S);
+
+			if(!regionMatches(length - FALSE_S_INTO_X.length(), FALSE_S_INTO_X))
+				for(int i = 0; i + 1 < length; i ++)
+					if(buffer[i] == S && S_INTO_X_FOLLOWERS.indexOf(buffer[i + 1]) >= 0)
+						set(i, X);
+		}
+
+		/**
+		 * Reduces geminates, excluding cases such as /^[ie]nn/, /^d[ei]ss/, or /[eo]nne$/.
+		 * <p>
+		 * The positions of the exclusions are counted on the word before the reduction, while the indices on the word being
+		 * reduced.
+		 * </p>
+		 */
+		private void reduceGeminates(){
+			if(length < 2)
+				return;
+
+			final int originalLength = length;
+			final char first = buffer[0];
+			final char second = buffer[1];
+			final char fourthToLast = (originalLength >= 4? buffer[originalLength - 4]: 0);
+			final char last = buffer[originalLength - 1];
+			int w = 1;
+			for(int r = 1; r < originalLength; r ++){
+				final char chr = buffer[r];
+				if(chr == buffer[w - 1] && Arrays.binarySearch(WordVEC.VOWELS_ARRAY, chr) < 0){
+					final int reducedLength = w + originalLength - r;
+					final boolean starting1With = (w == 2 && (first == 'i' || first == 'e'));
+					final boolean starting2With = (w == 3 && first == 'd' && (second == 'e' || second == 'i'));
+					final boolean endingWith = (w == reducedLength - 2 && (fourthToLast == 'o' || fourthToLast == 'e') && last == 'e');
+					if(!starting1With && !starting2With && !endingWith){
+						changed = true;
+						continue;
+					}
 				}
+				buffer[w ++] = chr;
 			}
+			length = w;
 		}
-		return sb.toString();
 	}
 
 	/**
@@ -33,7 +33,6 @@ import java.text.Collator;
 import java.text.ParseException;
 import java.text.RuleBasedCollator;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Locale;
 import java.util.StringJoiner;
 
@@ -244,6 +243,9 @@ public final class WordVEC{
 	 * @return	The word with stress suppressed.
 	 */
 	private static String suppressStress(final String word){
+		if(getIndexOfStress(word) < 0)
+			return word;
+
 		final StringBuilder sb = new StringBuilder(word);
 		final char[] chars = word.toCharArray();
 		for(int i = 0; i < chars.length; i ++){
@@ -465,12 +467,15 @@ public final class WordVEC{
 	}
 
 	/**
-	 * Returns a Comparator that uses the default sorting order of strings.
+	 * Returns the collator that defines the default sorting order of strings.
+	 * <p>
+	 * NOTE: the collator synchronizes on each call, use a copy of it for each thread.
+	 * </p>
 	 *
-	 * @return	A Comparator that uses the default sorting order of strings.
+	 * @return	The collator that defines the default sorting order of strings.
 	 */
-	public static Comparator<String> sorterComparator(){
-		return COLLATOR::compare;
+	public static Collator sorterCollator(){
+		return COLLATOR;
 	}
 
 }
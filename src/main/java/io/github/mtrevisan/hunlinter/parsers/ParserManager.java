@@ -26,6 +26,7 @@ package io.github.mtrevisan.hunlinter.parsers;
 
 import io.github.mtrevisan.hunlinter.MainFrame;
 import io.github.mtrevisan.hunlinter.gui.events.PreLoadProjectEvent;
+import io.github.mtrevisan.hunlinter.gui.events.ReloadComponentEvent;
 import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
@@ -33,6 +34,7 @@ import io.github.mtrevisan.hunlinter.parsers.affix.AffixParser;
 import io.github.mtrevisan.hunlinter.parsers.aid.AidParser;
 import io.github.mtrevisan.hunlinter.parsers.autocorrect.AutoCorrectParser;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.InflectionCache;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
 import io.github.mtrevisan.hunlinter.parsers.exceptions.ExceptionsParser;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenationParser;
@@ -43,6 +45,7 @@ import io.github.mtrevisan.hunlinter.services.Packager;
 import io.github.mtrevisan.hunlinter.services.eventbus.EventBusService;
 import io.github.mtrevisan.hunlinter.services.filelistener.FileChangeListener;
 import io.github.mtrevisan.hunlinter.services.filelistener.FileListenerManager;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.slf4j.Logger;
@@ -59,8 +62,12 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -91,12 +98,17 @@ public class ParserManager implements FileChangeListener{
 	private HyphenatorInterface hyphenator;
 	private DictionaryCorrectnessChecker checker;
 	private WordGenerator wordGenerator;
+	private final InflectionCache inflectionCache = new InflectionCache();
+	/** Files modified while a worker was running, accessed on the EDT only. */
+	private final Set<Path> postponedReloads = new LinkedHashSet<>(0);
 
 	private final AutoCorrectParser acoParser;
 	private final ExceptionsParser sexParser;
 	private final ExceptionsParser wexParser;
 
 	private final FileListenerManager flm;
+	/** Hash of the content of each watched file, used to ignore saves that do not change the content. */
+	private final Map<Path, String> contentHashes = new ConcurrentHashMap<>(0);
 
 	private final Packager packager;
 
@@ -175,6 +187,7 @@ public class ParserManager implements FileChangeListener{
 
 	private void registerFileListener(){
 		flm.unregisterAll();
+		contentHashes.clear();
 
 		final File affFile = packager.getAffixFile();
 		final File dicFile = packager.getDictionaryFile();
@@ -184,8 +197,35 @@ public class ParserManager implements FileChangeListener{
 		final File wexFile = packager.getWordExceptionsFile();
 		final File[] files = {affFile, dicFile, hypFile, aidFile, sexFile, wexFile};
 		for(final File file : files)
-			if(file != null)
+			if(file != null){
 				flm.register(this, file.getAbsolutePath());
+
+				updateContentHash(file.toPath());
+			}
+	}
+
+	/**
+	 * Stores the hash of the content of the given file, so that a later notification of modification can be ignored if the bytes
+	 * did not change.
+	 *
+	 * @param path	The path of the file.
+	 * @return	Whether the content of the file has changed since the last time the hash was stored.
+	 */
+	private boolean updateContentHash(final Path path){
+		final Path key = path.toAbsolutePath()
+			.normalize();
+		try{
+			final String contentHash = (Files.exists(key)? FileHelper.calculateContentHash(key): null);
+			final String previousContentHash = (contentHash != null
+				? contentHashes.put(key, contentHash)
+				: contentHashes.remove(key));
+			return (contentHash == null || !contentHash.equals(previousContentHash));
+		}
+		catch(final IOException ioe){
+			contentHashes.remove(key);
+
+			return true;
+		}
 	}
 
 	public final void stopFileListener(){
@@ -230,6 +270,8 @@ public class ParserManager implements FileChangeListener{
 		Objects.requireNonNull(affParser, "Affix parser cannot be null");
 
 		checker = BaseBuilder.getCorrectnessChecker(affParser.getAffixData(), hyphenator);
+		//the expansions depend on the checker too
+		inflectionCache.clear();
 	}
 
 	public final void prepareDictionaryFile(final File dicFile){
@@ -242,7 +284,13 @@ public class ParserManager implements FileChangeListener{
 		else if(dicParser != null)
 			EventBusService.publish(MainFrame.ACTION_COMMAND_PARSER_CLEAR_DICTIONARY);
 
-		wordGenerator = new WordGenerator(affixData, dicParser, checker);
+		wordGenerator = new WordGenerator(affixData, dicParser, checker, inflectionCache);
+	}
+
+	/** Calculates the index of the dictionary (lines and sections that need sorting), in order not to do it on the EDT. */
+	public final void prepareDictionaryIndex(){
+		if(dicParser != null)
+			dicParser.prepareIndex();
 	}
 
 	public final void openAidFile(final File aidFile) throws IOException{
@@ -312,6 +360,8 @@ public class ParserManager implements FileChangeListener{
 	public final void storeHyphenationFile() throws IOException{
 		final File hypFile = packager.getHyphenationFile();
 		hypParser.save(hypFile);
+
+		updateContentHash(hypFile.toPath());
 	}
 
 	public final void storeThesaurusFiles() throws IOException{
@@ -323,11 +373,15 @@ public class ParserManager implements FileChangeListener{
 	public final void storeSentenceExceptionFile() throws TransformerException{
 		final File sexFile = packager.getSentenceExceptionsFile();
 		sexParser.save(sexFile);
+
+		updateContentHash(sexFile.toPath());
 	}
 
 	public final void storeWordExceptionFile() throws TransformerException{
 		final File wexFile = packager.getWordExceptionsFile();
 		wexParser.save(wexFile);
+
+		updateContentHash(wexFile.toPath());
 	}
 
 	public final void storeAutoCorrectFile() throws TransformerException{
@@ -365,16 +419,114 @@ public class ParserManager implements FileChangeListener{
 
 	@Override
 	public final void fileModified(final Path path){
-		if(path.toFile().toString().equals(packager.getDictionaryFile().toString()))
+		if(!updateContentHash(path)){
+			LOGGER.debug("File {} saved without changes, skip reloading", path.getFileName());
+
+			return;
+		}
+
+		final File file = path.toFile();
+		if(isSameFile(file, packager.getDictionaryFile()))
 			//cannot refresh file because on sorting the dictionary is changed, leading to a useless reloading
 			EventBusService.publish(MainFrame.ACTION_COMMAND_PARSER_RELOAD_DICTIONARY);
-		else{
-			LOGGER.info(MARKER_APPLICATION, "File {} modified, reloading", path.getFileName());
+		else if(isSameFile(file, packager.getAffixFile()))
+			//everything else depends on the affix file
+			reloadProject(path);
+		else
+			//NOTE: the parsers are replaced on the same path as the full reload, not on the thread of the file listener
+			EventBusService.publish(new ReloadComponentEvent(path));
+	}
+
+	/**
+	 * Reloads only the parser that owns the given file and its dependents, or the whole project if the file cannot be reloaded
+	 * on its own.
+	 * <p>
+	 * NOTE: must not be called while a worker is running, since the parsers it uses are replaced (see
+	 * {@link #postponeReloadComponent(Path)}).
+	 * </p>
+	 *
+	 * @param path	The modified file.
+	 */
+	public final void reloadComponent(final Path path){
+		LOGGER.info(MARKER_APPLICATION, "File {} modified, reloading", path.getFileName());
+
+		try{
+			if(!reloadComponent(path.toFile()))
+				reloadProject(path);
+		}
+		catch(final IOException | SAXException | RuntimeException e){
+			LOGGER.error(MARKER_APPLICATION, "Cannot reload file {}: {}", path.getFileName(), e.getMessage());
 
-			EventBusService.publish(new PreLoadProjectEvent(packager.getProjectPath()));
+			reloadProject(path);
 		}
 	}
 
+	/**
+	 * Records a file to be reloaded once no worker is running anymore (see {@link #reloadPostponedComponents()}).
+	 *
+	 * @param path	The modified file.
+	 */
+	public final void postponeReloadComponent(final Path path){
+		LOGGER.info(MARKER_APPLICATION, "File {} modified, reloading after the running tasks have finished", path.getFileName());
+
+		postponedReloads.add(path);
+	}
+
+	public final void reloadPostponedComponents(){
+		final Path[] paths = postponedReloads.toArray(Path[]::new);
+		postponedReloads.clear();
+		for(final Path path : paths)
+			reloadComponent(path);
+	}
+
+	private boolean reloadComponent(final File file) throws IOException, SAXException{
+		if(isSameFile(file, packager.getHyphenationFile())){
+			openHyphenationFile(file);
+			//the checker depends on the hyphenator, the word generator on the checker
+			getCorrectnessChecker();
+			wordGenerator = new WordGenerator(affParser.getAffixData(), dicParser, checker, inflectionCache);
+
+			publishReloaded(MainFrame.ACTION_COMMAND_GUI_CLEAR_HYPHENATION, MainFrame.ACTION_COMMAND_INITIALIZE_HYPHENATION);
+		}
+		else if(isSameFile(file, getAidFile())){
+			openAidFile(file);
+
+			publishReloaded(MainFrame.ACTION_COMMAND_GUI_CLEAR_AID, MainFrame.ACTION_COMMAND_INITIALIZE_AID);
+		}
+		else if(isSameFile(file, packager.getSentenceExceptionsFile())){
+			openSentenceExceptionsFile(file);
+
+			publishReloaded(MainFrame.ACTION_COMMAND_GUI_CLEAR_SENTENCE_EXCEPTIONS,
+				MainFrame.ACTION_COMMAND_INITIALIZE_SENTENCE_EXCEPTIONS);
+		}
+		else if(isSameFile(file, packager.getWordExceptionsFile())){
+			openWordExceptionsFile(file);
+
+			publishReloaded(MainFrame.ACTION_COMMAND_GUI_CLEAR_WORD_EXCEPTIONS, MainFrame.ACTION_COMMAND_INITIALIZE_WORD_EXCEPTIONS);
+		}
+		else
+			return false;
+
+		LOGGER.info(MARKER_APPLICATION, "File {} reloaded", file.getName());
+		return true;
+	}
+
+	/** NOTE: the file listener reports absolute paths, whereas some of the files are known by their relative path. */
+	private static boolean isSameFile(final File file, final File other){
+		return (other != null && file.toPath().toAbsolutePath().normalize().equals(other.toPath().toAbsolutePath().normalize()));
+	}
+
+	private static void publishReloaded(final Integer clearActionCommand, final Integer initializeActionCommand){
+		EventBusService.publish(clearActionCommand);
+		EventBusService.publish(initializeActionCommand);
+	}
+
+	private void reloadProject(final Path path){
+		LOGGER.info(MARKER_APPLICATION, "File {} modified, reloading project", path.getFileName());
+
+		EventBusService.publish(new PreLoadProjectEvent(packager.getProjectPath()));
+	}
+
 
 	public final List<String> getDictionaryLines() throws IOException{
 		final File dicFile = packager.getDictionaryFile();
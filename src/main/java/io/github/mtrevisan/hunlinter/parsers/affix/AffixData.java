@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.affix;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.ParsingStrategyFactory;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixOption;
@@ -48,6 +49,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -59,8 +61,10 @@ public class AffixData{
 	private static final String DUPLICATED_FLAG = "Flag already present: `{}`";
 
 
+	private static final AtomicLong VERSIONS = new AtomicLong();
+
 	private static final Function<String, FlagParsingStrategy> FLAG_PARSING_STRATEGY
-		= Memoizer.memoize(ParsingStrategyFactory::createFromFlag);
+		= Memoizer.memoize("Flag parsing strategies", ParsingStrategyFactory::createFromFlag, 16);
 
 	/*AffixOption.SUB_STANDARD_FLAG*/
 	private static final List<AffixOption> SINGLE_FLAG_TAGS = List.of(AffixOption.NO_SUGGEST_FLAG, AffixOption.COMPOUND_FLAG,
@@ -74,6 +78,12 @@ public class AffixData{
 	private final Collection<String> terminalAffixes = new HashSet<>(0);
 	private final Set<String> productableFlags = new HashSet<>(0);
 	private final Set<String> unproductableFlags = new HashSet<>(13);
+	/** Pool of the flags and morphological fields of the entries built upon this data. */
+	private SymbolTable symbols = new SymbolTable();
+	/** Hash of the content of the affix file this data was parsed from. */
+	private String contentHash;
+	/** Unique number of the last parse, changes every time the data is (re)loaded. */
+	private long version;
 	private boolean closed;
 
 
@@ -102,6 +112,7 @@ public class AffixData{
 
 		unproductableAffixOptions.forEach(option -> JavaHelper.addIfNotNull(unproductableFlags, (String)data.get(option.getCode())));
 
+		version = VERSIONS.incrementAndGet();
 		closed = true;
 	}
 
@@ -110,6 +121,8 @@ public class AffixData{
 		terminalAffixes.clear();
 		productableFlags.clear();
 		unproductableFlags.clear();
+		symbols = new SymbolTable();
+		contentHash = null;
 		closed = false;
 	}
 
@@ -185,6 +198,21 @@ public class AffixData{
 		return getData(AffixOption.LANGUAGE);
 	}
 
+	/**
+	 * @return	The version of this data, different for each load of an affix file (even within the same instance).
+	 */
+	public final long getVersion(){
+		return version;
+	}
+
+	public final String getContentHash(){
+		return contentHash;
+	}
+
+	final void setContentHash(final String contentHash){
+		this.contentHash = contentHash;
+	}
+
 	public final void setLanguage(final String language){
 		data.put(AffixOption.LANGUAGE.getCode(), language);
 	}
@@ -194,6 +222,10 @@ public class AffixData{
 		return (flag != null? FLAG_PARSING_STRATEGY.apply(flag): ParsingStrategyFactory.createASCIIParsingStrategy());
 	}
 
+	public final SymbolTable getSymbolTable(){
+		return symbols;
+	}
+
 	public final String getNeedAffixFlag(){
 		return getData(AffixOption.NEED_AFFIX_FLAG);
 	}
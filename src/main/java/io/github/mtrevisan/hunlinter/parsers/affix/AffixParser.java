@@ -230,6 +230,8 @@ public class AffixParser{
 		if(configurationLanguage != null && !configurationLanguage.equals(data.getLanguage()))
 			data.setLanguage(configurationLanguage);
 
+		data.setContentHash(FileHelper.calculateContentHash(affPath));
+
 		data.close();
 
 		data.verify();
@@ -98,8 +98,8 @@ public class AffixHandler implements Handler{
 			ParserHelper.assertNotEOF(scanner);
 
 			line = scanner.nextLine();
-			final AffixEntry entry = new AffixEntry(line, context.getIndex() + i, parentType, parentFlag, strategy, aliasesFlag,
-					aliasesMorphologicalField)
+			final AffixEntry entry = new AffixEntry(line, context.getIndex() + i, parentType, parentFlag, strategy,
+					affixData.getSymbolTable(), aliasesFlag, aliasesMorphologicalField)
 				.setParent(parent);
 
 
@@ -107,7 +107,7 @@ public class AffixHandler implements Handler{
 
 
 			if(entries.contains(entry))
-				EventBusService.publish(new LinterWarning(DUPLICATED_LINE, entry.toString())
+				EventBusService.publishBatched(new LinterWarning(DUPLICATED_LINE, entry.toString())
 					.withIndex(context.getIndex() + i));
 			else
 				entries.add(entry);
@@ -79,7 +79,7 @@ public class CompoundRuleHandler implements Handler{
 
 			final boolean inserted = compoundRules.add(rule);
 			if(!inserted)
-				EventBusService.publish(new LinterWarning(DUPLICATED_LINE, line)
+				EventBusService.publishBatched(new LinterWarning(DUPLICATED_LINE, line)
 					.withIndex(context.getIndex() + i));
 		}
 
@@ -105,7 +105,7 @@ public class AutoCorrectParser{
 		for(int i = 0; i < dictionary.size(); i ++){
 			final CorrectionEntry entry = dictionary.get(i);
 			if(!map.add(entry.getIncorrectForm()))
-				EventBusService.publish(new LinterWarning(DUPLICATED_ENTRY, entry.getIncorrectForm(), entry.getCorrectForm())
+				EventBusService.publishBatched(new LinterWarning(DUPLICATED_ENTRY, entry.getIncorrectForm(), entry.getCorrectForm())
 					.withIndex(index));
 
 			index ++;
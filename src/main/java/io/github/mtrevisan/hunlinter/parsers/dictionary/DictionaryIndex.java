@@ -0,0 +1,514 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary;
+
+import io.github.mtrevisan.hunlinter.services.ParserHelper;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.system.LineOffsetReader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Index of the byte offsets of the lines of a dictionary file, and of its sections that need sorting.
+ * <p>
+ * Everything is stored in primitive arrays, so that lines and sections can be looked up without rescanning the file.
+ * A persisted index is still valid for a file with the same length and modification time or, failing that, the same content
+ * hash; after an in-place modification of the file the index is updated instead of recalculated, and the content hash is
+ * dropped.
+ * </p>
+ */
+public final class DictionaryIndex{
+
+	/** "HLDI". */
+	private static final int MAGIC_NUMBER = 0x484C_4449;
+	private static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 65_536;
+
+
+	/** Identifies the file and the parameters the index was created with. */
+	private final String key;
+	private long fileLength;
+	private long lastModified;
+	/** Hash of the content of the file, {@code null} if the file was modified in place after the index was created. */
+	private String contentHash;
+	/** Whether the file can be read at random positions (that is, it is not gzipped). */
+	private final boolean randomAccess;
+	/** The {@code i}-th element is the offset of line {@code i}, the last one is the length of the (uncompressed) content. */
+	private final long[] lineOffsets;
+	/** First lines of the sections that need sorting, in ascending order. */
+	private int[] sectionStarts;
+	/** Last lines (inclusive) of the sections that need sorting. */
+	private int[] sectionEnds;
+	private int sectionsCount;
+
+
+	private DictionaryIndex(final String key, final long fileLength, final long lastModified, final String contentHash,
+			final boolean randomAccess, final long[] lineOffsets, final int[] sectionStarts, final int[] sectionEnds){
+		this.key = key;
+		this.fileLength = fileLength;
+		this.lastModified = lastModified;
+		this.contentHash = contentHash;
+		this.randomAccess = randomAccess;
+		this.lineOffsets = lineOffsets;
+		this.sectionStarts = sectionStarts;
+		this.sectionEnds = sectionEnds;
+		sectionsCount = sectionStarts.length;
+	}
+
+	/**
+	 * @param key	The identifier of the file and of the parameters of the index.
+	 * @return	An index with no lines and no sections, never valid for any file.
+	 */
+	static DictionaryIndex empty(final String key){
+		return new DictionaryIndex(key, -1l, -1l, null, false, new long[1], new int[0], new int[0]);
+	}
+
+	/**
+	 * Creates the index of a dictionary file, reading it once.
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @param charset	The charset of the dictionary file.
+	 * @param comparator	The comparator used to decide whether a section needs sorting.
+	 * @param key	The identifier of the file and of the parameters of the index.
+	 * @return	The index.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static DictionaryIndex create(final Path dicPath, final Charset charset, final Comparator<String> comparator,
+			final String key) throws IOException{
+		Objects.requireNonNull(dicPath, "Dictionary path cannot be null");
+		Objects.requireNonNull(comparator, "Comparator cannot be null");
+
+		final long fileLength = Files.size(dicPath);
+		final long lastModified = Files.getLastModifiedTime(dicPath).toMillis();
+		final boolean gzipped = FileHelper.isGZipped(dicPath.toFile());
+
+		final MessageDigest digest = FileHelper.createContentDigest();
+		final DigestInputStream dis = new DigestInputStream(new BufferedInputStream(Files.newInputStream(dicPath), BUFFER_SIZE),
+			digest);
+		final InputStream is = (gzipped? new GZIPInputStream(dis, BUFFER_SIZE): dis);
+		long[] lineOffsets = new long[(int)Math.min(fileLength / 16 + 2, Integer.MAX_VALUE - 8)];
+		int[] sectionStarts = new int[16];
+		int[] sectionEnds = new int[16];
+		int sectionsCount = 0;
+		int lineIndex = 0;
+		try(final LineOffsetReader reader = new LineOffsetReader(is, charset)){
+			final String firstLine = reader.readLine();
+			ParserHelper.assertLinesCount(firstLine);
+			lineOffsets[lineIndex ++] = reader.getLineStart();
+
+			String prevLine = null;
+			int startSection = -1;
+			boolean needSorting = false;
+			String line;
+			while((line = reader.readLine()) != null){
+				if(lineIndex + 1 >= lineOffsets.length)
+					lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length + (lineOffsets.length >> 1));
+				lineOffsets[lineIndex] = reader.getLineStart();
+
+				if(!ParserHelper.isDictionaryComment(line)){
+					if(startSection < 0)
+						startSection = lineIndex;
+
+					if(!needSorting && prevLine != null)
+						needSorting = (comparator.compare(line, prevLine) < 0);
+					prevLine = line;
+				}
+				else if(startSection >= 0){
+					//filter out possible single lines that doesn't need to be sorted
+					if(lineIndex - startSection > 2 && needSorting){
+						if(sectionsCount == sectionStarts.length){
+							sectionStarts = Arrays.copyOf(sectionStarts, sectionsCount << 1);
+							sectionEnds = Arrays.copyOf(sectionEnds, sectionsCount << 1);
+						}
+						sectionStarts[sectionsCount] = startSection;
+						sectionEnds[sectionsCount ++] = lineIndex - 1;
+					}
+
+					//reset for next section
+					prevLine = null;
+					startSection = -1;
+					needSorting = false;
+				}
+
+				lineIndex ++;
+			}
+			lineOffsets[lineIndex] = reader.getPosition();
+			//add last section if needed (filter out single word that doesn't need to be sorted)
+			if(startSection >= 0 && lineIndex - startSection > 2 && needSorting){
+				if(sectionsCount == sectionStarts.length){
+					sectionStarts = Arrays.copyOf(sectionStarts, sectionsCount + 1);
+					sectionEnds = Arrays.copyOf(sectionEnds, sectionsCount + 1);
+				}
+				sectionStarts[sectionsCount] = startSection;
+				sectionEnds[sectionsCount ++] = lineIndex - 1;
+			}
+
+			//the whole file must go through the digest
+			final byte[] buffer = new byte[BUFFER_SIZE];
+			while(dis.read(buffer) >= 0);
+		}
+
+		return new DictionaryIndex(key, fileLength, lastModified, FileHelper.getContentHash(digest), !gzipped,
+			Arrays.copyOf(lineOffsets, lineIndex + 1), Arrays.copyOf(sectionStarts, sectionsCount),
+			Arrays.copyOf(sectionEnds, sectionsCount));
+	}
+
+	/**
+	 * Reads a persisted index.
+	 *
+	 * @param indexPath	The path of the persisted index.
+	 * @param key	The identifier of the file and of the parameters of the index.
+	 * @return	The index, or {@code null} if it does not exist, or it was created for another key or by another version.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static DictionaryIndex read(final Path indexPath, final String key) throws IOException{
+		if(!Files.exists(indexPath))
+			return null;
+
+		try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath), BUFFER_SIZE))){
+			if(dis.readInt() != MAGIC_NUMBER || dis.readInt() != VERSION || !dis.readUTF().equals(key))
+				return null;
+
+			final long fileLength = dis.readLong();
+			final long lastModified = dis.readLong();
+			final boolean hasContentHash = dis.readBoolean();
+			final String contentHash = (hasContentHash? dis.readUTF(): null);
+			final boolean randomAccess = dis.readBoolean();
+
+			final long[] lineOffsets = new long[dis.readInt()];
+			long offset = 0l;
+			for(int i = 0; i < lineOffsets.length; i ++){
+				offset += readVarLong(dis);
+				lineOffsets[i] = offset;
+			}
+
+			final int sectionsCount = dis.readInt();
+			final int[] sectionStarts = new int[sectionsCount];
+			final int[] sectionEnds = new int[sectionsCount];
+			int line = 0;
+			for(int i = 0; i < sectionsCount; i ++){
+				line += (int)readVarLong(dis);
+				sectionStarts[i] = line;
+				sectionEnds[i] = line + (int)readVarLong(dis);
+			}
+
+			return new DictionaryIndex(key, fileLength, lastModified, contentHash, randomAccess, lineOffsets, sectionStarts,
+				sectionEnds);
+		}
+	}
+
+	/**
+	 * Persists this index.
+	 *
+	 * @param indexPath	The path of the persisted index.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public synchronized void write(final Path indexPath) throws IOException{
+		//write to a temporary file first, so that a concurrent reader never sees a partial index
+		final Path temporaryPath = Files.createTempFile(indexPath.getParent(), indexPath.getFileName().toString(), null);
+		try{
+			try(final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath),
+					BUFFER_SIZE))){
+				dos.writeInt(MAGIC_NUMBER);
+				dos.writeInt(VERSION);
+				dos.writeUTF(key);
+				dos.writeLong(fileLength);
+				dos.writeLong(lastModified);
+				dos.writeBoolean(contentHash != null);
+				if(contentHash != null)
+					dos.writeUTF(contentHash);
+				dos.writeBoolean(randomAccess);
+
+				//offsets are stored as differences, usually a byte each
+				dos.writeInt(lineOffsets.length);
+				long offset = 0l;
+				for(int i = 0; i < lineOffsets.length; i ++){
+					writeVarLong(dos, lineOffsets[i] - offset);
+					offset = lineOffsets[i];
+				}
+
+				dos.writeInt(sectionsCount);
+				int line = 0;
+				for(int i = 0; i < sectionsCount; i ++){
+					writeVarLong(dos, sectionStarts[i] - line);
+					writeVarLong(dos, sectionEnds[i] - sectionStarts[i]);
+					line = sectionStarts[i];
+				}
+			}
+			Files.move(temporaryPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally{
+			Files.deleteIfExists(temporaryPath);
+		}
+	}
+
+	private static void writeVarLong(final DataOutputStream dos, long value) throws IOException{
+		while((value & ~0x7Fl) != 0l){
+			dos.writeByte((int)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		dos.writeByte((int)value);
+	}
+
+	private static long readVarLong(final DataInputStream dis) throws IOException{
+		long value = 0l;
+		int shift = 0;
+		byte chr;
+		do{
+			chr = dis.readByte();
+			value |= (long)(chr & 0x7F) << shift;
+			shift += 7;
+		}while((chr & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * Tells whether this index describes the current content of the given file, comparing its length and modification time
+	 * or, if the latter differs, its content hash.
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @return	Whether this index is valid for the file.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public synchronized boolean matches(final Path dicPath) throws IOException{
+		if(Files.size(dicPath) != fileLength)
+			return false;
+
+		final long currentLastModified = Files.getLastModifiedTime(dicPath).toMillis();
+		if(currentLastModified == lastModified)
+			return true;
+		if(contentHash == null || !contentHash.equals(FileHelper.calculateContentHash(dicPath)))
+			return false;
+
+		lastModified = currentLastModified;
+		return true;
+	}
+
+	/**
+	 * Tells whether this index describes the current content of the given file, always comparing its content hash.
+	 * <p>
+	 * Unlike {@link #matches(Path)}, the modification time is not trusted, so this should be called before rewriting a
+	 * section in place.
+	 * </p>
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @return	Whether the content of the file is the one this index was calculated upon.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public synchronized boolean verifyContent(final Path dicPath) throws IOException{
+		return (Files.size(dicPath) == fileLength && contentHash != null
+			&& contentHash.equals(FileHelper.calculateContentHash(dicPath)));
+	}
+
+	/**
+	 * Records the current length, modification time, and content hash of the file, after it was modified in place (and the
+	 * index updated accordingly).
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public synchronized void updateFileStamp(final Path dicPath) throws IOException{
+		fileLength = Files.size(dicPath);
+		lastModified = Files.getLastModifiedTime(dicPath).toMillis();
+		contentHash = FileHelper.calculateContentHash(dicPath);
+	}
+
+	public synchronized long getFileLength(){
+		return fileLength;
+	}
+
+	public int getLinesCount(){
+		return lineOffsets.length - 1;
+	}
+
+	/**
+	 * @param fromLine	The index of the first line, inclusive.
+	 * @param toLine	The index of the last line, exclusive.
+	 * @return	The range of bytes of the given lines (terminators included), or {@code null} if the file cannot be read at random
+	 * 	positions.
+	 */
+	public synchronized DictionaryParser.ByteRange getLinesByteRange(final int fromLine, final int toLine){
+		Objects.checkFromToIndex(fromLine, toLine, getLinesCount());
+
+		return (randomAccess? new DictionaryParser.ByteRange(lineOffsets[fromLine], lineOffsets[toLine]): null);
+	}
+
+	/**
+	 * Reads the given lines, reading only their bytes.
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @param charset	The charset of the dictionary file.
+	 * @param fromLine	The index of the first line, inclusive.
+	 * @param toLine	The index of the last line, exclusive.
+	 * @return	The lines (without terminators), or {@code null} if the file cannot be read at random positions.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public List<String> readLines(final Path dicPath, final Charset charset, final int fromLine, final int toLine)
+			throws IOException{
+		final DictionaryParser.ByteRange range = getLinesByteRange(fromLine, toLine);
+		if(range == null)
+			return null;
+
+		final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(range.end() - range.start()));
+		try(final FileChannel channel = FileChannel.open(dicPath, StandardOpenOption.READ)){
+			while(buffer.hasRemaining())
+				if(channel.read(buffer, range.start() + buffer.position()) < 0)
+					break;
+		}
+		final byte[] bytes = buffer.array();
+		final int length = buffer.position();
+
+		final List<String> lines = new ArrayList<>(toLine - fromLine);
+		int start = 0;
+		while(start < length){
+			final int end = LineOffsetReader.findLineEnd(bytes, start, length);
+			lines.add(new String(bytes, start, end - start, charset));
+			start = LineOffsetReader.skipTerminator(bytes, end, length);
+		}
+		return lines;
+	}
+
+	public synchronized int getSectionsCount(){
+		return sectionsCount;
+	}
+
+	public synchronized int getSectionStart(final int position){
+		Objects.checkIndex(position, sectionsCount);
+
+		return sectionStarts[position];
+	}
+
+	public synchronized int getSectionEnd(final int position){
+		Objects.checkIndex(position, sectionsCount);
+
+		return sectionEnds[position];
+	}
+
+	/**
+	 * @param lineIndex	The index of a line.
+	 * @return	The position of the section the line belongs to, or {@code -1} if the line is not in a section.
+	 */
+	public synchronized int searchSection(final int lineIndex){
+		final int position = floorSection(lineIndex);
+		return (position >= 0 && lineIndex <= sectionEnds[position]? position: -1);
+	}
+
+	/**
+	 * @param lineIndex	The index of a line.
+	 * @return	The first line of the first section starting after the given line, or {@code -1} if there is none.
+	 */
+	public synchronized int getNextSectionStart(final int lineIndex){
+		final int position = floorSection(lineIndex) + 1;
+		return (position < sectionsCount? sectionStarts[position]: -1);
+	}
+
+	/**
+	 * @param lineIndex	The index of a line.
+	 * @return	The first line of the last section starting before the given line, or {@code -1} if there is none.
+	 */
+	public synchronized int getPreviousSectionStart(final int lineIndex){
+		final int position = floorSection(lineIndex - 1);
+		return (position >= 0? sectionStarts[position]: -1);
+	}
+
+	/** @return	The position of the last section starting at or before the given line, {@code -1} if there is none. */
+	private int floorSection(final int lineIndex){
+		final int position = Arrays.binarySearch(sectionStarts, 0, sectionsCount, lineIndex);
+		return (position >= 0? position: -position - 2);
+	}
+
+	/**
+	 * @param sectionStart	The first line of a section.
+	 * @return	The range of bytes of the section, or {@code null} if there is no such section or the file cannot be read at
+	 * 	random positions.
+	 */
+	public synchronized DictionaryParser.ByteRange getSectionByteRange(final int sectionStart){
+		final int position = Arrays.binarySearch(sectionStarts, 0, sectionsCount, sectionStart);
+		return (position >= 0 && randomAccess
+			? new DictionaryParser.ByteRange(lineOffsets[sectionStart], lineOffsets[sectionEnds[position] + 1])
+			: null);
+	}
+
+	public synchronized boolean removeSection(final int sectionStart){
+		final int position = Arrays.binarySearch(sectionStarts, 0, sectionsCount, sectionStart);
+		if(position < 0)
+			return false;
+
+		System.arraycopy(sectionStarts, position + 1, sectionStarts, position, sectionsCount - position - 1);
+		System.arraycopy(sectionEnds, position + 1, sectionEnds, position, sectionsCount - position - 1);
+		sectionsCount --;
+		return true;
+	}
+
+	/**
+	 * Updates the index after a section was sorted in place: the offsets of its lines are recalculated from its new content
+	 * and the section is removed.
+	 *
+	 * @param sectionStart	The first line of the section.
+	 * @param content	The new content of the section, of the same length as the old one.
+	 */
+	public synchronized void updateSortedSection(final int sectionStart, final byte[] content){
+		final int position = Arrays.binarySearch(sectionStarts, 0, sectionsCount, sectionStart);
+		if(position < 0)
+			return;
+
+		final int sectionEnd = sectionEnds[position];
+		final long start = lineOffsets[sectionStart];
+		int line = sectionStart + 1;
+		int lineStart = 0;
+		while(line <= sectionEnd && lineStart < content.length){
+			final int lineEnd = LineOffsetReader.findLineEnd(content, lineStart, content.length);
+			lineStart = LineOffsetReader.skipTerminator(content, lineEnd, content.length);
+			lineOffsets[line ++] = start + lineStart;
+		}
+
+		removeSection(sectionStart);
+		//the hash of the content is not known anymore, until the file stamp is updated
+		contentHash = null;
+	}
+
+}
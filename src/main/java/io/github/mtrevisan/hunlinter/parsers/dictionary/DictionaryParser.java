@@ -25,7 +25,8 @@
 package io.github.mtrevisan.hunlinter.parsers.dictionary;
 
 import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
-import io.github.mtrevisan.hunlinter.services.ParserHelper;
+import io.github.mtrevisan.hunlinter.parsers.ParserManager;
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import io.github.mtrevisan.hunlinter.services.system.FileHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,21 +34,30 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.Scanner;
 import java.util.TreeMap;
 
 
 public class DictionaryParser{
 
+	/**
+	 * Range of bytes of a section in the dictionary file.
+	 *
+	 * @param start	The offset of the first byte of the section.
+	 * @param end	The offset of the first byte after the section (terminator of the last line included).
+	 */
+	public record ByteRange(long start, long end){}
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(DictionaryParser.class);
 
 	//thin space
@@ -63,13 +73,18 @@ public class DictionaryParser{
 	public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.US);
 	public static final DateTimeFormatter YEAR_FORMATTER = DateTimeFormatter.ofPattern("yyyy");
 
+	private static final String INDEX_FILENAME_PREFIX = "dictionary-index-";
+	private static final String INDEX_FILENAME_EXTENSION = ".idx";
+
 
 	private final File dicFile;
 	private final Charset charset;
 
+	private final String language;
+	private final CollationKeySorter sorter;
 	private final Comparator<String> comparator;
-	private boolean boundariesCalculated;
-	private final NavigableMap<Integer, Integer> boundaries = new TreeMap<>();
+	/** Index of lines and sections that need sorting, loaded lazily. */
+	private DictionaryIndex index;
 
 
 	public DictionaryParser(final File dicFile, final String language, final Charset charset){
@@ -78,8 +93,10 @@ public class DictionaryParser{
 
 		this.dicFile = dicFile;
 		this.charset = charset;
+		this.language = language;
 
-		comparator = BaseBuilder.getComparator(language);
+		sorter = BaseBuilder.getSorter(language);
+		comparator = sorter.comparator();
 
 		BaseBuilder.checkDefaultComparator(language);
 	}
@@ -96,92 +113,180 @@ public class DictionaryParser{
 		return comparator;
 	}
 
-	public final Map.Entry<Integer, Integer> getBoundary(final int lineIndex){
-		final Map.Entry<Integer, Integer> entry = boundaries.floorEntry(lineIndex);
-		return (entry != null && lineIndex <= entry.getValue()? entry: null);
+	public final CollationKeySorter getSorter(){
+		return sorter;
 	}
 
-	public final boolean removeBoundary(final int boundaryIndex){
-		return (boundaries.remove(boundaryIndex) != null);
+	/**
+	 * Loads (or calculates) the index of the dictionary, if not already done.
+	 * <p>
+	 * Calculating the index means scanning the whole file, so this should be called from a background thread (e.g. while
+	 * loading the project), not from the Event Dispatch Thread.
+	 * </p>
+	 */
+	public final void prepareIndex(){
+		getIndex();
 	}
 
-	public final int getBoundaryIndex(final int lineIndex){
-		if(!boundariesCalculated)
-			calculateDictionaryBoundaries();
-
-		final Map.Entry<Integer, Integer> entry = searchBoundary(lineIndex);
-		return (entry != null? boundaries.headMap(lineIndex, true).size() - 1: -1);
-	}
-
-	private void calculateDictionaryBoundaries(){
-		boundaries.clear();
-		try(final Scanner scanner = FileHelper.createScanner(dicFile.toPath(), charset)){
-			ParserHelper.assertLinesCount(scanner);
-
-			String prevLine = null;
-			int startSection = -1;
-			boolean needSorting = false;
-			int lineIndex = 1;
-			while(scanner.hasNextLine()){
-				final String line = scanner.nextLine();
-				if(!ParserHelper.isDictionaryComment(line)){
-					if(startSection < 0)
-						startSection = lineIndex;
-
-					if(!needSorting && prevLine != null)
-						needSorting = (comparator.compare(line, prevLine) < 0);
-					prevLine = line;
-				}
-				else if(startSection >= 0){
-					//filter out possible single lines that doesn't need to be sorted
-					if(lineIndex - startSection > 2 && needSorting)
-						boundaries.put(startSection, lineIndex - 1);
-
-					//reset for next section
-					prevLine = null;
-					startSection = -1;
-					needSorting = false;
-				}
-
-				lineIndex ++;
-			}
-			//add last section if needed (filter out single word that doesn't need to be sorted)
-			if(startSection >= 0 && lineIndex - startSection > 2 && needSorting)
-				boundaries.put(startSection, lineIndex - 1);
+	private synchronized DictionaryIndex getIndex(){
+		if(index == null)
+			index = loadIndex();
+		return index;
+	}
+
+	private DictionaryIndex loadIndex(){
+		final Path dicPath = dicFile.toPath();
+		final String key = getIndexKey();
+		Path indexPath = null;
+		try{
+			indexPath = getIndexPath(key);
+			final DictionaryIndex cachedIndex = DictionaryIndex.read(indexPath, key);
+			if(cachedIndex != null && cachedIndex.matches(dicPath))
+				return cachedIndex;
+		}
+		catch(final IOException | RuntimeException e){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot read the dictionary index cache: {}", e.getMessage());
+		}
+
+		final DictionaryIndex newIndex;
+		try{
+			newIndex = DictionaryIndex.create(dicPath, charset, comparator, key);
 		}
 		catch(final IOException ioe){
 			LOGGER.error(null, ioe);
+
+			return DictionaryIndex.empty(key);
+		}
+
+		if(indexPath != null)
+			try{
+				newIndex.write(indexPath);
+			}
+			catch(final IOException ioe){
+				LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot write the dictionary index cache: {}", ioe.getMessage());
+			}
+		return newIndex;
+	}
+
+	/** @return	The identifier of the file and of the parameters the index depends upon. */
+	private String getIndexKey(){
+		return dicFile.toPath().toAbsolutePath().normalize() + "|" + language + "|" + charset.name();
+	}
+
+	private static Path getIndexPath(final String key) throws IOException{
+		return FileHelper.getCachePath(INDEX_FILENAME_PREFIX + Integer.toHexString(key.hashCode()) + INDEX_FILENAME_EXTENSION);
+	}
+
+	/**
+	 * Persists the index of the dictionary, after the file was modified in place.
+	 */
+	public final synchronized void storeIndex(){
+		if(index == null)
+			return;
+
+		try{
+			index.updateFileStamp(dicFile.toPath());
+			index.write(getIndexPath(getIndexKey()));
+		}
+		catch(final IOException ioe){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot write the dictionary index cache: {}", ioe.getMessage());
+		}
+	}
+
+	public final Map.Entry<Integer, Integer> getBoundary(final int lineIndex){
+		final DictionaryIndex dicIndex = getIndex();
+		final int position = dicIndex.searchSection(lineIndex);
+		return (position >= 0? Map.entry(dicIndex.getSectionStart(position), dicIndex.getSectionEnd(position)): null);
+	}
+
+	/**
+	 * @return	The sections that need sorting, as a map from the index of their first line to the index of their last line.
+	 */
+	public final NavigableMap<Integer, Integer> getBoundaries(){
+		final DictionaryIndex dicIndex = getIndex();
+		final NavigableMap<Integer, Integer> boundaries = new TreeMap<>();
+		synchronized(dicIndex){
+			for(int i = 0; i < dicIndex.getSectionsCount(); i ++)
+				boundaries.put(dicIndex.getSectionStart(i), dicIndex.getSectionEnd(i));
+		}
+		return Collections.unmodifiableNavigableMap(boundaries);
+	}
+
+	/**
+	 * Returns the range of bytes of a section, if the file can be rewritten in place and its length did not change since the
+	 * index was created.
+	 *
+	 * @param boundaryIndex	The index of the first line of the section.
+	 * @return	The range of bytes of the section, or {@code null} if not available.
+	 * @see #isIndexUpToDate()
+	 */
+	public final ByteRange getBoundaryByteRange(final int boundaryIndex){
+		final DictionaryIndex dicIndex = getIndex();
+		return (dicFile.length() == dicIndex.getFileLength()? dicIndex.getSectionByteRange(boundaryIndex): null);
+	}
+
+	/**
+	 * Tells whether the content of the dictionary is still the one the index was calculated upon, by comparing its hash.
+	 * <p>
+	 * The file should be checked before rewriting any section in place.
+	 * </p>
+	 *
+	 * @return	Whether the index is up to date.
+	 */
+	public final boolean isIndexUpToDate(){
+		try{
+			return getIndex().verifyContent(dicFile.toPath());
 		}
+		catch(final IOException ioe){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot verify the dictionary index: {}", ioe.getMessage());
+
+			return false;
+		}
+	}
+
+	public final boolean removeBoundary(final int boundaryIndex){
+		return getIndex().removeSection(boundaryIndex);
+	}
+
+	/**
+	 * Updates the index after a section was sorted in place.
+	 *
+	 * @param boundaryIndex	The index of the first line of the section.
+	 * @param sortedSection	The new content of the section.
+	 * @see #storeIndex()
+	 */
+	public final void updateSortedBoundary(final int boundaryIndex, final byte[] sortedSection){
+		getIndex().updateSortedSection(boundaryIndex, sortedSection);
+	}
 
-		boundariesCalculated = true;
+	public final int getBoundaryIndex(final int lineIndex){
+		return getIndex().searchSection(lineIndex);
 	}
 
 	public final int getNextBoundaryIndex(final int lineIndex){
-		final Map.Entry<Integer, Integer> entry = boundaries.higherEntry(lineIndex);
-		return (entry != null? entry.getKey(): -1);
+		return getIndex().getNextSectionStart(lineIndex);
 	}
 
 	public final int getPreviousBoundaryIndex(final int lineIndex){
-		final Map.Entry<Integer, Integer> entry = boundaries.lowerEntry(lineIndex);
-		return (entry != null? entry.getKey(): -1);
+		return getIndex().getPreviousSectionStart(lineIndex);
 	}
 
 	public final boolean isInBoundary(final int lineIndex){
-		return (searchBoundary(lineIndex) != null);
-	}
-
-	private Map.Entry<Integer, Integer> searchBoundary(final int lineIndex){
-		final Map.Entry<Integer, Integer> entry = boundaries.floorEntry(lineIndex);
-		return (entry != null && lineIndex <= entry.getValue()? entry: null);
+		return (getIndex().searchSection(lineIndex) >= 0);
 	}
 
-	public final void clear(){
-		clearBoundaries();
+	public final synchronized void clear(){
+		index = null;
 	}
 
-	public final void clearBoundaries(){
-		boundariesCalculated = false;
-		boundaries.clear();
+	/**
+	 * Recalculates the index, after the whole file was rewritten.
+	 * <p>
+	 * This scans the whole file, so it should not be called from the Event Dispatch Thread.
+	 * </p>
+	 */
+	public final synchronized void clearBoundaries(){
+		index = loadIndex();
 	}
 
 }
@@ -71,6 +71,49 @@ public class DictionaryStatistics implements Closeable{
 		orthography = BaseBuilder.getOrthography(language);
 	}
 
+	private DictionaryStatistics(final BloomFilterInterface<String> bloomFilter, final Orthography orthography){
+		this.bloomFilter = bloomFilter;
+		this.orthography = orthography;
+	}
+
+	/**
+	 * Creates an empty set of statistics that shares the unique words with this one, to be filled by a single thread and then
+	 * added back through {@link #addAll(DictionaryStatistics)}.
+	 *
+	 * @return	The partial statistics.
+	 */
+	public final DictionaryStatistics createPartial(){
+		return new DictionaryStatistics(bloomFilter, orthography);
+	}
+
+	/**
+	 * Adds the given partial statistics to this one.
+	 *
+	 * @param partial	The statistics created through {@link #createPartial()}.
+	 */
+	public final synchronized void addAll(final DictionaryStatistics partial){
+		totalInflections += partial.totalInflections;
+		compoundWords += partial.compoundWords;
+		contractedWords += partial.contractedWords;
+		lengthsFrequencies.addAll(partial.lengthsFrequencies);
+		syllabesFrequencies.addAll(partial.syllabesFrequencies);
+		syllabeLengthsFrequencies.addAll(partial.syllabeLengthsFrequencies);
+		stressFromLastFrequencies.addAll(partial.stressFromLastFrequencies);
+
+		if(partial.longestWordCountByCharacters > longestWordCountByCharacters){
+			longestWordsByCharacters.clear();
+			longestWordCountByCharacters = partial.longestWordCountByCharacters;
+		}
+		if(partial.longestWordCountByCharacters == longestWordCountByCharacters)
+			longestWordsByCharacters.addAll(partial.longestWordsByCharacters);
+		if(partial.longestWordCountBySyllabes > longestWordCountBySyllabes){
+			longestWordsBySyllabes.clear();
+			longestWordCountBySyllabes = partial.longestWordCountBySyllabes;
+		}
+		if(partial.longestWordCountBySyllabes == longestWordCountBySyllabes)
+			longestWordsBySyllabes.addAll(partial.longestWordsBySyllabes);
+	}
+
 	public final int getTotalInflections(){
 		return totalInflections;
 	}
@@ -49,7 +49,7 @@ import java.util.stream.Collectors;
  */
 public class Frequency<T extends Comparable<?>>{
 
-	private final Function<Integer, Long> sumOfFrequencies = Memoizer.memoize(this::sumOfFrequencies);
+	private final Function<Integer, Long> sumOfFrequencies = Memoizer.memoize(null, this::sumOfFrequencies, 1);
 
 
 	private final TreeMap<T, Long> frequencies = new TreeMap<>();
@@ -77,6 +77,24 @@ public class Frequency<T extends Comparable<?>>{
 		frequencies.put(value, getCount(value) + increment);
 	}
 
+	/**
+	 * Adds all the frequency counts of the given distribution.
+	 *
+	 * @param other	the distribution to add.
+	 */
+	public final void addAll(final Frequency<T> other){
+		final List<Map.Entry<T, Long>> entries;
+		synchronized(other){
+			entries = new ArrayList<>(other.frequencies.entrySet());
+		}
+		synchronized(this){
+			for(int i = 0; i < entries.size(); i ++){
+				final Map.Entry<T, Long> entry = entries.get(i);
+				incrementValue(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
 	public synchronized final void clear(){
 		frequencies.clear();
 	}
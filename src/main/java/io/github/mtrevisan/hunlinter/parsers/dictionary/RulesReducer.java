@@ -738,7 +738,7 @@ public class RulesReducer{
 		final List<AffixEntry> entries = new ArrayList<>(reducedRules.size() - 1);
 		for(int i = 1; i < reducedRules.size(); i ++){
 			final String reducedRule = reducedRules.get(i);
-			final AffixEntry entry = new AffixEntry(reducedRule, i - 1, type, flag, strategy, null, null)
+			final AffixEntry entry = new AffixEntry(reducedRule, i - 1, type, flag, strategy, affixData.getSymbolTable(), null, null)
 				.setParent(overriddenParent);
 			entries.add(entry);
 		}
@@ -752,7 +752,7 @@ public class RulesReducer{
 		for(int i = 0; i < originalLines.size(); i ++){
 			final String line = originalLines.get(i);
 			final DictionaryEntry dicEntry = dictionaryEntryFactory.createFromDictionaryLine(line);
-			final List<Inflection> originalInflections = wordGenerator.applyAffixRules(dicEntry);
+			final List<Inflection> originalInflections = wordGenerator.applyAffixRules(line);
 			final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry, overriddenParent);
 
 			originalInflectionsWhole.clear();
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
+import io.github.mtrevisan.hunlinter.parsers.vos.AffixEntry;
+import io.github.mtrevisan.hunlinter.parsers.vos.RuleEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Reverse index of the affix entries, keyed by their appending part.
+ * <p>
+ * Suffix entries are stored in a trie of the reversed appending string, prefix entries in a trie of the appending string, so
+ * that the only entries returned for a word are those whose appending part actually ends (or begins) the word, that is, the
+ * ones for which {@link AffixEntry#canInverseApplyTo(String)} holds.
+ * </p>
+ * <p>
+ * The index is immutable once built and can be shared between threads.
+ * </p>
+ */
+public class AffixAppendingIndex{
+
+	/**
+	 * An affix entry together with the rule it belongs to.
+	 *
+	 * @param ruleEntry	The rule the affix entry belongs to.
+	 * @param affixEntry	The affix entry.
+	 * @param ordinal	The position of the affix entry in the rule enumeration order.
+	 */
+	public record Candidate(RuleEntry ruleEntry, AffixEntry affixEntry, int ordinal){}
+
+	private static final Comparator<Candidate> ORDINAL_COMPARATOR = Comparator.comparingInt(Candidate::ordinal);
+
+
+	private static final class TrieNode{
+		private Map<Character, TrieNode> children;
+		private List<Candidate> candidates;
+
+		TrieNode addChild(final char chr){
+			if(children == null)
+				children = new HashMap<>(2);
+			return children.computeIfAbsent(chr, k -> new TrieNode());
+		}
+
+		TrieNode getChild(final char chr){
+			return (children != null? children.get(chr): null);
+		}
+
+		void addCandidate(final Candidate candidate){
+			if(candidates == null)
+				candidates = new ArrayList<>(1);
+			candidates.add(candidate);
+		}
+
+		void collectCandidates(final List<Candidate> collector){
+			if(candidates != null)
+				collector.addAll(candidates);
+		}
+	}
+
+
+	private final TrieNode suffixRoot = new TrieNode();
+	private final TrieNode prefixRoot = new TrieNode();
+
+
+	public AffixAppendingIndex(final List<RuleEntry> ruleEntries){
+		Objects.requireNonNull(ruleEntries, "Rule entries cannot be null");
+
+		int ordinal = 0;
+		for(int i = 0; i < ruleEntries.size(); i ++){
+			final RuleEntry ruleEntry = ruleEntries.get(i);
+			final List<AffixEntry> affixEntries = ruleEntry.getEntries();
+			final int size = (affixEntries != null? affixEntries.size(): 0);
+			for(int j = 0; j < size; j ++){
+				final AffixEntry affixEntry = affixEntries.get(j);
+				final Candidate candidate = new Candidate(ruleEntry, affixEntry, ordinal ++);
+				if(ruleEntry.getType() == AffixType.SUFFIX)
+					addSuffix(affixEntry.getAppending(), candidate);
+				else
+					addPrefix(affixEntry.getAppending(), candidate);
+			}
+		}
+	}
+
+	private void addSuffix(final String appending, final Candidate candidate){
+		TrieNode node = suffixRoot;
+		for(int i = appending.length() - 1; i >= 0; i --)
+			node = node.addChild(appending.charAt(i));
+		node.addCandidate(candidate);
+	}
+
+	private void addPrefix(final String appending, final Candidate candidate){
+		TrieNode node = prefixRoot;
+		for(int i = 0; i < appending.length(); i ++)
+			node = node.addChild(appending.charAt(i));
+		node.addCandidate(candidate);
+	}
+
+	/**
+	 * Collects all the affix entries whose appending part ends (if suffix) or begins (if prefix) the given word.
+	 *
+	 * @param word	The word to be searched.
+	 * @return	The list of candidate affix entries, in the same order they appear in the rule enumeration.
+	 */
+	public final List<Candidate> getCandidates(final String word){
+		final List<Candidate> candidates = new ArrayList<>(0);
+
+		TrieNode node = suffixRoot;
+		node.collectCandidates(candidates);
+		for(int i = word.length() - 1; i >= 0 && node != null; i --){
+			node = node.getChild(word.charAt(i));
+			if(node != null)
+				node.collectCandidates(candidates);
+		}
+
+		node = prefixRoot;
+		node.collectCandidates(candidates);
+		for(int i = 0; i < word.length() && node != null; i ++){
+			node = node.getChild(word.charAt(i));
+			if(node != null)
+				node.collectCandidates(candidates);
+		}
+
+		candidates.sort(ORDINAL_COMPARATOR);
+		return candidates;
+	}
+
+}
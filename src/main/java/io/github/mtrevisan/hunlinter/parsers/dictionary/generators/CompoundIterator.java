@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.datastructures.SetHelper;
+import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.text.StringHelper;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+
+/**
+ * Lazily enumerates the Cartesian product of the components of a compound, in lexicographic order of the component indexes.
+ * <p>
+ * The compound is built depth-first, one component at a time, so that the prefix composed so far is shared between all the
+ * compounds starting with it. Whenever a prefix violates a constraint (forbidden word, triple, or the given prefix filter) the
+ * whole subtree of compounds starting with it is skipped.
+ * </p>
+ * <p>
+ * An instance is confined to the thread that iterates it.
+ * </p>
+ */
+final class CompoundIterator implements Iterator<CompoundIterator.Compound>{
+
+	/**
+	 * A composed compound.
+	 *
+	 * @param word	The compound word.
+	 * @param entries	The components of the compound.
+	 */
+	record Compound(String word, List<DictionaryEntry> entries){}
+
+
+	private static final Map<StringHelper.Casing, Set<StringHelper.Casing>> COMPOUND_WORD_BOUNDARY_COLLISIONS
+		= new EnumMap<>(StringHelper.Casing.class);
+	static{
+		final Set<StringHelper.Casing> lowerOrTitleCase = SetHelper.setOf(StringHelper.Casing.TITLE_CASE, StringHelper.Casing.ALL_CAPS,
+			StringHelper.Casing.CAMEL_CASE, StringHelper.Casing.PASCAL_CASE);
+		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.LOWER_CASE, lowerOrTitleCase);
+		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.TITLE_CASE, lowerOrTitleCase);
+		final Set<StringHelper.Casing> allCaps = SetHelper.setOf(StringHelper.Casing.LOWER_CASE, StringHelper.Casing.TITLE_CASE,
+			StringHelper.Casing.CAMEL_CASE, StringHelper.Casing.PASCAL_CASE);
+		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.ALL_CAPS, allCaps);
+	}
+
+
+	private final List<List<Inflection>> components;
+	private final int firstIndexEnd;
+	private final String forbiddenWordFlag;
+	private final boolean forbidDifferentCasesInCompound;
+	private final boolean forbidTriples;
+	private final boolean simplifyTriples;
+	private final Predicate<CharSequence> prefixFilter;
+
+	private final int[] indexes;
+	/** Length of the composed word before the component at each level is appended. */
+	private final int[] prefixLengths;
+	/** Casing of the last component before the one at each level is appended. */
+	private final StringHelper.Casing[] casings;
+	private final Inflection[] compoundEntries;
+	private final StringBuilder sb = new StringBuilder();
+	private int level;
+	private Compound next;
+
+
+	/**
+	 * @param components	The list of candidate inflections for each component of the compound.
+	 * @param firstIndexStart	The first index (inclusive) of the candidates of the first component to be enumerated.
+	 * @param firstIndexEnd	The last index (exclusive) of the candidates of the first component to be enumerated.
+	 * @param forbiddenWordFlag	The forbidden word flag, if any.
+	 * @param forbidDifferentCasesInCompound	Whether to enforce the case at the boundary of the components (CHECKCOMPOUNDCASE).
+	 * @param forbidTriples	Whether to forbid triples at the boundary of the components (CHECKCOMPOUNDTRIPLE).
+	 * @param simplifyTriples	Whether to simplify triples at the boundary of the components (SIMPLIFIEDTRIPLE).
+	 * @param prefixFilter	Filter that, if returning {@code true}, discards all the compounds starting with the given prefix.
+	 */
+	CompoundIterator(final List<List<Inflection>> components, final int firstIndexStart, final int firstIndexEnd,
+			final String forbiddenWordFlag, final boolean forbidDifferentCasesInCompound, final boolean forbidTriples,
+			final boolean simplifyTriples, final Predicate<CharSequence> prefixFilter){
+		this.components = components;
+		this.firstIndexEnd = firstIndexEnd;
+		this.forbiddenWordFlag = forbiddenWordFlag;
+		this.forbidDifferentCasesInCompound = forbidDifferentCasesInCompound;
+		this.forbidTriples = forbidTriples;
+		this.simplifyTriples = simplifyTriples;
+		this.prefixFilter = prefixFilter;
+
+		final int size = components.size();
+		indexes = new int[size];
+		prefixLengths = new int[size + 1];
+		casings = new StringHelper.Casing[size + 1];
+		compoundEntries = new Inflection[size];
+		indexes[0] = firstIndexStart;
+		level = (size > 0? 0: -1);
+	}
+
+	@Override
+	public boolean hasNext(){
+		if(next == null)
+			next = advance();
+		return (next != null);
+	}
+
+	@Override
+	public Compound next(){
+		if(!hasNext())
+			throw new NoSuchElementException();
+
+		final Compound current = next;
+		next = null;
+		return current;
+	}
+
+	private Compound advance(){
+		final int lastLevel = components.size() - 1;
+		while(level >= 0){
+			if(indexes[level] >= upperBound(level)){
+				//candidates at this level exhausted, backtrack
+				if(-- level >= 0)
+					indexes[level] ++;
+				continue;
+			}
+
+			if(!appendComponent(level))
+				//prune all the compounds starting with this prefix
+				indexes[level] ++;
+			else if(level == lastLevel){
+				final Compound compound = new Compound(sb.toString(), Arrays.<DictionaryEntry>asList(compoundEntries.clone()));
+				indexes[level] ++;
+				return compound;
+			}
+			else
+				indexes[++ level] = 0;
+		}
+		return null;
+	}
+
+	private int upperBound(final int level){
+		return (level == 0? Math.min(firstIndexEnd, components.get(0).size()): components.get(level).size());
+	}
+
+	private boolean appendComponent(final int level){
+		sb.setLength(prefixLengths[level]);
+		final Inflection component = components.get(level)
+			.get(indexes[level]);
+
+		//skip forbidden words
+		if(component.hasContinuationFlag(forbiddenWordFlag))
+			return false;
+
+		String nextCompound = component.getWord();
+		final boolean containsTriple = containsTriple(sb, nextCompound);
+		//enforce simplification of triples if SIMPLIFIEDTRIPLE is set
+		if(containsTriple && simplifyTriples)
+			nextCompound = nextCompound.substring(1);
+		//enforce not containment of a triple if CHECKCOMPOUNDTRIPLE is set
+		else if(containsTriple && forbidTriples)
+			return false;
+
+		StringHelper.Casing lastWordCasing = casings[level];
+		//enforce forbidden case if CHECKCOMPOUNDCASE is set
+		if(!sb.isEmpty() && forbidDifferentCasesInCompound){
+			if(lastWordCasing == null)
+				lastWordCasing = StringHelper.classifyCasing(sb);
+			final StringHelper.Casing nextWordCasing = StringHelper.classifyCasing(nextCompound);
+
+			final char lastChar = StringHelper.lastChar(sb);
+			//FIXME if nextCompound is changed, then check for duplicates
+			nextCompound = enforceNextCompoundCase(lastChar, nextCompound, lastWordCasing, nextWordCasing);
+
+			lastWordCasing = nextWordCasing;
+		}
+
+		sb.append(nextCompound);
+		if(prefixFilter != null && prefixFilter.test(sb))
+			return false;
+
+		compoundEntries[level] = component;
+		prefixLengths[level + 1] = sb.length();
+		casings[level + 1] = lastWordCasing;
+		return true;
+	}
+
+	static boolean containsTriple(final CharSequence sb, final String compound){
+		boolean repeated = false;
+		final int size = sb.length() - 1;
+		if(size > 1){
+			final String interCompounds = sb.subSequence(Math.max(size - 1, 0), size + 1)
+				+ compound.substring(0, Math.min(compound.length(), 2));
+			final int len = interCompounds.length();
+			if(len == 3 || len == 4){
+				repeated = (interCompounds.charAt(0) == interCompounds.charAt(1) && interCompounds.charAt(0) == interCompounds.charAt(2));
+				if(len == 4)
+					repeated |= (interCompounds.charAt(1) == interCompounds.charAt(2) && interCompounds.charAt(1) == interCompounds.charAt(3));
+			}
+		}
+		return repeated;
+	}
+
+	private static String enforceNextCompoundCase(final char lastChar, String nextCompound, final StringHelper.Casing lastWordCasing,
+			final StringHelper.Casing nextWordCasing){
+		final char nextChar = nextCompound.charAt(0);
+		if(Character.isLetter(lastChar) && Character.isLetter(nextChar)){
+			final Set<StringHelper.Casing> collisions = COMPOUND_WORD_BOUNDARY_COLLISIONS.get(lastWordCasing);
+			//convert nextChar to lowercase/uppercase and go on
+			if(collisions != null && collisions.contains(nextWordCasing))
+				nextCompound = (Character.isUpperCase(lastChar)? StringUtils.capitalize(nextCompound):
+					StringUtils.uncapitalize(nextCompound));
+		}
+		return nextCompound;
+	}
+
+}
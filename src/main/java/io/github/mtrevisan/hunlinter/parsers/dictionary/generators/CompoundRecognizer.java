@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.datastructures.dynamicarray.UnsyncDynamicIntArray;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSABuilder;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.LexicographicalComparator;
+import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
+import io.github.mtrevisan.hunlinter.parsers.vos.AffixEntry;
+import io.github.mtrevisan.hunlinter.services.regexgenerator.HunSpellRegexRecognizer;
+import io.github.mtrevisan.hunlinter.services.text.StringHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+
+/**
+ * Recognizes whether a word is a valid compound, without generating all the compounds.
+ * <p>
+ * The word is segmented through dynamic programming over its (UTF-8) byte positions: from each reachable position all the
+ * components that begin there are found in a single walk of an automaton of the compound-eligible inflections, and each of them
+ * advances the compiled automaton of the compound rule by one of the flags the component is eligible for.<br />
+ * Positions are visited once for each distinct (rule state, component count) pair, so the cost is proportional to the length of
+ * the word times the number of matching components, instead of the number of generable compounds.
+ * </p>
+ * <p>
+ * Boundary affixes (those applied to the compound as a whole) are recognized by undoing a single prefix or suffix, whose flag
+ * must then be a continuation flag of the first or last component, respectively.<br />
+ * Case enforcement (CHECKCOMPOUNDCASE), simplification of triples (SIMPLIFIEDTRIPLE), and replacement checks (CHECKCOMPOUNDREP)
+ * are not taken into account.
+ * </p>
+ * <p>
+ * The recognizer is immutable once built and can be shared between threads.
+ * </p>
+ */
+public class CompoundRecognizer{
+
+	/**
+	 * The data of a compound-eligible inflection.
+	 *
+	 * @param symbols	The flags of the compound rule the inflection can stand for.
+	 * @param continuationFlags	The continuation flags of the inflection.
+	 */
+	record Component(Set<String> symbols, Set<String> continuationFlags){}
+
+	private record Node(int state, int count, String component, Node previous){}
+
+	private record NodeKey(int state, int count, String component){}
+
+
+	private final FSAAbstract fsa;
+	private final Map<String, Component> components;
+	private final HunSpellRegexRecognizer recognizer;
+	private final int minimumComponents;
+	private final int maximumComponents;
+	private final boolean forbidTriples;
+	private final boolean forbidDuplicates;
+	private final AffixAppendingIndex boundaryAffixes;
+
+
+	/**
+	 * @param components	The compound-eligible inflections.
+	 * @param recognizer	The automaton of the compound rule.
+	 * @param minimumComponents	The minimum number of components of a compound.
+	 * @param maximumComponents	The maximum number of components of a compound, or a non-positive value if there is no limit.
+	 * @param forbidTriples	Whether three identical letters are forbidden at the boundary between components (CHECKCOMPOUNDTRIPLE).
+	 * @param forbidDuplicates	Whether a component cannot be followed by itself (CHECKCOMPOUNDDUP).
+	 * @param boundaryAffixes	The index of the affixes that can be applied to the whole compound, or {@code null} if boundary
+	 * 	affixes are not allowed.
+	 */
+	CompoundRecognizer(final Map<String, Component> components, final HunSpellRegexRecognizer recognizer,
+			final int minimumComponents, final int maximumComponents, final boolean forbidTriples, final boolean forbidDuplicates,
+			final AffixAppendingIndex boundaryAffixes){
+		Objects.requireNonNull(components, "Components cannot be null");
+		Objects.requireNonNull(recognizer, "Recognizer cannot be null");
+
+		this.components = components;
+		this.recognizer = recognizer;
+		this.minimumComponents = minimumComponents;
+		this.maximumComponents = (maximumComponents > 0? maximumComponents: Integer.MAX_VALUE);
+		this.forbidTriples = forbidTriples;
+		this.forbidDuplicates = forbidDuplicates;
+		this.boundaryAffixes = boundaryAffixes;
+
+		fsa = buildAutomaton(components.keySet());
+	}
+
+	private static FSAAbstract buildAutomaton(final Set<String> words){
+		final List<byte[]> encodings = new ArrayList<>(words.size());
+		for(final String word : words)
+			encodings.add(StringHelper.getRawBytes(word));
+		encodings.sort(LexicographicalComparator.lexicographicalComparator());
+
+		final FSABuilder builder = new FSABuilder();
+		return builder.build(encodings);
+	}
+
+	public final int getComponentsCount(){
+		return components.size();
+	}
+
+	/**
+	 * Tests whether the given word is a valid compound, possibly with a boundary affix.
+	 *
+	 * @param word	The word to be tested.
+	 * @return	Whether the word is a valid compound.
+	 */
+	public final boolean isCompound(final String word){
+		if(segment(word, null, null) != null)
+			return true;
+
+		if(boundaryAffixes != null){
+			final List<AffixAppendingIndex.Candidate> candidates = boundaryAffixes.getCandidates(word);
+			for(int i = 0; i < candidates.size(); i ++){
+				final AffixEntry affixEntry = candidates.get(i).affixEntry();
+				final String originatingWord = affixEntry.undoRule(word);
+				if(!originatingWord.isEmpty() && affixEntry.canApplyTo(originatingWord)){
+					final String flag = affixEntry.getFlag();
+					final boolean isSuffix = (affixEntry.getType() == AffixType.SUFFIX);
+					if(segment(originatingWord, (isSuffix? null: flag), (isSuffix? flag: null)) != null)
+						return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Segments the given word into its components.
+	 *
+	 * @param word	The word to be segmented.
+	 * @return	The list of components of the word, or an empty list if the word is not a valid compound (boundary affixes are not
+	 * 	taken into account).
+	 */
+	public final List<String> segment(final String word){
+		Node node = segment(word, null, null);
+		if(node == null)
+			return Collections.emptyList();
+
+		final List<String> result = new ArrayList<>(node.count);
+		while(node.previous != null){
+			result.add(node.component);
+			node = node.previous;
+		}
+		Collections.reverse(result);
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Node segment(final String word, final String requiredFirstFlag, final String requiredLastFlag){
+		final byte[] bytes = StringHelper.getRawBytes(word);
+		final int size = bytes.length;
+		if(size == 0)
+			return null;
+
+		final int[] charOffsets = (forbidTriples? extractCharOffsets(word, size): null);
+
+		final List<Node>[] agenda = new List[size];
+		final Set<NodeKey>[] visited = new Set[size];
+		agenda[0] = new ArrayList<>(1);
+		agenda[0].add(new Node(recognizer.getInitialState(), 0, null, null));
+		for(int start = 0; start < size; start ++){
+			final List<Node> nodes = agenda[start];
+			if(nodes == null)
+				continue;
+
+			//enforce not containment of a triple if CHECKCOMPOUNDTRIPLE is set
+			if(start > 0 && forbidTriples && CompoundIterator.containsTriple(word.subSequence(0, charOffsets[start]),
+					word.substring(charOffsets[start])))
+				continue;
+
+			final UnsyncDynamicIntArray ends = extractComponentEnds(bytes, start);
+			for(int i = 0; i < nodes.size(); i ++){
+				final Node node = nodes.get(i);
+				if(node.count == maximumComponents)
+					continue;
+
+				for(int j = 0; j < ends.size(); j ++){
+					final int end = ends.get(j);
+					final String component = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+					if(forbidDuplicates && component.equals(node.component))
+						continue;
+
+					final Component data = components.get(component);
+					if(start == 0 && requiredFirstFlag != null && !data.continuationFlags.contains(requiredFirstFlag))
+						continue;
+					if(end == size && requiredLastFlag != null && !data.continuationFlags.contains(requiredLastFlag))
+						continue;
+
+					for(final String symbol : data.symbols){
+						final int state = recognizer.nextState(node.state, symbol);
+						if(state == HunSpellRegexRecognizer.NO_STATE)
+							continue;
+
+						final Node next = new Node(state, node.count + 1, component, node);
+						if(end == size){
+							if(next.count >= minimumComponents && recognizer.isAccepting(state))
+								return next;
+						}
+						else if(recognizer.hasTransitions(state)){
+							if(visited[end] == null){
+								visited[end] = new HashSet<>(1);
+								agenda[end] = new ArrayList<>(1);
+							}
+							if(visited[end].add(new NodeKey(state, next.count, (forbidDuplicates? component: null))))
+								agenda[end].add(next);
+						}
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/** Collects the ending positions of all the components that begin at the given position. */
+	private UnsyncDynamicIntArray extractComponentEnds(final byte[] bytes, final int start){
+		final UnsyncDynamicIntArray ends = new UnsyncDynamicIntArray();
+		int node = fsa.getRootNode();
+		for(int i = start; i < bytes.length; i ++){
+			final int arc = fsa.getArc(node, bytes[i]);
+			if(arc == 0)
+				break;
+
+			if(fsa.isArcFinal(arc))
+				ends.add(i + 1);
+			if(fsa.isArcTerminal(arc))
+				break;
+
+			node = fsa.getEndNode(arc);
+		}
+		return ends;
+	}
+
+	/** Maps each byte offset that begins a code point to the corresponding char offset. */
+	private static int[] extractCharOffsets(final String word, final int size){
+		final int[] charOffsets = new int[size + 1];
+		int byteOffset = 0;
+		int charOffset = 0;
+		while(charOffset < word.length()){
+			charOffsets[byteOffset] = charOffset;
+			final int codePoint = word.codePointAt(charOffset);
+			byteOffset += (codePoint < 0x80? 1: (codePoint < 0x800? 2: (codePoint < 0x1_0000? 3: 4)));
+			charOffset += Character.charCount(codePoint);
+		}
+		charOffsets[size] = charOffset;
+		return charOffsets;
+	}
+
+}
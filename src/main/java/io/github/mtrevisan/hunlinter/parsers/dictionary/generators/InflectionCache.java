@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.BoundedCache;
+import io.github.mtrevisan.hunlinter.services.system.Memoizer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+
+/**
+ * Keeps the inflections of the most recently expanded dictionary lines, so that workers and GUI previews can reuse them
+ * instead of applying the affix rules again.
+ * <p>
+ * Expansions are keyed by the content of the line together with the version of the affix data they were produced with: an
+ * edited line or a reload of the affix file makes the previous expansions unreachable, and they are evicted as new ones come
+ * in. The cache is bounded by the total number of inflections it holds, so it is sized for previews and for the subset of
+ * lines a worker reads twice, not for a whole dictionary.
+ * </p>
+ */
+public class InflectionCache{
+
+	private static final String CACHE_NAME = "Inflections";
+	private static final long MAXIMUM_INFLECTIONS_DEFAULT = 1 << 18;
+
+
+	private record Key(String line, long affixDataVersion){}
+
+
+	private final BoundedCache<Key, List<Inflection>> cache;
+
+
+	public InflectionCache(){
+		this(MAXIMUM_INFLECTIONS_DEFAULT);
+	}
+
+	/**
+	 * @param maximumInflections	The maximum number of inflections held, summed over all the cached entries.
+	 */
+	public InflectionCache(final long maximumInflections){
+		cache = Memoizer.boundedCache(CACHE_NAME, maximumInflections, (key, inflections) -> inflections.size() + 1);
+	}
+
+	/**
+	 * Returns the inflections of the given line, expanding it if not already present.
+	 *
+	 * @param line	The dictionary line.
+	 * @param affixDataVersion	The version of the affix data the expansion depends on.
+	 * @param generator	The function that expands a line.
+	 * @return	The (unmodifiable) list of inflections.
+	 */
+	final List<Inflection> get(final String line, final long affixDataVersion, final Function<String, List<Inflection>> generator){
+		return cache.get(new Key(line, affixDataVersion), key -> Collections.unmodifiableList(generator.apply(key.line)));
+	}
+
+	public final BoundedCache.Statistics getStatistics(){
+		return cache.getStatistics();
+	}
+
+	public final void clear(){
+		cache.clear();
+	}
+
+}
@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
@@ -31,22 +32,48 @@ import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntryFactory;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.parsers.vos.RuleEntry;
+import io.github.mtrevisan.hunlinter.services.ParserHelper;
+import io.github.mtrevisan.hunlinter.services.text.PermutationsWithRepetitions;
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 
 public class WordGenerator{
 
 	public static final int BASE_INFLECTION_INDEX = 0;
 
+	private final AffixData affixData;
 	private final DictionaryEntryFactory dictionaryEntryFactory;
 	private final WordGeneratorAffixRules wordGeneratorAffixRules;
 	private final WordGeneratorCompoundRules wordGeneratorCompoundRules;
 	private final WordGeneratorCompoundFlag wordGeneratorCompoundFlag;
 	private final WordGeneratorCompoundBeginMiddleEnd wordGeneratorCompoundBeginMiddleEnd;
+	private final InflectionCache inflectionCache;
 
 
 	public WordGenerator(final AffixData affixData, final DictionaryParser dicParser, final DictionaryCorrectnessChecker checker){
+		this(affixData, dicParser, checker, null);
+	}
+
+	/**
+	 * @param affixData	The affix data.
+	 * @param dicParser	The dictionary parser, used to generate compounds.
+	 * @param checker	The correctness checker.
+	 * @param inflectionCache	The cache of the expanded entries, shared between generators (can be {@code null}).
+	 */
+	public WordGenerator(final AffixData affixData, final DictionaryParser dicParser, final DictionaryCorrectnessChecker checker,
+			final InflectionCache inflectionCache){
+		this.affixData = affixData;
+		this.inflectionCache = inflectionCache;
 		dictionaryEntryFactory = new DictionaryEntryFactory(affixData);
 		wordGeneratorAffixRules = new WordGeneratorAffixRules(affixData, checker);
 		wordGeneratorCompoundRules = new WordGeneratorCompoundRules(affixData, dicParser, checker);
@@ -66,6 +93,24 @@ public class WordGenerator{
 		return wordGeneratorAffixRules.applyAffixRules(dicEntry);
 	}
 
+	/**
+	 * Expands a dictionary line, reusing the expansion of a line with the same content if it is still cached.
+	 * <p>
+	 * Meant for lines that are expanded again in a short while (GUI previews, a subset of the dictionary read twice by a
+	 * worker); a sequential pass over the whole dictionary should call {@link #applyAffixRules(DictionaryEntry)} instead, since
+	 * it would only evict the cached expansions without ever hitting them.
+	 * </p>
+	 * NOTE: the returned list (and its inflections) may be shared with other callers, so it must not be modified.
+	 *
+	 * @param line	The dictionary line to be expanded.
+	 * @return	The list of inflections.
+	 */
+	public final List<Inflection> applyAffixRules(final String line){
+		return (inflectionCache != null
+			? inflectionCache.get(line, affixData.getVersion(), key -> applyAffixRules(createFromDictionaryLine(key)))
+			: applyAffixRules(createFromDictionaryLine(line)));
+	}
+
 	public final List<Inflection> applyAffixRulesWithCompounds(final DictionaryEntry dicEntry){
 		return wordGeneratorAffixRules.applyAffixRulesWithCompounds(dicEntry);
 	}
@@ -86,4 +131,87 @@ public class WordGenerator{
 		return wordGeneratorCompoundBeginMiddleEnd.applyCompoundBeginMiddleEnd(inputCompounds, limit);
 	}
 
+	public final CompoundRecognizer createCompoundRulesRecognizer(final String[] inputCompounds, final String compoundRule){
+		return wordGeneratorCompoundRules.createCompoundRulesRecognizer(inputCompounds, compoundRule);
+	}
+
+	public final CompoundRecognizer createCompoundFlagRecognizer(final String[] inputCompounds, final Integer maxCompounds){
+		return wordGeneratorCompoundFlag.createCompoundFlagRecognizer(inputCompounds, maxCompounds);
+	}
+
+	public final CompoundRecognizer createCompoundBeginMiddleEndRecognizer(final String[] inputCompounds){
+		return wordGeneratorCompoundBeginMiddleEnd.createCompoundBeginMiddleEndRecognizer(inputCompounds);
+	}
+
+	/**
+	 * Creates a recognizer for all the compounds (COMPOUNDFLAG, COMPOUNDRULE, and COMPOUNDBEGIN/COMPOUNDMIDDLE/COMPOUNDEND) that can
+	 * be made of the entries of the given dictionary.
+	 *
+	 * @param dicFile	The dictionary file.
+	 * @param charset	The charset of the dictionary.
+	 * @return	The predicate telling whether a word is a valid compound.
+	 */
+	public final Predicate<String> createCompoundRecognizer(final File dicFile, final Charset charset){
+		final String compoundFlag = affixData.getCompoundFlag();
+		final Set<String> compoundRules = affixData.getCompoundRules();
+		final String[] compoundRulesFlags = affixData.getCompoundRulesFlags()
+			.toArray(String[]::new);
+		final String[] compoundBeginMiddleEndFlags = {affixData.getCompoundBeginFlag(), affixData.getCompoundMiddleFlag(),
+			affixData.getCompoundEndFlag()};
+		final boolean hasCompoundBeginMiddleEnd = (compoundBeginMiddleEndFlags[0] != null || compoundBeginMiddleEndFlags[1] != null
+			|| compoundBeginMiddleEndFlags[2] != null);
+		if(compoundFlag == null && compoundRules.isEmpty() && !hasCompoundBeginMiddleEnd)
+			return word -> false;
+
+		//resolve the flags once, each line is then tested on the ids
+		final SymbolTable symbols = affixData.getSymbolTable();
+		final int compoundFlagId = symbols.internNullable(compoundFlag);
+		final int[] compoundRulesFlagIds = symbols.internNullable(compoundRulesFlags);
+		final int[] compoundBeginMiddleEndFlagIds = symbols.internNullable(compoundBeginMiddleEndFlags);
+
+		//extract the entries that can be part of a compound
+		final List<String> compoundFlagLines = new ArrayList<>(0);
+		final List<String> compoundRulesLines = new ArrayList<>(0);
+		final List<String> compoundBeginMiddleEndLines = new ArrayList<>(0);
+		final BiConsumer<Integer, String> fun = (lineIndex, line) -> {
+			final DictionaryEntry dicEntry = createFromDictionaryLine(line);
+			if(dicEntry.hasContinuationFlag(compoundFlagId))
+				compoundFlagLines.add(line);
+			if(dicEntry.hasContinuationFlags(compoundRulesFlagIds))
+				compoundRulesLines.add(line);
+			if(hasCompoundBeginMiddleEnd && dicEntry.hasContinuationFlags(compoundBeginMiddleEndFlagIds))
+				compoundBeginMiddleEndLines.add(line);
+		};
+		ParserHelper.forEachDictionaryLine(dicFile, charset, fun, null);
+
+		final List<CompoundRecognizer> recognizers = new ArrayList<>(compoundRules.size() + 2);
+		if(!compoundFlagLines.isEmpty())
+			recognizers.add(createCompoundFlagRecognizer(compoundFlagLines.toArray(String[]::new),
+				Objects.requireNonNullElse(affixData.getCompoundMaxWordCount(), PermutationsWithRepetitions.MAX_COMPOUNDS_INFINITY)));
+		if(!compoundRulesLines.isEmpty()){
+			final String[] inputCompounds = compoundRulesLines.toArray(String[]::new);
+			for(final String compoundRule : compoundRules)
+				addRecognizer(recognizers, () -> createCompoundRulesRecognizer(inputCompounds, compoundRule));
+		}
+		if(!compoundBeginMiddleEndLines.isEmpty())
+			addRecognizer(recognizers,
+				() -> createCompoundBeginMiddleEndRecognizer(compoundBeginMiddleEndLines.toArray(String[]::new)));
+
+		return word -> {
+			for(int i = 0; i < recognizers.size(); i ++)
+				if(recognizers.get(i).isCompound(word))
+					return true;
+			return false;
+		};
+	}
+
+	private static void addRecognizer(final List<CompoundRecognizer> recognizers, final Supplier<CompoundRecognizer> creator){
+		try{
+			recognizers.add(creator.get());
+		}
+		catch(final LinterException ignored){
+			//some component of the rule is missing from the dictionary: no compound can be made
+		}
+	}
+
 }
@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
@@ -81,8 +82,8 @@ class WordGeneratorBase{
 	 */
 	protected final List<Inflection> applyAffixRules(final DictionaryEntry dicEntry, final boolean isCompound,
 			final RuleEntry overriddenRule){
-		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
-		if(dicEntry.hasContinuationFlag(forbiddenWordFlag))
+		final int forbiddenWordFlagId = affixData.getSymbolTable().internNullable(affixData.getForbiddenWordFlag());
+		if(dicEntry.hasContinuationFlag(forbiddenWordFlagId))
 			return Collections.emptyList();
 
 		//extract base inflection
@@ -266,7 +267,7 @@ class WordGeneratorBase{
 	private List<Inflection> applyAffixRules(final DictionaryEntry dicEntry, final List<List<String>> allAffixes,
 			final boolean isCompound, final RuleEntry overriddenRule) throws NoApplicableRuleException{
 		final String circumfixFlag = affixData.getCircumfixFlag();
-		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
+		final int forbiddenWordFlagId = affixData.getSymbolTable().internNullable(affixData.getForbiddenWordFlag());
 
 		final List<String> appliedAffixes = allAffixes.get(Affixes.INDEX_PREFIXES);
 		final List<String> postponedAffixes = allAffixes.get(Affixes.INDEX_SUFFIXES);
@@ -274,7 +275,7 @@ class WordGeneratorBase{
 			postponedAffixes.add(circumfixFlag);
 
 		final List<Inflection> inflections = new ArrayList<>(0);
-		if(hasToBeExpanded(dicEntry, appliedAffixes, forbiddenWordFlag))
+		if(hasToBeExpanded(dicEntry, appliedAffixes, forbiddenWordFlagId))
 			for(int i = 0; i < appliedAffixes.size(); i ++){
 				final String affix = appliedAffixes.get(i);
 				//extract current rule
@@ -291,7 +292,7 @@ class WordGeneratorBase{
 				}
 				final List<Inflection> prods = applyAffixRule(dicEntry, affix, currentPostponedAffixes, isCompound, overriddenRule);
 				if(prods.isEmpty() && checker != null && !checker.canHaveNoInflections(affix))
-					EventBusService.publish(new LinterWarning(NO_INFLECTIONS, affix, dicEntry));
+					EventBusService.publishBatched(new LinterWarning(NO_INFLECTIONS, affix, dicEntry));
 
 				inflections.addAll(prods);
 			}
@@ -314,10 +315,13 @@ class WordGeneratorBase{
 			throw new LinterException(NON_EXISTENT_RULE, affix, (parentFlag != null? " via " + parentFlag: StringUtils.EMPTY));
 		}
 
-		final String forbidCompoundFlag = affixData.getForbidCompoundFlag();
-		final String permitCompoundFlag = affixData.getPermitCompoundFlag();
-		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
+		//resolve the flags once, each affix entry and inflection is then tested on the ids
+		final SymbolTable symbols = affixData.getSymbolTable();
+		final int forbidCompoundFlagId = symbols.internNullable(affixData.getForbidCompoundFlag());
+		final int permitCompoundFlagId = symbols.internNullable(affixData.getPermitCompoundFlag());
+		final int forbiddenWordFlagId = symbols.internNullable(affixData.getForbiddenWordFlag());
 		final String circumfixFlag = affixData.getCircumfixFlag();
+		final int circumfixFlagId = symbols.internNullable(circumfixFlag);
 
 		final String word = dicEntry.getWord();
 		final AffixEntry[] applicableAffixes = AffixData.extractListOfApplicableAffixes(word, rule.getEntries());
@@ -328,13 +332,13 @@ class WordGeneratorBase{
 
 		final List<Inflection> inflections = new ArrayList<>(applicableAffixes.length);
 		for(final AffixEntry entry : applicableAffixes){
-			if(shouldApplyEntry(entry, forbidCompoundFlag, permitCompoundFlag, isCompound)){
+			if(shouldApplyEntry(entry, forbidCompoundFlagId, permitCompoundFlagId, isCompound)){
 				//if entry has circumfix constraint and inflection has the same constraint then remove it from
 				// postponedAffixes
 				boolean removeCircumfixFlag = false;
 				if(circumfixFlag != null && appliedRules != null)
-					removeCircumfixFlag = (entry.hasContinuationFlag(circumfixFlag)
-						&& (entry.getType() == AffixType.SUFFIX ^ matches(appliedRules, entry, circumfixFlag)));
+					removeCircumfixFlag = (entry.hasContinuationFlag(circumfixFlagId)
+						&& (entry.getType() == AffixType.SUFFIX ^ matches(appliedRules, entry, circumfixFlagId)));
 
 				//produce the new word
 				final String newWord = entry.applyRule(word, affixData.isFullstrip());
@@ -344,35 +348,35 @@ class WordGeneratorBase{
 					.withFullstrip(isFullstrip);
 				if(removeCircumfixFlag)
 					inflection.removeContinuationFlag(circumfixFlag);
-				if(!inflection.hasContinuationFlag(forbiddenWordFlag))
+				if(!inflection.hasContinuationFlag(forbiddenWordFlagId))
 					inflections.add(inflection);
 			}
 		}
 		return inflections;
 	}
 
-	private static boolean matches(final AffixEntry[] appliedRules, final AffixEntry entry, final String circumfixFlag){
+	private static boolean matches(final AffixEntry[] appliedRules, final AffixEntry entry, final int circumfixFlagId){
 		final AffixType entryType = entry.getType();
 		final int size = (appliedRules != null? appliedRules.length: 0);
 		for(int i = 0; i < size; i ++){
 			final AffixEntry appliedRule = appliedRules[i];
-			if((entryType == AffixType.SUFFIX ^ appliedRule.getType() == AffixType.SUFFIX) && appliedRule.hasContinuationFlag(circumfixFlag))
+			if((entryType == AffixType.SUFFIX ^ appliedRule.getType() == AffixType.SUFFIX) && appliedRule.hasContinuationFlag(circumfixFlagId))
 				return true;
 		}
 		return false;
 	}
 
 	private static boolean hasToBeExpanded(final DictionaryEntry dicEntry, final Collection<String> appliedAffixes,
-			final String forbiddenWordFlag){
-		return (!appliedAffixes.isEmpty() && !dicEntry.hasContinuationFlag(forbiddenWordFlag));
+			final int forbiddenWordFlagId){
+		return (!appliedAffixes.isEmpty() && !dicEntry.hasContinuationFlag(forbiddenWordFlagId));
 	}
 
-	private static boolean shouldApplyEntry(final AffixEntry entry, final String forbidCompoundFlag, final String permitCompoundFlag,
+	private static boolean shouldApplyEntry(final AffixEntry entry, final int forbidCompoundFlagId, final int permitCompoundFlagId,
 			final boolean isCompound){
 		boolean shouldApply = true;
 		if(isCompound){
-			final boolean hasForbidFlag = entry.hasContinuationFlag(forbidCompoundFlag);
-			final boolean hasPermitFlag = entry.hasContinuationFlag(permitCompoundFlag);
+			final boolean hasForbidFlag = entry.hasContinuationFlag(forbidCompoundFlagId);
+			final boolean hasPermitFlag = entry.hasContinuationFlag(permitCompoundFlagId);
 			if(hasForbidFlag || !hasPermitFlag)
 				shouldApply = false;
 		}
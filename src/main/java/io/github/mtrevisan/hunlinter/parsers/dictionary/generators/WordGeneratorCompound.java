@@ -24,22 +24,21 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
 
-import io.github.mtrevisan.hunlinter.datastructures.SetHelper;
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolList;
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.vos.Affixes;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
-import io.github.mtrevisan.hunlinter.services.text.StringHelper;
+import io.github.mtrevisan.hunlinter.services.regexgenerator.HunSpellRegexRecognizer;
+import io.github.mtrevisan.hunlinter.services.regexgenerator.HunSpellRegexWordGenerator;
 import io.github.mtrevisan.hunlinter.workers.dictionary.DictionaryInclusionTestWorker;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -47,36 +46,31 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 abstract class WordGeneratorCompound extends WordGeneratorBase{
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(WordGeneratorCompound.class);
 
-	private static final Map<StringHelper.Casing, Set<StringHelper.Casing>> COMPOUND_WORD_BOUNDARY_COLLISIONS
-		= new EnumMap<>(StringHelper.Casing.class);
-	static{
-		final Set<StringHelper.Casing> lowerOrTitleCase = SetHelper.setOf(StringHelper.Casing.TITLE_CASE, StringHelper.Casing.ALL_CAPS,
-			StringHelper.Casing.CAMEL_CASE, StringHelper.Casing.PASCAL_CASE);
-		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.LOWER_CASE, lowerOrTitleCase);
-		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.TITLE_CASE, lowerOrTitleCase);
-		final Set<StringHelper.Casing> allCaps = SetHelper.setOf(StringHelper.Casing.LOWER_CASE, StringHelper.Casing.TITLE_CASE,
-			StringHelper.Casing.CAMEL_CASE, StringHelper.Casing.PASCAL_CASE);
-		COMPOUND_WORD_BOUNDARY_COLLISIONS.put(StringHelper.Casing.ALL_CAPS, allCaps);
-	}
-
 
-	private DictionaryInclusionTestWorker dicInclusionTestWorker;
-	private final Collection<String> compoundAsReplacement = new HashSet<>(0);
+	private final DictionaryInclusionTestWorker dicInclusionTestWorker;
 
 
 	WordGeneratorCompound(final AffixData affixData, final DictionaryParser dicParser, final DictionaryCorrectnessChecker checker){
 		super(affixData, checker);
 
-		if(dicInclusionTestWorker == null && affixData.isCheckCompoundReplacement())
-			dicInclusionTestWorker = new DictionaryInclusionTestWorker(affixData, dicParser);
+		dicInclusionTestWorker = (affixData.isCheckCompoundReplacement()
+			? new DictionaryInclusionTestWorker(affixData, dicParser)
+			: null);
 	}
 
 	protected final List<List<List<Inflection>>> generateCompounds(final List<List<String>> permutations,
@@ -121,46 +115,71 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		return entries;
 	}
 
-	protected final List<Inflection> applyCompound(final List<List<List<Inflection>>> entries, final int limit){
-		final String compoundFlag = affixData.getCompoundFlag();
+	/**
+	 * Creates a recognizer for the compounds made of the given inputs according to the given rule.
+	 *
+	 * @param inputs	The map flag -> dictionary entries of the components.
+	 * @param compoundRule	The rule the compounds should match, already subdivided into flags and modifiers.
+	 * @param minimumComponents	The minimum number of components of a compound.
+	 * @param maximumComponents	The maximum number of components of a compound, or a non-positive value if there is no limit.
+	 * @param filterByFlag	Whether an inflection can stand for a flag only if it has that flag as continuation flag.
+	 * @return	The compound recognizer.
+	 */
+	protected final CompoundRecognizer createRecognizer(final Map<String, List<DictionaryEntry>> inputs, final String[] compoundRule,
+			final int minimumComponents, final int maximumComponents, final boolean filterByFlag){
 		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
-		final String forceCompoundUppercaseFlag = affixData.getForceCompoundUppercaseFlag();
-		final boolean checkCompoundReplacement = affixData.isCheckCompoundReplacement();
-
-		compoundAsReplacement.clear();
 
-		final StringBuffer sb = new StringBuffer();
-		final Set<Inflection> inflections = new LinkedHashSet<>(0);
-		//generate compounds:
-		for(int i = 0; i < entries.size(); i ++){
-			final List<List<Inflection>> entry = entries.get(i);
-			//compose compound:
-			boolean completed = false;
-			final int[] indexes = new int[entry.size()];
-			while(!completed){
-				final List<DictionaryEntry> compoundEntries = composeCompound(indexes, entry, sb);
-
-				if(!sb.isEmpty() && (!checkCompoundReplacement || !existsCompoundAsReplacement(sb.toString()))){
-					final List<List<String>> continuationFlags = extractCompoundFlagsByComponent(compoundEntries, compoundFlag);
-					if(forbiddenWordFlag == null
-							|| !continuationFlags.get(Affixes.INDEX_PREFIXES).contains(forbiddenWordFlag)
-							&& !continuationFlags.get(Affixes.INDEX_SUFFIXES).contains(forbiddenWordFlag)
-							&& !continuationFlags.get(Affixes.INDEX_TERMINALS).contains(forbiddenWordFlag)){
-						final String compoundWord = sb.toString();
-						final List<Inflection> newInflections = generateInflections(compoundWord, compoundEntries, continuationFlags);
-
-						inflections.addAll(newInflections);
-						if(inflections.size() > limit)
-							break;
-					}
+		final Map<String, CompoundRecognizer.Component> components = new HashMap<>(0);
+		for(final Map.Entry<String, List<DictionaryEntry>> entry : inputs.entrySet()){
+			final String flag = entry.getKey();
+			final List<DictionaryEntry> flagEntries = entry.getValue();
+			for(int i = 0; i < flagEntries.size(); i ++){
+				final List<Inflection> inflections = applyAffixRules(flagEntries.get(i), true, null);
+
+				final int size = (inflections != null? inflections.size(): 0);
+				for(int j = 0; j < size; j ++){
+					final Inflection inflection = inflections.get(j);
+					if(filterByFlag && !inflection.hasContinuationFlag(flag)
+							|| forbiddenWordFlag != null && inflection.hasContinuationFlag(forbiddenWordFlag))
+						continue;
+
+					final CompoundRecognizer.Component component = components.computeIfAbsent(inflection.getWord(),
+						k -> new CompoundRecognizer.Component(new HashSet<>(1), new HashSet<>(0)));
+					component.symbols().add(flag);
+					component.continuationFlags().addAll(inflection.getContinuationFlags());
 				}
-
-
-				completed = (inflections.size() >= limit || getNextTuple(indexes, entry));
 			}
 		}
 
-		compoundAsReplacement.clear();
+		final HunSpellRegexRecognizer recognizer = new HunSpellRegexWordGenerator(compoundRule)
+			.compile();
+		final boolean allowBoundaryAffixes = (affixData.getForbidCompoundFlag() == null && affixData.getPermitCompoundFlag() == null);
+		return new CompoundRecognizer(components, recognizer, minimumComponents, maximumComponents,
+			affixData.isForbidTriplesInCompound(), affixData.isForbidDuplicatesInCompound(),
+			(allowBoundaryAffixes? new AffixAppendingIndex(affixData.getRuleEntries()): null));
+	}
+
+	protected final List<Inflection> applyCompound(final List<List<List<Inflection>>> entries, final int limit){
+		final String forceCompoundUppercaseFlag = affixData.getForceCompoundUppercaseFlag();
+
+		//generate compounds (in parallel only if the visiting order does not affect the outcome, see CHECKCOMPOUNDREP):
+		final List<Supplier<Stream<Inflection>>> units = splitCompounds(entries);
+		final int batchSize = (affixData.isCheckCompoundReplacement()? 1: Runtime.getRuntime().availableProcessors());
+		final Set<Inflection> inflections = new LinkedHashSet<>(0);
+		for(int i = 0; i < units.size() && inflections.size() < limit; i += batchSize){
+			//each unit contributes at most `limit` distinct compounds to the first `limit` distinct compounds overall
+			final List<List<Inflection>> batch = units.subList(i, Math.min(i + batchSize, units.size()))
+				.parallelStream()
+				.map(unit -> unit.get()
+					.distinct()
+					.limit(limit)
+					.toList())
+				.toList();
+			for(int j = 0; j < batch.size(); j ++)
+				for(final Inflection inflection : batch.get(j))
+					if(inflections.size() < limit)
+						inflections.add(inflection);
+		}
 
 		applyOutputConversions(inflections, forceCompoundUppercaseFlag);
 
@@ -168,7 +187,69 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 			for(final Inflection inflection : inflections)
 				LOGGER.trace("Inflected word: {}", inflection);
 
-		return limitResponse(inflections, limit);
+		return new ArrayList<>(inflections);
+	}
+
+	/**
+	 * Splits the generation of the compounds of the given expanded permutations by the first component of each permutation.
+	 * <p>
+	 * Compounds are composed one component at a time, and all the compounds sharing a prefix that contains a forbidden word, a
+	 * forbidden triple, or a known non-compound word with a REP substitution (see CHECKCOMPOUNDREP) are skipped at once.<br />
+	 * Each unit can be generated by a different thread; note that the known CHECKCOMPOUNDREP words are shared between units, so
+	 * the compounds skipped through them may depend on the visiting order.
+	 * </p>
+	 *
+	 * @param entries	The list of candidate inflections for each component of each permutation.
+	 * @return	The lazy streams of inflections of each unit, in order (output conversions are not applied).
+	 */
+	private List<Supplier<Stream<Inflection>>> splitCompounds(final List<List<List<Inflection>>> entries){
+		final String compoundFlag = affixData.getCompoundFlag();
+		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
+		final boolean forbidDifferentCasesInCompound = affixData.isForbidDifferentCasesInCompound();
+		final boolean forbidTriples = affixData.isForbidTriplesInCompound();
+		final boolean simplifyTriples = affixData.isSimplifyTriplesInCompound();
+		final boolean checkCompoundReplacement = affixData.isCheckCompoundReplacement();
+
+		final Set<String> compoundAsReplacement = (checkCompoundReplacement? ConcurrentHashMap.newKeySet(): null);
+		final Predicate<CharSequence> prefixFilter = (checkCompoundReplacement
+			? prefix -> containsCompoundAsReplacement(prefix, compoundAsReplacement)
+			: null);
+
+		final List<Supplier<Stream<Inflection>>> units = new ArrayList<>(entries.size());
+		for(int i = 0; i < entries.size(); i ++){
+			final List<List<Inflection>> entry = entries.get(i);
+			final int size = (!entry.isEmpty()? entry.get(0).size(): 0);
+			for(int j = 0; j < size; j ++){
+				final int firstIndex = j;
+				units.add(() -> {
+					final CompoundIterator itr = new CompoundIterator(entry, firstIndex, firstIndex + 1, forbiddenWordFlag,
+						forbidDifferentCasesInCompound, forbidTriples, simplifyTriples, prefixFilter);
+					return StreamSupport.stream(Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED | Spliterator.NONNULL),
+							false)
+						.flatMap(compound -> composeInflections(compound, compoundFlag, forbiddenWordFlag, compoundAsReplacement));
+				});
+			}
+		}
+		return units;
+	}
+
+	private Stream<Inflection> composeInflections(final CompoundIterator.Compound compound, final String compoundFlag,
+			final String forbiddenWordFlag, final Collection<String> compoundAsReplacement){
+		final String compoundWord = compound.word();
+		if(compoundWord.isEmpty()
+				|| compoundAsReplacement != null && existsCompoundAsReplacement(compoundWord, compoundAsReplacement))
+			return Stream.empty();
+
+		final List<DictionaryEntry> compoundEntries = compound.entries();
+		final List<List<String>> continuationFlags = extractCompoundFlagsByComponent(compoundEntries, compoundFlag);
+		if(forbiddenWordFlag != null
+				&& (continuationFlags.get(Affixes.INDEX_PREFIXES).contains(forbiddenWordFlag)
+				|| continuationFlags.get(Affixes.INDEX_SUFFIXES).contains(forbiddenWordFlag)
+				|| continuationFlags.get(Affixes.INDEX_TERMINALS).contains(forbiddenWordFlag)))
+			return Stream.empty();
+
+		return generateInflections(compoundWord, compoundEntries, continuationFlags)
+			.stream();
 	}
 
 	private void applyOutputConversions(final Iterable<Inflection> inflections, final String forceCompoundUppercaseFlag){
@@ -181,10 +262,6 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		}
 	}
 
-	private static List<Inflection> limitResponse(final Set<Inflection> inflections, final int limit){
-		return new ArrayList<>(inflections).subList(0, Math.min(inflections.size(), limit));
-	}
-
 	private List<Inflection> generateInflections(final String compoundWord, final List<DictionaryEntry> compoundEntries,
 			final List<List<String>> continuationFlags){
 		final boolean hasForbidCompoundFlag = (affixData.getForbidCompoundFlag() != null);
@@ -195,7 +272,8 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		final List<String> flags = new ArrayList<>(continuationFlags.size());
 		for(int i = 0; i < continuationFlags.size(); i ++)
 			flags.addAll(continuationFlags.get(i));
-		final Inflection p = Inflection.createFromCompound(compoundWord, flags, compoundEntries);
+		final Inflection p = Inflection.createFromCompound(compoundWord, SymbolList.of(affixData.getSymbolTable(), flags),
+			compoundEntries);
 		if(hasForbidCompoundFlag || hasPermitCompoundFlag)
 			inflections.add(p);
 		else{
@@ -209,84 +287,6 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		return inflections;
 	}
 
-	private List<DictionaryEntry> composeCompound(final int[] indexes, final List<List<Inflection>> entry, final StringBuffer sb){
-		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
-		final boolean forbidDifferentCasesInCompound = affixData.isForbidDifferentCasesInCompound();
-		final boolean forbidTriples = affixData.isForbidTriplesInCompound();
-		final boolean simplifyTriples = affixData.isSimplifyTriplesInCompound();
-
-		final List<DictionaryEntry> compoundEntries = new ArrayList<>(indexes.length);
-
-		sb.setLength(0);
-		StringHelper.Casing lastWordCasing = null;
-		for(int i = 0; i < indexes.length; i ++){
-			final Inflection next = entry.get(i).get(indexes[i]);
-
-			//skip forbidden words
-			if(next.hasContinuationFlag(forbiddenWordFlag)){
-				sb.setLength(0);
-				break;
-			}
-
-			compoundEntries.add(next);
-
-			String nextCompound = next.getWord();
-			final boolean containsTriple = containsTriple(sb, nextCompound);
-			//enforce simplification of triples if SIMPLIFIEDTRIPLE is set
-			if(containsTriple && simplifyTriples)
-				nextCompound = nextCompound.substring(1);
-			//enforce not containment of a triple if CHECKCOMPOUNDTRIPLE is set
-			else if(containsTriple && forbidTriples){
-				sb.setLength(0);
-				break;
-			}
-			//enforce forbidden case if CHECKCOMPOUNDCASE is set
-			if(!sb.isEmpty() && forbidDifferentCasesInCompound){
-				if(lastWordCasing == null)
-					lastWordCasing = StringHelper.classifyCasing(sb.toString());
-				final StringHelper.Casing nextWordCasing = StringHelper.classifyCasing(nextCompound);
-
-				final char lastChar = StringHelper.lastChar(sb);
-				//FIXME if nextCompound is changed, then check for duplicates
-				nextCompound = enforceNextCompoundCase(lastChar, nextCompound, lastWordCasing, nextWordCasing);
-
-				lastWordCasing = nextWordCasing;
-			}
-
-			sb.append(nextCompound);
-		}
-		return compoundEntries;
-	}
-
-	private static boolean containsTriple(final StringBuffer sb, final String compound){
-		boolean repeated = false;
-		final int size = sb.length() - 1;
-		if(size > 1){
-			final String interCompounds = sb.substring(Math.max(size - 1, 0), size + 1)
-				+ compound.substring(0, Math.min(compound.length(), 2));
-			final int len = interCompounds.length();
-			if(len == 3 || len == 4){
-				repeated = (interCompounds.charAt(0) == interCompounds.charAt(1) && interCompounds.charAt(0) == interCompounds.charAt(2));
-				if(len == 4)
-					repeated |= (interCompounds.charAt(1) == interCompounds.charAt(2) && interCompounds.charAt(1) == interCompounds.charAt(3));
-			}
-		}
-		return repeated;
-	}
-
-	private static String enforceNextCompoundCase(final char lastChar, String nextCompound, final StringHelper.Casing lastWordCasing,
-			final StringHelper.Casing nextWordCasing){
-		final char nextChar = nextCompound.charAt(0);
-		if(Character.isLetter(lastChar) && Character.isLetter(nextChar)){
-			final Set<StringHelper.Casing> collisions = COMPOUND_WORD_BOUNDARY_COLLISIONS.get(lastWordCasing);
-			//convert nextChar to lowercase/uppercase and go on
-			if(collisions != null && collisions.contains(nextWordCasing))
-				nextCompound = (Character.isUpperCase(lastChar)? StringUtils.capitalize(nextCompound):
-					StringUtils.uncapitalize(nextCompound));
-		}
-		return nextCompound;
-	}
-
 	/** @return	A list of prefixes from first entry, suffixes from last entry, and terminals from both. */
 	private List<List<String>> extractCompoundFlagsByComponent(final List<DictionaryEntry> compoundEntries,
 			final String compoundFlag){
@@ -319,14 +319,17 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		}
 	}
 
-	//is word a non-compound with a REP substitution (see checkcompoundrep)?
-	private boolean existsCompoundAsReplacement(final String word){
-		boolean exists = false;
+	private static boolean containsCompoundAsReplacement(final CharSequence prefix, final Iterable<String> compoundAsReplacement){
+		final String word = prefix.toString();
 		for(final String elem : compoundAsReplacement)
-			if(word.contains(elem)){
-				exists = true;
-				break;
-			}
+			if(word.contains(elem))
+				return true;
+		return false;
+	}
+
+	//is word a non-compound with a REP substitution (see checkcompoundrep)?
+	private boolean existsCompoundAsReplacement(final String word, final Collection<String> compoundAsReplacement){
+		boolean exists = containsCompoundAsReplacement(word, compoundAsReplacement);
 		if(!exists && word.length() >= 2){
 			final String convertedWord = affixData.applyReplacementTable(word);
 			if(dicInclusionTestWorker.isInDictionary(convertedWord)){
@@ -338,19 +341,6 @@ abstract class WordGeneratorCompound extends WordGeneratorBase{
 		return exists;
 	}
 
-	private static boolean getNextTuple(final int[] indexes, final List<List<Inflection>> entry){
-		//obtain next tuple
-		int i = indexes.length - 1;
-		while(i >= 0){
-			indexes[i] ++;
-			if(indexes[i] < entry.get(i).size())
-				break;
-
-			indexes[i --] = 0;
-		}
-		return (i == -1);
-	}
-
 	/** Merge the distribution with the others. */
 	protected static Map<String, List<DictionaryEntry>> mergeDistributions(final Map<String, List<DictionaryEntry>> compoundRules,
 			final Map<String, List<DictionaryEntry>> distribution, final Integer compoundMinimumLength, final String forbiddenWordFlag){
@@ -31,6 +31,7 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.regexgenerator.HunSpellRegexWordGenerator;
+import io.github.mtrevisan.hunlinter.services.text.PermutationsWithRepetitions;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 
 import java.util.HashMap;
@@ -89,6 +90,33 @@ class WordGeneratorCompoundBeginMiddleEnd extends WordGeneratorCompound{
 		return applyCompound(entries, limit);
 	}
 
+	/**
+	 * Creates a recognizer for the compounds made of words in the dictionary marked with AffixOption.COMPOUND_BEGIN,
+	 * AffixOption.COMPOUND_MIDDLE, and AffixOption.COMPOUND_END
+	 *
+	 * @param inputCompounds	List of compounds used to generate the inflection through the compound rule
+	 * @return	The compound recognizer
+	 */
+	final CompoundRecognizer createCompoundBeginMiddleEndRecognizer(final String[] inputCompounds){
+		Objects.requireNonNull(inputCompounds, "Input compounds cannot be null");
+
+		final String compoundBeginFlag = affixData.getCompoundBeginFlag();
+		final String compoundMiddleFlag = affixData.getCompoundMiddleFlag();
+		final String compoundEndFlag = affixData.getCompoundEndFlag();
+
+		//extract map flag -> dictionary entries
+		final Map<String, List<DictionaryEntry>> inputs = extractCompoundBeginMiddleEnd(inputCompounds, compoundBeginFlag,
+			compoundMiddleFlag, compoundEndFlag);
+
+		checkCompoundBeginMiddleEndInputCorrectness(inputs);
+
+		final String[] compoundRule = {
+			compoundBeginFlag, FlagParsingStrategy.FLAG_OPTIONAL,
+			compoundMiddleFlag, FlagParsingStrategy.FLAG_OPTIONAL,
+			compoundEndFlag, FlagParsingStrategy.FLAG_OPTIONAL};
+		return createRecognizer(inputs, compoundRule, 2, PermutationsWithRepetitions.MAX_COMPOUNDS_INFINITY, true);
+	}
+
 	private Map<String, List<DictionaryEntry>> extractCompoundBeginMiddleEnd(final String[] inputCompounds, final String compoundBeginFlag,
 			final String compoundMiddleFlag, final String compoundEndFlag){
 		final Integer compoundMinimumLength = affixData.getCompoundMinimumLength();
@@ -26,6 +26,7 @@ package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
 
 import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
+import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
@@ -46,6 +47,9 @@ class WordGeneratorCompoundFlag extends WordGeneratorCompound{
 	private static final String NON_POSITIVE_LIMIT = "Limit cannot be non-positive: {}";
 	private static final String NON_POSITIVE_MAX_COMPOUNDS = "Max compounds cannot be non-positive: {}";
 
+	/** The symbol every component stands for in the recognizer, if no compound flag is defined. */
+	private static final String DEFAULT_COMPONENT_SYMBOL = "C";
+
 
 	WordGeneratorCompoundFlag(final AffixData affixData, final DictionaryParser dicParser, final DictionaryCorrectnessChecker checker){
 		super(affixData, dicParser, checker);
@@ -86,6 +90,27 @@ class WordGeneratorCompoundFlag extends WordGeneratorCompound{
 		return applyCompound(entries, limit);
 	}
 
+	/**
+	 * Creates a recognizer for the compounds made of words in the dictionary marked with {@code AffixOption.COMPOUND_FLAG}.
+	 *
+	 * @param inputCompounds	List of compounds used to generate the inflection through the compound rule.
+	 * @param maxCompounds	Maximum compound count.
+	 * @return	The compound recognizer.
+	 */
+	final CompoundRecognizer createCompoundFlagRecognizer(final String[] inputCompounds, final Integer maxCompounds){
+		Objects.requireNonNull(inputCompounds, "Input compounds cannot be null");
+		if(maxCompounds == null || maxCompounds <= 0 && maxCompounds != PermutationsWithRepetitions.MAX_COMPOUNDS_INFINITY)
+			throw new LinterException(NON_POSITIVE_MAX_COMPOUNDS, maxCompounds);
+
+		final String symbol = Objects.requireNonNullElse(affixData.getCompoundFlag(), DEFAULT_COMPONENT_SYMBOL);
+
+		//extract list of dictionary entries
+		final List<DictionaryEntry> inputs = extractCompoundFlags(inputCompounds);
+
+		final String[] compoundRule = {symbol, FlagParsingStrategy.FLAG_ANY};
+		return createRecognizer(Collections.singletonMap(symbol, inputs), compoundRule, 2, maxCompounds, false);
+	}
+
 	private List<DictionaryEntry> extractCompoundFlags(final String[] inputCompounds){
 		final Integer compoundMinimumLength = affixData.getCompoundMinimumLength();
 		final String forbiddenWordFlag = affixData.getForbiddenWordFlag();
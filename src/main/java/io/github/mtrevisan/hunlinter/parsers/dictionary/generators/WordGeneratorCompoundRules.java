@@ -31,6 +31,7 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.regexgenerator.HunSpellRegexWordGenerator;
+import io.github.mtrevisan.hunlinter.services.text.PermutationsWithRepetitions;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import org.apache.commons.lang3.StringUtils;
 
@@ -85,6 +86,29 @@ class WordGeneratorCompoundRules extends WordGeneratorCompound{
 		return applyCompound(entries, limit);
 	}
 
+	/**
+	 * Creates a recognizer for the compounds of the given rule made of words in the dictionary marked with AffixOption.COMPOUND_RULE
+	 *
+	 * @param inputCompounds	List of compounds used to generate the inflection through the compound rule
+	 * @param compoundRule	Rule the compounds should match
+	 * @return	The compound recognizer
+	 */
+	final CompoundRecognizer createCompoundRulesRecognizer(final String[] inputCompounds, final String compoundRule){
+		Objects.requireNonNull(inputCompounds, "Input compounds cannot be null");
+		Objects.requireNonNull(compoundRule, "Compound rule cannot be null");
+
+		final FlagParsingStrategy strategy = affixData.getFlagParsingStrategy();
+
+		//extract map flag -> dictionary entries
+		final Map<String, List<DictionaryEntry>> inputs = extractCompoundRules(inputCompounds);
+
+		final String[] compoundRuleComponents = strategy.extractCompoundRule(compoundRule);
+
+		checkCompoundRuleInputCorrectness(inputs, compoundRuleComponents);
+
+		return createRecognizer(inputs, compoundRuleComponents, 2, PermutationsWithRepetitions.MAX_COMPOUNDS_INFINITY, true);
+	}
+
 	/** Extract a map of flag > dictionary entry from input compounds. */
 	private Map<String, List<DictionaryEntry>> extractCompoundRules(final String[] inputCompounds){
 		final int compoundMinimumLength = affixData.getCompoundMinimumLength();
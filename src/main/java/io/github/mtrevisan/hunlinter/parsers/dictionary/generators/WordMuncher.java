@@ -41,6 +41,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 
 //https://github.com/nuspell/nuspell/blob/45d383c0e2f25e4ea48ee8efeca53c2bb51a3510/src/tools/munch.cxx
@@ -56,6 +57,7 @@ public class WordMuncher{
 	protected final DictionaryEntryFactory dictionaryEntryFactory;
 //	private final DictionaryParser dicParser;
 	private final WordGenerator wordGenerator;
+	private final AffixAppendingIndex affixAppendingIndex;
 
 	private DictionaryInclusionTestWorker dicInclusionTestWorker;
 
@@ -68,6 +70,7 @@ public class WordMuncher{
 		this.affixData = affixData;
 //		this.dicParser = dicParser;
 		this.wordGenerator = wordGenerator;
+		affixAppendingIndex = new AffixAppendingIndex(affixData.getRuleEntries());
 
 		loadDictionaryForInclusionTest(dicParser);
 	}
@@ -94,36 +97,44 @@ public class WordMuncher{
 		return originators;
 	}
 
+	/**
+	 * Infer the affix rules for each entry of a whole wordlist, in parallel.
+	 *
+	 * @param dicEntries	The list of dictionary entries to be munched.
+	 * @return	The list of originators for each dictionary entry, in the same order as the given entries.
+	 */
+	public final List<List<DictionaryEntry>> inferAffixRules(final List<DictionaryEntry> dicEntries){
+		return dicEntries.parallelStream()
+			.map(this::inferAffixRules)
+			.collect(Collectors.toList());
+	}
+
 	private List<DictionaryEntry> extractAllAffixes(final DictionaryEntry dicEntry){
 		final String word = dicEntry.getWord();
 		final List<String> partOfSpeech = dicEntry.getMorphologicalFieldPartOfSpeech();
 
 		final List<DictionaryEntry> originators = new ArrayList<>(0);
-		final List<RuleEntry> ruleEntries = affixData.getRuleEntries();
-		//for each rule
-		for(int i = 0; i < ruleEntries.size(); i ++){
-			final RuleEntry ruleEntry = ruleEntries.get(i);
-			//for each affix entry in rule
-			final List<AffixEntry> affixEntries = ruleEntry.getEntries();
-			for(int j = 0; j < affixEntries.size(); j ++){
-				final AffixEntry affixEntry = affixEntries.get(j);
-				if(affixEntry.canInverseApplyTo(word)){
-					final String originatingWord = affixEntry.undoRule(word);
-					final DictionaryEntry originatorEntry = wordGenerator.createFromDictionaryLineNoStemTag(originatingWord + SLASH + affixEntry.getFlag());
-
-					final List<Inflection> inflections = wordGenerator.applyAffixRules(originatorEntry, ruleEntry);
-					//remove base inflection
-					inflections.remove(WordGenerator.BASE_INFLECTION_INDEX);
-
-					//FIXME consider also the cases where a word can be attached to multiple derivations from an originating word
-					if(inflections.size() != 1)
-						continue;
-
-					final List<String> baseInflectionPartOfSpeech = inflections.get(0).getMorphologicalFieldPartOfSpeech();
-					if(baseInflectionPartOfSpeech.isEmpty() && partOfSpeech.isEmpty() || baseInflectionPartOfSpeech.equals(partOfSpeech))
-						originators.add(originatorEntry);
-				}
-			}
+		//for each affix entry whose appending part begins or ends the word
+		final List<AffixAppendingIndex.Candidate> candidates = affixAppendingIndex.getCandidates(word);
+		for(int i = 0; i < candidates.size(); i ++){
+			final AffixAppendingIndex.Candidate candidate = candidates.get(i);
+			final RuleEntry ruleEntry = candidate.ruleEntry();
+			final AffixEntry affixEntry = candidate.affixEntry();
+
+			final String originatingWord = affixEntry.undoRule(word);
+			final DictionaryEntry originatorEntry = wordGenerator.createFromDictionaryLineNoStemTag(originatingWord + SLASH + affixEntry.getFlag());
+
+			final List<Inflection> inflections = wordGenerator.applyAffixRules(originatorEntry, ruleEntry);
+			//remove base inflection
+			inflections.remove(WordGenerator.BASE_INFLECTION_INDEX);
+
+			//FIXME consider also the cases where a word can be attached to multiple derivations from an originating word
+			if(inflections.size() != 1)
+				continue;
+
+			final List<String> baseInflectionPartOfSpeech = inflections.get(0).getMorphologicalFieldPartOfSpeech();
+			if(baseInflectionPartOfSpeech.isEmpty() && partOfSpeech.isEmpty() || baseInflectionPartOfSpeech.equals(partOfSpeech))
+				originators.add(originatorEntry);
 		}
 		return originators;
 	}
@@ -57,6 +57,9 @@ public enum MorphologicalTag{
 	FLAG("fl:");
 
 
+	private static final int CODE_LENGTH = 3;
+	private static final char CODE_SEPARATOR = ':';
+
 	private final String code;
 	private final int hash;
 
@@ -78,8 +81,13 @@ public enum MorphologicalTag{
 		return code;
 	}
 
+	/**
+	 * @param codeAndValue	The morphological field.
+	 * @return	Whether the given field starts with the code of this tag (compared as integers, without building substrings).
+	 */
 	public boolean isSupertypeOf(final String codeAndValue){
-		return (partialHash(codeAndValue) == hash);
+		return (codeAndValue.length() >= CODE_LENGTH && codeAndValue.charAt(CODE_LENGTH - 1) == CODE_SEPARATOR
+			&& partialHash(codeAndValue) == hash);
 	}
 
 	public String attachValue(final String value){
@@ -87,7 +95,8 @@ public enum MorphologicalTag{
 	}
 
 	private static int partialHash(final String key){
-		return (key.codePointAt(0) << 8) | key.codePointAt(1);
+		//two UTF-16 units packed without overlap, so that different prefixes never collide
+		return (key.charAt(0) << 16) | key.charAt(1);
 	}
 
 }
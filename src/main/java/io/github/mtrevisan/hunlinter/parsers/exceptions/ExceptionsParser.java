@@ -110,7 +110,7 @@ public class ExceptionsParser{
 		for(int i = 0; i < dictionary.size(); i ++){
 			final String exception = dictionary.get(i);
 			if(!map.add(exception))
-				EventBusService.publish(new LinterWarning(DUPLICATED_ENTRY, configurationFilename, exception)
+				EventBusService.publishBatched(new LinterWarning(DUPLICATED_ENTRY, configurationFilename, exception)
 					.withIndex(index));
 
 			index ++;
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.vos;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolList;
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
 import io.github.mtrevisan.hunlinter.parsers.enums.MorphologicalTag;
@@ -38,13 +40,10 @@ import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.math.NumberUtils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -84,16 +83,18 @@ public class AffixEntry{
 	private final String removing;
 	/** string to append. */
 	private final String appending;
-	final List<String> continuationFlags;
+	final SymbolList continuationFlags;
 	/** condition that must be met before the affix can be applied. */
 	private final String condition;
 	final List<String> morphologicalFields;
 
 
 	public AffixEntry(final String line, final int index, final AffixType parentType, final String parentFlag,
-			final FlagParsingStrategy strategy, final List<String> aliasesFlag, final List<String> aliasesMorphologicalField){
+			final FlagParsingStrategy strategy, final SymbolTable symbols, final List<String> aliasesFlag,
+			final List<String> aliasesMorphologicalField){
 		Objects.requireNonNull(line, "Line cannot be null");
 		Objects.requireNonNull(strategy, "Strategy cannot be null");
+		Objects.requireNonNull(symbols, "Symbol table cannot be null");
 
 		//remove comments at the end of the line
 		final int commentIndex = line.indexOf(ParserHelper.COMMENT_MARK_SHARP);
@@ -114,11 +115,11 @@ public class AffixEntry{
 		final String continuationClasses = m.group(PARAM_CONTINUATION_CLASSES);
 		condition = (lineParts.length > 4? Strings.CS.replace(lineParts[4], SLASH_ESCAPED, SLASH): DOT);
 		morphologicalFields = (lineParts.length > 5
-			? new ArrayList<>(Arrays.asList(StringUtils.split(expandAliases(lineParts[5], aliasesMorphologicalField))))
+			? SymbolList.of(symbols, StringUtils.split(expandAliases(lineParts[5], aliasesMorphologicalField)))
 			: null);
 
 		final String[] classes = strategy.parseFlags((continuationClasses != null? expandAliases(continuationClasses, aliasesFlag): null));
-		continuationFlags = (classes != null && classes.length > 0? new ArrayList<>(Arrays.asList(classes)): null);
+		continuationFlags = SymbolList.of(symbols, classes);
 		removing = (!ZERO.equals(removal)? removal: StringUtils.EMPTY);
 		appending = (!ZERO.equals(addition)? addition: StringUtils.EMPTY);
 
@@ -146,14 +147,14 @@ public class AffixEntry{
 				if(!condition.endsWith(removal))
 					throw new LinterException(WRONG_CONDITION_END, line);
 				if(appending.length() > 1 && removal.charAt(0) == appending.charAt(0))
-					EventBusService.publish(new LinterWarning(CHARACTERS_IN_COMMON, line)
+					EventBusService.publishBatched(new LinterWarning(CHARACTERS_IN_COMMON, line)
 						.withIndex(index));
 			}
 			else{
 				if(!condition.startsWith(removal))
 					throw new LinterException(WRONG_CONDITION_START, line);
 				if(appending.length() > 1 && StringHelper.lastChar(removal) == StringHelper.lastChar(appending))
-					EventBusService.publish(new LinterWarning(CHARACTERS_IN_COMMON, line)
+					EventBusService.publishBatched(new LinterWarning(CHARACTERS_IN_COMMON, line)
 						.withIndex(index));
 			}
 		}
@@ -168,20 +169,19 @@ public class AffixEntry{
 	}
 
 	public final boolean hasContinuationFlags(){
-		return (continuationFlags != null && !continuationFlags.isEmpty());
+		return !continuationFlags.isEmpty();
 	}
 
 	public final boolean hasContinuationFlag(final String flag){
-		return (hasContinuationFlags() && flag != null && continuationFlags.contains(flag));
+		return continuationFlags.contains(flag);
 	}
 
-	public final List<String> combineContinuationFlags(final Collection<String> otherContinuationFlags){
-		final Set<String> flags = new HashSet<>();
-		if(otherContinuationFlags != null && !otherContinuationFlags.isEmpty())
-			flags.addAll(otherContinuationFlags);
-		if(continuationFlags != null)
-			flags.addAll(continuationFlags);
-		return new ArrayList<>(flags);
+	public final boolean hasContinuationFlag(final int flagId){
+		return continuationFlags.containsId(flagId);
+	}
+
+	public final SymbolList combineContinuationFlags(final Collection<String> otherContinuationFlags){
+		return continuationFlags.union(otherContinuationFlags);
 	}
 
 	/**
@@ -239,10 +239,9 @@ public class AffixEntry{
 	public List<String> getMorphologicalFields(final MorphologicalTag morphologicalTag){
 		final List<String> collector = new ArrayList<>(morphologicalFields != null? morphologicalFields.size(): 0);
 		if(morphologicalFields != null){
-			final String tag = morphologicalTag.getCode();
-			final int purgeTag = tag.length();
+			final int purgeTag = morphologicalTag.getCode().length();
 			for(final String mf : morphologicalFields)
-				if(mf.startsWith(tag))
+				if(morphologicalTag.isSupertypeOf(mf))
 					collector.add(mf.substring(purgeTag));
 		}
 		return collector;
@@ -344,7 +343,7 @@ public class AffixEntry{
 		Objects.requireNonNull(strategy, "Strategy cannot be null");
 
 		final StringBuilder sb = new StringBuilder();
-		if(continuationFlags != null && !continuationFlags.isEmpty())
+		if(!continuationFlags.isEmpty())
 			sb.append(SLASH)
 				.append(strategy.joinFlags(continuationFlags));
 		if(morphologicalFields != null && !morphologicalFields.isEmpty())
@@ -360,7 +359,7 @@ public class AffixEntry{
 			.add(parent.getFlag())
 			.add(removing.isEmpty()? ZERO: removing)
 			.add((appending.isEmpty()? ZERO: appending)
-				+ (continuationFlags != null && !continuationFlags.isEmpty()
+				+ (!continuationFlags.isEmpty()
 					? SLASH + String.join(StringUtils.EMPTY, continuationFlags)
 					: StringUtils.EMPTY))
 			.add(condition);
@@ -380,7 +379,7 @@ public class AffixEntry{
 		return (Objects.equals(parent, rhs.parent)
 			&& removing.equals(rhs.removing)
 			&& appending.equals(rhs.appending)
-			&& Objects.equals(continuationFlags, rhs.continuationFlags)
+			&& continuationFlags.equals(rhs.continuationFlags)
 			&& condition.equals(rhs.condition)
 			&& morphologicalFields.equals(rhs.morphologicalFields));
 	}
@@ -390,7 +389,7 @@ public class AffixEntry{
 		int result = (parent == null? 0: parent.hashCode());
 		result = 31 * result + (removing == null? 0: removing.hashCode());
 		result = 31 * result + (appending == null? 0: appending.hashCode());
-		result = 31 * result + (continuationFlags == null? 0: continuationFlags.hashCode());
+		result = 31 * result + continuationFlags.hashCode();
 		result = 31 * result + (condition == null? 0: condition.hashCode());
 		result = 31 * result + (morphologicalFields == null? 0: morphologicalFields.hashCode());
 		return result;
@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.vos;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolList;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
@@ -32,11 +33,8 @@ import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -53,7 +51,7 @@ public class DictionaryEntry{
 
 
 	protected String word;
-	protected List<String> continuationFlags;
+	protected SymbolList continuationFlags;
 	protected final List<String> morphologicalFields;
 	private final boolean combinable;
 
@@ -67,14 +65,12 @@ public class DictionaryEntry{
 		combinable = dicEntry.combinable;
 	}
 
-	DictionaryEntry(final String word, final List<String> continuationFlags, final List<String> morphologicalFields,
+	DictionaryEntry(final String word, final SymbolList continuationFlags, final List<String> morphologicalFields,
 			final boolean combinable){
 		Objects.requireNonNull(word, "Word cannot be null");
 
 		this.word = word;
-		this.continuationFlags = (continuationFlags != null && !continuationFlags.isEmpty()? continuationFlags: null);
-		if(this.continuationFlags != null)
-			this.continuationFlags.sort(Comparator.naturalOrder());
+		this.continuationFlags = (continuationFlags != null && !continuationFlags.isEmpty()? continuationFlags.sorted(): null);
 		this.morphologicalFields = morphologicalFields;
 		this.combinable = combinable;
 	}
@@ -100,13 +96,11 @@ public class DictionaryEntry{
 	public final boolean removeContinuationFlag(final String continuationFlagToRemove){
 		boolean removed = false;
 		if(continuationFlagToRemove != null && continuationFlags != null){
-			final int previousSize = continuationFlags.size();
-			continuationFlags.remove(continuationFlagToRemove);
+			final SymbolList remainingFlags = continuationFlags.without(continuationFlagToRemove);
 
-			removed = (continuationFlags.size() != previousSize);
+			removed = (remainingFlags != continuationFlags);
 
-			if(continuationFlags.isEmpty())
-				continuationFlags = null;
+			continuationFlags = (!remainingFlags.isEmpty()? remainingFlags: null);
 		}
 		return removed;
 	}
@@ -124,16 +118,30 @@ public class DictionaryEntry{
 	}
 
 	public final boolean hasContinuationFlags(final String[] flags){
-		if(continuationFlags != null && flags != null){
-			final Collection<String> list = new HashSet<>(continuationFlags);
+		if(continuationFlags != null && flags != null)
 			for(final String flag : flags)
-				if(!list.add(flag))
+				if(continuationFlags.contains(flag))
 					return true;
-			return false;
-		}
 		return false;
 	}
 
+	/**
+	 * @param flagId	The id of the flag into the symbol table of the continuation flags (see
+	 * 	{@link io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable#internNullable(String)}).
+	 * @return	Whether this entry has the given continuation flag.
+	 */
+	public final boolean hasContinuationFlag(final int flagId){
+		return (continuationFlags != null && continuationFlags.containsId(flagId));
+	}
+
+	/**
+	 * @param flagIds	The ids of the flags into the symbol table of the continuation flags.
+	 * @return	Whether this entry has at least one of the given continuation flags.
+	 */
+	public final boolean hasContinuationFlags(final int[] flagIds){
+		return (continuationFlags != null && continuationFlags.containsAnyId(flagIds));
+	}
+
 	@SuppressWarnings("DesignForExtension")
 	public AffixEntry[] getAppliedRules(){
 		return new AffixEntry[0];
@@ -211,12 +219,10 @@ public class DictionaryEntry{
 	}
 
 	public final String getMorphologicalFieldStem(){
-		if(morphologicalFields != null){
-			final String tag = MorphologicalTag.STEM.getCode();
+		if(morphologicalFields != null)
 			for(final String mf : morphologicalFields)
-				if(mf.startsWith(tag))
+				if(MorphologicalTag.STEM.isSupertypeOf(mf))
 					return mf;
-		}
 		return word;
 	}
 
@@ -224,10 +230,9 @@ public class DictionaryEntry{
 		if(morphologicalFields == null)
 			return Collections.emptyList();
 
-		final String tagPoS = MorphologicalTag.PART_OF_SPEECH.getCode();
 		final List<String> list = new ArrayList<>(morphologicalFields.size());
 		for(final String mf : morphologicalFields)
-			if(mf.startsWith(tagPoS))
+			if(MorphologicalTag.PART_OF_SPEECH.isSupertypeOf(mf))
 				list.add(mf);
 		return list;
 	}
@@ -236,14 +241,11 @@ public class DictionaryEntry{
 		if(morphologicalFields == null)
 			return Collections.emptyList();
 
-		final String tagPoS = MorphologicalTag.PART_OF_SPEECH.getCode();
-		final String tagIS = MorphologicalTag.INFLECTIONAL_SUFFIX.getCode();
-		final String tagIP = MorphologicalTag.INFLECTIONAL_PREFIX.getCode();
-		final String tagDS = MorphologicalTag.DERIVATIONAL_SUFFIX.getCode();
-		final String tagDP = MorphologicalTag.DERIVATIONAL_PREFIX.getCode();
 		final List<String> list = new ArrayList<>(morphologicalFields.size());
 		for(final String mf : morphologicalFields)
-			if(mf.startsWith(tagPoS) || mf.startsWith(tagIS) || mf.startsWith(tagIP) || mf.startsWith(tagDS) || mf.startsWith(tagDP))
+			if(MorphologicalTag.PART_OF_SPEECH.isSupertypeOf(mf)
+					|| MorphologicalTag.INFLECTIONAL_SUFFIX.isSupertypeOf(mf) || MorphologicalTag.INFLECTIONAL_PREFIX.isSupertypeOf(mf)
+					|| MorphologicalTag.DERIVATIONAL_SUFFIX.isSupertypeOf(mf) || MorphologicalTag.DERIVATIONAL_PREFIX.isSupertypeOf(mf))
 				list.add(mf);
 		return list;
 	}
@@ -251,10 +253,9 @@ public class DictionaryEntry{
 	public List<String> getMorphologicalFields(final MorphologicalTag morphologicalTag){
 		final List<String> collector = new ArrayList<>(morphologicalFields != null? morphologicalFields.size(): 0);
 		if(morphologicalFields != null){
-			final String tag = morphologicalTag.getCode();
-			final int purgeTag = tag.length();
+			final int purgeTag = morphologicalTag.getCode().length();
 			for(final String mf : morphologicalFields)
-				if(mf.startsWith(tag))
+				if(morphologicalTag.isSupertypeOf(mf))
 					collector.add(mf.substring(purgeTag));
 		}
 		return collector;
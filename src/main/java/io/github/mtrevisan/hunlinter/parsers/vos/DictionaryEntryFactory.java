@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.vos;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolList;
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixOption;
@@ -35,7 +37,6 @@ import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.math.NumberUtils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -57,6 +58,7 @@ public class DictionaryEntryFactory{
 
 	private final AffixData affixData;
 	private final FlagParsingStrategy strategy;
+	private final SymbolTable symbols;
 	private final List<String> aliasesFlag;
 	private final List<String> aliasesMorphologicalField;
 
@@ -66,6 +68,7 @@ public class DictionaryEntryFactory{
 
 		this.affixData = affixData;
 		strategy = affixData.getFlagParsingStrategy();
+		symbols = affixData.getSymbolTable();
 		aliasesFlag = affixData.getData(AffixOption.ALIASES_FLAG);
 		aliasesMorphologicalField = affixData.getData(AffixOption.ALIASES_MORPHOLOGICAL_FIELD);
 
@@ -88,7 +91,7 @@ public class DictionaryEntryFactory{
 			throw new LinterException(WRONG_FORMAT, line);
 
 		final String word = extractWord(m.group(PARAM_WORD));
-		final List<String> continuationFlags = extractContinuationFlags(m.group(PARAM_FLAGS));
+		final SymbolList continuationFlags = extractContinuationFlags(m.group(PARAM_FLAGS));
 		final List<String> morphologicalFields = extractMorphologicalFields(m.group(PARAM_MORPHOLOGICAL_FIELDS), addStemTag, word);
 
 		final String convertedWord = affixData.applyInputConversionTable(word);
@@ -100,15 +103,19 @@ public class DictionaryEntryFactory{
 		return Strings.CS.replace(word, SLASH_ESCAPED, SLASH);
 	}
 
-	private List<String> extractContinuationFlags(final String flagsGroup){
+	private SymbolList extractContinuationFlags(final String flagsGroup){
 		final String rawFlags = expandAliases(flagsGroup, aliasesFlag);
 		final String[] result = strategy.parseFlags(rawFlags);
-		return (result != null? Arrays.asList(result): null);
+		return (result != null? SymbolList.of(symbols, result): null);
 	}
 
 	private List<String> extractMorphologicalFields(final String dicMorphologicalFields, final boolean addStemTag, final String word){
 		final String[] split = StringUtils.split(expandAliases(dicMorphologicalFields, aliasesMorphologicalField));
-		final List<String> mfs = (split != null? new ArrayList<>(Arrays.asList(split)): new ArrayList<>(0));
+		final List<String> mfs = new ArrayList<>(split != null? split.length + 1: 1);
+		if(split != null)
+			//NOTE: stems are (almost) unique to each entry, so they are not pooled
+			for(final String mf : split)
+				mfs.add(mf.startsWith(MorphologicalTag.STEM.getCode())? mf: symbols.symbol(symbols.intern(mf)));
 		if(addStemTag && !containsStem(mfs))
 			mfs.add(0, MorphologicalTag.STEM.attachValue(word));
 		return mfs;
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.vos;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolList;
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
 import org.apache.commons.lang3.ArrayUtils;
@@ -58,7 +60,7 @@ public class Inflection extends DictionaryEntry{
 	private boolean fullstrip;
 
 
-	public static Inflection createFromCompound(final String word, final List<String> continuationFlags,
+	public static Inflection createFromCompound(final String word, final SymbolList continuationFlags,
 			final List<DictionaryEntry> compoundEntries){
 		final List<String> morphologicalFields = AffixEntry.extractMorphologicalFields(compoundEntries);
 		return new Inflection(word, continuationFlags, morphologicalFields, true, null, compoundEntries);
@@ -71,7 +73,7 @@ public class Inflection extends DictionaryEntry{
 
 	public static Inflection createFromInflection(final String word, final AffixEntry appliedEntry,
 			final DictionaryEntry dicEntry, final Collection<String> remainingContinuationFlags, final boolean combinable){
-		final List<String> continuationFlags = appliedEntry.combineContinuationFlags(remainingContinuationFlags);
+		final SymbolList continuationFlags = appliedEntry.combineContinuationFlags(remainingContinuationFlags);
 		final List<String> morphologicalFields = appliedEntry.combineMorphologicalFields(dicEntry);
 		final AffixEntry[] appliedRules = {appliedEntry};
 		final List<DictionaryEntry> compoundEntries = extractCompoundEntries(dicEntry);
@@ -88,7 +90,7 @@ public class Inflection extends DictionaryEntry{
 		compoundEntries = extractCompoundEntries(dicEntry);
 	}
 
-	private Inflection(final String word, final List<String> continuationFlags, final List<String> morphologicalFields,
+	private Inflection(final String word, final SymbolList continuationFlags, final List<String> morphologicalFields,
 			final boolean combinable, final AffixEntry[] appliedRules, final List<DictionaryEntry> compoundEntries){
 		super(word, continuationFlags, morphologicalFields, combinable);
 
@@ -98,9 +100,9 @@ public class Inflection extends DictionaryEntry{
 
 	/* NOTE: used for testing purposes. */
 	public Inflection(final String word, final String continuationFlags, final String morphologicalFields,
-			final List<DictionaryEntry> compoundEntries, final FlagParsingStrategy strategy){
+			final List<DictionaryEntry> compoundEntries, final FlagParsingStrategy strategy, final SymbolTable symbols){
 		super(word, (strategy != null && StringUtils.isNotBlank(continuationFlags)
-				? Arrays.asList(strategy.parseFlags(continuationFlags))
+				? SymbolList.of(symbols, strategy.parseFlags(continuationFlags))
 				: null),
 			(morphologicalFields != null? new ArrayList<>(Arrays.asList(StringUtils.split(morphologicalFields))): null), true);
 
@@ -40,17 +40,9 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
@@ -74,8 +66,6 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.Deflater;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 
 public class Packager{
@@ -417,21 +407,19 @@ public class Packager{
 		if(autoTextPaths != null)
 			skipPaths.addAll(autoTextPaths);
 
-		try(final ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(outputPath.toFile())))){
-			zos.setLevel(Deflater.BEST_COMPRESSION);
-
-			extracted(baseFolder, skipPaths, zos, outputPath);
-
+		final ParallelZipWriter writer = new ParallelZipWriter(Deflater.BEST_COMPRESSION, Packager::stripComment);
+		final List<Path> nestedPaths = new ArrayList<>(0);
+		try{
+			final List<ParallelZipWriter.Entry> entries = extractEntries(baseFolder, skipPaths, outputPath);
 
 			//add autocorrect:
 			if(autoCorrectPath != null){
 				final String packageFilename = FILENAME_PREFIX_AUTO_CORRECT + language + EXTENSION_DAT;
 				final Path autoCorrectOutputPath = Path.of(autoCorrectPath.toString(), packageFilename);
-				final byte[] nested = buildNestedZip(autoCorrectPath, autoCorrectOutputPath);
+				final Path nestedPath = buildNestedZip(writer, autoCorrectPath, autoCorrectOutputPath);
+				nestedPaths.add(nestedPath);
 				final String entryName = relativeEntryName(baseFolder, autoCorrectOutputPath);
-				zos.putNextEntry(new ZipEntry(entryName));
-				zos.write(nested);
-				zos.closeEntry();
+				entries.add(ParallelZipWriter.Entry.ofFile(entryName, nestedPath, false));
 			}
 
 			//add autotext:
@@ -439,18 +427,17 @@ public class Packager{
 				for(final Path path : autoTextPaths){
 					final String packageFilename = FILENAME_PREFIX_AUTO_TEXT + language + EXTENSION_BAU;
 					final Path autoTextOutputPath = Path.of(path.toString(), packageFilename);
-					final byte[] nested = buildNestedZip(path, autoTextOutputPath);
+					final Path nestedPath = buildNestedZip(writer, path, autoTextOutputPath);
+					nestedPaths.add(nestedPath);
 					final String entryName = relativeEntryName(baseFolder, autoTextOutputPath);
-					zos.putNextEntry(new ZipEntry(entryName));
-					zos.write(nested);
-					zos.closeEntry();
+					entries.add(ParallelZipWriter.Entry.ofFile(entryName, nestedPath, false));
 				}
-		}
-		catch(final RuntimeException rte){
-			if(rte.getCause() instanceof IOException)
-				throw (IOException)rte.getCause();
 
-			throw rte;
+			writer.write(entries, outputPath);
+		}
+		finally{
+			for(final Path nestedPath : nestedPaths)
+				Files.deleteIfExists(nestedPath);
 		}
 	}
 
@@ -483,47 +470,43 @@ public class Packager{
 	 * logic, such as stripping comments from certain file types.
 	 * </p>
 	 *
+	 * @param writer	The writer used to build the archive.
 	 * @param dir	The root directory to be archived into a nested ZIP. Must be a valid, readable path.
 	 * @param outputPath	Name of the output ZIP file. Must be a valid, writable path.
-	 * @return	A byte array containing the resulting ZIP archive.
+	 * @return	The path of a temporary file containing the resulting ZIP archive.
 	 * @throws IOException	If an I/O error occurs while reading the directory or writing the ZIP archive.
 	 */
-	private static byte[] buildNestedZip(final Path dir, final Path outputPath) throws IOException{
-		final ByteArrayOutputStream baos = new ByteArrayOutputStream(64 * 1024);
-		try(final ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(baos))){
-			zos.setLevel(Deflater.BEST_COMPRESSION);
-
+	private static Path buildNestedZip(final ParallelZipWriter writer, final Path dir, final Path outputPath) throws IOException{
+		final Path nestedPath = Files.createTempFile(FilenameUtils.getBaseName(outputPath.toString()), EXTENSION_ZIP);
+		try{
 			final Path baseFolder = dir.toRealPath(LinkOption.NOFOLLOW_LINKS);
 			final Set<Path> skipPaths = new HashSet<>(0);
 
-			extracted(baseFolder, skipPaths, zos, outputPath);
+			writer.write(extractEntries(baseFolder, skipPaths, outputPath), nestedPath);
 		}
 		catch(final IOException ioe){
 			LOGGER.error("Cannot package folder `{}`", dir.toFile().getName(), ioe);
 
+			Files.deleteIfExists(nestedPath);
+
 			throw ioe;
 		}
-		return baos.toByteArray();
+		return nestedPath;
 	}
 
-	private static void extracted(final Path baseFolder, final Set<Path> skipPaths, final ZipOutputStream zos,
+	private static List<ParallelZipWriter.Entry> extractEntries(final Path baseFolder, final Set<Path> skipPaths,
 			final Path outputPath) throws IOException{
+		final List<ParallelZipWriter.Entry> entries = new ArrayList<>(0);
 		Files.walkFileTree(baseFolder, new SimpleFileVisitor<>(){
 			@Override
-			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs)
-					throws IOException{
+			public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs){
 				//skip special folders
 				if(isSamePath(dir, skipPaths))
 					return FileVisitResult.SKIP_SUBTREE;
 
-				String entryName = relativeEntryName(baseFolder, dir);
-				if(entryName != null){
-					if(!entryName.endsWith(SLASH))
-						entryName = entryName + SLASH;
-					zos.putNextEntry(new ZipEntry(entryName));
-
-					zos.closeEntry();
-				}
+				final String entryName = relativeEntryName(baseFolder, dir);
+				if(entryName != null)
+					entries.add(ParallelZipWriter.Entry.ofDirectory(entryName, dir));
 
 				return FileVisitResult.CONTINUE;
 			}
@@ -561,23 +544,16 @@ public class Packager{
 			}
 
 			@Override
-			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException{
+			public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs){
 				//skip output file
 				if(equalsPath(file, outputPath))
 					return FileVisitResult.CONTINUE;
 
 				final String entryName = relativeEntryName(baseFolder, file);
 				if(entryName != null){
-					zos.putNextEntry(new ZipEntry(entryName));
-
 					final String nameOnly = file.getFileName()
 						.toString();
-					if(shouldStrip(nameOnly))
-						copyStrippingComments(file, zos);
-					else
-						copyBinary(file, zos);
-
-					zos.closeEntry();
+					entries.add(ParallelZipWriter.Entry.ofFile(entryName, file, shouldStrip(nameOnly)));
 				}
 				return FileVisitResult.CONTINUE;
 			}
@@ -585,32 +561,14 @@ public class Packager{
 			private static boolean shouldStrip(final String fileName){
 				return (fileName.endsWith(FILE_EXTENSION_AFFIX) || fileName.endsWith(FILE_EXTENSION_DICTIONARY));
 			}
-
-			private static void copyStrippingComments(final Path path, final ZipOutputStream out) throws IOException{
-				try(final BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)){
-					String line;
-					while((line = br.readLine()) != null){
-						line = stripComment(line);
-						if(line != null){
-							final byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
-							out.write(bytes);
-						}
-					}
-				}
-			}
-
-			private static void copyBinary(final Path path, final ZipOutputStream out) throws IOException{
-				try(final InputStream in = new BufferedInputStream(new FileInputStream(path.toFile()))){
-					in.transferTo(out);
-				}
-			}
-
-			private static String stripComment(final String line){
-				final String out = CUT_PATTERN.matcher(line)
-					.replaceFirst(StringUtils.EMPTY);
-				return (out.trim().isEmpty()? null: out);
-			}
 		});
+		return entries;
+	}
+
+	private static String stripComment(final String line){
+		final String out = CUT_PATTERN.matcher(line)
+			.replaceFirst(StringUtils.EMPTY);
+		return (out.trim().isEmpty()? null: out);
 	}
 
 	private static String relativeEntryName(final Path base, final Path path){
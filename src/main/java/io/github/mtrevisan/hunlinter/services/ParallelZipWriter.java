@@ -0,0 +1,418 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services;
+
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+
+/**
+ * Writes a ZIP archive whose entries are deflated in parallel.
+ * <p>
+ * Each file is deflated on its own into the application cache folder, keyed by the hash of its content, the compression level,
+ * and whether it is transformed, so that an unchanged file is never compressed twice; the archive is then assembled sequentially by
+ * copying the deflated data through file channels.<br />
+ * A cached entry is reused only if its recorded sizes match the data, and the least recently used entries are removed once the
+ * cache holds more than {@value #MAX_CACHED_ENTRIES} entries or {@value #MAX_CACHE_SIZE} bytes.<br />
+ * The time of each entry is the last modified time of its source, so that archiving the same sources twice gives the same
+ * archive (and a nested archive can itself be cached).
+ * </p>
+ * <p>
+ * The ZIP64 extensions are used only when needed, that is for archives with at least 65535 entries, or with sizes or offsets of at
+ * least 4 GiB.
+ * </p>
+ *
+ * @see <a href="https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT">ZIP File Format Specification</a>
+ */
+public class ParallelZipWriter{
+
+	private static final int SIGNATURE_LOCAL_FILE_HEADER = 0x0403_4B50;
+	private static final int SIGNATURE_CENTRAL_DIRECTORY_HEADER = 0x0201_4B50;
+	private static final int SIGNATURE_END_OF_CENTRAL_DIRECTORY = 0x0605_4B50;
+	private static final int SIGNATURE_ZIP64_END_OF_CENTRAL_DIRECTORY = 0x0606_4B50;
+	private static final int SIGNATURE_ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x0706_4B50;
+	private static final short VERSION_NEEDED = 20;
+	private static final short VERSION_NEEDED_ZIP64 = 45;
+	/** General purpose bit 11: the name is encoded in UTF-8. */
+	private static final short FLAG_UTF8 = 0x0800;
+	private static final short METHOD_STORED = 0;
+	private static final short METHOD_DEFLATED = 8;
+	private static final int EXTERNAL_ATTRIBUTE_DIRECTORY = 0x10;
+	private static final int LOCAL_FILE_HEADER_SIZE = 30;
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+	private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+	private static final short ZIP64_EXTRA_FIELD_ID = 0x0001;
+	/** Value of a 32-bit field whose actual value is in the ZIP64 extra field. */
+	private static final long ZIP64_MAGIC_VALUE = 0xFFFF_FFFFl;
+	/** Value of a 16-bit entry count whose actual value is in the ZIP64 end of central directory record. */
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+	private static final int DOS_EPOCH_YEAR = 1980;
+
+	/** Size of the header of a cached entry (CRC, uncompressed size, and compressed size). */
+	private static final int CACHE_HEADER_SIZE = Long.BYTES + Long.BYTES + Long.BYTES;
+	private static final String CACHE_FILENAME_PREFIX = "package-";
+	private static final String CACHE_FILENAME_EXTENSION = ".deflate";
+	private static final int MAX_CACHED_ENTRIES = 256;
+	private static final long MAX_CACHE_SIZE = 256l * 1024l * 1024l;
+
+	private static final String SLASH = "/";
+	private static final char NEWLINE = '\n';
+
+
+	/**
+	 * An entry of the archive.
+	 *
+	 * @param name	The name of the entry (directories end with a slash).
+	 * @param source	The source file or directory.
+	 * @param directory	Whether the entry is a directory.
+	 * @param transform	Whether the lines of the source should be passed through the line transformer.
+	 */
+	public record Entry(String name, Path source, boolean directory, boolean transform){
+		public Entry{
+			Objects.requireNonNull(name, "Name cannot be null");
+			Objects.requireNonNull(source, "Source cannot be null");
+		}
+
+		public static Entry ofDirectory(final String name, final Path source){
+			return new Entry((name.endsWith(SLASH)? name: name + SLASH), source, true, false);
+		}
+
+		public static Entry ofFile(final String name, final Path source, final boolean transform){
+			return new Entry(name, source, false, transform);
+		}
+	}
+
+	private record DeflatedEntry(Entry entry, int dosDateTime, long crc, long compressedSize, long uncompressedSize,
+			Path data){}
+
+
+	private final int level;
+	private final UnaryOperator<String> lineTransformer;
+
+
+	/**
+	 * @param level	The compression level (see {@link Deflater}).
+	 * @param lineTransformer	The transformation applied to each line of the entries to be transformed, returning {@code null} to
+	 * 	drop the line (can be {@code null} if no entry is to be transformed).
+	 */
+	public ParallelZipWriter(final int level, final UnaryOperator<String> lineTransformer){
+		this.level = level;
+		this.lineTransformer = lineTransformer;
+	}
+
+	/**
+	 * Writes the given entries, in order, into the archive.
+	 *
+	 * @param entries	The entries of the archive.
+	 * @param outputPath	The archive to be written.
+	 * @throws IOException	If an I/O error occurs while reading an entry or writing the archive.
+	 */
+	public final void write(final List<Entry> entries, final Path outputPath) throws IOException{
+		final List<DeflatedEntry> deflatedEntries;
+		try{
+			deflatedEntries = entries.parallelStream()
+				.map(this::deflate)
+				.toList();
+		}
+		catch(final UncheckedIOException uioe){
+			throw uioe.getCause();
+		}
+
+		try(final FileChannel channel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)){
+			final long[] offsets = new long[deflatedEntries.size()];
+			for(int i = 0; i < deflatedEntries.size(); i ++){
+				final DeflatedEntry deflatedEntry = deflatedEntries.get(i);
+				offsets[i] = channel.position();
+				writeFully(channel, createHeader(deflatedEntry, false, 0l));
+				if(deflatedEntry.data != null)
+					transferData(deflatedEntry, channel);
+			}
+
+			final long centralDirectoryOffset = channel.position();
+			for(int i = 0; i < deflatedEntries.size(); i ++)
+				writeFully(channel, createHeader(deflatedEntries.get(i), true, offsets[i]));
+			final long centralDirectoryEnd = channel.position();
+			writeEndOfCentralDirectory(channel, deflatedEntries.size(), centralDirectoryOffset, centralDirectoryEnd);
+		}
+
+		FileHelper.trimCache(CACHE_FILENAME_PREFIX, CACHE_FILENAME_EXTENSION, MAX_CACHED_ENTRIES, MAX_CACHE_SIZE);
+	}
+
+	private static void writeEndOfCentralDirectory(final FileChannel channel, final int entries, final long centralDirectoryOffset,
+			final long centralDirectoryEnd) throws IOException{
+		final long centralDirectorySize = centralDirectoryEnd - centralDirectoryOffset;
+		final boolean zip64 = (entries >= ZIP64_MAGIC_COUNT || centralDirectorySize >= ZIP64_MAGIC_VALUE
+			|| centralDirectoryOffset >= ZIP64_MAGIC_VALUE);
+		if(zip64){
+			final ByteBuffer end = ByteBuffer.allocate(ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE + ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE)
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.putInt(SIGNATURE_ZIP64_END_OF_CENTRAL_DIRECTORY)
+				//size of the remaining record
+				.putLong(ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE - Integer.BYTES - Long.BYTES)
+				.putShort(VERSION_NEEDED_ZIP64)
+				.putShort(VERSION_NEEDED_ZIP64)
+				.putInt(0)
+				.putInt(0)
+				.putLong(entries)
+				.putLong(entries)
+				.putLong(centralDirectorySize)
+				.putLong(centralDirectoryOffset)
+				.putInt(SIGNATURE_ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR)
+				.putInt(0)
+				.putLong(centralDirectoryEnd)
+				//total number of disks
+				.putInt(1);
+			writeFully(channel, end.flip());
+		}
+
+		final ByteBuffer end = ByteBuffer.allocate(END_OF_CENTRAL_DIRECTORY_SIZE)
+			.order(ByteOrder.LITTLE_ENDIAN)
+			.putInt(SIGNATURE_END_OF_CENTRAL_DIRECTORY)
+			.putShort((short)0)
+			.putShort((short)0)
+			.putShort((short)Math.min(entries, ZIP64_MAGIC_COUNT))
+			.putShort((short)Math.min(entries, ZIP64_MAGIC_COUNT))
+			.putInt((int)Math.min(centralDirectorySize, ZIP64_MAGIC_VALUE))
+			.putInt((int)Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE))
+			.putShort((short)0);
+		writeFully(channel, end.flip());
+	}
+
+	private DeflatedEntry deflate(final Entry entry){
+		try{
+			final int dosDateTime = toDosDateTime(Files.getLastModifiedTime(entry.source).toMillis());
+			if(entry.directory)
+				return new DeflatedEntry(entry, dosDateTime, 0l, 0l, 0l, null);
+
+			final String key = FileHelper.calculateContentHash(entry.source) + "-" + level + (entry.transform? "-t": "");
+			final Path cachePath = FileHelper.getCachePath(CACHE_FILENAME_PREFIX + key + CACHE_FILENAME_EXTENSION);
+			DeflatedEntry deflatedEntry = (Files.exists(cachePath)? loadFromCache(entry, dosDateTime, cachePath): null);
+			if(deflatedEntry != null)
+				FileHelper.touchCacheFile(cachePath);
+			else{
+				//missing or corrupted
+				storeToCache(entry, cachePath);
+
+				deflatedEntry = loadFromCache(entry, dosDateTime, cachePath);
+				if(deflatedEntry == null)
+					throw new IOException("Cannot deflate entry " + entry.name);
+			}
+			return deflatedEntry;
+		}
+		catch(final IOException ioe){
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+	/** @return	The cached entry, or {@code null} if the cached data does not match the recorded sizes. */
+	private static DeflatedEntry loadFromCache(final Entry entry, final int dosDateTime, final Path cachePath) throws IOException{
+		try(final DataInputStream dis = new DataInputStream(Files.newInputStream(cachePath))){
+			final long crc = dis.readLong();
+			final long uncompressedSize = dis.readLong();
+			final long compressedSize = dis.readLong();
+			if(compressedSize < 0l || Files.size(cachePath) != CACHE_HEADER_SIZE + compressedSize
+					|| !entry.transform && uncompressedSize != Files.size(entry.source))
+				return null;
+
+			return new DeflatedEntry(entry, dosDateTime, crc, compressedSize, uncompressedSize, cachePath);
+		}
+		catch(final EOFException eofe){
+			return null;
+		}
+	}
+
+	private void storeToCache(final Entry entry, final Path cachePath) throws IOException{
+		//write to a temporary file first, so that a concurrent packaging never sees a partial entry
+		final Path temporaryPath = Files.createTempFile(cachePath.getParent(), CACHE_FILENAME_PREFIX, null);
+		final Deflater deflater = new Deflater(level, true);
+		try{
+			final CRC32 crc = new CRC32();
+			final long uncompressedSize;
+			try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporaryPath))){
+				//reserve room for the header
+				os.write(new byte[CACHE_HEADER_SIZE]);
+
+				final DeflaterOutputStream dos = new DeflaterOutputStream(os, deflater);
+				final OutputStream cos = new CheckedOutputStream(dos, crc);
+				uncompressedSize = (entry.transform? copyTransforming(entry.source, cos): copyBinary(entry.source, cos));
+				dos.finish();
+			}
+
+			try(final FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)){
+				final ByteBuffer header = ByteBuffer.allocate(CACHE_HEADER_SIZE)
+					.putLong(crc.getValue())
+					.putLong(uncompressedSize)
+					.putLong(channel.size() - CACHE_HEADER_SIZE);
+				channel.position(0l);
+				writeFully(channel, header.flip());
+			}
+
+			Files.move(temporaryPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch(final IOException | RuntimeException e){
+			Files.deleteIfExists(temporaryPath);
+
+			throw e;
+		}
+		finally{
+			deflater.end();
+		}
+	}
+
+	private long copyTransforming(final Path path, final OutputStream out) throws IOException{
+		long size = 0l;
+		try(final BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)){
+			final OutputStream bos = new BufferedOutputStream(out);
+			String line;
+			while((line = br.readLine()) != null){
+				line = lineTransformer.apply(line);
+				if(line != null){
+					final byte[] bytes = (line + NEWLINE).getBytes(StandardCharsets.UTF_8);
+					bos.write(bytes);
+					size += bytes.length;
+				}
+			}
+			bos.flush();
+		}
+		return size;
+	}
+
+	private static long copyBinary(final Path path, final OutputStream out) throws IOException{
+		try(final InputStream is = Files.newInputStream(path)){
+			return is.transferTo(out);
+		}
+	}
+
+	private static void transferData(final DeflatedEntry deflatedEntry, final FileChannel channel) throws IOException{
+		try(final FileChannel source = FileChannel.open(deflatedEntry.data, StandardOpenOption.READ)){
+			long position = CACHE_HEADER_SIZE;
+			final long end = CACHE_HEADER_SIZE + deflatedEntry.compressedSize;
+			while(position < end)
+				position += source.transferTo(position, end - position, channel);
+		}
+	}
+
+	private static ByteBuffer createHeader(final DeflatedEntry deflatedEntry, final boolean central, final long localHeaderOffset){
+		final boolean zip64Sizes = (deflatedEntry.compressedSize >= ZIP64_MAGIC_VALUE
+			|| deflatedEntry.uncompressedSize >= ZIP64_MAGIC_VALUE);
+		final boolean zip64Offset = (central && localHeaderOffset >= ZIP64_MAGIC_VALUE);
+		//the local header always holds both sizes, the central header only the values that overflow
+		int zip64ExtraSize = 0;
+		if(zip64Sizes)
+			zip64ExtraSize += (central
+				? (deflatedEntry.uncompressedSize >= ZIP64_MAGIC_VALUE? Long.BYTES: 0)
+					+ (deflatedEntry.compressedSize >= ZIP64_MAGIC_VALUE? Long.BYTES: 0)
+				: Long.BYTES + Long.BYTES);
+		if(zip64Offset)
+			zip64ExtraSize += Long.BYTES;
+		final int extraSize = (zip64ExtraSize > 0? Short.BYTES + Short.BYTES + zip64ExtraSize: 0);
+		final short versionNeeded = (extraSize > 0? VERSION_NEEDED_ZIP64: VERSION_NEEDED);
+
+		final byte[] name = deflatedEntry.entry.name.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer header = ByteBuffer.allocate((central? CENTRAL_DIRECTORY_HEADER_SIZE: LOCAL_FILE_HEADER_SIZE) + name.length
+				+ extraSize)
+			.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(central? SIGNATURE_CENTRAL_DIRECTORY_HEADER: SIGNATURE_LOCAL_FILE_HEADER);
+		if(central)
+			//version made by
+			header.putShort(versionNeeded);
+		header.putShort(versionNeeded)
+			.putShort(FLAG_UTF8)
+			.putShort(deflatedEntry.data != null? METHOD_DEFLATED: METHOD_STORED)
+			.putInt(deflatedEntry.dosDateTime)
+			.putInt((int)deflatedEntry.crc)
+			.putInt((int)(zip64Sizes? ZIP64_MAGIC_VALUE: deflatedEntry.compressedSize))
+			.putInt((int)(zip64Sizes? ZIP64_MAGIC_VALUE: deflatedEntry.uncompressedSize))
+			.putShort((short)name.length)
+			.putShort((short)extraSize);
+		if(central)
+			//comment length, disk number start, internal attributes, external attributes, and offset of local header
+			header.putShort((short)0)
+				.putShort((short)0)
+				.putShort((short)0)
+				.putInt(deflatedEntry.entry.directory? EXTERNAL_ATTRIBUTE_DIRECTORY: 0)
+				.putInt((int)Math.min(localHeaderOffset, ZIP64_MAGIC_VALUE));
+		header.put(name);
+		if(extraSize > 0){
+			header.putShort(ZIP64_EXTRA_FIELD_ID)
+				.putShort((short)zip64ExtraSize);
+			if(!central || deflatedEntry.uncompressedSize >= ZIP64_MAGIC_VALUE)
+				header.putLong(deflatedEntry.uncompressedSize);
+			if(!central || deflatedEntry.compressedSize >= ZIP64_MAGIC_VALUE)
+				header.putLong(deflatedEntry.compressedSize);
+			if(zip64Offset)
+				header.putLong(localHeaderOffset);
+		}
+		return header.flip();
+	}
+
+	private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException{
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+	}
+
+	/** Converts a time into the MS-DOS date (high word) and time (low word) format. */
+	private static int toDosDateTime(final long millis){
+		LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+		if(time.getYear() < DOS_EPOCH_YEAR)
+			time = LocalDateTime.of(DOS_EPOCH_YEAR, 1, 1, 0, 0);
+		return ((time.getYear() - DOS_EPOCH_YEAR) << 25
+			| time.getMonthValue() << 21
+			| time.getDayOfMonth() << 16
+			| time.getHour() << 11
+			| time.getMinute() << 5
+			| time.getSecond() >> 1);
+	}
+
+}
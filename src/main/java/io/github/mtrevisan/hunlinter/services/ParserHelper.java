@@ -124,4 +124,11 @@ public final class ParserHelper{
 		return line;
 	}
 
+	public static void assertLinesCount(final String line) throws EOFException{
+		if(line == null)
+			throw new EOFException("Unexpected EOF while reading file");
+		if(!NumberUtils.isCreatable(line))
+			throw new LinterException(WRONG_FILE_FORMAT, line);
+	}
+
 }
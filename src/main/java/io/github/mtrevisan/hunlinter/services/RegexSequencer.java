@@ -40,7 +40,8 @@ public final class RegexSequencer{
 	private static final String NEGATED_CLASS_START = CLASS_START + "^";
 
 	private static final String[] EMPTY_ARRAY = new String[0];
-	private static final Function<String, String[]> SPLIT_SEQUENCE = Memoizer.memoize(seq -> (seq.isEmpty()? EMPTY_ARRAY: RegexHelper.split(seq, PATTERN)));
+	private static final Function<String, String[]> SPLIT_SEQUENCE = Memoizer.memoize("Regex sequence splits",
+		seq -> (seq.isEmpty()? EMPTY_ARRAY: RegexHelper.split(seq, PATTERN)), 4_096);
 
 
 	private RegexSequencer(){}
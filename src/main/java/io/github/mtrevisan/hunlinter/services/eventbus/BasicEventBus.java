@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.services.eventbus;
 
+import io.github.mtrevisan.hunlinter.datastructures.MpscRingBuffer;
 import io.github.mtrevisan.hunlinter.services.eventbus.events.BusExceptionEvent;
 import io.github.mtrevisan.hunlinter.services.eventbus.events.VetoEvent;
 import io.github.mtrevisan.hunlinter.services.eventbus.exceptions.VetoException;
@@ -33,8 +34,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -42,6 +47,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 
 /**
@@ -71,6 +78,11 @@ import java.util.concurrent.ThreadFactory;
  * Subscribers are stored using a {@link WeakReference} such that a memory leak can be avoided if the
  * client fails to unsubscribe at the end of the use. However, calling the {@link #unsubscribe(Object)}
  * method is highly recommended none-the-less.
+ * <p>
+ * High-volume events (e.g. the warnings emitted by the linters) can be published through {@link #publishBatched(Object)}:
+ * they are stored into a bounded ring buffer, delivered in batches by a dedicated thread (in publishing order, each event
+ * once, except that equal {@link CoalescableEvent coalescable events} in the same batch are merged into the first one, which
+ * carries their count), and dispatched through method handles resolved once per event type.
  *
  * @see <a href="https://github.com/taftster/simpleeventbus">Simple Event Bus</a>
  */
@@ -80,7 +92,18 @@ public class BasicEventBus implements EventBusInterface{
 	private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
 	private final BlockingQueue<HandlerInfo> killQueue = new LinkedBlockingQueue<>();
 
+	private static final int BATCH_QUEUE_CAPACITY = 1 << 14;
+	private static final int BATCH_SIZE = 512;
+
+	private final MpscRingBuffer<Object> batchQueue = new MpscRingBuffer<>(BATCH_QUEUE_CAPACITY);
+	/** Handlers of each event type, veto handlers first. */
+	private final Map<Class<?>, HandlerInfo[]> handlersCache = new ConcurrentHashMap<>(0);
+	private volatile boolean batchConsumerWaiting;
+	/** Number of events published and not yet delivered to all of their handlers. */
+	private final AtomicLong inFlightEvents = new AtomicLong();
+
 	private final Thread eventQueueThread;
+	private final Thread eventBatchThread;
 	private final Thread killQueueThread;
 
 	/** The ExecutorService used to handle event delivery to the event handlers. */
@@ -132,6 +155,9 @@ public class BasicEventBus implements EventBusInterface{
 		eventQueueThread = new Thread(new EventQueueRunner(), "EventQueue Consumer Thread");
 		eventQueueThread.setDaemon(true);
 
+		eventBatchThread = new Thread(new EventBatchRunner(), "EventBatch Consumer Thread");
+		eventBatchThread.setDaemon(true);
+
 		killQueueThread = new Thread(new KillQueueRunner(), "KillQueue Consumer Thread");
 		killQueueThread.setDaemon(true);
 
@@ -142,6 +168,7 @@ public class BasicEventBus implements EventBusInterface{
 	@Override
 	public final void start(){
 		eventQueueThread.start();
+		eventBatchThread.start();
 		killQueueThread.start();
 	}
 
@@ -204,6 +231,7 @@ public class BasicEventBus implements EventBusInterface{
 			final HandlerInfo info = new HandlerInfo(parameters[0], method, subscriber, eh.canVeto());
 			handlers.add(info);
 		}
+		handlersCache.clear();
 	}
 
 
@@ -221,6 +249,7 @@ public class BasicEventBus implements EventBusInterface{
 				killList.add(info);
 		}
 		handlers.removeAll(killList);
+		handlersCache.clear();
 	}
 
 
@@ -231,10 +260,13 @@ public class BasicEventBus implements EventBusInterface{
 	 * @param event	The event to publish on the event bus.
 	 */
 	public final void publish(final Object event){
+		inFlightEvents.incrementAndGet();
 		try{
 			queue.put(event);
 		}
 		catch(final InterruptedException ie){
+			inFlightEvents.decrementAndGet();
+
 			ie.printStackTrace();
 
 			throw new Error("Error using event bus", ie);
@@ -242,6 +274,25 @@ public class BasicEventBus implements EventBusInterface{
 	}
 
 
+	/**
+	 * Publish the specified event to the event bus, to be delivered along with other events in a batch.
+	 * <p>
+	 * Events are delivered in the order they were published, once per call; equal {@link CoalescableEvent coalescable events}
+	 * that fall into the same batch are delivered once, with their number of occurrences. Vetoes behave as in
+	 * {@link #publish(Object)}.
+	 * If the buffer is full, the caller waits for room to become available.
+	 *
+	 * @param event	The event to publish on the event bus.
+	 */
+	public final void publishBatched(final Object event){
+		inFlightEvents.incrementAndGet();
+		batchQueue.put(event);
+
+		if(batchConsumerWaiting)
+			LockSupport.unpark(eventBatchThread);
+	}
+
+
 	/**
 	 * Returns if the event bus has pending events.
 	 *
@@ -249,16 +300,19 @@ public class BasicEventBus implements EventBusInterface{
 	 * @return	If the event bus has pending events of given type to publish.
 	 */
 	public final boolean hasPendingEvents(final Object event){
-		return queue.contains(event);
+		return (queue.contains(event) || !batchQueue.isEmpty());
 	}
 
 	/**
 	 * Returns if the event bus has pending events.
+	 * <p>
+	 * An event is pending from the moment it is published until all of its handlers have returned (asynchronous regular
+	 * handlers included), so this returns {@code false} only once every published event has been fully dispatched.
 	 *
 	 * @return	Returns true if the event bus has pending events to publish.
 	 */
 	public final boolean hasPendingEvents(){
-		return !queue.isEmpty();
+		return (inFlightEvents.get() > 0l);
 	}
 
 
@@ -289,6 +343,8 @@ public class BasicEventBus implements EventBusInterface{
 
 			if(!vetoCalled)
 				dispatchToRegularHandlers(regularHandlers);
+			else
+				inFlightEvents.decrementAndGet();
 		}
 
 		private void subdivideHandlers(final Object evt, final Collection<HandlerInfoCallable> vetoHandlers,
@@ -343,6 +399,9 @@ public class BasicEventBus implements EventBusInterface{
 				catch(final InterruptedException ie){
 					ie.printStackTrace();
 				}
+				finally{
+					inFlightEvents.decrementAndGet();
+				}
 			}
 			else
 				executorService.submit(() -> {
@@ -352,10 +411,110 @@ public class BasicEventBus implements EventBusInterface{
 					catch(final InterruptedException ie){
 						ie.printStackTrace();
 					}
+					finally{
+						inFlightEvents.decrementAndGet();
+					}
 				});
 		}
 	}
 
+	//the background thread consumer of the batched events, extracts the events in batches, coalesces the equal ones (if they
+	//allow to), and publishes them
+	private class EventBatchRunner implements Runnable{
+		private final List<Object> batch = new ArrayList<>(BATCH_SIZE);
+		private final Map<CoalescableEvent, CoalescableEvent> coalesced = new HashMap<>(BATCH_SIZE);
+
+		@SuppressWarnings("InfiniteLoopStatement")
+		@Override
+		public final void run(){
+			while(true){
+				if(batchQueue.drain(this::add, BATCH_SIZE) == 0){
+					batchConsumerWaiting = true;
+					//re-check after having signaled the wait to not miss an event published in the meantime
+					if(batchQueue.isEmpty())
+						LockSupport.park(this);
+					batchConsumerWaiting = false;
+					continue;
+				}
+
+				for(final Object evt : batch){
+					try{
+						notifySubscribers(evt);
+					}
+					finally{
+						inFlightEvents.decrementAndGet();
+					}
+				}
+				batch.clear();
+				coalesced.clear();
+			}
+		}
+
+		private void add(final Object evt){
+			if(evt instanceof final CoalescableEvent coalescable){
+				final CoalescableEvent first = coalesced.putIfAbsent(coalescable, coalescable);
+				if(first != null){
+					first.coalesce(coalescable);
+					//the duplicate will not be dispatched on its own
+					inFlightEvents.decrementAndGet();
+					return;
+				}
+			}
+			batch.add(evt);
+		}
+
+		private void notifySubscribers(final Object evt){
+			final HandlerInfo[] eventHandlers = handlersCache.computeIfAbsent(evt.getClass(), BasicEventBus.this::resolveHandlers);
+
+			//used to keep track if a veto was called (if so, the regular handlers won't be notified)
+			boolean vetoCalled = false;
+			//handlers are sorted so that the veto ones come first
+			for(int i = 0; i < eventHandlers.length; i ++){
+				final HandlerInfo info = eventHandlers[i];
+				//all the veto handlers are notified before giving up on the event
+				if(vetoCalled && !info.isVetoHandler())
+					return;
+
+				final Object subscriber = info.getSubscriber();
+				if(subscriber == null){
+					killQueue.offer(info);
+					continue;
+				}
+
+				try{
+					info.getHandle().invokeExact(subscriber, evt);
+				}
+				catch(final VetoException ve){
+					publish(new VetoEvent(evt));
+
+					//VetoEvents cannot be vetoed
+					if(info.isVetoHandler() && !(evt instanceof VetoEvent))
+						vetoCalled = true;
+				}
+				catch(final Throwable t){
+					publish(new BusExceptionEvent(info, t));
+				}
+			}
+		}
+	}
+
+	private HandlerInfo[] resolveHandlers(final Class<?> eventClass){
+		final Collection<HandlerInfo> vetoHandlers = new ArrayList<>(0);
+		final Collection<HandlerInfo> regularHandlers = new ArrayList<>(handlers.size());
+		for(final HandlerInfo info : handlers)
+			if(info.getEventClass().equals(eventClass))
+				(info.isVetoHandler()? vetoHandlers: regularHandlers)
+					.add(info);
+
+		final HandlerInfo[] resolved = new HandlerInfo[vetoHandlers.size() + regularHandlers.size()];
+		int index = 0;
+		for(final HandlerInfo info : vetoHandlers)
+			resolved[index ++] = info;
+		for(final HandlerInfo info : regularHandlers)
+			resolved[index ++] = info;
+		return resolved;
+	}
+
 	//consumer runnable to remove handler infos from the subscription list if they are null (this is
 	//if the GC has collected them)
 	private class KillQueueRunner implements Runnable{
@@ -365,8 +524,8 @@ public class BasicEventBus implements EventBusInterface{
 			try{
 				while(true){
 					final HandlerInfo info = killQueue.take();
-					if(info.getSubscriber() == null)
-						handlers.remove(info);
+					if(info.getSubscriber() == null && handlers.remove(info))
+						handlersCache.clear();
 				}
 			}
 			catch(final InterruptedException ie){
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.eventbus;
+
+
+/**
+ * An event that, if published more than once (through {@link BasicEventBus#publishBatched(Object)}) with equal content into the
+ * same batch, is delivered only once, carrying the number of times it was published.
+ * <p>
+ * Implementations define equality on the content of the event, and must not include the occurrences into it.
+ * </p>
+ */
+public interface CoalescableEvent{
+
+	/**
+	 * Absorbs an equal event that has been published into the same batch.
+	 *
+	 * @param other	The equal event (possibly this very instance, if it was published twice).
+	 */
+	void coalesce(CoalescableEvent other);
+
+	/** @return	The number of times this event has been published. */
+	int getOccurrences();
+
+}
@@ -97,6 +97,17 @@ public interface EventBusInterface{
 	 */
 	void publish(final Object event);
 
+	/**
+	 * Sends a message on the bus, to be delivered to the appropriate subscribers of the event type along with other
+	 * messages in a batch.
+	 * <p>
+	 * Meant for high-volume events: equal events delivered in the same batch are delivered only once, and the pending
+	 * events are bounded (the caller waits if the bus cannot keep up).
+	 *
+	 * @param event	The event to send out to the subscribers of the same type.
+	 */
+	void publishBatched(final Object event);
+
 	/**
 	 * Indicates whether the bus has pending events to publish.
 	 * Since message/event delivery can be asynchronous (on other threads), the method can be used to start
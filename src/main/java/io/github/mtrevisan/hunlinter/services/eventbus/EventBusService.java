@@ -60,6 +60,10 @@ public final class EventBusService{
 		EVENT_BUS.publish(event);
 	}
 
+	public static void publishBatched(final Object event){
+		EVENT_BUS.publishBatched(event);
+	}
+
 	public static boolean hasPendingEvents(final Object event){
 		return EVENT_BUS.hasPendingEvents(event);
 	}
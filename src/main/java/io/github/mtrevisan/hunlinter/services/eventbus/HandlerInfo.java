@@ -24,8 +24,12 @@
  */
 package io.github.mtrevisan.hunlinter.services.eventbus;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 
 /** Used to hold the subscriber details. */
@@ -33,6 +37,8 @@ class HandlerInfo{
 
 	private final Class<?> eventClass;
 	private final Method method;
+	/** The handler method adapted to the {@code (subscriber, event)void} signature. */
+	private final MethodHandle handle;
 	private final WeakReference<?> subscriber;
 	private final boolean vetoHandler;
 
@@ -40,18 +46,41 @@ class HandlerInfo{
 	HandlerInfo(final Class<?> eventClass, final Method method, final Object subscriber, final boolean vetoHandler){
 		this.eventClass = eventClass;
 		this.method = method;
+		handle = createHandle(method);
 		this.subscriber = new WeakReference<>(subscriber);
 		this.vetoHandler = vetoHandler;
 	}
 
+	private static MethodHandle createHandle(final Method method){
+		try{
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup()
+				.unreflect(method);
+			if(Modifier.isStatic(method.getModifiers()))
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+		catch(final IllegalAccessException iae){
+			throw new IllegalArgumentException("Cannot access EventHandler method " + method, iae);
+		}
+	}
+
 	public final boolean matchesEvent(final Object event){
 		return event.getClass().equals(eventClass);
 	}
 
+	public final Class<?> getEventClass(){
+		return eventClass;
+	}
+
 	public final Method getMethod(){
 		return method;
 	}
 
+	public final MethodHandle getHandle(){
+		return handle;
+	}
+
 	public final Object getSubscriber(){
 		return subscriber.get();
 	}
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.regexgenerator;
+
+import io.github.mtrevisan.hunlinter.services.log.ShortPrefixNotNullToStringStyle;
+import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The {@code HunSpellRegexRecognizer} class provides a <em>Deterministic Finite state Automaton</em> (DFA) compiled from the NFA of a
+ * {@link HunSpellRegexWordGenerator} through subset construction.
+ * <p>
+ * Each state is an integer, the transitions are taken upon a single element of the regular expression (e.g. a flag), so that a
+ * sequence can be tested one element at a time, without backtracking.
+ * <p>
+ * The recognizer is immutable and can be shared between threads.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Powerset_construction">Powerset construction</a>
+ */
+public class HunSpellRegexRecognizer{
+
+	/** Returned by {@link #nextState(int, String)} when no transition exists. */
+	public static final int NO_STATE = -1;
+
+	private static final int INITIAL_STATE = 0;
+
+
+	private final List<Map<String, Integer>> transitions = new ArrayList<>(0);
+	private final BitSet acceptingStates = new BitSet();
+
+
+	HunSpellRegexRecognizer(final Digraph<String> graph, final int finalStateIndex){
+		final Map<BitSet, Integer> stateIndexes = new HashMap<>(0);
+		final List<BitSet> states = new ArrayList<>(0);
+		final Deque<Integer> queue = new ArrayDeque<>(0);
+
+		final BitSet initial = new BitSet();
+		initial.set(INITIAL_STATE);
+		addState(closure(graph, initial, finalStateIndex), finalStateIndex, stateIndexes, states, queue);
+		while(!queue.isEmpty()){
+			final int stateIndex = queue.remove();
+			final BitSet state = states.get(stateIndex);
+
+			//collect the NFA states reachable upon each input
+			final Map<String, BitSet> moves = new HashMap<>(0);
+			for(int s = state.nextSetBit(0); s >= 0; s = state.nextSetBit(s + 1)){
+				//the final state has no outgoing transitions
+				if(s >= finalStateIndex)
+					continue;
+
+				for(final IndexDataPair<String> transition : graph.adjacentVertices(s)){
+					final String value = transition.getData();
+					if(StringUtils.isNotBlank(value))
+						moves.computeIfAbsent(value, k -> new BitSet())
+							.set(transition.getIndex());
+				}
+			}
+
+			final Map<String, Integer> stateTransitions = transitions.get(stateIndex);
+			for(final Map.Entry<String, BitSet> move : moves.entrySet()){
+				final BitSet next = closure(graph, move.getValue(), finalStateIndex);
+				stateTransitions.put(move.getKey(), addState(next, finalStateIndex, stateIndexes, states, queue));
+			}
+		}
+	}
+
+	private int addState(final BitSet state, final int finalStateIndex, final Map<BitSet, Integer> stateIndexes,
+			final List<BitSet> states, final Deque<Integer> queue){
+		Integer index = stateIndexes.get(state);
+		if(index == null){
+			index = states.size();
+			stateIndexes.put(state, index);
+			states.add(state);
+			transitions.add(new HashMap<>(0));
+			if(state.get(finalStateIndex))
+				acceptingStates.set(index);
+			queue.add(index);
+		}
+		return index;
+	}
+
+	/** Computes the ε-closure of the given set of NFA states. */
+	private static BitSet closure(final Digraph<String> graph, final BitSet states, final int finalStateIndex){
+		final BitSet closure = (BitSet)states.clone();
+		final Deque<Integer> stack = new ArrayDeque<>(0);
+		for(int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1))
+			stack.push(s);
+		while(!stack.isEmpty()){
+			final int s = stack.pop();
+			if(s >= finalStateIndex)
+				continue;
+
+			for(final IndexDataPair<String> transition : graph.adjacentVertices(s)){
+				final int next = transition.getIndex();
+				if(StringUtils.isBlank(transition.getData()) && !closure.get(next)){
+					closure.set(next);
+					stack.push(next);
+				}
+			}
+		}
+		return closure;
+	}
+
+	public final int getInitialState(){
+		return INITIAL_STATE;
+	}
+
+	/**
+	 * Follows the transition upon the given input.
+	 *
+	 * @param state	The current state.
+	 * @param input	The input element.
+	 * @return	The next state, or {@link #NO_STATE} if there is no such transition.
+	 */
+	public final int nextState(final int state, final String input){
+		if(state == NO_STATE)
+			return NO_STATE;
+
+		final Integer next = transitions.get(state).get(input);
+		return (next != null? next: NO_STATE);
+	}
+
+	public final boolean isAccepting(final int state){
+		return (state != NO_STATE && acceptingStates.get(state));
+	}
+
+	/**
+	 * Whether there is at least one transition out of the given state.
+	 *
+	 * @param state	The current state.
+	 * @return	Whether the state can be continued.
+	 */
+	public final boolean hasTransitions(final int state){
+		return (state != NO_STATE && !transitions.get(state).isEmpty());
+	}
+
+	/**
+	 * Tests whether the given sequence is matched by the regular expression.
+	 *
+	 * @param inputs	The sequence of input elements.
+	 * @return	Whether the sequence is accepted.
+	 */
+	public final boolean matches(final List<String> inputs){
+		int state = INITIAL_STATE;
+		for(int i = 0; state != NO_STATE && i < inputs.size(); i ++)
+			state = nextState(state, inputs.get(i));
+		return isAccepting(state);
+	}
+
+	public final int getStatesCount(){
+		return transitions.size();
+	}
+
+	@Override
+	public final String toString(){
+		return new ToStringBuilder(this, ShortPrefixNotNullToStringStyle.SHORT_PREFIX_NOT_NULL_STYLE)
+			.append("transitions", transitions)
+			.append("acceptingStates", acceptingStates)
+			.toString();
+	}
+
+}
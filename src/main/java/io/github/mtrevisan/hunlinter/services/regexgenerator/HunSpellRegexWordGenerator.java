@@ -158,6 +158,15 @@ public class HunSpellRegexWordGenerator{
 		return matchedWords;
 	}
 
+	/**
+	 * Compiles the NFA into a deterministic automaton that recognizes the sequences matched by the regex.
+	 *
+	 * @return	The recognizer of the regex.
+	 */
+	public final HunSpellRegexRecognizer compile(){
+		return new HunSpellRegexRecognizer(graph, finalStateIndex);
+	}
+
 	@Override
 	public final String toString(){
 		return new ToStringBuilder(this, ShortPrefixNotNullToStringStyle.SHORT_PREFIX_NOT_NULL_STYLE)
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.sorters;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * Sorts strings by their collation keys.
+ * <p>
+ * The collation key of each string is computed only once, as a {@code byte[]} whose unsigned lexicographical order is the
+ * order of the collator; the sort (or the merge) then compares raw bytes only.
+ * Each thread uses its own copy of the collator, since {@link Collator} synchronizes on each call.
+ * </p>
+ */
+public final class CollationKeySorter{
+
+	private record KeyedString(byte[] key, String text){}
+
+	private static final Comparator<KeyedString> KEY_COMPARATOR = (keyed1, keyed2) -> compareSortKeys(keyed1.key, keyed2.key);
+
+	private static final CollationKeySorter NATURAL_ORDER = new CollationKeySorter(null);
+
+
+	private final ThreadLocal<Collator> collators;
+	private final Comparator<String> comparator;
+
+
+	/**
+	 * Creates a sorter that follows the order of the given collator.
+	 *
+	 * @param collator	The collator (never used directly, each thread works on a copy of it), or {@code null} for the natural
+	 * 	order of strings.
+	 */
+	public CollationKeySorter(final Collator collator){
+		collators = (collator != null? ThreadLocal.withInitial(() -> (Collator)collator.clone()): null);
+		comparator = (collator != null? (text1, text2) -> collators.get().compare(text1, text2): Comparator.naturalOrder());
+	}
+
+	/**
+	 * @return	The sorter that follows the natural order of strings.
+	 */
+	public static CollationKeySorter naturalOrder(){
+		return NATURAL_ORDER;
+	}
+
+	/**
+	 * @return	A comparator consistent with the sort keys, that does not contend for the collator between threads.
+	 */
+	public Comparator<String> comparator(){
+		return comparator;
+	}
+
+	/**
+	 * Computes the sort key of the given text.
+	 *
+	 * @param text	The text.
+	 * @return	The sort key, to be compared through {@link #compareSortKeys(byte[], byte[])}.
+	 */
+	public byte[] getSortKey(final String text){
+		if(collators != null)
+			return collators.get()
+				.getCollationKey(text)
+				.toByteArray();
+
+		//the natural order of strings is the order of their UTF-16 code units
+		final int length = text.length();
+		final byte[] key = new byte[length << 1];
+		for(int i = 0; i < length; i ++){
+			final char chr = text.charAt(i);
+			key[i << 1] = (byte)(chr >>> 8);
+			key[(i << 1) + 1] = (byte)chr;
+		}
+		return key;
+	}
+
+	/**
+	 * Compares two sort keys.
+	 *
+	 * @param key1	The first sort key.
+	 * @param key2	The second sort key.
+	 * @return	A negative number, zero, or a positive number if the first key comes before, is equal to, or comes after the second.
+	 */
+	public static int compareSortKeys(final byte[] key1, final byte[] key2){
+		return Arrays.compareUnsigned(key1, key2);
+	}
+
+	/**
+	 * Sorts the given list.
+	 * <p>
+	 * The sort is stable.
+	 * </p>
+	 *
+	 * @param list	The list to be sorted.
+	 * @param parallel	Whether to compute the keys and sort them in parallel.
+	 */
+	public void sort(final List<String> list, final boolean parallel){
+		Objects.requireNonNull(list, "List cannot be null");
+
+		final String[] data = list.toArray(String[]::new);
+		sort(data, 0, data.length, parallel);
+
+		final ListIterator<String> itr = list.listIterator();
+		for(int i = 0; i < data.length; i ++){
+			itr.next();
+			itr.set(data[i]);
+		}
+	}
+
+	/**
+	 * Sorts the given range of an array.
+	 * <p>
+	 * The sort is stable.
+	 * </p>
+	 *
+	 * @param data	The array to be sorted.
+	 * @param fromIndex	The index of the first element, inclusive, to be sorted.
+	 * @param toIndex	The index of the last element, exclusive, to be sorted.
+	 * @param parallel	Whether to compute the keys and sort them in parallel.
+	 */
+	public void sort(final String[] data, final int fromIndex, final int toIndex, final boolean parallel){
+		sortKeyed(data, fromIndex, toIndex, parallel);
+	}
+
+	/**
+	 * Sorts the given range of an array, returning the sort keys of the sorted elements.
+	 * <p>
+	 * The sort is stable.
+	 * </p>
+	 *
+	 * @param data	The array to be sorted.
+	 * @param fromIndex	The index of the first element, inclusive, to be sorted.
+	 * @param toIndex	The index of the last element, exclusive, to be sorted.
+	 * @param parallel	Whether to compute the keys and sort them in parallel.
+	 * @return	The sort keys, the {@code i}-th one being the key of {@code data[fromIndex + i]}.
+	 */
+	public byte[][] sortKeyed(final String[] data, final int fromIndex, final int toIndex, final boolean parallel){
+		Objects.requireNonNull(data, "Data cannot be null");
+
+		final KeyedString[] keyed = new KeyedString[toIndex - fromIndex];
+		final IntStream indexes = IntStream.range(0, keyed.length);
+		(parallel? indexes.parallel(): indexes)
+			.forEach(i -> {
+				final String text = data[fromIndex + i];
+				keyed[i] = new KeyedString(getSortKey(text), text);
+			});
+
+		if(parallel)
+			Arrays.parallelSort(keyed, KEY_COMPARATOR);
+		else
+			Arrays.sort(keyed, KEY_COMPARATOR);
+
+		final byte[][] keys = new byte[keyed.length][];
+		for(int i = 0; i < keyed.length; i ++){
+			data[fromIndex + i] = keyed[i].text;
+			keys[i] = keyed[i].key;
+		}
+		return keys;
+	}
+
+}
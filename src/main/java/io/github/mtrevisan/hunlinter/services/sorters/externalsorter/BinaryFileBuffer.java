@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
 
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
+
 import java.io.Closeable;
 import java.util.Objects;
 import java.util.Scanner;
@@ -37,13 +39,24 @@ import java.util.Scanner;
 class BinaryFileBuffer implements Closeable{
 
 	private final Scanner scanner;
+	private final CollationKeySorter sorter;
 	private String cache;
+	private byte[] cacheKey;
 
 
 	BinaryFileBuffer(final Scanner scanner){
+		this(scanner, null);
+	}
+
+	/**
+	 * @param scanner	The scanner of the file.
+	 * @param sorter	The sorter used to compute the sort key of each line (can be {@code null}).
+	 */
+	BinaryFileBuffer(final Scanner scanner, final CollationKeySorter sorter){
 		Objects.requireNonNull(scanner, "Scanner cannot be null");
 
 		this.scanner = scanner;
+		this.sorter = sorter;
 
 		readNextLine();
 	}
@@ -61,6 +74,11 @@ class BinaryFileBuffer implements Closeable{
 		return cache;
 	}
 
+	/** @return	The sort key of the last line read, if a sorter was given. */
+	public final byte[] peekKey(){
+		return cacheKey;
+	}
+
 	public final String pop(){
 		final String answer = peek();
 		readNextLine();
@@ -69,6 +87,7 @@ class BinaryFileBuffer implements Closeable{
 
 	private void readNextLine(){
 		cache = (scanner.hasNextLine()? scanner.nextLine(): null);
+		cacheKey = (sorter != null && cache != null? sorter.getSortKey(cache): null);
 	}
 
 }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Reads back a run written by {@link BinaryRunWriter} through a direct buffer, keeping the current record in memory.
+ */
+final class BinaryRunReader implements Closeable{
+
+	private final File file;
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private byte[] key;
+	private byte[] line;
+
+
+	BinaryRunReader(final File file, final int bufferSize) throws IOException{
+		this.file = file;
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		buffer = ByteBuffer.allocateDirect(bufferSize);
+		//start with an empty buffer
+		buffer.flip();
+
+		next();
+	}
+
+	boolean isEmpty(){
+		return (key == null);
+	}
+
+	byte[] peekKey(){
+		return key;
+	}
+
+	byte[] peekLine(){
+		return line;
+	}
+
+	/**
+	 * Moves to the next record.
+	 *
+	 * @throws IOException	If an I/O error occurs, or the run is truncated.
+	 */
+	void next() throws IOException{
+		if(!ensureAvailable(Integer.BYTES)){
+			if(buffer.hasRemaining())
+				throw new EOFException("Truncated record in run " + file.getName());
+
+			key = null;
+			line = null;
+			return;
+		}
+
+		key = readBlock();
+		line = readBlock();
+	}
+
+	private byte[] readBlock() throws IOException{
+		if(!ensureAvailable(Integer.BYTES))
+			throw new EOFException("Truncated record in run " + file.getName());
+
+		final byte[] bytes = new byte[buffer.getInt()];
+		int offset = 0;
+		while(offset < bytes.length){
+			if(!ensureAvailable(1))
+				throw new EOFException("Truncated record in run " + file.getName());
+
+			final int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.get(bytes, offset, length);
+			offset += length;
+		}
+		return bytes;
+	}
+
+	private boolean ensureAvailable(final int count) throws IOException{
+		while(buffer.remaining() < count){
+			buffer.compact();
+			final int read = channel.read(buffer);
+			buffer.flip();
+			if(read < 0)
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException{
+		channel.close();
+	}
+
+}
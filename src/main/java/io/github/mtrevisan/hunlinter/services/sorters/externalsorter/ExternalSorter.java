@@ -24,22 +24,32 @@
  */
 package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
 
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import io.github.mtrevisan.hunlinter.services.system.FileHelper;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
@@ -50,9 +60,25 @@ import java.util.zip.GZIPOutputStream;
  */
 public final class ExternalSorter{
 
+	/** Minimum size of the buffer of each binary run [B]. */
+	private static final int RUN_BUFFER_SIZE_MIN = 64 * 1024;
+	/** Maximum size of the buffer of each binary run [B]. */
+	private static final int RUN_BUFFER_SIZE_MAX = 4 * 1024 * 1024;
+
+
 	private ExternalSorter(){}
 
 	public static void sort(final File inputFile, final ExternalSorterOptions options, final File outputFile) throws IOException{
+		//binary runs carry their sort keys, so they need a sorter (a custom comparator cannot produce keys)
+		if(options.isBinaryRuns() && (options.getSorter() != null || options.getComparator() == null)){
+			final CollationKeySorter sorter = (options.getSorter() != null? options.getSorter(): CollationKeySorter.naturalOrder());
+			final List<File> files = splitAndSortBinaryRuns(inputFile, sorter, options);
+
+			if(!files.isEmpty())
+				mergeBinaryRuns(files, options, outputFile);
+			return;
+		}
+
 		final List<File> files = splitAndSortFiles(inputFile, options);
 
 		if(!files.isEmpty())
@@ -91,8 +117,11 @@ public final class ExternalSorter{
 				}
 
 				//sort list
+				final CollationKeySorter sorter = options.getSorter();
 				final Comparator<String> comparator = options.getComparator();
-				if(options.isSortInParallel())
+				if(sorter != null)
+					temporaryList.sort(sorter, options.isSortInParallel());
+				else if(options.isSortInParallel())
 					temporaryList.parallelSort(comparator);
 				else
 					temporaryList.sort(comparator);
@@ -178,16 +207,19 @@ public final class ExternalSorter{
 	@SuppressWarnings("OverlyBroadThrowsClause")
 	private static void mergeSortedFiles(final Collection<File> files, final ExternalSorterOptions options, final File outputFile)
 			throws IOException{
+		//with a sorter, each line is compared through its sort key, computed once when the line is read
+		final CollationKeySorter sorter = options.getSorter();
 		final Comparator<String> comparator = options.getComparator();
-		final Queue<BinaryFileBuffer> queue = new PriorityQueue<>(files.size(),
-			(i, j) -> comparator.compare(i.peek(), j.peek()));
+		final Queue<BinaryFileBuffer> queue = new PriorityQueue<>(files.size(), (sorter != null
+			? (i, j) -> CollationKeySorter.compareSortKeys(i.peekKey(), j.peekKey())
+			: (i, j) -> comparator.compare(i.peek(), j.peek())));
 		for(final File file : files){
 			if(file.length() == 0)
 				continue;
 
 			final Scanner scanner = FileHelper.createScanner(file.toPath(), options.getCharset());
 			if(scanner.hasNextLine())
-				queue.add(new BinaryFileBuffer(scanner));
+				queue.add(new BinaryFileBuffer(scanner, sorter));
 			else
 				scanner.close();
 		}
@@ -241,6 +273,167 @@ public final class ExternalSorter{
 		}
 	}
 
+	/**
+	 * Load the file by blocks of lines, then sort them in-memory by their sort keys and write the result, keys included, to
+	 * temporary binary runs.
+	 * <p>
+	 * Sorting and writing of a block is done in a separate thread, while the next block is read.
+	 * </p>
+	 *
+	 * @param file	Some flat file.
+	 * @param sorter	The sorter.
+	 * @param options	Sorting options.
+	 * @return	A list of temporary binary runs, in input order.
+	 * @throws IOException	Generic IO exception.
+	 */
+	private static List<File> splitAndSortBinaryRuns(final File file, final CollationKeySorter sorter,
+			final ExternalSorterOptions options) throws IOException{
+		//extract uncompressed file size
+		final long dataLength = FileHelper.getFileSize(file);
+		//two blocks live at the same time (one being read, one being sorted), each with its sort keys
+		final long availableMemory = JavaHelper.estimateAvailableMemory() >> 2;
+		final long blockSize = estimateBestSizeOfBlocks(dataLength, options, availableMemory);
+
+		final List<File> files = new ArrayList<>((int)Math.ceil((double)dataLength / blockSize));
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try(final BufferedReader reader = FileHelper.createBufferedReader(file.toPath(), options.getCharset(),
+				Math.max(options.getZipBufferSize(), RUN_BUFFER_SIZE_MIN))){
+			Future<File> pendingRun = null;
+			List<String> block = new ArrayList<>();
+			long currentBlockSize = 0l;
+			String line;
+			while((line = reader.readLine()) != null){
+				block.add(line);
+				currentBlockSize += StringSizeEstimator.estimatedSizeOf(line);
+
+				//as long as there is enough memory
+				if(currentBlockSize >= blockSize){
+					if(pendingRun != null)
+						files.add(waitForRun(pendingRun));
+					final List<String> lines = block;
+					pendingRun = executor.submit(() -> saveBinaryRun(lines, sorter, options));
+
+					block = new ArrayList<>(lines.size());
+					currentBlockSize = 0l;
+				}
+			}
+			if(pendingRun != null)
+				files.add(waitForRun(pendingRun));
+			if(!block.isEmpty())
+				files.add(saveBinaryRun(block, sorter, options));
+		}
+		catch(final IOException | RuntimeException e){
+			for(final File run : files)
+				run.delete();
+			throw e;
+		}
+		finally{
+			executor.shutdownNow();
+		}
+		return files;
+	}
+
+	private static File waitForRun(final Future<File> run) throws IOException{
+		try{
+			return run.get();
+		}
+		catch(final InterruptedException ie){
+			Thread.currentThread().interrupt();
+
+			throw new InterruptedIOException("Interrupted while sorting a run");
+		}
+		catch(final ExecutionException ee){
+			final Throwable cause = ee.getCause();
+			if(cause instanceof final IOException ioe)
+				throw ioe;
+			if(cause instanceof final RuntimeException re)
+				throw re;
+			if(cause instanceof final Error e)
+				throw e;
+			throw new IOException(cause);
+		}
+	}
+
+	private static File saveBinaryRun(final List<String> lines, final CollationKeySorter sorter, final ExternalSorterOptions options)
+			throws IOException{
+		final String[] sortedLines = lines.toArray(String[]::new);
+		lines.clear();
+		final byte[][] keys = sorter.sortKeyed(sortedLines, 0, sortedLines.length, options.isSortInParallel());
+
+		final File runFile = FileHelper.createDeleteOnExitFile("hunlinter-run", ".bin");
+		try(final BinaryRunWriter writer = new BinaryRunWriter(runFile, RUN_BUFFER_SIZE_MAX)){
+			final boolean removeDuplicates = options.isRemoveDuplicates();
+			final Charset charset = options.getCharset();
+			String lastLine = null;
+			for(int i = 0; i < sortedLines.length; i ++){
+				final String line = sortedLines[i];
+				//skip duplicated lines
+				if(!removeDuplicates || !line.equals(lastLine)){
+					writer.write(keys[i], line.getBytes(charset));
+
+					lastLine = line;
+				}
+			}
+		}
+		return runFile;
+	}
+
+	/**
+	 * This merges a bunch of temporary binary runs through a loser tree, writing the lines as they were stored (without
+	 * decoding them).
+	 *
+	 * @param files The {@link List} of sorted binary runs to be merged, in input order.
+	 * @param options	Sorting options.
+	 * @param outputFile The output {@link File} to merge the results to.
+	 * @throws IOException generic IO exception
+	 */
+	private static void mergeBinaryRuns(final List<File> files, final ExternalSorterOptions options, final File outputFile)
+			throws IOException{
+		//share a quarter of the available memory between the buffers of the runs
+		final long bufferSize = (JavaHelper.estimateAvailableMemory() >> 2) / files.size();
+		final int runBufferSize = (int)Math.max(RUN_BUFFER_SIZE_MIN, Math.min(RUN_BUFFER_SIZE_MAX, bufferSize));
+
+		final BinaryRunReader[] runs = new BinaryRunReader[files.size()];
+		try{
+			for(int i = 0; i < runs.length; i ++)
+				runs[i] = new BinaryRunReader(files.get(i), runBufferSize);
+			final LoserTree tree = new LoserTree(runs.length,
+				(i, j) -> CollationKeySorter.compareSortKeys(runs[i].peekKey(), runs[j].peekKey()),
+				i -> runs[i].isEmpty());
+
+			//the file stream is a resource on its own, so that it gets closed even if the zip stream cannot be created
+			try(final OutputStream fos = new FileOutputStream(outputFile);
+					final OutputStream os = new BufferedOutputStream((options.isWriteOutputAsZip()? new MyGZIPOutputStream(fos, options): fos),
+						RUN_BUFFER_SIZE_MAX)){
+				final byte[] lineSeparator = options.getLineSeparator().getBytes(options.getCharset());
+				final boolean removeDuplicates = options.isRemoveDuplicates();
+				byte[] lastLine = null;
+				int winner;
+				while((winner = tree.winner()) >= 0){
+					final BinaryRunReader run = runs[winner];
+					final byte[] line = run.peekLine();
+
+					//skip duplicated lines
+					if(!removeDuplicates || !Arrays.equals(line, lastLine)){
+						os.write(line);
+						os.write(lineSeparator);
+						lastLine = line;
+					}
+
+					run.next();
+					tree.replay();
+				}
+			}
+		}
+		finally{
+			for(final BinaryRunReader run : runs)
+				if(run != null)
+					run.close();
+			for(final File file : files)
+				file.delete();
+		}
+	}
+
 	private static final class MyGZIPOutputStream extends GZIPOutputStream{
 		private MyGZIPOutputStream(final OutputStream out, final ExternalSorterOptions options) throws IOException{
 			super(out, options.getZipBufferSize());
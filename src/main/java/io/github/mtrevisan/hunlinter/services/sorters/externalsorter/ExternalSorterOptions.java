@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
 
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import org.apache.commons.lang3.builder.Builder;
 
 import java.nio.charset.Charset;
@@ -48,6 +49,8 @@ public final class ExternalSorterOptions{
 	private final Charset charset;
 	/** String comparator. */
 	private final Comparator<String> comparator;
+	/** String sorter by collation keys (takes precedence over the comparator). */
+	private final CollationKeySorter sorter;
 	/** Whether the duplicate lines should be discarded. */
 	private final boolean removeDuplicates;
 	/** Whether to make a parallel sort. */
@@ -58,6 +61,8 @@ public final class ExternalSorterOptions{
 	private final long maxTemporaryFileSize;
 	/** Whether to use ZIP for temporary files. */
 	private final boolean useTemporaryAsZip;
+	/** Whether to store temporary files as binary runs (with their sort keys) merged through a loser tree. */
+	private final boolean binaryRuns;
 	/** Whether to use ZIP for output file. */
 	private final boolean writeOutputAsZip;
 	/** ZIP buffer size [B]. */
@@ -66,16 +71,19 @@ public final class ExternalSorterOptions{
 	private final String lineSeparator;
 
 
-	private ExternalSorterOptions(final Charset charset, final Comparator<String> comparator, final boolean removeDuplicates,
-			final boolean sortInParallel, final int maxTemporaryFiles, final long maxTemporaryFileSize,
-			final boolean useTemporaryAsZip, final boolean writeOutputAsZip, final int zipBufferSize, final String lineSeparator){
+	private ExternalSorterOptions(final Charset charset, final Comparator<String> comparator, final CollationKeySorter sorter,
+			final boolean removeDuplicates, final boolean sortInParallel, final int maxTemporaryFiles, final long maxTemporaryFileSize,
+			final boolean useTemporaryAsZip, final boolean binaryRuns, final boolean writeOutputAsZip, final int zipBufferSize,
+			final String lineSeparator){
 		this.charset = charset;
-		this.comparator = comparator;
+		this.comparator = (sorter != null? sorter.comparator(): comparator);
+		this.sorter = sorter;
 		this.removeDuplicates = removeDuplicates;
 		this.sortInParallel = sortInParallel;
 		this.maxTemporaryFiles = maxTemporaryFiles;
 		this.maxTemporaryFileSize = maxTemporaryFileSize;
 		this.useTemporaryAsZip = useTemporaryAsZip;
+		this.binaryRuns = binaryRuns;
 		this.writeOutputAsZip = writeOutputAsZip;
 		this.zipBufferSize = zipBufferSize;
 		this.lineSeparator = (lineSeparator != null? lineSeparator: LINE_SEPARATOR_DEFAULT);
@@ -89,6 +97,7 @@ public final class ExternalSorterOptions{
 
 		private Charset charset;
 		private Comparator<String> comparator;
+		private CollationKeySorter sorter;
 		private boolean removeDuplicates;
 		private boolean sortInParallel;
 		private int maxTemporaryFiles;
@@ -96,6 +105,7 @@ public final class ExternalSorterOptions{
 		private long maxTemporaryFileSize;
 		private boolean maxTemporaryFileSize$set;
 		private boolean useTemporaryAsZip;
+		private boolean binaryRuns;
 		private boolean writeOutputAsZip;
 		private int zipBufferSize;
 		private boolean zipBufferSize$set;
@@ -114,6 +124,11 @@ public final class ExternalSorterOptions{
 			return this;
 		}
 
+		public final ExternalSorterOptionsBuilder sorter(final CollationKeySorter sorter){
+			this.sorter = sorter;
+			return this;
+		}
+
 		public final ExternalSorterOptionsBuilder removeDuplicates(){
 			removeDuplicates = true;
 			return this;
@@ -141,6 +156,17 @@ public final class ExternalSorterOptions{
 			return this;
 		}
 
+		/**
+		 * Stores the temporary files as length-prefixed binary records together with their sort keys, so that the merge reads
+		 * them back without parsing and compares raw bytes only; the temporary files are not zipped.
+		 *
+		 * @return	This builder.
+		 */
+		public final ExternalSorterOptionsBuilder binaryRuns(){
+			binaryRuns = true;
+			return this;
+		}
+
 		public final ExternalSorterOptionsBuilder writeOutputAsZip(){
 			writeOutputAsZip = true;
 			return this;
@@ -159,10 +185,10 @@ public final class ExternalSorterOptions{
 
 		@Override
 		public final ExternalSorterOptions build(){
-			return new ExternalSorterOptions(charset, comparator, removeDuplicates, sortInParallel,
+			return new ExternalSorterOptions(charset, comparator, sorter, removeDuplicates, sortInParallel,
 				(maxTemporaryFiles$set? maxTemporaryFiles: MAX_TEMPORARY_FILES_DEFAULT),
 				(maxTemporaryFileSize$set? maxTemporaryFileSize: MAX_TEMPORARY_FILE_SIZE_UNLIMITED),
-				useTemporaryAsZip, writeOutputAsZip,
+				useTemporaryAsZip, binaryRuns, writeOutputAsZip,
 				(zipBufferSize$set? zipBufferSize: ZIP_BUFFER_SIZE_DEFAULT),
 				lineSeparator);
 		}
@@ -177,6 +203,10 @@ public final class ExternalSorterOptions{
 		return comparator;
 	}
 
+	public CollationKeySorter getSorter(){
+		return sorter;
+	}
+
 	public boolean isRemoveDuplicates(){
 		return removeDuplicates;
 	}
@@ -197,6 +227,10 @@ public final class ExternalSorterOptions{
 		return useTemporaryAsZip;
 	}
 
+	public boolean isBinaryRuns(){
+		return binaryRuns;
+	}
+
 	public boolean isWriteOutputAsZip(){
 		return writeOutputAsZip;
 	}
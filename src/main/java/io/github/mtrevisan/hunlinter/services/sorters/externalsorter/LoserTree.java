@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
+
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+
+/**
+ * Tournament tree of losers for a k-way merge.
+ * <p>
+ * Each internal node stores the source that lost the match played there, the root stores the overall winner; after the winner
+ * source has been advanced, only the {@code log2(k)} matches on its path to the root are replayed, against the stored losers,
+ * instead of re-inserting the source into a heap.
+ * </p>
+ * <p>
+ * Ties are won by the source with the lower index, so the merge is stable if the sources are given in input order.
+ * </p>
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/K-way_merge_algorithm#Tournament_Tree">K-way merge algorithm - Tournament Tree</a>
+ */
+public final class LoserTree{
+
+	private final int size;
+	private final IntBinaryOperator comparator;
+	private final IntPredicate exhausted;
+	/** Index 0 is the winner, the other indexes are the losers of the internal nodes (leaf {@code i} is node {@code i + size}). */
+	private final int[] tree;
+
+
+	/**
+	 * @param size	The number of sources.
+	 * @param comparator	Compares the current heads of two sources, given their indexes.
+	 * @param exhausted	Whether a source, given its index, has no more elements.
+	 */
+	public LoserTree(final int size, final IntBinaryOperator comparator, final IntPredicate exhausted){
+		Objects.requireNonNull(comparator, "Comparator cannot be null");
+		Objects.requireNonNull(exhausted, "Exhausted cannot be null");
+
+		this.size = size;
+		this.comparator = comparator;
+		this.exhausted = exhausted;
+
+		tree = new int[Math.max(size, 1)];
+		if(size > 0)
+			tree[0] = playMatches(1);
+	}
+
+	private int playMatches(final int node){
+		if(node >= size)
+			return node - size;
+
+		final int left = playMatches(node << 1);
+		final int right = playMatches((node << 1) + 1);
+		if(precedes(left, right)){
+			tree[node] = right;
+			return left;
+		}
+		tree[node] = left;
+		return right;
+	}
+
+	/**
+	 * @return	The index of the source whose head comes first, or {@code -1} if all the sources are exhausted.
+	 */
+	public int winner(){
+		return (size > 0 && !exhausted.test(tree[0])? tree[0]: -1);
+	}
+
+	/**
+	 * Restores the tree after the head of the {@link #winner() winner} source has been consumed.
+	 */
+	public void replay(){
+		int winner = tree[0];
+		for(int node = (winner + size) >> 1; node > 0; node >>= 1){
+			final int loser = tree[node];
+			if(precedes(loser, winner)){
+				tree[node] = winner;
+				winner = loser;
+			}
+		}
+		tree[0] = winner;
+	}
+
+	private boolean precedes(final int source1, final int source2){
+		if(exhausted.test(source1))
+			return false;
+		if(exhausted.test(source2))
+			return true;
+
+		final int cmp = comparator.applyAsInt(source1, source2);
+		return (cmp < 0 || cmp == 0 && source1 < source2);
+	}
+
+}
@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
 
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
+
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.RandomAccess;
@@ -109,6 +111,10 @@ public class StringArrayList implements RandomAccess{
 		Arrays.parallelSort(data, 0, size, comparator);
 	}
 
+	public final synchronized void sort(final CollationKeySorter sorter, final boolean parallel){
+		sorter.sort(data, 0, size, parallel);
+	}
+
 	@Override
 	public final synchronized boolean equals(final Object obj){
 		if(this == obj)
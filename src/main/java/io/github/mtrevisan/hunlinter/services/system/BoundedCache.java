@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.system;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+
+/**
+ * A thread-safe cache bounded by the total weight of its entries (by default each entry weights one).
+ * <p>
+ * Reads are lock-free; the eviction follows the CLOCK (second chance) policy, an approximation of the LRU policy where an
+ * entry read since the last sweep is spared once.
+ * The value of a missing key is computed outside any lock, so the computing function can call the cache recursively (at the
+ * cost of computing the same value twice under contention).
+ * </p>
+ *
+ * @param <K>	The type of the keys.
+ * @param <V>	The type of the values.
+ */
+public class BoundedCache<K, V>{
+
+	/**
+	 * A snapshot of the counters of a cache.
+	 *
+	 * @param name	The name of the cache.
+	 * @param hits	The number of lookups that found the value.
+	 * @param misses	The number of lookups that had to compute the value.
+	 * @param evictions	The number of entries evicted to respect the bound.
+	 * @param size	The current number of entries.
+	 * @param weight	The current total weight of the entries.
+	 */
+	public record Statistics(String name, long hits, long misses, long evictions, int size, long weight){
+		public double hitRate(){
+			final long requests = hits + misses;
+			return (requests > 0? (double)hits / requests: 1.);
+		}
+
+		@Override
+		public String toString(){
+			return JavaHelper.textFormat("{}: {} hits, {} misses ({}% hit rate), {} evictions, {} entries (weight {})",
+				name, hits, misses, Math.round(hitRate() * 1000.) / 10., evictions, size, weight);
+		}
+	}
+
+	private static final class Node<V>{
+		private final V value;
+		private final int weight;
+		private volatile boolean referenced;
+
+		private Node(final V value, final int weight){
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+
+	private final String name;
+	private final long maximumWeight;
+	private final ToIntBiFunction<? super K, ? super V> weigher;
+
+	private final Map<K, Node<V>> cache = new ConcurrentHashMap<>(0);
+	/** The keys in the order they will be visited by the eviction sweep. */
+	private final Queue<K> clock = new ConcurrentLinkedQueue<>();
+	private final AtomicLong weight = new AtomicLong();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+
+	public BoundedCache(final String name, final int maximumSize){
+		this(name, maximumSize, (key, value) -> 1);
+	}
+
+	public BoundedCache(final String name, final long maximumWeight, final ToIntBiFunction<? super K, ? super V> weigher){
+		Objects.requireNonNull(weigher, "Weigher cannot be null");
+		if(maximumWeight <= 0)
+			throw new IllegalArgumentException("Maximum weight must be positive, was " + maximumWeight);
+
+		this.name = name;
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+	}
+
+	public final String getName(){
+		return name;
+	}
+
+	/**
+	 * Returns the value associated with the given key, computing it if not present.
+	 *
+	 * @param key	The key.
+	 * @param function	The function that computes the value of a missing key; {@code null} values are not cached.
+	 * @return	The value associated with the key.
+	 */
+	public final V get(final K key, final Function<? super K, ? extends V> function){
+		final Node<V> node = cache.get(key);
+		if(node != null){
+			if(!node.referenced)
+				node.referenced = true;
+			hits.increment();
+			return node.value;
+		}
+
+		misses.increment();
+		final V value = function.apply(key);
+		if(value == null)
+			return null;
+
+		final Node<V> newNode = new Node<>(value, Math.max(weigher.applyAsInt(key, value), 0));
+		final Node<V> previousNode = cache.putIfAbsent(key, newNode);
+		if(previousNode != null)
+			return previousNode.value;
+
+		clock.offer(key);
+		if(weight.addAndGet(newNode.weight) > maximumWeight)
+			evict();
+		return value;
+	}
+
+	private void evict(){
+		//only one thread sweeps at a time, the others go on (the sweeping one will take care of their excess too)
+		if(!evictionLock.tryLock())
+			return;
+
+		try{
+			while(weight.get() > maximumWeight){
+				final K key = clock.poll();
+				if(key == null)
+					break;
+
+				final Node<V> node = cache.get(key);
+				if(node == null)
+					continue;
+
+				if(node.referenced){
+					//second chance
+					node.referenced = false;
+					clock.offer(key);
+				}
+				else if(cache.remove(key, node)){
+					weight.addAndGet(-node.weight);
+					evictions.increment();
+				}
+			}
+		}
+		finally{
+			evictionLock.unlock();
+		}
+	}
+
+	public final void clear(){
+		evictionLock.lock();
+		try{
+			cache.clear();
+			clock.clear();
+			weight.set(0l);
+		}
+		finally{
+			evictionLock.unlock();
+		}
+	}
+
+	public final int size(){
+		return cache.size();
+	}
+
+	public final Statistics getStatistics(){
+		return new Statistics(name, hits.sum(), misses.sum(), evictions.sum(), cache.size(), weight.get());
+	}
+
+}
@@ -28,6 +28,7 @@ import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.services.downloader.DownloaderHelper;
 import io.github.mtrevisan.hunlinter.services.system.charsets.ISO8859_10Charset;
 import io.github.mtrevisan.hunlinter.services.system.charsets.ISO8859_14Charset;
+import io.github.mtrevisan.hunlinter.services.text.StringHelper;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterIllegalArgumentException;
 import org.apache.commons.io.ByteOrderMark;
 import org.apache.commons.io.IOUtils;
@@ -46,6 +47,7 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.io.RandomAccessFile;
 import java.net.URI;
@@ -54,13 +56,21 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -72,6 +82,10 @@ public final class FileHelper{
 	private static final String CANNOT_READ_FILE = "The file cannot be read with the given charset {}";
 	private static final String WRONG_FILE_FORMAT_CHARSET = "The file is not in an allowable charset ({}), found {}";
 
+	private static final String CONTENT_HASH_ALGORITHM = "SHA-1";
+	private static final int CONTENT_HASH_BUFFER_SIZE = 65_536;
+	private static final String CACHE_FOLDER_NAME = "hunlinter-cache";
+
 	private static final String ISO_8859_10 = "ISO-8859-10";
 	private static final String ISO_8859_14 = "ISO-8859-14";
 	private static final String MICROSOFT_CP_1251 = "MICROSOFT-CP1251";
@@ -233,12 +247,32 @@ public final class FileHelper{
 	}
 
 	private static Scanner createScanner(final InputStream is, final Charset charset) throws IOException{
-		final BOMInputStream bomis = BOMInputStream.builder()
+		return new Scanner(skipByteOrderMark(is), charset);
+	}
+
+	/**
+	 * Creates a reader of lines, faster than a {@link Scanner} on big files.
+	 *
+	 * @param path	The path of the file (possibly gzipped).
+	 * @param charset	The charset of the file.
+	 * @param inputBufferSize	The size of the buffer of the reader (and of the gzip stream, if any) [B].
+	 * @return	The reader.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static BufferedReader createBufferedReader(final Path path, final Charset charset, final int inputBufferSize)
+			throws IOException{
+		InputStream is = Files.newInputStream(path);
+		if(isGZipped(path.toFile()))
+			is = new GZIPInputStream(is, inputBufferSize);
+		return new BufferedReader(new InputStreamReader(skipByteOrderMark(is), charset), inputBufferSize);
+	}
+
+	private static InputStream skipByteOrderMark(final InputStream is) throws IOException{
+		return BOMInputStream.builder()
 			.setInputStream(is)
 			.setByteOrderMarks(new ByteOrderMark[]{ByteOrderMark.UTF_8, ByteOrderMark.UTF_16BE,
 				ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_32BE, ByteOrderMark.UTF_32LE})
 			.get();
-		return new Scanner(bomis, charset);
 	}
 
 	public static int getLinesCount(final File file, final Charset charset){
@@ -407,6 +441,113 @@ public final class FileHelper{
 		return accomplished;
 	}
 
+	/**
+	 * Calculate the hash of the content of a file.
+	 *
+	 * @param path	The file to be hashed.
+	 * @return	The hexadecimal representation of the SHA-1 digest of the file content.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public static String calculateContentHash(final Path path) throws IOException{
+		final MessageDigest digest = createContentDigest();
+		try(final InputStream is = new DigestInputStream(Files.newInputStream(path), digest)){
+			final byte[] buffer = new byte[CONTENT_HASH_BUFFER_SIZE];
+			while(is.read(buffer) >= 0);
+		}
+		return getContentHash(digest);
+	}
+
+	/**
+	 * Creates a digest to be fed with the content of a file while it is being read, producing the same hash as
+	 * {@link #calculateContentHash(Path)}.
+	 *
+	 * @return	The digest.
+	 * @throws IOException	If the digest algorithm is not available.
+	 */
+	public static MessageDigest createContentDigest() throws IOException{
+		try{
+			return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+		}
+		catch(final NoSuchAlgorithmException nsae){
+			throw new IOException(nsae);
+		}
+	}
+
+	/**
+	 * @param digest	A digest created by {@link #createContentDigest()}, fed with the whole content of a file.
+	 * @return	The hexadecimal representation of the digest.
+	 */
+	public static String getContentHash(final MessageDigest digest){
+		return StringHelper.byteArrayToHexString(digest.digest());
+	}
+
+	/**
+	 * Retrieve the path of a file inside the application cache folder, creating the folder if needed.
+	 *
+	 * @param filename	The name of the cached file.
+	 * @return	The path of the cached file.
+	 * @throws IOException	If the cache folder cannot be created.
+	 */
+	public static Path getCachePath(final String filename) throws IOException{
+		return getCacheFolder().resolve(filename);
+	}
+
+	private static Path getCacheFolder() throws IOException{
+		final Path cacheFolder = Path.of(System.getProperty("java.io.tmpdir"), CACHE_FOLDER_NAME);
+		Files.createDirectories(cacheFolder);
+		return cacheFolder;
+	}
+
+	/**
+	 * Removes the least recently modified files of the application cache folder with the given prefix and extension, so that
+	 * at most {@code maximumFiles} files, for a total of at most {@code maximumSize} bytes, remain.
+	 * <p>
+	 * NOTE: the most recent file is always kept, whatever its size.
+	 * </p>
+	 *
+	 * @param filenamePrefix	The prefix of the name of the cached files.
+	 * @param filenameExtension	The extension of the name of the cached files (temporary files are never removed).
+	 * @param maximumFiles	The maximum number of files to keep.
+	 * @param maximumSize	The maximum total size of the files to keep.
+	 * @throws IOException	If the cache folder cannot be read.
+	 */
+	public static void trimCache(final String filenamePrefix, final String filenameExtension, final int maximumFiles,
+			final long maximumSize) throws IOException{
+		final List<Path> files;
+		try(final Stream<Path> paths = Files.list(getCacheFolder())){
+			files = paths
+				.filter(path -> {
+					final String filename = path.getFileName().toString();
+					return (filename.startsWith(filenamePrefix) && filename.endsWith(filenameExtension) && Files.isRegularFile(path));
+				})
+				.collect(Collectors.toList());
+		}
+		final Map<Path, FileTime> lastModifiedTimes = new HashMap<>(files.size());
+		for(final Path file : files)
+			lastModifiedTimes.put(file, Files.getLastModifiedTime(file));
+		files.sort(Comparator.comparing(lastModifiedTimes::get, Comparator.reverseOrder()));
+
+		long totalSize = 0l;
+		for(int i = 0; i < files.size(); i ++){
+			final Path file = files.get(i);
+			totalSize += Files.size(file);
+			if(i > 0 && (i >= maximumFiles || totalSize > maximumSize))
+				Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Marks a cached file as just used, so that {@link #trimCache(String, String, int, long)} removes it last.
+	 *
+	 * @param cachePath	The path of the cached file.
+	 */
+	public static void touchCacheFile(final Path cachePath){
+		try{
+			Files.setLastModifiedTime(cachePath, FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch(final IOException ignored){}
+	}
+
 	public static void moveFile(final Path source, final Path target) throws IOException{
 		if(SystemUtils.IS_OS_WINDOWS || Files.notExists(target))
 			//for Windows, we can't go wrong because the OS manages locking
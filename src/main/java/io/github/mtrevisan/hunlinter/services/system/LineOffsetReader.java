@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Reads the lines of a file, keeping track of the byte offset at which each line starts.
+ * <p>
+ * The charset must be ASCII-compatible (as all the charsets allowed by Hunspell are), lines are terminated by {@code \n},
+ * {@code \r\n}, or a lone {@code \r} (as in {@link java.io.BufferedReader#readLine()}), and a leading UTF-8 BOM is skipped
+ * (but counted in the offsets).
+ * The offsets of a gzipped file refer to its uncompressed content.
+ * </p>
+ */
+public final class LineOffsetReader implements Closeable{
+
+	private static final int BUFFER_SIZE = 65_536;
+
+	private static final byte[] UTF8_BOM = {(byte)0xEF, (byte)0xBB, (byte)0xBF};
+
+
+	private final InputStream is;
+	private final Charset charset;
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private int bufferPosition;
+	private int bufferLimit;
+	private byte[] line = new byte[256];
+
+	/** Offset of the first byte not yet read. */
+	private long position;
+	/** Offset of the first byte of the last line read. */
+	private long lineStart;
+
+
+	public LineOffsetReader(final Path path, final Charset charset) throws IOException{
+		this(openStream(path), charset);
+	}
+
+	/**
+	 * @param is	The (uncompressed) input stream, closed along with this reader.
+	 * @param charset	The charset of the content.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public LineOffsetReader(final InputStream is, final Charset charset) throws IOException{
+		Objects.requireNonNull(is, "Input stream cannot be null");
+		Objects.requireNonNull(charset, "Charset cannot be null");
+
+		this.is = is;
+		this.charset = charset;
+
+		skipByteOrderMark();
+	}
+
+	private static InputStream openStream(final Path path) throws IOException{
+		Objects.requireNonNull(path, "Path cannot be null");
+
+		final InputStream is = Files.newInputStream(path);
+		return (FileHelper.isGZipped(path.toFile())? new GZIPInputStream(is, BUFFER_SIZE): is);
+	}
+
+	private void skipByteOrderMark() throws IOException{
+		while(bufferLimit < UTF8_BOM.length){
+			final int read = is.read(buffer, bufferLimit, buffer.length - bufferLimit);
+			if(read < 0)
+				break;
+
+			bufferLimit += read;
+		}
+
+		if(bufferLimit >= UTF8_BOM.length && Arrays.equals(buffer, 0, UTF8_BOM.length, UTF8_BOM, 0, UTF8_BOM.length)){
+			bufferPosition = UTF8_BOM.length;
+			position = UTF8_BOM.length;
+		}
+	}
+
+	/**
+	 * Reads the next line.
+	 *
+	 * @return	The line (without its terminator), or {@code null} if the end of the file was reached.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	public String readLine() throws IOException{
+		lineStart = position;
+
+		int length = 0;
+		while(bufferPosition < bufferLimit || fill()){
+			final byte chr = buffer[bufferPosition ++];
+			position ++;
+			if(chr == '\n')
+				break;
+			if(chr == '\r'){
+				//consume the line feed of a `\r\n` terminator
+				if((bufferPosition < bufferLimit || fill()) && buffer[bufferPosition] == '\n'){
+					bufferPosition ++;
+					position ++;
+				}
+				break;
+			}
+
+			if(length == line.length)
+				line = Arrays.copyOf(line, length << 1);
+			line[length ++] = chr;
+		}
+
+		if(position == lineStart)
+			return null;
+
+		return new String(line, 0, length, charset);
+	}
+
+	/**
+	 * Finds the end of the content of a line, with the same rules used by {@link #readLine()}.
+	 *
+	 * @param bytes	The bytes.
+	 * @param from	The index of the first byte of the line.
+	 * @param limit	The index after the last byte to be considered.
+	 * @return	The index of the first byte of the terminator of the line, or {@code limit} if the line is not terminated.
+	 */
+	public static int findLineEnd(final byte[] bytes, final int from, final int limit){
+		int end = from;
+		while(end < limit && bytes[end] != '\n' && bytes[end] != '\r')
+			end ++;
+		return end;
+	}
+
+	/**
+	 * @param bytes	The bytes.
+	 * @param lineEnd	The index of the first byte of the terminator of a line, as returned by
+	 * 	{@link #findLineEnd(byte[], int, int)}.
+	 * @param limit	The index after the last byte to be considered.
+	 * @return	The index of the first byte of the next line.
+	 */
+	public static int skipTerminator(final byte[] bytes, final int lineEnd, final int limit){
+		if(lineEnd >= limit)
+			return limit;
+		return (bytes[lineEnd] == '\r' && lineEnd + 1 < limit && bytes[lineEnd + 1] == '\n'? lineEnd + 2: lineEnd + 1);
+	}
+
+	private boolean fill() throws IOException{
+		bufferPosition = 0;
+		bufferLimit = Math.max(is.read(buffer), 0);
+		return (bufferLimit > 0);
+	}
+
+	/** @return	The offset of the first byte of the last line read. */
+	public long getLineStart(){
+		return lineStart;
+	}
+
+	/** @return	The offset of the first byte after the last line read (terminator included). */
+	public long getPosition(){
+		return position;
+	}
+
+	@Override
+	public void close() throws IOException{
+		is.close();
+	}
+
+}
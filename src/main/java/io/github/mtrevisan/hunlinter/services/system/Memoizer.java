@@ -24,19 +24,23 @@
  */
 package io.github.mtrevisan.hunlinter.services.system;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 
 public final class Memoizer{
 
 	private static final Object DEFAULT_OBJECT = new Object();
 
+	private static final Collection<BoundedCache<?, ?>> NAMED_CACHES = new CopyOnWriteArrayList<>();
+
 
 	private Memoizer(){}
 
@@ -51,48 +55,72 @@ public final class Memoizer{
 	}
 
 	/**
-	 * Thread-safe and recursion-safe implementation using a re-entrant lock
+	 * Thread-safe implementation bounded in the number of memoized values.
 	 *
 	 * @param <T>			Type of input to the function
-	 * @param supplier	The function to be memoized
+	 * @param <U>			Type of output from the function
+	 * @param name			The name under which the statistics of the cache are reported (see {@link #getStatistics()}),
+	 * 	if {@code null} the cache is not reported
+	 * @param function	The function to be memoized
+	 * @param maximumSize	The maximum number of memoized values
 	 * @return				The new memoized function
-	 * @see <a href="https://opencredo.com/lambda-memoization-in-java-8/">Lambda memoization in Java 8</a>
 	 */
-	public static <T> Supplier<T> memoizeThreadAndRecursionSafe(final Supplier<T> supplier){
-		final Map<Object, T> cache = new HashMap<>(0);
-		final Lock lock = new ReentrantLock();
-		return () -> {
-			lock.lock();
-			try{
-				return cache.computeIfAbsent(DEFAULT_OBJECT, t -> supplier.get());
-			}
-			finally{
-				lock.unlock();
-			}
-		};
+	public static <T, U> Function<T, U> memoize(final String name, final Function<T, U> function, final int maximumSize){
+		return memoize(register(new BoundedCache<>(name, maximumSize)), function);
 	}
 
 	/**
-	 * Thread-safe and recursion-safe implementation using a re-entrant lock
+	 * Thread-safe implementation bounded in the total weight of the memoized values.
 	 *
 	 * @param <T>			Type of input to the function
 	 * @param <U>			Type of output from the function
+	 * @param name			The name under which the statistics of the cache are reported (see {@link #getStatistics()}),
+	 * 	if {@code null} the cache is not reported
 	 * @param function	The function to be memoized
+	 * @param maximumWeight	The maximum total weight of the memoized values
+	 * @param weigher		The function that computes the weight of an input-output pair
 	 * @return				The new memoized function
-	 * @see <a href="https://opencredo.com/lambda-memoization-in-java-8/">Lambda memoization in Java 8</a>
 	 */
-	public static <T, U> Function<T, U> memoizeThreadAndRecursionSafe(final Function<T, U> function){
-		final Map<T, U> cache = new HashMap<>(0);
-		final Lock lock = new ReentrantLock();
-		return input -> {
-			lock.lock();
-			try{
-				return cache.computeIfAbsent(input, function);
-			}
-			finally{
-				lock.unlock();
-			}
-		};
+	public static <T, U> Function<T, U> memoize(final String name, final Function<T, U> function, final long maximumWeight,
+			final ToIntBiFunction<? super T, ? super U> weigher){
+		return memoize(register(new BoundedCache<>(name, maximumWeight, weigher)), function);
+	}
+
+	/**
+	 * Thread-safe cache bounded in the total weight of its values, reported in {@link #getStatistics()}.
+	 *
+	 * @param <K>			Type of the keys
+	 * @param <V>			Type of the values
+	 * @param name			The name under which the statistics of the cache are reported
+	 * @param maximumWeight	The maximum total weight of the cached values
+	 * @param weigher		The function that computes the weight of a key-value pair
+	 * @return				The new cache
+	 */
+	public static <K, V> BoundedCache<K, V> boundedCache(final String name, final long maximumWeight,
+			final ToIntBiFunction<? super K, ? super V> weigher){
+		return register(new BoundedCache<>(name, maximumWeight, weigher));
+	}
+
+	private static <T, U> Function<T, U> memoize(final BoundedCache<T, U> cache, final Function<T, U> function){
+		return input -> cache.get(input, function);
+	}
+
+	private static <T, U> BoundedCache<T, U> register(final BoundedCache<T, U> cache){
+		if(cache.getName() != null)
+			NAMED_CACHES.add(cache);
+		return cache;
+	}
+
+	/**
+	 * Returns the counters of the named bounded caches.
+	 *
+	 * @return	The statistics of each named cache.
+	 */
+	public static List<BoundedCache.Statistics> getStatistics(){
+		final List<BoundedCache.Statistics> statistics = new ArrayList<>(NAMED_CACHES.size());
+		for(final BoundedCache<?, ?> cache : NAMED_CACHES)
+			statistics.add(cache.getStatistics());
+		return statistics;
 	}
 
 }
@@ -38,15 +38,16 @@ import io.github.mtrevisan.hunlinter.parsers.enums.MorphologicalTag;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.Hyphenation;
 import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenatorInterface;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
-import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntryFactory;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 
 import java.awt.Frame;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -61,7 +62,6 @@ public class StatisticsWorker extends WorkerDictionary{
 	private static final String POS_UNIT_OF_MEASURE = MorphologicalTag.PART_OF_SPEECH.attachValue("unit_of_measure");
 
 	private final DictionaryStatistics dicStatistics;
-	private final Orthography orthography;
 
 
 	public StatisticsWorker(final ParserManager parserManager, final boolean performHyphenationStatistics,
@@ -84,30 +84,11 @@ public class StatisticsWorker extends WorkerDictionary{
 
 
 		final AffixData affixData = affParser.getAffixData();
-		final DictionaryEntryFactory dictionaryEntryFactory = new DictionaryEntryFactory(affixData);
 		final String language = affixData.getLanguage();
 		dicStatistics = new DictionaryStatistics(language, affixData.getCharset());
-		orthography = BaseBuilder.getOrthography(language);
 
-		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
-			final DictionaryEntry dicEntry = dictionaryEntryFactory.createFromDictionaryLine(indexData.getData());
-			if(!dicEntry.hasPartOfSpeech(POS_UNIT_OF_MEASURE)){
-				final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
+		final InflectionConsumer<DictionaryStatistics> inflectionConsumer = createInflectionConsumer(dicStatistics, language, hyphenator);
 
-				for(int i = 0; i < inflections.size(); i ++){
-					//collect statistics
-					final String word = inflections.get(i).getWord();
-					final List<String> subwords = (hyphenator != null? hyphenator.splitIntoCompounds(word): null);
-					if(subwords == null || subwords.isEmpty())
-						dicStatistics.addData(word);
-					else
-						for(int j = 0; j < subwords.size(); j ++){
-							final Hyphenation hyph = hyphenator.hyphenate(orthography.markDefaultStress(subwords.get(j)));
-							dicStatistics.addData(word, hyph);
-						}
-				}
-			}
-		};
 		final Consumer<Exception> cancelled = exc -> {
 			dicStatistics.close();
 
@@ -124,15 +105,13 @@ public class StatisticsWorker extends WorkerDictionary{
 			final Path dicPath = dicParser.getDicFile()
 				.toPath();
 			final Charset charset = dicParser.getCharset();
-			processLines(dicPath, charset, lineProcessor);
+			processInflections(dicPath, charset, wordGenerator, List.of(inflectionConsumer));
 
 			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
 
 			return null;
 		};
 		final Function<Void, Void> step2 = ignored -> {
-			dicStatistics.close();
-
 			//show statistics window
 			final DictionaryStatisticsDialog dialog = new DictionaryStatisticsDialog(dicStatistics, parent);
 			GUIHelper.addCancelByEscapeKey(dialog);
@@ -144,4 +123,51 @@ public class StatisticsWorker extends WorkerDictionary{
 		setProcessor(step1.andThen(step2));
 	}
 
+	/**
+	 * Creates the receiver that collects the statistics of a dictionary pass.
+	 *
+	 * @param dicStatistics	The statistics to be filled.
+	 * @param language	The language of the dictionary.
+	 * @param hyphenator	The hyphenator, used to collect also the syllabe statistics (can be {@code null}).
+	 * @return	The receiver of the inflections.
+	 */
+	public static InflectionConsumer<DictionaryStatistics> createInflectionConsumer(final DictionaryStatistics dicStatistics,
+			final String language, final HyphenatorInterface hyphenator){
+		final Orthography orthography = BaseBuilder.getOrthography(language);
+
+		return new InflectionConsumer<>(){
+			@Override
+			public DictionaryStatistics createState(){
+				return dicStatistics.createPartial();
+			}
+
+			@Override
+			public void accept(final DictionaryStatistics partialStatistics, final IndexDataPair<String> indexData,
+					final DictionaryEntry dicEntry, final List<Inflection> inflections){
+				if(dicEntry.hasPartOfSpeech(POS_UNIT_OF_MEASURE))
+					return;
+
+				for(int i = 0; i < inflections.size(); i ++){
+					//collect statistics
+					final String word = inflections.get(i).getWord();
+					final List<String> subwords = (hyphenator != null? hyphenator.splitIntoCompounds(word): null);
+					if(subwords == null || subwords.isEmpty())
+						partialStatistics.addData(word);
+					else
+						for(int j = 0; j < subwords.size(); j ++){
+							final Hyphenation hyph = hyphenator.hyphenate(orthography.markDefaultStress(subwords.get(j)));
+							partialStatistics.addData(word, hyph);
+						}
+				}
+			}
+
+			@Override
+			public void merge(final Collection<DictionaryStatistics> partialStatistics, final InflectionConsumer.MergeContext context){
+				for(final DictionaryStatistics partial : partialStatistics)
+					dicStatistics.addAll(partial);
+				dicStatistics.close();
+			}
+		};
+	}
+
 }
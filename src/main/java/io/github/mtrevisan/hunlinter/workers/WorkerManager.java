@@ -36,11 +36,13 @@ import io.github.mtrevisan.hunlinter.workers.autocorrect.AutoCorrectLinterFSAWor
 import io.github.mtrevisan.hunlinter.workers.autocorrect.AutoCorrectLinterWorker;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerAbstract;
 import io.github.mtrevisan.hunlinter.workers.dictionary.CompoundRulesWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.DictionaryLintCache;
 import io.github.mtrevisan.hunlinter.workers.dictionary.DictionaryLinterWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.DuplicatesWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.InflectionReader;
 import io.github.mtrevisan.hunlinter.workers.dictionary.MinimalPairsWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.PoSFSAWorker;
+import io.github.mtrevisan.hunlinter.workers.dictionary.SectionsSorterWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.SorterWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.WordCountWorker;
 import io.github.mtrevisan.hunlinter.workers.dictionary.WordlistFSAWorker;
@@ -52,6 +54,7 @@ import org.slf4j.Logger;
 
 import javax.swing.SwingWorker;
 import java.awt.Frame;
+import java.awt.GraphicsEnvironment;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -73,6 +76,7 @@ public class WorkerManager{
 
 	private final Packager packager;
 	private final ParserManager parserManager;
+	private final DictionaryLintCache dictionaryLintCache = new DictionaryLintCache();
 
 
 	public WorkerManager(final Packager packager, final ParserManager parserManager){
@@ -93,6 +97,13 @@ public class WorkerManager{
 		}
 	}
 
+	public static boolean isAnyWorkerRunning(){
+		for(final WorkerAbstract<?> worker : WORKERS.values())
+			if(worker != null && !worker.isDone())
+				return true;
+		return false;
+	}
+
 	public static void callOnEnd(final String workerName){
 		final Consumer<WorkerAbstract<?>> onEnding = ON_ENDS.remove(workerName);
 		if(onEnding != null)
@@ -111,10 +122,27 @@ public class WorkerManager{
 
 	public final void createDictionaryLinterWorker(final Consumer<WorkerAbstract<?>> onStart, final Consumer<WorkerAbstract<?>> onEnd,
 			final Consumer<Exception> onCancelled){
-		final Supplier<WorkerAbstract<?>> creator = () -> new DictionaryLinterWorker(parserManager, onCancelled);
+		final Supplier<WorkerAbstract<?>> creator = () -> new DictionaryLinterWorker(parserManager, dictionaryLintCache, false,
+			onCancelled);
 		createWorker(DictionaryLinterWorker.WORKER_NAME, creator, onStart, onEnd);
 	}
 
+	/**
+	 * Re-lint only the lines changed since the last dictionary lint, if any.
+	 *
+	 * @return	Whether the worker was created, that is, a previous lint exists.
+	 */
+	public final boolean createIncrementalDictionaryLinterWorker(final Consumer<WorkerAbstract<?>> onStart,
+			final Consumer<WorkerAbstract<?>> onEnd, final Consumer<Exception> onCancelled){
+		if(!dictionaryLintCache.hasResults())
+			return false;
+
+		final Supplier<WorkerAbstract<?>> creator = () -> new DictionaryLinterWorker(parserManager, dictionaryLintCache, true,
+			onCancelled);
+		createWorker(DictionaryLinterWorker.WORKER_NAME, creator, onStart, onEnd);
+		return true;
+	}
+
 	public final void createWordCountWorker(final Consumer<WorkerAbstract<?>> onStart, final Consumer<WorkerAbstract<?>> onEnd,
 			final Consumer<Exception> onCancelled){
 		final Supplier<WorkerAbstract<?>> creator = () -> new WordCountWorker(parserManager, onCancelled);
@@ -134,6 +162,11 @@ public class WorkerManager{
 		createWorker(SorterWorker.WORKER_NAME, creator, preStart, onStart, onEnd);
 	}
 
+	public final void createSectionsSorterWorker(final Consumer<WorkerAbstract<?>> onStart, final Consumer<WorkerAbstract<?>> onEnd){
+		final Supplier<WorkerAbstract<?>> creator = () -> new SectionsSorterWorker(parserManager);
+		createWorker(SectionsSorterWorker.WORKER_NAME, creator, onStart, onEnd);
+	}
+
 	public final void createThesaurusLinterWorker(final Consumer<WorkerAbstract<?>> onStart, final Consumer<WorkerAbstract<?>> onEnd,
 			final Consumer<Exception> onCancelled){
 		final Supplier<WorkerAbstract<?>> creator = () -> new ThesaurusLinterWorker(parserManager.getTheParser(), parserManager.getLanguage(),
@@ -249,6 +282,9 @@ public class WorkerManager{
 
 	public static Function<File, Void> openFileStep(final Logger logger){
 		return file -> {
+			if(GraphicsEnvironment.isHeadless())
+				return null;
+
 			try{
 				FileHelper.openFileWithChosenEditor(file);
 			}
@@ -262,6 +298,9 @@ public class WorkerManager{
 
 	public static Function<File, Void> openFolderStep(final Logger logger){
 		return file -> {
+			if(GraphicsEnvironment.isHeadless())
+				return null;
+
 			try{
 				FileHelper.browse(file);
 			}
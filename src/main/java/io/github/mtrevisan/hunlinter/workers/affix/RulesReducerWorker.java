@@ -84,12 +84,16 @@ public class RulesReducerWorker extends WorkerDictionary{
 			throw new LinterException(NON_EXISTENT_RULE, flag);
 
 		final AffixType type = ruleToBeReduced.getType();
+		final int flagId = affixData.getSymbolTable().internNullable(flag);
 
 		final List<String> originalLines = new ArrayList<>(0);
 		final List<LineEntry> originalRules = new ArrayList<>(0);
 		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
 			final DictionaryEntry dicEntry = dictionaryEntryFactory.createFromDictionaryLine(indexData.getData());
-			final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
+			//the lines with the flag are expanded again while checking the reduction, keep (only) their expansions cached
+			final List<Inflection> inflections = (dicEntry.hasContinuationFlag(flagId)
+				? wordGenerator.applyAffixRules(indexData.getData())
+				: wordGenerator.applyAffixRules(dicEntry));
 
 			final LineEntry filteredRule = rulesReducer.collectInflectionsByFlag(inflections, flag, type);
 			if(filteredRule != null){
@@ -25,34 +25,33 @@
 package io.github.mtrevisan.hunlinter.workers.autocorrect;
 
 import io.github.mtrevisan.hunlinter.datastructures.fsa.lookup.DictionaryLookup;
-import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.autocorrect.AutoCorrectParser;
 import io.github.mtrevisan.hunlinter.parsers.autocorrect.CorrectionEntry;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
-import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerAutoCorrect;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 
 public class AutoCorrectLinterFSAWorker extends WorkerAutoCorrect{
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(AutoCorrectLinterFSAWorker.class);
-
 	public static final String WORKER_NAME = "AutoCorrect linter against dictionary FSA";
 
 	private static final String CORRECT_WORD_NOT_IN_DICTIONARY = "Dictionary doesn't contain correct entry {} (from entry {})";
 
 
+	private Predicate<String> compoundRecognizer;
+
+
 	public AutoCorrectLinterFSAWorker(final AutoCorrectParser acoParser, final DictionaryParser dicParser, final WordGenerator wordGenerator,
 			final Consumer<Exception> onCancelled, final DictionaryLookup dictionaryLookup){
 		super(new WorkerDataParser<>(WORKER_NAME, acoParser));
@@ -83,13 +82,21 @@ public class AutoCorrectLinterFSAWorker extends WorkerAutoCorrect{
 				//check if the (correct) word is present in the dictionary
 				final String[] words = StringUtils.split(correctForm, " –");
 				for(int i = 0; i < words.length; i ++)
-					if(dictionaryLookup.lookup(words[i]).isEmpty())
-						LOGGER.warn(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(CORRECT_WORD_NOT_IN_DICTIONARY, words[i], correctForm));
+					if(dictionaryLookup.lookup(words[i]).isEmpty() && !compoundRecognizer.test(words[i]))
+						report(Diagnostic.warning(-1, null, CORRECT_WORD_NOT_IN_DICTIONARY, words[i], correctForm));
 			}
 		};
 
-		final Function<Void, List<IndexDataPair<CorrectionEntry>>> step1 = ignored -> {
-			prepareProcessing("Execute " + workerData.getWorkerName());
+		final Function<Void, Void> step1 = ignored -> {
+			prepareProcessing("Reading compounds from dictionary file (step 1/2)");
+
+			//words missing from the FSA could still be valid compounds
+			compoundRecognizer = wordGenerator.createCompoundRecognizer(dicParser.getDicFile(), dicParser.getCharset());
+
+			return null;
+		};
+		final Function<Void, List<IndexDataPair<CorrectionEntry>>> step2 = ignored -> {
+			resetProcessing("Execute " + workerData.getWorkerName() + " (step 2/2)");
 
 			processLines(dataProcessor);
 
@@ -97,7 +104,7 @@ public class AutoCorrectLinterFSAWorker extends WorkerAutoCorrect{
 
 			return null;
 		};
-		setProcessor(step1);
+		setProcessor(step1.andThen(step2));
 	}
 
 }
@@ -29,7 +29,6 @@ import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.BloomFilterParam
 import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.ScalableInMemoryBloomFilter;
 import io.github.mtrevisan.hunlinter.gui.ProgressCallback;
 import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
-import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.autocorrect.AutoCorrectParser;
 import io.github.mtrevisan.hunlinter.parsers.autocorrect.CorrectionEntry;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
@@ -37,14 +36,12 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.ParserHelper;
-import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerAutoCorrect;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.nio.charset.Charset;
@@ -57,8 +54,6 @@ import java.util.function.Function;
 
 public class AutoCorrectLinterWorker extends WorkerAutoCorrect{
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(AutoCorrectLinterWorker.class);
-
 	public static final String WORKER_NAME = "AutoCorrect linter";
 
 	private static final String CORRECT_WORD_NOT_IN_DICTIONARY = "Dictionary doesn't contain correct entry {} (from entry {})";
@@ -101,7 +96,7 @@ public class AutoCorrectLinterWorker extends WorkerAutoCorrect{
 				final String[] words = StringUtils.split(correctForm, " –");
 				for(int i = 0; i < words.length; i ++)
 					if(!bloomFilter.contains(words[i]))
-						LOGGER.warn(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(CORRECT_WORD_NOT_IN_DICTIONARY, words[i], correctForm));
+						report(Diagnostic.warning(-1, null, CORRECT_WORD_NOT_IN_DICTIONARY, words[i], correctForm));
 			}
 		};
 
@@ -140,7 +135,7 @@ public class AutoCorrectLinterWorker extends WorkerAutoCorrect{
 				}
 			}
 			catch(final LinterException e){
-				LOGGER.error(ParserManager.MARKER_APPLICATION, "{}, line {}: {}", e.getMessage(), lineIndex + 1, line);
+				report(Diagnostic.error(lineIndex, line, e.getMessage()));
 			}
 		};
 		final ProgressCallback progressCallback = lineIndex -> {
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.core;
+
+import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Receiver of the inflections produced by a single expansion pass over the dictionary.
+ * <p>
+ * Each thread taking part in the pass works on its own state, created by {@link #createState()}, so that no lock is needed
+ * while accepting; all the states are handed over to {@link #merge(Collection, MergeContext)} once the pass is completed.
+ * </p>
+ *
+ * @param <S>	The type of the per-thread state.
+ */
+public interface InflectionConsumer<S>{
+
+	/**
+	 * What the worker running the pass offers to the merge.
+	 *
+	 * @param reporter	The receiver of the findings.
+	 * @param parallelism	The number of threads of the pool the merge runs in (parallel streams started by the merge use the
+	 * 	same pool).
+	 * @param checkpoint	To be called regularly by long merges, it waits while the worker is paused and throws a
+	 * 	{@link java.util.concurrent.CancellationException} if it was cancelled.
+	 */
+	record MergeContext(Consumer<Diagnostic> reporter, int parallelism, Runnable checkpoint){}
+
+
+	/**
+	 * Creates the state confined to the calling thread.
+	 *
+	 * @return	The state (can be {@code null} if the consumer does not need any).
+	 */
+	S createState();
+
+	/**
+	 * Accepts the inflections of a dictionary entry.
+	 * <p>
+	 * NOTE: the list of inflections is shared between all the consumers and cannot be modified.
+	 * </p>
+	 *
+	 * @param state	The state of the calling thread.
+	 * @param indexData	The line index and content.
+	 * @param dicEntry	The dictionary entry.
+	 * @param inflections	The inflections of the dictionary entry.
+	 */
+	void accept(S state, IndexDataPair<String> indexData, DictionaryEntry dicEntry, List<Inflection> inflections);
+
+	/**
+	 * Combines the states of all the threads that took part in the pass.
+	 *
+	 * @param states	The states.
+	 * @param context	The context of the worker.
+	 */
+	void merge(Collection<S> states, MergeContext context);
+
+}
@@ -29,6 +29,7 @@ import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.services.log.ExceptionHelper;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.services.system.TimeWatch;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
 import org.apache.commons.lang3.StringUtils;
@@ -37,8 +38,10 @@ import org.slf4j.LoggerFactory;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
+import java.awt.GraphicsEnvironment;
 import java.beans.PropertyChangeEvent;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -58,8 +61,9 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 	protected final WD workerData;
 
 	private final AtomicBoolean paused = new AtomicBoolean(false);
-	private static final Lock PAUSE_LOCK = new ReentrantLock();
-	private static final Condition UNPAUSE = PAUSE_LOCK.newCondition();
+	//NOTE: a lock (instead of a monitor) does not pin the carrier thread of a virtual thread while waiting
+	private final Lock pauseLock = new ReentrantLock();
+	private final Condition unpause = pauseLock.newCondition();
 
 	private final TimeWatch watch = TimeWatch.start();
 
@@ -92,7 +96,14 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 		try{
 			processor.apply(null);
 		}
+		catch(final CancellationException ignored){
+			//the worker was cancelled and has stopped on a pause check
+		}
 		catch(final RuntimeException re){
+			if(isCancelled())
+				//the worker was cancelled while waiting for its parallel tasks
+				return null;
+
 			if(workerData.isCancelOnException() && JavaHelper.isInterruptedException(re))
 				cancel(re);
 			else{
@@ -104,9 +115,11 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 		return null;
 	}
 
-	private static void logExceptionError(final Exception e){
+	private void logExceptionError(final Exception e){
 		final String errorMessage = ExceptionHelper.getMessageNoLineNumber(e);
 		LOGGER.error(ParserManager.MARKER_APPLICATION, errorMessage);
+
+		notifyDiagnostic(Diagnostic.error(-1, null, errorMessage));
 	}
 
 	@SuppressWarnings("SameReturnValue")
@@ -138,6 +151,18 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 		doInBackground();
 	}
 
+	/**
+	 * Executes the given task in a pool dedicated to this worker, sized as per {@link WorkerData#withParallelism(int)}.
+	 * <p>
+	 * Parallel streams started by the task run in the same pool.
+	 * </p>
+	 *
+	 * @param task	The task to be executed.
+	 */
+	protected final void executeParallel(final Runnable task){
+		WorkerExecutor.executeParallel(workerData.getWorkerName(), workerData.getParallelism(), task);
+	}
+
 
 	protected final void manageException(final LinterException le){
 		if(JavaHelper.isInterruptedException(le))
@@ -150,12 +175,14 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 			LOGGER.trace("{}{}: {}", errorMessage, lineText, data.getData());
 			LOGGER.error(ParserManager.MARKER_APPLICATION, (data.getData() != null? "{}{}: {}": "{}{}"), le.getMessage(),
 				lineText, data.getData());
+
+			notifyDiagnostic(Diagnostic.error(index, data.getData(), le.getMessage()));
 		}
 		else
 			le.printStackTrace();
 	}
 
-	protected static void manageException(final LinterWarning lw){
+	protected final void manageException(final LinterWarning lw){
 		if(lw.getData() != null){
 			final String warningMessage = ExceptionHelper.getMessage(lw);
 			final IndexDataPair<?> data = lw.getData();
@@ -164,11 +191,40 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 			LOGGER.trace("{}{}: {}", warningMessage, lineText, data.getData());
 			LOGGER.warn(ParserManager.MARKER_APPLICATION, (data.getData() != null? "{}{}: {}": "{}{}"), lw.getMessage(),
 				lineText, data.getData());
+
+			notifyDiagnostic(Diagnostic.warning(index, data.getData(), lw.getMessage()));
 		}
 		else
 			lw.printStackTrace();
 	}
 
+	/**
+	 * Logs the given finding and passes it to the diagnostics listener, if any.
+	 *
+	 * @param diagnostic	The finding.
+	 */
+	protected final void report(final Diagnostic diagnostic){
+		final int index = diagnostic.index();
+		final String lineText = (index >= 0? ", line " + (index + 1): StringUtils.EMPTY);
+		final Object data = diagnostic.data();
+		final String pattern = (data != null? "{}{}: {}": "{}{}");
+		if(diagnostic.severity() == Diagnostic.Severity.ERROR)
+			LOGGER.error(ParserManager.MARKER_APPLICATION, pattern, diagnostic.getMessage(), lineText, data);
+		else
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, pattern, diagnostic.getMessage(), lineText, data);
+
+		notifyDiagnostic(diagnostic);
+	}
+
+	/**
+	 * Passes the given (already logged) finding to the diagnostics listener, if any.
+	 *
+	 * @param diagnostic	The finding.
+	 */
+	protected final void notifyDiagnostic(final Diagnostic diagnostic){
+		workerData.callDiagnosticsListener(diagnostic);
+	}
+
 
 	protected final void setWorkerProgress(final long index, final long total){
 		final int progress = Math.min((int)Math.floor((index * 100.) / total), 100);
@@ -196,33 +252,45 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 
 	public final void resume(){
 		if(!isDone() && paused.compareAndSet(true, false)){
-			PAUSE_LOCK.lock();
-			try{
-				UNPAUSE.signalAll();
-			}
-			finally{
-				PAUSE_LOCK.unlock();
-			}
+			wakeUpPaused();
 
 			firePropertyChange(MainFrame.PROPERTY_NAME_PAUSED, Boolean.TRUE, Boolean.FALSE);
 		}
 	}
 
+	private void wakeUpPaused(){
+		pauseLock.lock();
+		try{
+			unpause.signalAll();
+		}
+		finally{
+			pauseLock.unlock();
+		}
+	}
+
 	/**
-	 * NOTE: this should be called inside `SwingWorker.doInBackground()` to allow process abortion
+	 * Waits while the worker is paused, and stops the processing if the worker was cancelled.
+	 * <p>
+	 * NOTE: this should be called inside `SwingWorker.doInBackground()` (also from the tasks it spawns) to allow process abortion
+	 * </p>
+	 *
+	 * @throws CancellationException	If the worker was cancelled.
 	 */
-	@SuppressWarnings("AwaitNotInLoop")
 	protected final void sleepOnPause(){
 		if(paused.get()){
-			PAUSE_LOCK.lock();
+			pauseLock.lock();
 			try{
-					UNPAUSE.await();
+				while(paused.get() && !isCancelled())
+					unpause.await();
 			}
 			catch(final InterruptedException ignored){}
 			finally{
-				PAUSE_LOCK.unlock();
+				pauseLock.unlock();
 			}
 		}
+
+		if(isCancelled())
+			throw new CancellationException(workerData.getWorkerName());
 	}
 
 	/**
@@ -235,9 +303,10 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 			final String errorMessage = ExceptionHelper.getMessage(exception);
 			LOGGER.error(errorMessage, exception);
 
-			JOptionPane.showOptionDialog(null,
-				"Something very bad happened", "Error", JOptionPane.DEFAULT_OPTION,
-				JOptionPane.ERROR_MESSAGE, null, null, null);
+			if(!GraphicsEnvironment.isHeadless())
+				JOptionPane.showOptionDialog(null,
+					"Something very bad happened", "Error", JOptionPane.DEFAULT_OPTION,
+					JOptionPane.ERROR_MESSAGE, null, null, null);
 		}
 		else
 			LOGGER.error("Generic error");
@@ -247,6 +316,7 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 		workerData.callCancelledCallback(exception);
 
 		cancel(true);
+		wakeUpPaused();
 	}
 
 	/** User cancelled worker. */
@@ -256,6 +326,7 @@ public abstract class WorkerAbstract<WD extends WorkerData> extends SwingWorker<
 		workerData.callCancelledCallback(null);
 
 		cancel(true);
+		wakeUpPaused();
 	}
 
 	@Override
@@ -30,6 +30,7 @@ import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -48,10 +49,10 @@ public class WorkerAutoCorrect extends WorkerAbstract<WorkerDataParser<AutoCorre
 		final List<CorrectionEntry> entries = loadAutoCorrect();
 
 		//process autocorrect
-		final Stream<CorrectionEntry> stream = (workerData.isParallelProcessing()
-			? entries.parallelStream()
-			: entries.stream());
-		processAutoCorrect(stream, entries.size(), dataProcessor);
+		if(workerData.isParallelProcessing())
+			executeParallel(() -> processAutoCorrect(entries.parallelStream(), entries.size(), dataProcessor));
+		else
+			processAutoCorrect(entries.stream(), entries.size(), dataProcessor);
 
 		CorrectionEntry data = null;
 		try{
@@ -96,7 +97,7 @@ public class WorkerAutoCorrect extends WorkerAbstract<WorkerDataParser<AutoCorre
 
 				sleepOnPause();
 			}
-			catch(final LinterException e){
+			catch(final LinterException | CancellationException e){
 				throw e;
 			}
 			catch(final RuntimeException re){
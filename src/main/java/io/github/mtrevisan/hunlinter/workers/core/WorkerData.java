@@ -24,6 +24,8 @@
  */
 package io.github.mtrevisan.hunlinter.workers.core;
 
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
+
 import java.util.Objects;
 import java.util.function.Consumer;
 
@@ -33,10 +35,12 @@ public class WorkerData{
 	private final String workerName;
 
 	private boolean parallelProcessing;
+	private int parallelism;
 	private boolean cancelOnException;
 
 	private Runnable completed;
 	private Consumer<Exception> cancelled;
+	private Consumer<Diagnostic> diagnosticsListener;
 
 
 	WorkerData(final String workerName){
@@ -59,6 +63,17 @@ public class WorkerData{
 		return this;
 	}
 
+	/**
+	 * Bound the number of threads used when processing in parallel (the processing mode is left unchanged).
+	 *
+	 * @param parallelism	The number of threads, if not positive the number of available processors is used.
+	 * @return	This instance.
+	 */
+	public final WorkerData withParallelism(final int parallelism){
+		this.parallelism = parallelism;
+		return this;
+	}
+
 	public final WorkerData withCancelOnException(){
 		cancelOnException = true;
 		return this;
@@ -74,6 +89,20 @@ public class WorkerData{
 		return this;
 	}
 
+	/**
+	 * Receive the findings of the worker (besides being logged).
+	 * <p>
+	 * NOTE: the listener can be called concurrently.
+	 * </p>
+	 *
+	 * @param diagnosticsListener	The receiver of the findings.
+	 * @return	This instance.
+	 */
+	public final WorkerData withDiagnosticsListener(final Consumer<Diagnostic> diagnosticsListener){
+		this.diagnosticsListener = diagnosticsListener;
+		return this;
+	}
+
 	final void callCompletedCallback(){
 		if(completed != null)
 			completed.run();
@@ -84,10 +113,19 @@ public class WorkerData{
 			cancelled.accept(exception);
 	}
 
+	final void callDiagnosticsListener(final Diagnostic diagnostic){
+		if(diagnosticsListener != null)
+			diagnosticsListener.accept(diagnostic);
+	}
+
 	final boolean isParallelProcessing(){
 		return parallelProcessing;
 	}
 
+	final int getParallelism(){
+		return (parallelism > 0? parallelism: WorkerExecutor.defaultParallelism());
+	}
+
 	final boolean isCancelOnException(){
 		return cancelOnException;
 	}
@@ -24,9 +24,16 @@
  */
 package io.github.mtrevisan.hunlinter.workers.core;
 
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.ExternalSequenceSorter;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.PartitionedFSABuilder;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
 import io.github.mtrevisan.hunlinter.parsers.exceptions.ParserException;
+import io.github.mtrevisan.hunlinter.parsers.exceptions.WorkerException;
 import io.github.mtrevisan.hunlinter.parsers.exceptions.WriterException;
+import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.ParserHelper;
 import io.github.mtrevisan.hunlinter.services.system.FileHelper;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
@@ -41,9 +48,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
@@ -52,6 +63,38 @@ import java.util.function.Consumer;
 
 public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<DictionaryParser>>{
 
+	private record StateHolder<S>(S state){}
+
+	private static final class ConsumerStates<S>{
+		private final InflectionConsumer<S> consumer;
+		private final Queue<StateHolder<S>> holders = new ConcurrentLinkedQueue<>();
+		private final ThreadLocal<StateHolder<S>> holder = ThreadLocal.withInitial(this::createHolder);
+
+		private ConsumerStates(final InflectionConsumer<S> consumer){
+			this.consumer = consumer;
+		}
+
+		private StateHolder<S> createHolder(){
+			final StateHolder<S> stateHolder = new StateHolder<>(consumer.createState());
+			holders.add(stateHolder);
+			return stateHolder;
+		}
+
+		void accept(final IndexDataPair<String> indexData, final DictionaryEntry dicEntry, final List<Inflection> inflections){
+			consumer.accept(holder.get().state, indexData, dicEntry, inflections);
+		}
+
+		void merge(final InflectionConsumer.MergeContext context){
+			final List<S> states = new ArrayList<>(holders.size());
+			for(final StateHolder<S> stateHolder : holders)
+				states.add(stateHolder.state);
+			holders.clear();
+
+			consumer.merge(states, context);
+		}
+	}
+
+
 	protected WorkerDictionary(final WorkerDataParser<DictionaryParser> workerData){
 		super(workerData);
 	}
@@ -76,6 +119,41 @@ public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<Dictionary
 	}
 
 
+	/**
+	 * Expands each dictionary entry once and hands its inflections over to all the given consumers.
+	 *
+	 * @param path	The path of the dictionary.
+	 * @param charset	The charset of the dictionary.
+	 * @param wordGenerator	The word generator.
+	 * @param consumers	The receivers of the inflections.
+	 */
+	protected final void processInflections(final Path path, final Charset charset, final WordGenerator wordGenerator,
+			final List<? extends InflectionConsumer<?>> consumers){
+		Objects.requireNonNull(wordGenerator, "Word generator cannot be null");
+		Objects.requireNonNull(consumers, "Consumers cannot be null");
+
+		final List<ConsumerStates<?>> consumerStates = new ArrayList<>(consumers.size());
+		for(int i = 0; i < consumers.size(); i ++)
+			consumerStates.add(new ConsumerStates<>(consumers.get(i)));
+
+		processLines(path, charset, indexData -> {
+			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(indexData.getData());
+			final List<Inflection> inflections = Collections.unmodifiableList(wordGenerator.applyAffixRules(dicEntry));
+
+			for(int i = 0; i < consumerStates.size(); i ++)
+				consumerStates.get(i).accept(indexData, dicEntry, inflections);
+		});
+
+		//the merges run in the pool of the worker, so that the parallel streams they start are bounded by its parallelism
+		final InflectionConsumer.MergeContext context = new InflectionConsumer.MergeContext(this::report,
+			workerData.getParallelism(), this::sleepOnPause);
+		executeParallel(() -> {
+			for(int i = 0; i < consumerStates.size(); i ++)
+				consumerStates.get(i).merge(context);
+		});
+	}
+
+
 	@SuppressWarnings("OverlyBroadThrowsClause")
 	private List<IndexDataPair<String>> loadFile(final Path path, final Charset charset) throws IOException{
 		//read entire file in memory
@@ -97,8 +175,8 @@ public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<Dictionary
 	private void processLinesParallel(final Collection<IndexDataPair<String>> entries,
 			final Consumer<IndexDataPair<String>> dataProcessor){
 		final Consumer<IndexDataPair<String>> innerProcessor = createInnerProcessorByLines(dataProcessor, entries.size());
-		entries.parallelStream()
-			.forEach(innerProcessor);
+		executeParallel(() -> entries.parallelStream()
+			.forEach(innerProcessor));
 	}
 
 	private void processLinesSequential(final Path path, final Charset charset,
@@ -170,6 +248,9 @@ public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<Dictionary
 
 				sleepOnPause();
 			}
+			catch(final CancellationException ce){
+				throw ce;
+			}
 			catch(final RuntimeException re){
 				final LinterException le = new LinterException(re, re.getMessage())
 					.withData(data);
@@ -195,7 +276,7 @@ public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<Dictionary
 
 				sleepOnPause();
 			}
-			catch(final LinterException e){
+			catch(final LinterException | CancellationException e){
 				throw e;
 			}
 			catch(final RuntimeException re){
@@ -205,6 +286,43 @@ public class WorkerDictionary extends WorkerAbstract<WorkerDataParser<Dictionary
 		};
 	}
 
+	/**
+	 * Builds the automaton of the sequences collected by the given sorter, building the partitions of the sequences in parallel.
+	 *
+	 * @param sorter	The sorter holding the sequences, released once the automaton is built.
+	 * @return	The automaton.
+	 */
+	protected final FSAAbstract buildAutomaton(final ExternalSequenceSorter sorter){
+		return buildAutomaton(sorter, new AtomicLong());
+	}
+
+	/**
+	 * Builds the automaton of the sequences collected by the given sorter, building the partitions of the sequences in parallel.
+	 *
+	 * @param sorter	The sorter holding the sequences, released once the automaton is built.
+	 * @param progress	Incremented for each distinct sequence added to the automaton.
+	 * @return	The automaton.
+	 */
+	protected final FSAAbstract buildAutomaton(final ExternalSequenceSorter sorter, final AtomicLong progress){
+		final AtomicInteger progressIndex = new AtomicInteger();
+		final long progressStep = Math.max((long)Math.ceil(sorter.size() / 100.), 1l);
+		final FSAAbstract[] fsa = new FSAAbstract[1];
+		executeParallel(() -> {
+			try{
+				fsa[0] = PartitionedFSABuilder.build(sorter, workerData.getParallelism(), () -> {
+					if(progress.incrementAndGet() % progressStep == 0)
+						setWorkerProgress(progressIndex.incrementAndGet());
+
+					sleepOnPause();
+				});
+			}
+			catch(final IOException ioe){
+				throw new WorkerException(ioe, ioe.getMessage());
+			}
+		});
+		return fsa[0];
+	}
+
 
 	protected static void writeLine(final BufferedWriter writer, final String line, final char[] lineSeparator){
 		try{
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.core;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+
+/**
+ * Executes the work of a worker outside the common pool.
+ * <p>
+ * CPU-bound work runs in a {@link ForkJoinPool} created for the job (parallel streams started inside it use the same pool),
+ * so that concurrent jobs do not compete for the common pool; I/O-bound work runs on virtual threads.
+ * </p>
+ */
+final class WorkerExecutor{
+
+	private WorkerExecutor(){}
+
+
+	static int defaultParallelism(){
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Executes the given task in a dedicated pool, waiting for its completion.
+	 *
+	 * @param name	The name of the job (used to name the threads).
+	 * @param parallelism	The number of threads of the pool.
+	 * @param task	The task to be executed.
+	 * @throws RuntimeInterruptedException	If the calling thread was interrupted while waiting.
+	 */
+	static void executeParallel(final String name, final int parallelism, final Runnable task){
+		final ForkJoinPool pool = new ForkJoinPool(parallelism, workerThreadFactory(name), null, false);
+		try{
+			waitFor(pool.submit(task));
+		}
+		finally{
+			pool.shutdownNow();
+		}
+	}
+
+	private static ForkJoinPool.ForkJoinWorkerThreadFactory workerThreadFactory(final String name){
+		return pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName(name + "-" + thread.getPoolIndex());
+			return thread;
+		};
+	}
+
+	/**
+	 * Creates an executor that runs each task on a new virtual thread.
+	 * <p>
+	 * Meant for the tasks that spend most of their time waiting for I/O.
+	 * </p>
+	 *
+	 * @param name	The name of the job (used to name the threads).
+	 * @return	The executor, to be shut down by the caller.
+	 */
+	static ExecutorService createIOExecutor(final String name){
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+			.name(name + "-", 0)
+			.factory());
+	}
+
+	private static void waitFor(final Future<?> future){
+		try{
+			future.get();
+		}
+		catch(final InterruptedException ie){
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+
+			throw new RuntimeInterruptedException();
+		}
+		catch(final ExecutionException ee){
+			Throwable cause = ee.getCause();
+			//a fork-join pool rethrows a copy of the exception that wraps the original one
+			if(cause != null && cause.getCause() != null && cause.getClass() == cause.getCause().getClass())
+				cause = cause.getCause();
+			if(cause instanceof final RuntimeException re)
+				throw re;
+			if(cause instanceof final Error e)
+				throw e;
+			throw new IllegalStateException(cause);
+		}
+	}
+
+}
@@ -28,6 +28,8 @@ import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.services.Packager;
 import io.github.mtrevisan.hunlinter.services.log.ExceptionHelper;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
+import io.github.mtrevisan.hunlinter.services.system.TimeWatch;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterIllegalArgumentException;
 import org.slf4j.Logger;
@@ -36,20 +38,52 @@ import org.xml.sax.SAXException;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
 
 
 public class WorkerProject extends WorkerAbstract<WorkerDataProject>{
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(WorkerProject.class);
 
+	private static final String STAGE_AFFIX = "affix";
+	private static final String STAGE_HYPHENATION = "hyphenation";
+	private static final String STAGE_CHECKER = "checker";
+	private static final String STAGE_DICTIONARY = "dictionary";
+	private static final String STAGE_DICTIONARY_INDEX = "dictionary index";
+	private static final String STAGE_AID = "aid";
+	private static final String STAGE_THESAURUS = "thesaurus";
+	private static final String STAGE_AUTO_CORRECT = "auto-correct";
+	private static final String STAGE_SENTENCE_EXCEPTIONS = "sentence exceptions";
+	private static final String STAGE_WORD_EXCEPTIONS = "word exceptions";
+
 
 	@FunctionalInterface
 	interface StageFunction{
 		void execute() throws IOException, SAXException;
 	}
 
+	/**
+	 * A loading stage.
+	 *
+	 * @param name	The name of the stage.
+	 * @param function	The function that loads the stage.
+	 * @param dependencies	The names of the stages that should be completed before this one (they must be declared before).
+	 */
+	record Stage(String name, StageFunction function, String... dependencies){}
+
 
 	protected WorkerProject(final WorkerDataProject workerData){
 		super(workerData);
@@ -62,22 +96,21 @@ public class WorkerProject extends WorkerAbstract<WorkerDataProject>{
 		final Packager packager = workerData.getPackager();
 		try{
 			final ParserManager parserManager = workerData.getParserManager();
-			final List<StageFunction> stages = Arrays.asList(
-				() -> parserManager.openAffixFile(packager.getAffixFile()),
-				() -> parserManager.openHyphenationFile(packager.getHyphenationFile()),
-				parserManager::getCorrectnessChecker,
-				() -> parserManager.prepareDictionaryFile(packager.getDictionaryFile()),
-				() -> parserManager.openAidFile(parserManager.getAidFile()),
-				() -> parserManager.openThesaurusFile(packager.getThesaurusDataFile()),
-				() -> parserManager.openAutoCorrectFile(packager.getAutoCorrectFile()),
-				() -> parserManager.openSentenceExceptionsFile(packager.getSentenceExceptionsFile()),
-				() -> parserManager.openWordExceptionsFile(packager.getWordExceptionsFile()));
-			for(int index = 0; index < stages.size(); index ++){
-				stages.get(index).execute();
-				setWorkerProgress(index + 1, stages.size());
-
-				sleepOnPause();
-			}
+			//the language of the affix file is used by the hyphenation, aid, and exceptions parsers
+			final List<Stage> stages = List.of(
+				new Stage(STAGE_AFFIX, () -> parserManager.openAffixFile(packager.getAffixFile())),
+				new Stage(STAGE_HYPHENATION, () -> parserManager.openHyphenationFile(packager.getHyphenationFile()), STAGE_AFFIX),
+				new Stage(STAGE_CHECKER, parserManager::getCorrectnessChecker, STAGE_AFFIX, STAGE_HYPHENATION),
+				new Stage(STAGE_DICTIONARY, () -> parserManager.prepareDictionaryFile(packager.getDictionaryFile()), STAGE_CHECKER),
+				new Stage(STAGE_DICTIONARY_INDEX, parserManager::prepareDictionaryIndex, STAGE_DICTIONARY),
+				new Stage(STAGE_AID, () -> parserManager.openAidFile(parserManager.getAidFile()), STAGE_AFFIX),
+				new Stage(STAGE_THESAURUS, () -> parserManager.openThesaurusFile(packager.getThesaurusDataFile())),
+				new Stage(STAGE_AUTO_CORRECT, () -> parserManager.openAutoCorrectFile(packager.getAutoCorrectFile())),
+				new Stage(STAGE_SENTENCE_EXCEPTIONS, () -> parserManager.openSentenceExceptionsFile(packager.getSentenceExceptionsFile()),
+					STAGE_AFFIX),
+				new Stage(STAGE_WORD_EXCEPTIONS, () -> parserManager.openWordExceptionsFile(packager.getWordExceptionsFile()),
+					STAGE_AFFIX));
+			executeStages(stages);
 
 			finalizeProcessing("Project loaded successfully");
 		}
@@ -90,13 +123,113 @@ public class WorkerProject extends WorkerAbstract<WorkerDataProject>{
 			else
 				logExceptionError(e);
 		}
+		catch(final InterruptedException ignored){
+			Thread.currentThread().interrupt();
+		}
+		catch(final CancellationException ignored){
+			//the worker was cancelled and has stopped on a pause check
+		}
 
 		return null;
 	}
 
-	private static void logExceptionError(final Exception e){
+	private void executeStages(final List<Stage> stages) throws IOException, SAXException, InterruptedException{
+		//stages are mostly reading files
+		final ExecutorService executor = WorkerExecutor.createIOExecutor(workerData.getWorkerName());
+		try{
+			final AtomicInteger completedStages = new AtomicInteger();
+			final Map<String, Long> timings = executeStages(stages, executor, stage -> {
+				final long time = executeStage(stage);
+
+				setWorkerProgress(completedStages.incrementAndGet(), stages.size());
+
+				return time;
+			});
+
+			final StringJoiner sj = new StringJoiner(", ");
+			for(final Stage stage : stages)
+				sj.add(stage.name + " " + timings.get(stage.name) + " ms");
+			LOGGER.info(ParserManager.MARKER_APPLICATION, "Project stages loaded: {}", sj);
+		}
+		finally{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Executes each stage as soon as all its dependencies are completed, independent stages are executed concurrently.
+	 * <p>
+	 * If a stage fails, the stages depending on it are not executed, while the others are completed before the failure is
+	 * rethrown.
+	 * </p>
+	 *
+	 * @param stages	The stages to be executed.
+	 * @param executor	The executor of the stages.
+	 * @param stageExecutor	The function that executes a stage, returning the time spent.
+	 * @return	The time spent executing each stage, in milliseconds.
+	 * @throws IOException	If a stage fails while reading a file.
+	 * @throws SAXException	If a stage fails while parsing an XML file.
+	 * @throws InterruptedException	If the loading was interrupted.
+	 */
+	static Map<String, Long> executeStages(final List<Stage> stages, final Executor executor, final ToLongFunction<Stage> stageExecutor)
+			throws IOException, SAXException, InterruptedException{
+		try{
+			final Map<String, Long> timings = new HashMap<>(stages.size());
+			final Map<String, CompletableFuture<Void>> futures = new HashMap<>(stages.size());
+			for(final Stage stage : stages){
+				final List<CompletableFuture<Void>> dependencies = new ArrayList<>(stage.dependencies.length);
+				for(final String dependency : stage.dependencies)
+					dependencies.add(futures.get(dependency));
+
+				final CompletableFuture<Void> future = CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+					.thenRunAsync(() -> {
+						final long time = stageExecutor.applyAsLong(stage);
+						synchronized(timings){
+							timings.put(stage.name, time);
+						}
+					}, executor);
+				futures.put(stage.name, future);
+			}
+
+			CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+				.get();
+
+			return timings;
+		}
+		catch(final ExecutionException ee){
+			final Throwable cause = (ee.getCause() instanceof CompletionException && ee.getCause().getCause() != null
+				? ee.getCause().getCause()
+				: ee.getCause());
+			if(cause instanceof final IOException ioe)
+				throw ioe;
+			if(cause instanceof final SAXException saxe)
+				throw saxe;
+			if(cause instanceof final RuntimeException re)
+				throw re;
+			throw new CompletionException(cause);
+		}
+	}
+
+	/** @return	The time spent executing the stage, in milliseconds. */
+	private long executeStage(final Stage stage){
+		sleepOnPause();
+
+		final TimeWatch watch = TimeWatch.start();
+		try{
+			stage.function.execute();
+		}
+		catch(final IOException | SAXException e){
+			throw new CompletionException(e);
+		}
+		return watch.stop()
+			.time(TimeUnit.MILLISECONDS);
+	}
+
+	private void logExceptionError(final Exception e){
 		final String errorMessage = ExceptionHelper.getMessageNoLineNumber(e);
 		LOGGER.error(ParserManager.MARKER_APPLICATION, errorMessage);
+
+		notifyDiagnostic(Diagnostic.error(-1, null, errorMessage));
 	}
 
 }
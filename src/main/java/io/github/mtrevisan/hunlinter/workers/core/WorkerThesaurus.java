@@ -30,6 +30,7 @@ import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -48,10 +49,10 @@ public class WorkerThesaurus extends WorkerAbstract<WorkerDataParser<ThesaurusPa
 		final List<ThesaurusEntry> entries = loadThesaurus();
 
 		//process thesaurus
-		final Stream<ThesaurusEntry> stream = (workerData.isParallelProcessing()
-			? entries.parallelStream()
-			: entries.stream());
-		processThesaurus(stream, entries.size(), dataProcessor);
+		if(workerData.isParallelProcessing())
+			executeParallel(() -> processThesaurus(entries.parallelStream(), entries.size(), dataProcessor));
+		else
+			processThesaurus(entries.stream(), entries.size(), dataProcessor);
 	}
 
 	private List<ThesaurusEntry> loadThesaurus(){
@@ -82,7 +83,7 @@ public class WorkerThesaurus extends WorkerAbstract<WorkerDataParser<ThesaurusPa
 
 				sleepOnPause();
 			}
-			catch(final LinterException e){
+			catch(final LinterException | CancellationException e){
 				throw e;
 			}
 			catch(final RuntimeException re){
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.diagnostics;
+
+import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
+
+import java.util.function.Supplier;
+
+
+/**
+ * A single finding of a linter.
+ * <p>
+ * The message is kept as its template (which also identifies the kind of finding) and arguments, and is formatted only when
+ * the report is rendered.
+ * </p>
+ *
+ * @param severity	The severity of the finding.
+ * @param index	The (zero-based) line index the finding refers to, or {@code -1} if none.
+ * @param data	The content of the line the finding refers to (can be {@code null}).
+ * @param code	The message template of the finding.
+ * @param arguments	The arguments of the message template.
+ * @param context	An additional description of where the finding originates from (can be {@code null}).
+ */
+public record Diagnostic(Severity severity, int index, Object data, String code, Object[] arguments, Supplier<String> context){
+
+	public enum Severity{ERROR, WARNING}
+
+
+	public static Diagnostic error(final int index, final Object data, final String code, final Object... arguments){
+		return new Diagnostic(Severity.ERROR, index, data, code, arguments, null);
+	}
+
+	public static Diagnostic warning(final int index, final Object data, final String code, final Object... arguments){
+		return new Diagnostic(Severity.WARNING, index, data, code, arguments, null);
+	}
+
+
+	public String getMessage(){
+		final String message = JavaHelper.textFormat(code, arguments);
+		return (context != null? message + " (via " + context.get() + ")": message);
+	}
+
+}
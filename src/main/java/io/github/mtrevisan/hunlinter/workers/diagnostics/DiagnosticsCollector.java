@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+
+/**
+ * Collects the findings emitted by concurrent checks.
+ * <p>
+ * Each thread appends to its own buffer, so that no lock is taken while emitting; the buffers are merged only when the report
+ * is requested.
+ * </p>
+ */
+public class DiagnosticsCollector{
+
+	private static final Comparator<Diagnostic> INDEX_COMPARATOR = Comparator.comparingInt(Diagnostic::index);
+
+
+	private final Queue<List<Diagnostic>> buffers = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<List<Diagnostic>> buffer = ThreadLocal.withInitial(this::createBuffer);
+
+
+	private List<Diagnostic> createBuffer(){
+		final List<Diagnostic> list = new ArrayList<>(0);
+		buffers.add(list);
+		return list;
+	}
+
+	/**
+	 * Creates a sink that binds the findings to the given line.
+	 *
+	 * @param index	The (zero-based) line index.
+	 * @param data	The content of the line.
+	 * @param context	An additional description of where the findings originate from (can be {@code null}).
+	 * @return	The sink.
+	 */
+	public final DiagnosticsSink forLine(final int index, final Object data, final Supplier<String> context){
+		return (severity, code, arguments) -> buffer.get()
+			.add(new Diagnostic(severity, index, data, code, arguments, context));
+	}
+
+	/**
+	 * Removes all the collected findings.
+	 * <p>
+	 * NOTE: must not be called while a check is still emitting.
+	 * </p>
+	 *
+	 * @return	The findings, ordered by line index.
+	 */
+	public final List<Diagnostic> drain(){
+		int size = 0;
+		for(final Collection<Diagnostic> list : buffers)
+			size += list.size();
+
+		final List<Diagnostic> diagnostics = new ArrayList<>(size);
+		for(final List<Diagnostic> list : buffers){
+			diagnostics.addAll(list);
+			list.clear();
+		}
+		diagnostics.sort(INDEX_COMPARATOR);
+		return diagnostics;
+	}
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.diagnostics;
+
+import org.json.simple.JSONValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+
+/**
+ * Writes the findings of one or more workers in a machine-readable format.
+ * <p>
+ * In {@link Format#NDJSON} format each finding (and the summary of each task) is written, as soon as it is received, as a JSON
+ * object on its own line; in {@link Format#JSON} format a single document holding the summaries and the findings is written
+ * on close.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class DiagnosticsJSONWriter implements Closeable{
+
+	public enum Format{JSON, NDJSON}
+
+
+	private final Format format;
+	private final Writer writer;
+
+	private final List<String> tasks = new ArrayList<>(0);
+	private final List<String> diagnostics = new ArrayList<>(0);
+	private int taskErrors;
+	private int taskWarnings;
+	private int errors;
+	private int warnings;
+
+
+	public DiagnosticsJSONWriter(final Format format, final Writer writer){
+		Objects.requireNonNull(format, "Format cannot be null");
+		Objects.requireNonNull(writer, "Writer cannot be null");
+
+		this.format = format;
+		this.writer = writer;
+	}
+
+	/**
+	 * Records a finding.
+	 *
+	 * @param task	The name of the task that produced the finding.
+	 * @param diagnostic	The finding.
+	 */
+	public final synchronized void write(final String task, final Diagnostic diagnostic){
+		if(diagnostic.severity() == Diagnostic.Severity.ERROR){
+			taskErrors ++;
+			errors ++;
+		}
+		else{
+			taskWarnings ++;
+			warnings ++;
+		}
+
+		final StringBuilder sb = new StringBuilder("{");
+		appendField(sb, "type", "diagnostic").append(',');
+		appendField(sb, "task", task).append(',');
+		appendField(sb, "severity", diagnostic.severity().name().toLowerCase(Locale.ROOT));
+		if(diagnostic.index() >= 0)
+			sb.append(",\"line\":").append(diagnostic.index() + 1);
+		sb.append(',');
+		appendField(sb, "message", diagnostic.getMessage());
+		if(diagnostic.data() != null){
+			sb.append(',');
+			appendField(sb, "data", diagnostic.data().toString());
+		}
+		sb.append('}');
+		emit(sb.toString(), diagnostics);
+	}
+
+	/**
+	 * Records the end of a task, along with the number of findings received since the previous task ended.
+	 *
+	 * @param task	The name of the task.
+	 * @param timeMillis	The time spent executing the task, in milliseconds.
+	 */
+	public final synchronized void endTask(final String task, final long timeMillis){
+		final StringBuilder sb = new StringBuilder("{");
+		appendField(sb, "type", "task").append(',');
+		appendField(sb, "task", task)
+			.append(",\"errors\":").append(taskErrors)
+			.append(",\"warnings\":").append(taskWarnings)
+			.append(",\"time\":").append(timeMillis)
+			.append('}');
+		emit(sb.toString(), tasks);
+
+		taskErrors = 0;
+		taskWarnings = 0;
+	}
+
+	public final synchronized int getErrors(){
+		return errors;
+	}
+
+	public final synchronized int getWarnings(){
+		return warnings;
+	}
+
+	private void emit(final String json, final List<String> document){
+		if(format == Format.NDJSON){
+			try{
+				writer.write(json);
+				writer.write('\n');
+				writer.flush();
+			}
+			catch(final IOException ioe){
+				throw new UncheckedIOException(ioe);
+			}
+		}
+		else
+			document.add(json);
+	}
+
+	@Override
+	public final synchronized void close() throws IOException{
+		if(format == Format.JSON){
+			writer.write("{\"tasks\":[");
+			writer.write(String.join(",", tasks));
+			writer.write("],\"errors\":" + errors + ",\"warnings\":" + warnings + ",\"diagnostics\":[\n");
+			writer.write(String.join(",\n", diagnostics));
+			writer.write("\n]}\n");
+		}
+		writer.flush();
+		writer.close();
+	}
+
+	private static StringBuilder appendField(final StringBuilder sb, final String key, final String value){
+		return sb.append('"').append(key).append("\":\"").append(JSONValue.escape(value)).append('"');
+	}
+
+}
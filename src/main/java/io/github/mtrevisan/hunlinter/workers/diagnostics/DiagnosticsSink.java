@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.diagnostics;
+
+import io.github.mtrevisan.hunlinter.services.eventbus.EventBusService;
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
+
+
+/** Receiver of the findings of a check, to be reported without throwing an exception for each of them. */
+@FunctionalInterface
+public interface DiagnosticsSink{
+
+	void emit(Diagnostic.Severity severity, String code, Object... arguments);
+
+	default void error(final String code, final Object... arguments){
+		emit(Diagnostic.Severity.ERROR, code, arguments);
+	}
+
+	default void warning(final String code, final Object... arguments){
+		emit(Diagnostic.Severity.WARNING, code, arguments);
+	}
+
+
+	/**
+	 * Sink that behaves as the checks did before the introduction of the sinks: errors are thrown as {@link LinterException},
+	 * warnings are published as {@link LinterWarning}.
+	 *
+	 * @param index	The line index the findings refer to.
+	 * @return	The sink.
+	 */
+	static DiagnosticsSink throwing(final int index){
+		return (severity, code, arguments) -> {
+			if(severity == Diagnostic.Severity.ERROR)
+				throw new LinterException(code, arguments);
+
+			EventBusService.publishBatched(new LinterWarning(code, arguments)
+				.withIndex(index));
+		};
+	}
+
+}
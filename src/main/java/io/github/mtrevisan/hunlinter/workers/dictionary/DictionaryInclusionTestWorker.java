@@ -24,10 +24,11 @@
  */
 package io.github.mtrevisan.hunlinter.workers.dictionary;
 
-import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.BloomFilterInterface;
-import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.BloomFilterParameters;
-import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.ScalableInMemoryBloomFilter;
-import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.ExternalSequenceSorter;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.lookup.FSAMatchResult;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.lookup.FSATraversal;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.CFSASerializer;
 import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
@@ -35,27 +36,56 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntryFactory;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.text.StringHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 
+/**
+ * Builds an exact index of all the inflections of the dictionary, stored as a minimal acyclic FSA.
+ * <p>
+ * The automaton is cached on disk, keyed by the hashes of the affix and dictionary files, and memory-mapped on reuse, so that
+ * subsequent constructions on an unchanged project do not need to expand the dictionary again.
+ * Only the latest automaton of each dictionary is kept, up to {@value #MAX_CACHED_DICTIONARIES} dictionaries.
+ * </p>
+ */
 public class DictionaryInclusionTestWorker extends WorkerDictionary{
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(DictionaryInclusionTestWorker.class);
 
 	private static final String WORKER_NAME = "Dictionary inclusion test";
 
-	private final BloomFilterInterface<String> dictionary;
+	private static final String CACHE_FILENAME_PREFIX = "inclusion-";
+	private static final String CACHE_FILENAME_EXTENSION = ".fsa";
+	private static final int MAX_CACHED_DICTIONARIES = 4;
+
+
+	/**
+	 * @param cachePath	The path of the cached automaton ({@code null} if the cache cannot be used).
+	 * @param fsa	The automaton loaded from the cache, or {@code null} if the dictionary has been read (and the automaton has
+	 * 	to be built).
+	 */
+	private record CacheLookup(Path cachePath, FSAAbstract fsa){}
+
+	private FSATraversal dictionary;
 
 
 	public DictionaryInclusionTestWorker(final AffixData affixData, final DictionaryParser dicParser){
@@ -72,41 +102,49 @@ public class DictionaryInclusionTestWorker extends WorkerDictionary{
 		final WordGeneratorAffixRules wordGeneratorAffixRules = new WordGeneratorAffixRules(affixData, null);
 
 
-		final BloomFilterParameters dictionaryBaseData = BaseBuilder.getDictionaryBaseData(language);
-		dictionary = new ScalableInMemoryBloomFilter<>(dicParser.getCharset(), dictionaryBaseData);
-
+		final ExternalSequenceSorter encodings = ExternalSequenceSorter.withAvailableMemory();
 		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
 			final DictionaryEntry dicEntry = dictionaryEntryFactory.createFromDictionaryLine(indexData.getData());
 			final List<Inflection> inflections = wordGeneratorAffixRules.applyAffixRules(dicEntry);
 
+			//hand the sequences of the line over to the (synchronized) sorter all at once
+			final List<byte[]> lineEncodings = new ArrayList<>(inflections.size());
 			for(int i = 0; i < inflections.size(); i ++)
-				dictionary.add(inflections.get(i).getWord());
+				lineEncodings.add(StringHelper.getRawBytes(inflections.get(i).getWord()));
+			encodings.addAll(lineEncodings);
 		};
-		final Consumer<Exception> cancelled = exception -> dictionary.close();
+		final Consumer<Exception> cancelled = exception -> encodings.close();
 
 		getWorkerData()
 			.withDataCancelledCallback(cancelled);
 
-		final Function<Void, Void> step1 = ignored -> {
+		final Path dicPath = dicParser.getDicFile()
+			.toPath();
+		final Function<Void, CacheLookup> step1 = ignored -> {
 			prepareProcessing("Execute " + workerData.getWorkerName());
 
-			final Path dicPath = dicParser.getDicFile()
-				.toPath();
-			final Charset charset = dicParser.getCharset();
-			processLines(dicPath, charset, lineProcessor);
-
-			return null;
+			//the validity of the cache is decided here once: whenever it cannot be loaded, the dictionary is read
+			final Path cachePath = getCachePath(affixData, dicPath);
+			final FSAAbstract fsa = loadFromCache(cachePath);
+			if(fsa == null){
+				final Charset charset = dicParser.getCharset();
+				processLines(dicPath, charset, lineProcessor);
+			}
+			return new CacheLookup(cachePath, fsa);
 		};
-		final Function<Void, Void> step2 = ignored -> {
-			dictionary.close();
+		final Function<CacheLookup, Void> step2 = lookup -> {
+			FSAAbstract fsa = lookup.fsa;
+			if(fsa == null){
+				//the sorter has been filled by step 1
+				final AtomicLong totalUniqueInflections = new AtomicLong();
+				fsa = buildAutomaton(encodings, totalUniqueInflections);
+
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Total unique inflections: {}",
+					DictionaryParser.COUNTER_FORMATTER.format(totalUniqueInflections.get()));
 
-			final int totalUniqueInflections = dictionary.getAddedElements();
-			final double falsePositiveProbability = dictionary.getTrueFalsePositiveProbability();
-			final int falsePositiveCount = (int)Math.ceil(totalUniqueInflections * falsePositiveProbability);
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Total unique inflections: {} ± {} ({})",
-				DictionaryParser.COUNTER_FORMATTER.format(totalUniqueInflections),
-				DictionaryParser.PERCENT_FORMATTER.format(falsePositiveProbability),
-				falsePositiveCount);
+				storeToCache(fsa, lookup.cachePath, dicPath);
+			}
+			dictionary = new FSATraversal(fsa);
 
 			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
 
@@ -115,8 +153,80 @@ public class DictionaryInclusionTestWorker extends WorkerDictionary{
 		setProcessor(step1.andThen(step2));
 	}
 
+	private static Path getCachePath(final AffixData affixData, final Path dicPath){
+		final String affixHash = affixData.getContentHash();
+		if(affixHash == null)
+			return null;
+
+		try{
+			final String dictionaryHash = FileHelper.calculateContentHash(dicPath);
+			return FileHelper.getCachePath(getCacheFilenamePrefix(dicPath) + affixHash + "-" + dictionaryHash
+				+ CACHE_FILENAME_EXTENSION);
+		}
+		catch(final IOException ioe){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot access the inclusion index cache: {}", ioe.getMessage());
+
+			return null;
+		}
+	}
+
+	/** @return	The prefix shared by all the cached automata of the given dictionary. */
+	private static String getCacheFilenamePrefix(final Path dicPath){
+		final String dictionaryId = Integer.toHexString(dicPath.toAbsolutePath().normalize().toString().hashCode());
+		return CACHE_FILENAME_PREFIX + dictionaryId + "-";
+	}
+
+	private static FSAAbstract loadFromCache(final Path cachePath){
+		if(cachePath == null || !Files.exists(cachePath))
+			return null;
+
+		try{
+			final FSAAbstract fsa = FSAAbstract.read(cachePath);
+			FileHelper.touchCacheFile(cachePath);
+
+			LOGGER.info(ParserManager.MARKER_APPLICATION, "Inclusion index loaded from cache");
+
+			return fsa;
+		}
+		catch(final IOException | RuntimeException e){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot read the inclusion index cache: {}", e.getMessage());
+
+			return null;
+		}
+	}
+
+	private static void storeToCache(final FSAAbstract fsa, final Path cachePath, final Path dicPath){
+		if(cachePath == null)
+			return;
+
+		Path temporaryPath = null;
+		try{
+			//write to a temporary file first, so that a concurrent reader never sees a partial index
+			temporaryPath = Files.createTempFile(cachePath.getParent(), CACHE_FILENAME_PREFIX, null);
+			try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(temporaryPath))){
+				new CFSASerializer()
+					.serialize(fsa, os, null);
+			}
+			Files.move(temporaryPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+
+			//drop the automata of previous versions of this dictionary, then the least recently used ones
+			FileHelper.trimCache(getCacheFilenamePrefix(dicPath), CACHE_FILENAME_EXTENSION, 1, Long.MAX_VALUE);
+			FileHelper.trimCache(CACHE_FILENAME_PREFIX, CACHE_FILENAME_EXTENSION, MAX_CACHED_DICTIONARIES, Long.MAX_VALUE);
+		}
+		catch(final IOException ioe){
+			LOGGER.warn(ParserManager.MARKER_APPLICATION, "Cannot write the inclusion index cache: {}", ioe.getMessage());
+
+			try{
+				if(temporaryPath != null)
+					Files.deleteIfExists(temporaryPath);
+			}
+			catch(final IOException ignored){}
+		}
+	}
+
 	public final boolean isInDictionary(final String word){
-		return dictionary.contains(word);
+		final byte[] sequence = StringHelper.getRawBytes(word);
+		return (dictionary != null && sequence.length > 0 && dictionary.match(sequence).kind == FSAMatchResult.EXACT_MATCH);
 	}
 
 }
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Keeps the outcome of the last dictionary lint, line by line, so that a subsequent lint of a modified dictionary needs to
+ * expand and check only the lines that were added or changed.
+ * <p>
+ * Results are keyed by a hash of the content of the line, so moving a line around does not invalidate it, together with the
+ * version of the rules the line was checked against. The rules version is bumped (and the whole cache discarded) whenever the
+ * affix file, the correctness checker, or the word generator change, as they determine the result of each line.
+ * </p>
+ */
+public class DictionaryLintCache{
+
+	/**
+	 * The outcome of the lint of a single dictionary line.
+	 *
+	 * @param errors	The number of errors reported for the line.
+	 * @param usedFlags	The flags used while inflecting the line.
+	 */
+	record LineResult(int errors, String[] usedFlags){}
+
+	/**
+	 * The key of a dictionary line.
+	 *
+	 * @param hash	The 64-bit hash of the content of the line.
+	 * @param rulesVersion	The version of the rules the line is checked against.
+	 */
+	record LineKey(long hash, int rulesVersion){}
+
+
+	private static final long FNV_OFFSET_BASIS = 0xCBF2_9CE4_8422_2325l;
+	private static final long FNV_PRIME = 0x0000_0100_0000_01B3l;
+
+
+	private String affixHash;
+	private DictionaryCorrectnessChecker checker;
+	private WordGenerator wordGenerator;
+	private volatile int rulesVersion;
+
+	private volatile Map<LineKey, LineResult> results = Collections.emptyMap();
+	private Map<LineKey, LineResult> pendingResults;
+
+
+	/**
+	 * Whether a lint was completed since the last invalidation.
+	 *
+	 * @return	Whether there are results to compare against.
+	 */
+	public final synchronized boolean hasResults(){
+		return (affixHash != null);
+	}
+
+	public final synchronized void clear(){
+		affixHash = null;
+		checker = null;
+		wordGenerator = null;
+		rulesVersion ++;
+		results = Collections.emptyMap();
+		pendingResults = null;
+	}
+
+	/**
+	 * Starts a new lint.
+	 *
+	 * @param affixHash	The content hash of the affix file.
+	 * @param checker	The correctness checker used by the lint.
+	 * @param wordGenerator	The word generator used by the lint.
+	 * @return	Whether the results of the previous lint can be reused.
+	 */
+	final synchronized boolean begin(final String affixHash, final DictionaryCorrectnessChecker checker,
+			final WordGenerator wordGenerator){
+		final boolean valid = (affixHash != null && affixHash.equals(this.affixHash)
+			&& checker == this.checker && wordGenerator == this.wordGenerator);
+		if(!valid){
+			rulesVersion ++;
+			results = Collections.emptyMap();
+		}
+		pendingResults = new ConcurrentHashMap<>(Math.max(results.size(), 16));
+		return valid;
+	}
+
+	/**
+	 * Computes the key of a line against the current version of the rules.
+	 *
+	 * @param line	The dictionary line.
+	 * @return	The key of the line.
+	 */
+	final LineKey keyOf(final String line){
+		//FNV-1a over the characters of the line
+		long hash = FNV_OFFSET_BASIS;
+		for(int i = 0; i < line.length(); i ++){
+			hash ^= line.charAt(i);
+			hash *= FNV_PRIME;
+		}
+		return new LineKey(hash, rulesVersion);
+	}
+
+	final LineResult get(final LineKey key){
+		return results.get(key);
+	}
+
+	final void put(final LineKey key, final LineResult result){
+		Objects.requireNonNull(result, "Result cannot be null");
+
+		final Map<LineKey, LineResult> pending = pendingResults;
+		if(pending != null && key.rulesVersion() == rulesVersion)
+			pending.put(key, result);
+	}
+
+	/**
+	 * Makes the results collected since the last {@link #begin(String, DictionaryCorrectnessChecker, WordGenerator) begin} the
+	 * reference for the next lint; lines no longer present in the dictionary are dropped.
+	 *
+	 * @param affixHash	The content hash of the affix file.
+	 * @param checker	The correctness checker used by the lint.
+	 * @param wordGenerator	The word generator used by the lint.
+	 */
+	final synchronized void commit(final String affixHash, final DictionaryCorrectnessChecker checker,
+			final WordGenerator wordGenerator){
+		if(pendingResults == null)
+			return;
+
+		this.affixHash = affixHash;
+		this.checker = checker;
+		this.wordGenerator = wordGenerator;
+		results = pendingResults;
+		pendingResults = null;
+	}
+
+}
@@ -33,27 +33,41 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator
 import io.github.mtrevisan.hunlinter.parsers.vos.AffixEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.BoundedCache;
+import io.github.mtrevisan.hunlinter.services.system.Memoizer;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsCollector;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsSink;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 
 public class DictionaryLinterWorker extends WorkerDictionary{
 
+	private static final Logger LOGGER = LoggerFactory.getLogger(DictionaryLinterWorker.class);
+
 	public static final String WORKER_NAME = "Dictionary linter";
 
 	private static final String UNUSED_FLAGS = "Unused flags: {}";
@@ -61,12 +75,30 @@ public class DictionaryLinterWorker extends WorkerDictionary{
 
 
 	public DictionaryLinterWorker(final ParserManager parserManager, final Consumer<Exception> onCancelled){
+		this(parserManager, null, false, onCancelled);
+	}
+
+	/**
+	 * @param parserManager	The parser manager.
+	 * @param lintCache	The results of the previous lint, updated at the end of this one (can be {@code null}).
+	 * @param incremental	Whether to check only the lines added or changed since the previous lint; the diagnostics of the
+	 * 	unchanged lines were already reported then and are not repeated.
+	 * @param onCancelled	The callback invoked on cancellation.
+	 */
+	public DictionaryLinterWorker(final ParserManager parserManager, final DictionaryLintCache lintCache, final boolean incremental,
+			final Consumer<Exception> onCancelled){
 		this(parserManager.getAffParser(), parserManager.getDicParser(), parserManager.getChecker(), parserManager.getWordGenerator(),
-			onCancelled);
+			lintCache, incremental, onCancelled);
 	}
 
 	public DictionaryLinterWorker(final AffixParser affParser, final DictionaryParser dicParser, final DictionaryCorrectnessChecker checker,
 			final WordGenerator wordGenerator, final Consumer<Exception> onCancelled){
+		this(affParser, dicParser, checker, wordGenerator, null, false, onCancelled);
+	}
+
+	private DictionaryLinterWorker(final AffixParser affParser, final DictionaryParser dicParser,
+			final DictionaryCorrectnessChecker checker, final WordGenerator wordGenerator, final DictionaryLintCache lintCache,
+			final boolean incremental, final Consumer<Exception> onCancelled){
 		super(new WorkerDataParser<>(WORKER_NAME, dicParser));
 
 		getWorkerData()
@@ -78,10 +110,36 @@ public class DictionaryLinterWorker extends WorkerDictionary{
 		//collectors of flags
 		final Set<String> usedFlags = ConcurrentHashMap.newKeySet();
 //		final Map<String, Set<AffixEntry>> usedFlags = new ConcurrentHashMap();
+		//collectors of the incremental statistics
+		final boolean[] reusePreviousResults = new boolean[1];
+		final LongAdder checkedLines = new LongAdder();
+		final LongAdder totalLines = new LongAdder();
+		final LongAdder unchangedErrors = new LongAdder();
+		final DiagnosticsCollector diagnostics = new DiagnosticsCollector();
 
 		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
-			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(indexData.getData());
-			checker.checkCircumfix(dicEntry);
+			final String line = indexData.getData();
+			totalLines.increment();
+			final DictionaryLintCache.LineKey key = (lintCache != null? lintCache.keyOf(line): null);
+			if(reusePreviousResults[0]){
+				final DictionaryLintCache.LineResult previousResult = lintCache.get(key);
+				if(previousResult != null){
+					Collections.addAll(usedFlags, previousResult.usedFlags());
+					unchangedErrors.add(previousResult.errors());
+					lintCache.put(key, previousResult);
+					return;
+				}
+			}
+			checkedLines.increment();
+
+			final Set<String> lineFlags = new HashSet<>(0);
+			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(line);
+			if(!checker.checkCircumfix(dicEntry, diagnostics.forLine(indexData.getIndex(), line, null))){
+				if(lintCache != null)
+					lintCache.put(key, new DictionaryLintCache.LineResult(1, new String[0]));
+				return;
+			}
+
 			final Collection<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
 //enforce prefixes flags after suffixes
 //boolean prefix = false;
@@ -99,32 +157,11 @@ public class DictionaryLinterWorker extends WorkerDictionary{
 //		}
 //	}
 
-			Iterator<Inflection> itr = inflections.iterator();
-			while(itr.hasNext()){
-				final Inflection inflection = itr.next();
-				itr.remove();
+			final int errors = checkInflections(checker, inflections, indexData, diagnostics, lineFlags, this::manageException);
 
-				final AffixEntry[] appliedRules = inflection.getAppliedRules();
-				for(int j = 0; j < appliedRules.length; j ++){
-					final AffixEntry appliedRule = appliedRules[j];
-					usedFlags.add(appliedRule.getFlag());
-//					usedFlags.computeIfAbsent(appliedRule.getFlag(), k -> new HashSet<>(1))
-//						.add(appliedRule);
-				}
-
-				try{
-					checker.checkInflection(inflection, indexData.getIndex());
-				}
-				catch(final RuntimeException re){
-					final LinterException wrappedException = wrapException(re, inflection, indexData);
-					manageException(wrappedException);
-
-					//remove all inflections derived from this one
-					final AffixEntry lastAppliedRule = inflection.getLastAppliedRule();
-					if(lastAppliedRule != null)
-						itr = removeDerivedInflections(lastAppliedRule.getFlag(), inflections);
-				}
-			}
+			usedFlags.addAll(lineFlags);
+			if(lintCache != null)
+				lintCache.put(key, new DictionaryLintCache.LineResult(errors, lineFlags.toArray(String[]::new)));
 		};
 
 		getWorkerData()
@@ -133,10 +170,34 @@ public class DictionaryLinterWorker extends WorkerDictionary{
 		final Function<Void, List<IndexDataPair<String>>> step1 = ignored -> {
 			prepareProcessing("Execute " + workerData.getWorkerName());
 
+			final String affixHash = affParser.getAffixData()
+				.getContentHash();
+			if(lintCache != null){
+				final boolean previousResultsValid = lintCache.begin(affixHash, checker, wordGenerator);
+				reusePreviousResults[0] = (incremental && previousResultsValid);
+				if(incremental && !previousResultsValid)
+					LOGGER.info(ParserManager.MARKER_APPLICATION, "Previous lint results are outdated, checking the whole dictionary");
+			}
+
 			final Path dicPath = dicParser.getDicFile()
 				.toPath();
 			final Charset charset = dicParser.getCharset();
-			processLines(dicPath, charset, lineProcessor);
+			try{
+				processLines(dicPath, charset, lineProcessor);
+			}
+			finally{
+				for(final Diagnostic diagnostic : diagnostics.drain())
+					report(diagnostic);
+			}
+
+			if(lintCache != null)
+				lintCache.commit(affixHash, checker, wordGenerator);
+			if(reusePreviousResults[0])
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Checked {} added or changed lines out of {} ({} errors still in the unchanged lines)",
+					checkedLines.sum(), totalLines.sum(), unchangedErrors.sum());
+			if(LOGGER.isDebugEnabled())
+				for(final BoundedCache.Statistics statistics : Memoizer.getStatistics())
+					LOGGER.debug(ParserManager.MARKER_APPLICATION, "Cache {}", statistics);
 
 			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
 
@@ -176,6 +237,94 @@ public class DictionaryLinterWorker extends WorkerDictionary{
 		setProcessor(step1);
 	}
 
+	/**
+	 * Creates the receiver that lints the inflections of a dictionary pass.
+	 * <p>
+	 * NOTE: the lint is always performed on the whole dictionary, without reusing the results of a previous lint.
+	 * </p>
+	 *
+	 * @param affixData	The affix data.
+	 * @param checker	The correctness checker.
+	 * @return	The receiver of the inflections.
+	 */
+	public static InflectionConsumer<Set<String>> createInflectionConsumer(final AffixData affixData,
+			final DictionaryCorrectnessChecker checker){
+		Objects.requireNonNull(affixData, "Affix data cannot be null");
+		Objects.requireNonNull(checker, "Checker cannot be null");
+
+		final DiagnosticsCollector diagnostics = new DiagnosticsCollector();
+		return new InflectionConsumer<>(){
+			@Override
+			public Set<String> createState(){
+				return new HashSet<>(0);
+			}
+
+			@Override
+			public void accept(final Set<String> usedFlags, final IndexDataPair<String> indexData, final DictionaryEntry dicEntry,
+					final List<Inflection> inflections){
+				final int index = indexData.getIndex();
+				final String line = indexData.getData();
+				if(checker.checkCircumfix(dicEntry, diagnostics.forLine(index, line, null)))
+					checkInflections(checker, new ArrayList<>(inflections), indexData, diagnostics, usedFlags,
+						le -> diagnostics.forLine(index, line, null)
+							.error("{}", le.getMessage()));
+			}
+
+			@Override
+			public void merge(final Collection<Set<String>> states, final InflectionConsumer.MergeContext context){
+				final List<Diagnostic> findings = diagnostics.drain();
+				for(int i = 0; i < findings.size(); i ++)
+					context.reporter().accept(findings.get(i));
+
+				final Set<String> unusedFlags = affixData.getProductableFlags();
+				for(final Set<String> usedFlags : states)
+					unusedFlags.removeAll(usedFlags);
+				if(!unusedFlags.isEmpty())
+					context.reporter().accept(Diagnostic.warning(-1, null, UNUSED_FLAGS, StringUtils.join(unusedFlags, ", ")));
+			}
+		};
+	}
+
+	private static int checkInflections(final DictionaryCorrectnessChecker checker, final Collection<Inflection> inflections,
+			final IndexDataPair<String> indexData, final DiagnosticsCollector diagnostics, final Set<String> lineFlags,
+			final Consumer<LinterException> exceptionHandler){
+		int errors = 0;
+		Iterator<Inflection> itr = inflections.iterator();
+		while(itr.hasNext()){
+			final Inflection inflection = itr.next();
+			itr.remove();
+
+			final AffixEntry[] appliedRules = inflection.getAppliedRules();
+			for(int j = 0; j < appliedRules.length; j ++){
+				final AffixEntry appliedRule = appliedRules[j];
+				lineFlags.add(appliedRule.getFlag());
+//				usedFlags.computeIfAbsent(appliedRule.getFlag(), k -> new HashSet<>(1))
+//					.add(appliedRule);
+			}
+
+			boolean correct;
+			try{
+				final DiagnosticsSink sink = diagnostics.forLine(indexData.getIndex(), indexData.getData(),
+					(inflection.hasInflectionRules()? inflection::getRulesSequence: null));
+				correct = checker.checkInflection(inflection, sink);
+			}
+			catch(final RuntimeException re){
+				final LinterException wrappedException = wrapException(re, inflection, indexData);
+				exceptionHandler.accept(wrappedException);
+				correct = false;
+			}
+			if(!correct){
+				errors ++;
+
+				//remove all inflections derived from this one
+				final AffixEntry lastAppliedRule = inflection.getLastAppliedRule();
+				if(lastAppliedRule != null)
+					itr = removeDerivedInflections(lastAppliedRule.getFlag(), inflections);
+			}
+		}
+		return errors;
+	}
+
 	private static Iterator<Inflection> removeDerivedInflections(final String lastAppliedRuleFlag, final Iterable<Inflection> inflections){
 		final Iterator<Inflection> itr = inflections.iterator();
 		while(itr.hasNext())
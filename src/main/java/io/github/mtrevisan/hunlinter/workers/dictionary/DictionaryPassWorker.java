@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.parsers.ParserManager;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Expands each dictionary entry once and hands its inflections over to several consumers (see the
+ * {@code createInflectionConsumer} methods of the dictionary workers), so that running them together costs a single expansion
+ * of the dictionary.
+ */
+public class DictionaryPassWorker extends WorkerDictionary{
+
+	public static final String WORKER_NAME = "Dictionary pass";
+
+
+	public DictionaryPassWorker(final ParserManager parserManager, final List<? extends InflectionConsumer<?>> consumers,
+			final Consumer<Exception> onCancelled){
+		this(parserManager.getDicParser(), parserManager.getWordGenerator(), consumers, onCancelled);
+	}
+
+	public DictionaryPassWorker(final DictionaryParser dicParser, final WordGenerator wordGenerator,
+			final List<? extends InflectionConsumer<?>> consumers, final Consumer<Exception> onCancelled){
+		super(new WorkerDataParser<>(WORKER_NAME, dicParser));
+
+		getWorkerData()
+			.withParallelProcessing()
+			.withDataCancelledCallback(onCancelled);
+
+		Objects.requireNonNull(wordGenerator, "Word generator cannot be null");
+		Objects.requireNonNull(consumers, "Consumers cannot be null");
+
+
+		final Function<Void, Void> step1 = ignored -> {
+			prepareProcessing("Execute " + workerData.getWorkerName() + " (" + consumers.size() + " consumers)");
+
+			final Path dicPath = dicParser.getDicFile()
+				.toPath();
+			final Charset charset = dicParser.getCharset();
+			processInflections(dicPath, charset, wordGenerator, consumers);
+
+			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
+
+			return null;
+		};
+		setProcessor(step1);
+	}
+
+}
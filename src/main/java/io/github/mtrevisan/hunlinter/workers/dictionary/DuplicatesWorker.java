@@ -39,6 +39,8 @@ import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.ParserHelper;
 import io.github.mtrevisan.hunlinter.workers.WorkerManager;
+import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
@@ -51,6 +53,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -103,15 +106,83 @@ public class DuplicatesWorker extends WorkerDictionary{
 
 	}
 
-	public static final String WORKER_NAME = "Duplicates extraction";
+	/**
+	 * Collects the inflections that are generated more than once.
+	 * <p>
+	 * Lines are accepted concurrently, but a duplicate can come from any two lines, so all threads share the same filters: the
+	 * inflections of a line are added under a lock (the text of each inflection is computed outside of it).
+	 * </p>
+	 */
+	private static final class DuplicatesCollector implements InflectionConsumer<Void>{
 
-	private static final int MAX_DUPLICATES = 1_000;
+		private final Object lock = new Object();
+		private final BloomFilterInterface<String> bloomFilter;
+		private final BloomFilterInterface<String> duplicatesBloomFilter;
+		private volatile boolean full;
 
 
-	private final DictionaryParser dicParser;
-	private final WordGenerator wordGenerator;
+		DuplicatesCollector(final Charset charset, final BloomFilterParameters dictionaryBaseData){
+			bloomFilter = new ScalableInMemoryBloomFilter<>(charset, dictionaryBaseData);
+			duplicatesBloomFilter = new ScalableInMemoryBloomFilter<>(charset, DuplicatesDictionaryBaseData.getInstance());
+		}
 
-	private final BloomFilterParameters dictionaryBaseData;
+		BloomFilterInterface<String> getDuplicatesBloomFilter(){
+			return duplicatesBloomFilter;
+		}
+
+		@Override
+		public Void createState(){
+			return null;
+		}
+
+		@Override
+		public void accept(final Void state, final IndexDataPair<String> indexData, final DictionaryEntry dicEntry,
+				final List<Inflection> inflections){
+			if(full)
+				return;
+
+			final int size = inflections.size();
+			final String[] texts = new String[size];
+			for(int i = 0; i < size; i ++)
+				texts[i] = inflections.get(i).toStringWithPartOfSpeech();
+
+			synchronized(lock){
+				for(int i = 0; !full && i < size; i ++)
+					if(!bloomFilter.add(texts[i])){
+						duplicatesBloomFilter.add(texts[i]);
+
+						full = (duplicatesBloomFilter.getAddedElements() == MAX_DUPLICATES);
+					}
+			}
+		}
+
+		@Override
+		public void merge(final Collection<Void> states, final InflectionConsumer.MergeContext context){
+			bloomFilter.close();
+			final int totalInflections = bloomFilter.getAddedElements();
+			final double falsePositiveProbability = bloomFilter.getTrueFalsePositiveProbability();
+			bloomFilter.clear();
+
+			duplicatesBloomFilter.close();
+
+			final int falsePositiveCount = (int)Math.ceil(totalInflections * falsePositiveProbability);
+			if(duplicatesBloomFilter.getAddedElements() == MAX_DUPLICATES){
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Maximum duplications reached");
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections processed: {}",
+					DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
+			}
+			else
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections: {}",
+					DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
+			LOGGER.info(ParserManager.MARKER_APPLICATION, "False positive probability is {} (overall duplicates ≲ {})",
+				DictionaryParser.PERCENT_FORMATTER.format(falsePositiveProbability), falsePositiveCount);
+		}
+
+	}
+
+	public static final String WORKER_NAME = "Duplicates extraction";
+
+	private static final int MAX_DUPLICATES = 1_000;
 
 
 	public DuplicatesWorker(final ParserManager parserManager, final Consumer<Exception> onCancelled, final File outputFile){
@@ -124,27 +195,39 @@ public class DuplicatesWorker extends WorkerDictionary{
 
 		getWorkerData()
 			.withParallelProcessing()
-			.withDataCancelledCallback(onCancelled)
-			.withCancelOnException();
+			.withDataCancelledCallback(onCancelled);
 
 		Objects.requireNonNull(language, "Language cannot be null");
 		Objects.requireNonNull(wordGenerator, "Word generator cannot be null");
 		Objects.requireNonNull(outputFile, "Output file cannot be null");
 
 
-		this.dicParser = dicParser;
-		this.wordGenerator = wordGenerator;
+		final BloomFilterParameters dictionaryBaseData = BaseBuilder.getDictionaryBaseData(language);
+		final Charset charset = dicParser.getCharset();
+		final ProgressCallback progressCallback = percent -> {
+			setWorkerProgress(percent);
 
-		dictionaryBaseData = BaseBuilder.getDictionaryBaseData(language);
+			sleepOnPause();
+		};
 
 		final Function<Void, BloomFilterInterface<String>> step1 = ignored -> {
 			prepareProcessing("Reading dictionary file (step 1/3)");
 
-			return collectDuplicates();
+			final DuplicatesCollector collector = new DuplicatesCollector(charset, dictionaryBaseData);
+			final Path dicPath = dicParser.getDicFile()
+				.toPath();
+			processInflections(dicPath, charset, wordGenerator, List.of(collector));
+
+			return collector.getDuplicatesBloomFilter();
+		};
+		final Function<BloomFilterInterface<String>, Collection<List<Duplicate>>> step2 = duplicatesBloomFilter -> {
+			if(duplicatesBloomFilter.getAddedElements() > 0)
+				resetProcessing("Extracting duplicates (step 2/3)");
+
+			return extractDuplicates(dicParser, wordGenerator, duplicatesBloomFilter, progressCallback);
 		};
-		final Function<BloomFilterInterface<String>, Collection<List<Duplicate>>> step2 = this::extractDuplicates;
 		final Function<Collection<List<Duplicate>>, File> step3 = duplicates -> {
-			writeDuplicates(outputFile, duplicates);
+			writeDuplicates(outputFile, duplicates, charset, progressCallback);
 
 			finalizeProcessing("Duplicates extracted successfully");
 
@@ -154,71 +237,54 @@ public class DuplicatesWorker extends WorkerDictionary{
 		setProcessor(step1.andThen(step2).andThen(step3).andThen(step4));
 	}
 
-	private BloomFilterInterface<String> collectDuplicates(){
-		final File dicFile = dicParser.getDicFile();
-		final Charset charset = dicParser.getCharset();
-
-		final BloomFilterInterface<String> bloomFilter = new ScalableInMemoryBloomFilter<>(charset, dictionaryBaseData);
-		final BloomFilterInterface<String> duplicatesBloomFilter = new ScalableInMemoryBloomFilter<>(charset,
-			DuplicatesDictionaryBaseData.getInstance());
+	/**
+	 * Creates the receiver that extracts the duplicates out of the inflections of a dictionary pass.
+	 * <p>
+	 * NOTE: if some duplicates are found, the dictionary is read once more to find out where they come from.
+	 * </p>
+	 *
+	 * @param language	The language of the dictionary.
+	 * @param dicParser	The dictionary parser.
+	 * @param wordGenerator	The word generator.
+	 * @param outputFile	The file the duplicates are written into.
+	 * @return	The receiver of the inflections.
+	 */
+	public static InflectionConsumer<Void> createInflectionConsumer(final String language, final DictionaryParser dicParser,
+			final WordGenerator wordGenerator, final File outputFile){
+		Objects.requireNonNull(language, "Language cannot be null");
+		Objects.requireNonNull(wordGenerator, "Word generator cannot be null");
+		Objects.requireNonNull(outputFile, "Output file cannot be null");
 
-		final BiConsumer<Integer, String> fun = (lineIndex, line) -> {
-			try{
-				if(duplicatesBloomFilter.getAddedElements() == MAX_DUPLICATES)
-					return;
+		final Charset charset = dicParser.getCharset();
+		final DuplicatesCollector collector = new DuplicatesCollector(charset, BaseBuilder.getDictionaryBaseData(language));
+		return new InflectionConsumer<>(){
+			@Override
+			public Void createState(){
+				return null;
+			}
 
-				final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(line);
-				final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
+			@Override
+			public void accept(final Void state, final IndexDataPair<String> indexData, final DictionaryEntry dicEntry,
+					final List<Inflection> inflections){
+				collector.accept(state, indexData, dicEntry, inflections);
+			}
 
-				for(int i = 0; i < inflections.size(); i ++){
-					final String str = inflections.get(i).toStringWithPartOfSpeech();
-					if(!bloomFilter.add(str)){
-						duplicatesBloomFilter.add(str);
+			@Override
+			public void merge(final Collection<Void> states, final InflectionConsumer.MergeContext context){
+				collector.merge(states, context);
 
-						if(duplicatesBloomFilter.getAddedElements() == MAX_DUPLICATES)
-							break;
-					}
-				}
-			}
-			catch(final LinterException e){
-				LOGGER.info(ParserManager.MARKER_APPLICATION, "{}, line {}: {}", e.getMessage(), lineIndex + 1, line);
+				final Collection<List<Duplicate>> duplicates = extractDuplicates(dicParser, wordGenerator,
+					collector.getDuplicatesBloomFilter(), null);
+				writeDuplicates(outputFile, duplicates, charset, null);
 			}
 		};
-		final ProgressCallback progressCallback = lineIndex -> {
-			setWorkerProgress(lineIndex);
-
-			sleepOnPause();
-		};
-		ParserHelper.forEachDictionaryLine(dicFile, charset, fun, progressCallback);
-
-		bloomFilter.close();
-		final int totalInflections = bloomFilter.getAddedElements();
-		final double falsePositiveProbability = bloomFilter.getTrueFalsePositiveProbability();
-		bloomFilter.clear();
-
-		duplicatesBloomFilter.close();
-
-		final int falsePositiveCount = (int)Math.ceil(totalInflections * falsePositiveProbability);
-		if(duplicatesBloomFilter.getAddedElements() == MAX_DUPLICATES){
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Maximum duplications reached");
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections processed: {}",
-				DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
-		}
-		else
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections: {}",
-				DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
-		LOGGER.info(ParserManager.MARKER_APPLICATION, "False positive probability is {} (overall duplicates ≲ {})",
-			DictionaryParser.PERCENT_FORMATTER.format(falsePositiveProbability), falsePositiveCount);
-
-		return duplicatesBloomFilter;
 	}
 
-	private Collection<List<Duplicate>> extractDuplicates(final BloomFilterInterface<String> duplicatesBloomFilter){
+	private static Collection<List<Duplicate>> extractDuplicates(final DictionaryParser dicParser, final WordGenerator wordGenerator,
+			final BloomFilterInterface<String> duplicatesBloomFilter, final ProgressCallback progressCallback){
 		final Map<String, List<Duplicate>> result = new HashMap<>(0);
 
 		if(duplicatesBloomFilter.getAddedElements() > 0){
-			resetProcessing("Extracting duplicates (step 2/3)");
-
 			final Charset charset = dicParser.getCharset();
 			final File dicFile = dicParser.getDicFile();
 			final BiConsumer<Integer, String> fun = (lineIndex, line) -> {
@@ -241,11 +307,6 @@ public class DuplicatesWorker extends WorkerDictionary{
 					LOGGER.info(ParserManager.MARKER_APPLICATION, "{}, line {}: {}", e.getMessage(), lineIndex + 1, line);
 				}
 			};
-			final ProgressCallback progressCallback = lineIndex -> {
-				setWorkerProgress(lineIndex);
-
-				sleepOnPause();
-			};
 			ParserHelper.forEachDictionaryLine(dicFile, charset, fun, progressCallback);
 
 			final int totalDuplicates = duplicatesBloomFilter.getAddedElements();
@@ -262,7 +323,8 @@ public class DuplicatesWorker extends WorkerDictionary{
 		return result.values();
 	}
 
-	private void writeDuplicates(final File duplicatesFile, final Collection<List<Duplicate>> duplicates){
+	private static void writeDuplicates(final File duplicatesFile, final Collection<List<Duplicate>> duplicates, final Charset charset,
+			final ProgressCallback progressCallback){
 		final int totalSize = duplicates.size();
 		if(totalSize > 0){
 			LOGGER.info(ParserManager.MARKER_APPLICATION, "Write results to file (step 3/3)");
@@ -270,7 +332,7 @@ public class DuplicatesWorker extends WorkerDictionary{
 			final Set<String> processedLines = new HashSet<>(totalSize);
 
 			int writtenSoFar = 0;
-			try(final BufferedWriter writer = Files.newBufferedWriter(duplicatesFile.toPath(), dicParser.getCharset())){
+			try(final BufferedWriter writer = Files.newBufferedWriter(duplicatesFile.toPath(), charset)){
 				final StringBuilder origin = new StringBuilder();
 				final Comparator<Duplicate> comparator = Comparator.comparingInt(o -> o.getInflection().getAppliedRules().length);
 				for(final List<Duplicate> entries : duplicates){
@@ -368,9 +430,9 @@ public class DuplicatesWorker extends WorkerDictionary{
 						writer.newLine();
 					}
 
-					setWorkerProgress(++ writtenSoFar, totalSize);
-
-					sleepOnPause();
+					writtenSoFar ++;
+					if(progressCallback != null)
+						progressCallback.accept(Math.min((int)Math.floor((writtenSoFar * 100.) / totalSize), 100));
 				}
 			}
 			catch(final IOException ioe){
@@ -25,8 +25,7 @@
 package io.github.mtrevisan.hunlinter.workers.dictionary;
 
 import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
-import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSABuilder;
-import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.LexicographicalComparator;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.ExternalSequenceSorter;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.MetadataBuilder;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.CFSASerializer;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.FSASerializerInterface;
@@ -51,9 +50,10 @@ import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -90,7 +90,6 @@ public class PoSFSAWorker extends WorkerDictionary{
 
 		getWorkerData()
 			.withParallelProcessing()
-			.withDataCancelledCallback(onCancelled)
 			.withCancelOnException();
 
 		Objects.requireNonNull(affixData, "Affix data cannot be null");
@@ -113,7 +112,7 @@ public class PoSFSAWorker extends WorkerDictionary{
 			.get();
 
 
-		final ByteArrayList encodings = new ByteArrayList(1_000_000.f);
+		final ExternalSequenceSorter encodings = ExternalSequenceSorter.withAvailableMemory();
 		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
 			final String line = indexData.getData();
 			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(line);
@@ -123,10 +122,17 @@ public class PoSFSAWorker extends WorkerDictionary{
 
 			sleepOnPause();
 		};
-		final FSABuilder builder = new FSABuilder();
+		final Consumer<Exception> cancelled = exception -> {
+			encodings.close();
 
-		final Function<Void, ByteArrayList> step1 = ignored -> {
-			prepareProcessing("Reading dictionary file (step 1/4)");
+			if(onCancelled != null)
+				onCancelled.accept(exception);
+		};
+		getWorkerData()
+			.withDataCancelledCallback(cancelled);
+
+		final Function<Void, ExternalSequenceSorter> step1 = ignored -> {
+			prepareProcessing("Reading dictionary file (step 1/3)");
 
 			final Path dicPath = dicParser.getDicFile()
 				.toPath();
@@ -134,52 +140,26 @@ public class PoSFSAWorker extends WorkerDictionary{
 
 			return encodings;
 		};
-		final Function<ByteArrayList, ByteArrayList> step2 = list -> {
-			resetProcessing("Sorting (step 2/4)");
-
-			//sort list
-			list.parallelSort(LexicographicalComparator.lexicographicalComparator());
-
-			return list;
-		};
-		final Function<ByteArrayList, FSAAbstract> step3 = list -> {
-			resetProcessing("Creating FSA (step 3/4)");
+		final Function<ExternalSequenceSorter, FSAAbstract> step2 = sorter -> {
+			resetProcessing("Sorting and creating FSA (step 2/3)");
 
 			getWorkerData()
 				.withNoHeader()
 				.withSequentialProcessing();
 
-			int progress = 0;
-			int progressIndex = 0;
-			final int progressStep = (int)Math.ceil(list.size() / 100.f);
-			for(int index = 0; index < list.size(); index ++){
-				final byte[] encoding = list.get(index);
-				builder.add(encoding);
-
-				if(++ progress % progressStep == 0)
-					setWorkerProgress(++ progressIndex);
-
-				sleepOnPause();
-			}
-
-			//release memory
-			list.clear();
-
-			return builder.complete();
+			return buildAutomaton(sorter);
 		};
-		final Function<FSAAbstract, File> step4 = fsa -> {
-			resetProcessing("Compressing FSA (step 4/4)");
+		final Function<FSAAbstract, File> step3 = fsa -> {
+			resetProcessing("Compressing FSA (step 3/3)");
 
 			final FSASerializerInterface serializer = new CFSASerializer();
-			try(final ByteArrayOutputStream os = new ByteArrayOutputStream()){
+			try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()))){
 				serializer.serialize(fsa, os, percent -> {
 					setWorkerProgress(percent);
 
 					sleepOnPause();
 				});
 
-				Files.write(outputFile.toPath(), os.toByteArray());
-
 				finalizeProcessing("Successfully processed " + workerData.getWorkerName() + ": " + outputFile.getAbsolutePath());
 
 				return outputFile;
@@ -188,8 +168,8 @@ public class PoSFSAWorker extends WorkerDictionary{
 				throw new WorkerException(ioe, ioe.getMessage());
 			}
 		};
-		final Function<File, Void> step5 = WorkerManager.openFolderStep(LOGGER);
-		setProcessor(step1.andThen(step2).andThen(step3).andThen(step4).andThen(step5));
+		final Function<File, Void> step4 = WorkerManager.openFolderStep(LOGGER);
+		setProcessor(step1.andThen(step2).andThen(step3).andThen(step4));
 	}
 
 	private static DictionaryMetadata readMetadata(final AffixData affixData, final File outputFile, final Charset charset)
@@ -201,8 +181,12 @@ public class PoSFSAWorker extends WorkerDictionary{
 		return MetadataBuilder.read(metadataPath);
 	}
 
-	private static void encode(final ByteArrayList encodings, final List<Inflection> inflections, final byte separator,
+	/**
+	 * NOTE: the sequences of a line are handed over to the (synchronized) sorter all at once.
+	 */
+	private static void encode(final ExternalSequenceSorter encodings, final List<Inflection> inflections, final byte separator,
 			final SequenceEncoderInterface sequenceEncoder){
+		final List<byte[]> lineEncodings = new ArrayList<>(inflections.size());
 		ByteBuffer tag = ByteBuffer.allocate(0);
 
 		for(int i = 0; i < inflections.size(); i ++){
@@ -233,9 +217,10 @@ public class PoSFSAWorker extends WorkerDictionary{
 
 			for(int j = 0; j < stems.size(); j ++){
 				final byte[] assembled = encode(inflectedWord, tag, stems.get(j), separator, sequenceEncoder);
-				encodings.add(assembled);
+				lineEncodings.add(assembled);
 			}
 		}
+		encodings.addAll(lineEncodings);
 	}
 
 	private static byte[] encode(final byte[] inflectedWord, final ByteBuffer tag, final String stem, final byte separator,
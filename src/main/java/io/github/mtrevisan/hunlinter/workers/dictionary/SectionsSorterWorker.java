@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
+import io.github.mtrevisan.hunlinter.parsers.ParserManager;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.exceptions.WorkerException;
+import io.github.mtrevisan.hunlinter.parsers.exceptions.WriterException;
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
+import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+public class SectionsSorterWorker extends WorkerDictionary{
+
+	public static final String WORKER_NAME = "Sorting all sections";
+
+
+	private record Section(int start, int end, DictionaryParser.ByteRange range){}
+
+
+	public SectionsSorterWorker(final ParserManager parserManager){
+		super(new WorkerDataParser<>(WORKER_NAME, parserManager.getDicParser()));
+
+		getWorkerData()
+			.withParallelProcessing()
+			.withCancelOnException();
+
+		final DictionaryParser dicParser = parserManager.getDicParser();
+		final CollationKeySorter sorter = BaseBuilder.getSorter(parserManager.getLanguage());
+		final Path dicPath = dicParser.getDicFile().toPath();
+		final Charset charset = dicParser.getCharset();
+
+		final Function<Void, List<Section>> step1 = ignored -> {
+			prepareProcessing("Sort sections in place (step 1/2)");
+
+			//rewrite only the bytes of the sections, if the file was not modified since the index was calculated
+			final boolean inPlace = dicParser.isIndexUpToDate();
+			final NavigableMap<Integer, Integer> boundaries = dicParser.getBoundaries();
+			final List<Section> sections = new ArrayList<>(boundaries.size());
+			for(final Map.Entry<Integer, Integer> boundary : boundaries.entrySet())
+				sections.add(new Section(boundary.getKey(), boundary.getValue() + 1,
+					(inPlace? dicParser.getBoundaryByteRange(boundary.getKey()): null)));
+
+			//sections do not overlap, so each one can be rewritten in place independently
+			final Set<Section> sortedSections = ConcurrentHashMap.newKeySet(sections.size());
+			final AtomicInteger processed = new AtomicInteger();
+			executeParallel(() -> sections.parallelStream()
+				.forEach(section -> {
+					sleepOnPause();
+
+					try{
+						final byte[] sortedSection = (section.range != null
+							? SorterWorker.sortSectionInPlace(dicPath, charset, sorter, section.range, section.end - section.start)
+							: null);
+						if(sortedSection != null){
+							dicParser.updateSortedBoundary(section.start, sortedSection);
+							sortedSections.add(section);
+						}
+					}
+					catch(final IOException ioe){
+						throw new WorkerException(ioe, ioe.getMessage());
+					}
+
+					setWorkerProgress(processed.incrementAndGet(), sections.size());
+				}));
+
+			dicParser.storeIndex();
+
+			final List<Section> remainingSections = new ArrayList<>(sections);
+			remainingSections.removeAll(sortedSections);
+			return remainingSections;
+		};
+		final Function<List<Section>, Void> step2 = sections -> {
+			if(!sections.isEmpty()){
+				resetProcessing("Sort remaining {} sections (step 2/2)", sections.size());
+
+				try{
+					final List<String> lines = FileHelper.readAllLines(dicPath, charset);
+
+					for(int i = 0; i < sections.size(); i ++){
+						sleepOnPause();
+
+						final Section section = sections.get(i);
+						sorter.sort(lines.subList(section.start, section.end), true);
+
+						setWorkerProgress(i + 1, sections.size());
+					}
+
+					FileHelper.saveFile(dicPath, System.lineSeparator(), charset, lines);
+				}
+				catch(final IOException ioe){
+					throw new WriterException(ioe, ioe.getMessage());
+				}
+
+				//the whole file was rewritten, the index has to be recalculated
+				dicParser.clearBoundaries();
+			}
+
+			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
+
+			return null;
+		};
+		setProcessor(step1.andThen(step2));
+	}
+
+}
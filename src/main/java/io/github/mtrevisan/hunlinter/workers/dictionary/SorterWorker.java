@@ -29,7 +29,9 @@ import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.exceptions.WorkerException;
 import io.github.mtrevisan.hunlinter.parsers.exceptions.WriterException;
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.system.LineOffsetReader;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 import org.slf4j.Logger;
@@ -37,11 +39,17 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Comparator;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 
 public class SorterWorker extends WorkerDictionary{
@@ -52,7 +60,7 @@ public class SorterWorker extends WorkerDictionary{
 
 	private final DictionaryParser dicParser;
 
-	private final Comparator<String> comparator;
+	private final CollationKeySorter sorter;
 
 
 	public SorterWorker(final File dicFile, final ParserManager parserManager, final int lineIndex){
@@ -66,7 +74,7 @@ public class SorterWorker extends WorkerDictionary{
 
 		dicParser = parserManager.getDicParser();
 
-		comparator = BaseBuilder.getComparator(parserManager.getLanguage());
+		sorter = BaseBuilder.getSorter(parserManager.getLanguage());
 		final Map.Entry<Integer, Integer> boundary = dicParser.getBoundary(lineIndex);
 		//here `boundary` cannot be null
 		@SuppressWarnings("ConstantConditions")
@@ -76,24 +84,39 @@ public class SorterWorker extends WorkerDictionary{
 		final Function<Void, List<String>> step1 = ignored -> {
 			prepareProcessing("Load dictionary file (step 1/3)");
 
-			final List<String> lines;
+			//rewrite only the bytes of the section, if the file was not modified since the index was calculated
+			final DictionaryParser.ByteRange range = (dicParser.isIndexUpToDate()
+				? dicParser.getBoundaryByteRange(sectionStart)
+				: null);
 			try{
-				lines = FileHelper.readAllLines(dicParser.getDicFile().toPath(), dicParser.getCharset());
+				final byte[] sortedSection = (range != null
+					? sortSectionInPlace(dicParser.getDicFile().toPath(), dicParser.getCharset(), sorter, range, sectionEnd - sectionStart)
+					: null);
+				if(sortedSection != null){
+					LOGGER.info(ParserManager.MARKER_APPLICATION, "Section sorted in place (step 2/3)");
+
+					dicParser.updateSortedBoundary(sectionStart, sortedSection);
+					dicParser.storeIndex();
+					return null;
+				}
+
+				final List<String> lines = FileHelper.readAllLines(dicParser.getDicFile().toPath(), dicParser.getCharset());
+
+				setWorkerProgress(33);
+
+				return lines;
 			}
 			catch(final IOException ioe){
 				throw new WorkerException(ioe, ioe.getMessage());
 			}
-
-			setWorkerProgress(33);
-
-			return lines;
 		};
 		final Function<List<String>, List<String>> step2 = lines -> {
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Sort selected section (step 2/3)");
+			if(lines != null){
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Sort selected section (step 2/3)");
 
-			//sort the chosen section
-			lines.subList(sectionStart, sectionEnd)
-				.sort(comparator);
+				//sort the chosen section
+				sorter.sort(lines.subList(sectionStart, sectionEnd), true);
+			}
 
 			setWorkerProgress(67);
 
@@ -103,9 +126,13 @@ public class SorterWorker extends WorkerDictionary{
 			LOGGER.info(ParserManager.MARKER_APPLICATION, "Merge sections (step 3/3)");
 
 			try{
-				FileHelper.saveFile(dicParser.getDicFile().toPath(), System.lineSeparator(), dicParser.getCharset(), lines);
+				if(lines != null){
+					FileHelper.saveFile(dicParser.getDicFile().toPath(), System.lineSeparator(), dicParser.getCharset(), lines);
 
-				dicParser.removeBoundary(sectionStart);
+					//the line numbers of the sections are unchanged; the byte offsets are not, but they are not trusted anymore since
+					//the content of the file no longer matches the one the index was calculated upon
+					dicParser.removeBoundary(sectionStart);
+				}
 
 				finalizeProcessing("Successfully processed " + workerData.getWorkerName());
 			}
@@ -118,5 +145,118 @@ public class SorterWorker extends WorkerDictionary{
 		setProcessor(step1.andThen(step2).andThen(step3));
 	}
 
-}
+	/**
+	 * Sorts a section of the dictionary by reading only its bytes and writing them back at the same position.
+	 * <p>
+	 * Sorting permutes the lines of the section, so it does not change its length; the terminator of each line is left in
+	 * place.
+	 * Nothing is written unless the range starts and ends on a line boundary, holds the expected number of lines, and still
+	 * holds the same bytes right before being written.
+	 * </p>
+	 *
+	 * @param dicPath	The path of the dictionary file.
+	 * @param charset	The charset of the dictionary file.
+	 * @param sorter	The sorter.
+	 * @param range	The range of bytes of the section.
+	 * @param linesCount	The number of lines in the section.
+	 * @return	The sorted content of the section, or {@code null} if the range does not contain the expected lines.
+	 * @throws IOException	If an I/O error occurs.
+	 */
+	static byte[] sortSectionInPlace(final Path dicPath, final Charset charset, final CollationKeySorter sorter,
+			final DictionaryParser.ByteRange range, final int linesCount) throws IOException{
+		final long length = range.end() - range.start();
+		if(length <= 0 || length > Integer.MAX_VALUE - 8)
+			return null;
+
+		try(final FileChannel channel = FileChannel.open(dicPath, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+			final long fileSize = channel.size();
+			if(range.start() <= 0 || range.end() > fileSize)
+				return null;
+
+			final byte[] section = readBytes(channel, range.start(), (int)length);
+			if(section == null || !isOnLineBoundaries(channel, range, section, fileSize))
+				return null;
+
+			//find the lines, excluding their terminators
+			final int[] lineStarts = new int[linesCount];
+			final int[] lineEnds = new int[linesCount];
+			int count = 0;
+			int start = 0;
+			while(start < section.length){
+				if(count == linesCount)
+					return null;
+
+				final int end = LineOffsetReader.findLineEnd(section, start, section.length);
+				lineStarts[count] = start;
+				lineEnds[count] = end;
+				count ++;
+				start = LineOffsetReader.skipTerminator(section, end, section.length);
+			}
+			if(count != linesCount)
+				return null;
 
+			final byte[][] keys = new byte[linesCount][];
+			IntStream.range(0, linesCount)
+				.parallel()
+				.forEach(i -> keys[i] = sorter.getSortKey(new String(section, lineStarts[i], lineEnds[i] - lineStarts[i], charset)));
+			//the sort is stable
+			final Integer[] order = new Integer[linesCount];
+			Arrays.setAll(order, i -> i);
+			Arrays.parallelSort(order, (i, j) -> CollationKeySorter.compareSortKeys(keys[i], keys[j]));
+
+			final byte[] sortedSection = new byte[section.length];
+			int offset = 0;
+			for(int i = 0; i < linesCount; i ++){
+				final int line = order[i];
+				final int lineLength = lineEnds[line] - lineStarts[line];
+				System.arraycopy(section, lineStarts[line], sortedSection, offset, lineLength);
+				offset += lineLength;
+
+				final int terminatorLength = (i + 1 < linesCount? lineStarts[i + 1]: section.length) - lineEnds[i];
+				System.arraycopy(section, lineEnds[i], sortedSection, offset, terminatorLength);
+				offset += terminatorLength;
+			}
+
+			if(!Arrays.equals(section, sortedSection)){
+				//the file could have been modified in the meantime
+				if(channel.size() != fileSize || !Arrays.equals(section, readBytes(channel, range.start(), (int)length)))
+					return null;
+
+				final ByteBuffer output = ByteBuffer.wrap(sortedSection);
+				while(output.hasRemaining())
+					channel.write(output, range.start() + output.position());
+			}
+			return sortedSection;
+		}
+	}
+
+	private static byte[] readBytes(final FileChannel channel, final long position, final int length) throws IOException{
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		while(buffer.hasRemaining())
+			if(channel.read(buffer, position + buffer.position()) < 0)
+				return null;
+		return buffer.array();
+	}
+
+	/**
+	 * @return	Whether the section is preceded by a line terminator, and is either terminated or at the end of the file (a
+	 * 	{@code \r\n} terminator cannot be split by either end).
+	 */
+	private static boolean isOnLineBoundaries(final FileChannel channel, final DictionaryParser.ByteRange range,
+			final byte[] section, final long fileSize) throws IOException{
+		final byte[] previous = readBytes(channel, range.start() - 1, 1);
+		if(previous == null || previous[0] != '\n' && previous[0] != '\r' || previous[0] == '\r' && section[0] == '\n')
+			return false;
+
+		if(range.end() == fileSize)
+			return true;
+		final byte last = section[section.length - 1];
+		if(last == '\n')
+			return true;
+		if(last != '\r')
+			return false;
+		final byte[] next = readBytes(channel, range.end(), 1);
+		return (next != null && next[0] != '\n');
+	}
+
+}
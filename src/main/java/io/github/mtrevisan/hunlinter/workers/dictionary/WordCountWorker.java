@@ -34,6 +34,7 @@ import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 import org.slf4j.Logger;
@@ -41,9 +42,9 @@ import org.slf4j.LoggerFactory;
 
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -54,9 +55,6 @@ public class WordCountWorker extends WorkerDictionary{
 
 	public static final String WORKER_NAME = "Word count";
 
-	private final AtomicInteger totalInflections = new AtomicInteger(0);
-	private final BloomFilterInterface<String> dictionary;
-
 
 	public WordCountWorker(final ParserManager parserManager, final Consumer<Exception> onCancelled){
 		this(parserManager.getLanguage(), parserManager.getDicParser(), parserManager.getWordGenerator(), onCancelled);
@@ -68,31 +66,13 @@ public class WordCountWorker extends WorkerDictionary{
 
 		getWorkerData()
 			.withParallelProcessing()
+			.withDataCancelledCallback(onCancelled)
 			.withCancelOnException();
 
 		Objects.requireNonNull(wordGenerator, "Word generator cannot be null");
 
 
-		final BloomFilterParameters dictionaryBaseData = BaseBuilder.getDictionaryBaseData(language);
-		dictionary = new ScalableInMemoryBloomFilter<>(dicParser.getCharset(), dictionaryBaseData);
-
-		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
-			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(indexData.getData());
-			final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
-
-			totalInflections.addAndGet(inflections.size());
-			for(int i = 0; i < inflections.size(); i ++)
-				dictionary.add(inflections.get(i).getWord());
-		};
-		final Consumer<Exception> cancelled = exc -> {
-			dictionary.close();
-
-			if(onCancelled != null)
-				onCancelled.accept(exc);
-		};
-
-		getWorkerData()
-			.withDataCancelledCallback(cancelled);
+		final InflectionConsumer<int[]> inflectionConsumer = createInflectionConsumer(language, dicParser.getCharset());
 
 		final Function<Void, Void> step1 = ignored -> {
 			prepareProcessing("Execute " + workerData.getWorkerName());
@@ -100,28 +80,60 @@ public class WordCountWorker extends WorkerDictionary{
 			final Path dicPath = dicParser.getDicFile()
 				.toPath();
 			final Charset charset = dicParser.getCharset();
-			processLines(dicPath, charset, lineProcessor);
+			processInflections(dicPath, charset, wordGenerator, List.of(inflectionConsumer));
 
 			finalizeProcessing("Successfully processed " + workerData.getWorkerName());
 
 			return null;
 		};
-		final Function<Void, Void> step2 = ignored -> {
-			dictionary.close();
-
-			final int totalUniqueInflections = dictionary.getAddedElements();
-			final double falsePositiveProbability = dictionary.getTrueFalsePositiveProbability();
-			final int falsePositiveCount = (int)Math.ceil(totalUniqueInflections * falsePositiveProbability);
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections: {}", DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
-			LOGGER.info(ParserManager.MARKER_APPLICATION, "Total unique inflections: {} ± {} ({}), {}",
-				DictionaryParser.COUNTER_FORMATTER.format(totalUniqueInflections),
-				DictionaryParser.PERCENT_FORMATTER.format(falsePositiveProbability),
-				falsePositiveCount,
-				DictionaryParser.SHORT_PERCENT_FORMATTER.format((double)totalUniqueInflections / totalInflections.get()));
+		setProcessor(step1);
+	}
 
-			return null;
+	/**
+	 * Creates the receiver that counts the inflections (and the unique ones) of a dictionary pass.
+	 *
+	 * @param language	The language of the dictionary.
+	 * @param charset	The charset of the dictionary.
+	 * @return	The receiver of the inflections.
+	 */
+	public static InflectionConsumer<int[]> createInflectionConsumer(final String language, final Charset charset){
+		final BloomFilterParameters dictionaryBaseData = BaseBuilder.getDictionaryBaseData(language);
+		final BloomFilterInterface<String> dictionary = new ScalableInMemoryBloomFilter<>(charset, dictionaryBaseData);
+
+		return new InflectionConsumer<>(){
+			@Override
+			public int[] createState(){
+				return new int[1];
+			}
+
+			@Override
+			public void accept(final int[] totalInflections, final IndexDataPair<String> indexData, final DictionaryEntry dicEntry,
+					final List<Inflection> inflections){
+				totalInflections[0] += inflections.size();
+				for(int i = 0; i < inflections.size(); i ++)
+					dictionary.add(inflections.get(i).getWord());
+			}
+
+			@Override
+			public void merge(final Collection<int[]> states, final InflectionConsumer.MergeContext context){
+				dictionary.close();
+
+				int totalInflections = 0;
+				for(final int[] state : states)
+					totalInflections += state[0];
+				final int totalUniqueInflections = dictionary.getAddedElements();
+				final double falsePositiveProbability = dictionary.getTrueFalsePositiveProbability();
+				final int falsePositiveCount = (int)Math.ceil(totalUniqueInflections * falsePositiveProbability);
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Total inflections: {}", DictionaryParser.COUNTER_FORMATTER.format(totalInflections));
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "Total unique inflections: {} ± {} ({}), {}",
+					DictionaryParser.COUNTER_FORMATTER.format(totalUniqueInflections),
+					DictionaryParser.PERCENT_FORMATTER.format(falsePositiveProbability),
+					falsePositiveCount,
+					DictionaryParser.SHORT_PERCENT_FORMATTER.format((double)totalUniqueInflections / totalInflections));
+
+				dictionary.clear();
+			}
 		};
-		setProcessor(step1.andThen(step2));
 	}
 
 }
@@ -25,9 +25,9 @@
 package io.github.mtrevisan.hunlinter.workers.dictionary;
 
 import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
-import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSABuilder;
-import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.LexicographicalComparator;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.ExternalSequenceSorter;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.MetadataBuilder;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.PartitionedFSABuilder;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.CFSASerializer;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.FSASerializerInterface;
 import io.github.mtrevisan.hunlinter.parsers.ParserManager;
@@ -40,17 +40,21 @@ import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.text.StringHelper;
 import io.github.mtrevisan.hunlinter.workers.WorkerManager;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.core.InflectionConsumer;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDictionary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
@@ -64,6 +68,8 @@ public class WordlistFSAWorker extends WorkerDictionary{
 
 	public static final String WORKER_NAME = "Wordlist FSA Extractor";
 
+	private static final int BATCH_SIZE = 4096;
+
 
 	public WordlistFSAWorker(final ParserManager parserManager, final Consumer<Exception> onCancelled, final File outputFile){
 		this(parserManager.getAffixData(), parserManager.getDicParser(), parserManager.getWordGenerator(), parserManager.getLanguage(),
@@ -76,7 +82,6 @@ public class WordlistFSAWorker extends WorkerDictionary{
 
 		getWorkerData()
 			.withParallelProcessing()
-			.withDataCancelledCallback(onCancelled)
 			.withCancelOnException();
 
 		Objects.requireNonNull(affixData, "Affix data cannot be null");
@@ -87,87 +92,50 @@ public class WordlistFSAWorker extends WorkerDictionary{
 
 
 		final Charset charset = dicParser.getCharset();
-		try{
-			final Path metadataPath = MetadataBuilder.getMetadataPath(outputFile);
-			if(!metadataPath.toFile().exists())
-				MetadataBuilder.createWordlistInfo(affixData, "none", metadataPath, charset);
-		}
-		catch(final IOException ioe){
-			throw new WorkerException("Cannot create metadata file", ioe);
-		}
+		createMetadata(affixData, charset, outputFile);
 
 
-		final ByteArrayList encodings = new ByteArrayList(1_000_000.f);
-		final Consumer<IndexDataPair<String>> lineProcessor = indexData -> {
-			final String line = indexData.getData();
-			final DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(line);
-			final List<Inflection> inflections = wordGenerator.applyAffixRules(dicEntry);
-
-			for(int i = 0; i < inflections.size(); i ++){
-				final byte[] assembled = StringHelper.getRawBytes(inflections.get(i).getWord().toLowerCase(Locale.ROOT));
-				encodings.add(assembled);
-			}
+		final ExternalSequenceSorter encodings = ExternalSequenceSorter.withAvailableMemory();
+		final InflectionConsumer<List<byte[]>> inflectionConsumer = createCollector(encodings);
+		final Consumer<Exception> cancelled = exception -> {
+			encodings.close();
 
-			sleepOnPause();
+			if(onCancelled != null)
+				onCancelled.accept(exception);
 		};
-		final FSABuilder builder = new FSABuilder();
+		getWorkerData()
+			.withDataCancelledCallback(cancelled);
 
-		final Function<Void, ByteArrayList> step1 = ignored -> {
-			prepareProcessing("Reading dictionary file (step 1/4)");
+		final Function<Void, ExternalSequenceSorter> step1 = ignored -> {
+			prepareProcessing("Reading dictionary file (step 1/3)");
 
 			final Path dicPath = dicParser.getDicFile()
 				.toPath();
-			processLines(dicPath, charset, lineProcessor);
+			processInflections(dicPath, charset, wordGenerator, List.of(inflectionConsumer));
 
 			return encodings;
 		};
-		final Function<ByteArrayList, ByteArrayList> step2 = list -> {
-			resetProcessing("Sorting (step 2/4)");
-
-			//sort list
-			list.parallelSort(LexicographicalComparator.lexicographicalComparator());
-
-			return list;
-		};
-		final Function<ByteArrayList, FSAAbstract> step3 = list -> {
-			resetProcessing("Creating FSA (step 3/4)");
+		final Function<ExternalSequenceSorter, FSAAbstract> step2 = sorter -> {
+			resetProcessing("Sorting and creating FSA (step 2/3)");
 
 			getWorkerData()
 				.withNoHeader()
 				.withSequentialProcessing();
 
-			int progress = 0;
-			int progressIndex = 0;
-			final int progressStep = (int)Math.ceil(list.size() / 100.f);
-			for(int index = 0; index < list.size(); index ++){
-				final byte[] encoding = list.get(index);
-				builder.add(encoding);
-
-				if(++ progress % progressStep == 0)
-					setWorkerProgress(++ progressIndex);
-
-				sleepOnPause();
-			}
-
-			//release memory
-			list.clear();
-
-			return builder.complete();
+			return buildAutomaton(sorter);
 		};
 		final Path outputPath = outputFile.toPath();
-		final Function<FSAAbstract, File> step4 = fsa -> {
-			resetProcessing("Compressing FSA (step 4/4)");
+		final Function<FSAAbstract, File> step3 = fsa -> {
+			resetProcessing("Compressing FSA (step 3/3)");
 
 			final FSASerializerInterface serializer = new CFSASerializer();
-			try(final ByteArrayOutputStream os = new ByteArrayOutputStream()){
+			try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(outputPath))){
 				serializer.serialize(fsa, os, percent -> {
 					setWorkerProgress(percent);
 
 					sleepOnPause();
 				});
 
-				Files.write(outputPath, os.toByteArray());
-
 				finalizeProcessing("Successfully processed " + workerData.getWorkerName() + ": " + outputFile.getAbsolutePath());
 
 				return outputFile;
@@ -176,8 +144,102 @@ public class WordlistFSAWorker extends WorkerDictionary{
 				throw new WorkerException(ioe, ioe.getMessage());
 			}
 		};
-		final Function<File, Void> step5 = WorkerManager.openFolderStep(LOGGER);
-		setProcessor(step1.andThen(step2).andThen(step3).andThen(step4).andThen(step5));
+		final Function<File, Void> step4 = WorkerManager.openFolderStep(LOGGER);
+		setProcessor(step1.andThen(step2).andThen(step3).andThen(step4));
+	}
+
+	/**
+	 * Creates the receiver that builds the wordlist FSA out of the inflections of a dictionary pass.
+	 *
+	 * @param affixData	The affix data.
+	 * @param charset	The charset of the dictionary.
+	 * @param outputFile	The file the FSA is written into.
+	 * @return	The receiver of the inflections.
+	 */
+	public static InflectionConsumer<List<byte[]>> createInflectionConsumer(final AffixData affixData, final Charset charset,
+			final File outputFile){
+		Objects.requireNonNull(affixData, "Affix data cannot be null");
+		Objects.requireNonNull(outputFile, "Output file cannot be null");
+
+		createMetadata(affixData, charset, outputFile);
+
+		final ExternalSequenceSorter encodings = ExternalSequenceSorter.withAvailableMemory();
+		final InflectionConsumer<List<byte[]>> collector = createCollector(encodings);
+		return new InflectionConsumer<>(){
+			@Override
+			public List<byte[]> createState(){
+				return collector.createState();
+			}
+
+			@Override
+			public void accept(final List<byte[]> partialEncodings, final IndexDataPair<String> indexData,
+					final DictionaryEntry dicEntry, final List<Inflection> inflections){
+				collector.accept(partialEncodings, indexData, dicEntry, inflections);
+			}
+
+			@Override
+			public void merge(final Collection<List<byte[]>> partialEncodings, final InflectionConsumer.MergeContext context){
+				collector.merge(partialEncodings, context);
+
+				final FSASerializerInterface serializer = new CFSASerializer();
+				try{
+					final FSAAbstract fsa = PartitionedFSABuilder.build(encodings, context.parallelism(), context.checkpoint());
+
+					try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()))){
+						serializer.serialize(fsa, os, null);
+					}
+				}
+				catch(final IOException ioe){
+					throw new WorkerException(ioe, ioe.getMessage());
+				}
+
+				LOGGER.info(ParserManager.MARKER_APPLICATION, "File written: {}", outputFile.getAbsolutePath());
+			}
+		};
+	}
+
+	/**
+	 * NOTE: each thread collects its sequences in a small batch, handed over to the (synchronized) sorter once full, so that the
+	 * memory held outside the budget of the sorter stays bounded.
+	 */
+	private static InflectionConsumer<List<byte[]>> createCollector(final ExternalSequenceSorter encodings){
+		return new InflectionConsumer<>(){
+			@Override
+			public List<byte[]> createState(){
+				return new ArrayList<>(BATCH_SIZE);
+			}
+
+			@Override
+			public void accept(final List<byte[]> partialEncodings, final IndexDataPair<String> indexData,
+					final DictionaryEntry dicEntry, final List<Inflection> inflections){
+				for(int i = 0; i < inflections.size(); i ++){
+					final byte[] assembled = StringHelper.getRawBytes(inflections.get(i).getWord().toLowerCase(Locale.ROOT));
+					partialEncodings.add(assembled);
+				}
+
+				if(partialEncodings.size() >= BATCH_SIZE){
+					encodings.addAll(partialEncodings);
+					partialEncodings.clear();
+				}
+			}
+
+			@Override
+			public void merge(final Collection<List<byte[]>> partialEncodings, final InflectionConsumer.MergeContext context){
+				for(final List<byte[]> partial : partialEncodings)
+					encodings.addAll(partial);
+			}
+		};
+	}
+
+	private static void createMetadata(final AffixData affixData, final Charset charset, final File outputFile){
+		try{
+			final Path metadataPath = MetadataBuilder.getMetadataPath(outputFile);
+			if(!metadataPath.toFile().exists())
+				MetadataBuilder.createWordlistInfo(affixData, "none", metadataPath, charset);
+		}
+		catch(final IOException ioe){
+			throw new WorkerException("Cannot create metadata file", ioe);
+		}
 	}
 
 }
@@ -134,8 +134,8 @@ public class WordlistWorker extends WorkerDictionary{
 				final ExternalSorterOptions options = ExternalSorterOptions.builder()
 					.charset(charset)
 					.sortInParallel()
-					.comparator(dicParser.getComparator())
-					.useTemporaryAsZip()
+					.sorter(dicParser.getSorter())
+					.binaryRuns()
 					.removeDuplicates()
 					.build();
 				try{
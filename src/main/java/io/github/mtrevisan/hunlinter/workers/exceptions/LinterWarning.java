@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.workers.exceptions;
 
+import io.github.mtrevisan.hunlinter.services.eventbus.CoalescableEvent;
 import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 
@@ -31,9 +32,10 @@ import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
+import java.util.Objects;
 
 
-public class LinterWarning extends Exception{
+public class LinterWarning extends Exception implements CoalescableEvent{
 
 	@Serial
 	private static final long serialVersionUID = 3853411643385148097L;
@@ -41,6 +43,7 @@ public class LinterWarning extends Exception{
 
 	private int index;
 	private IndexDataPair<?> data;
+	private int occurrences = 1;
 
 
 	public LinterWarning(final String message, final Object... parameters){
@@ -73,6 +76,38 @@ public class LinterWarning extends Exception{
 		return data;
 	}
 
+	@Override
+	public final void coalesce(final CoalescableEvent other){
+		occurrences += (other != this? other.getOccurrences(): 1);
+	}
+
+	@Override
+	public final int getOccurrences(){
+		return occurrences;
+	}
+
+
+	@Override
+	public final boolean equals(final Object obj){
+		if(this == obj)
+			return true;
+		if(obj == null || getClass() != obj.getClass())
+			return false;
+
+		final LinterWarning rhs = (LinterWarning)obj;
+		return (index == rhs.index
+			&& Objects.equals(getMessage(), rhs.getMessage())
+			&& Objects.equals(data, rhs.data));
+	}
+
+	@Override
+	public final int hashCode(){
+		int result = Objects.hashCode(getMessage());
+		result = 31 * result + Integer.hashCode(index);
+		result = 31 * result + Objects.hashCode(data);
+		return result;
+	}
+
 
 	@SuppressWarnings("unused")
 	@Serial
@@ -25,38 +25,37 @@
 package io.github.mtrevisan.hunlinter.workers.thesaurus;
 
 import io.github.mtrevisan.hunlinter.datastructures.fsa.lookup.DictionaryLookup;
-import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
 import io.github.mtrevisan.hunlinter.parsers.thesaurus.SynonymsEntry;
 import io.github.mtrevisan.hunlinter.parsers.thesaurus.ThesaurusDictionary;
 import io.github.mtrevisan.hunlinter.parsers.thesaurus.ThesaurusEntry;
 import io.github.mtrevisan.hunlinter.parsers.thesaurus.ThesaurusParser;
-import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerThesaurus;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 
 public class ThesaurusLinterFSAWorker extends WorkerThesaurus{
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(ThesaurusLinterFSAWorker.class);
-
 	public static final String WORKER_NAME = "Thesaurus linter against dictionary FSA";
 
 	private static final String MISSING_ENTRY = "Thesaurus doesn't contain definition {} with part-of-speech {} (from entry {})";
 	private static final String ENTRY_NOT_IN_DICTIONARY = "Dictionary doesn't contain definition {} (from entry {})";
 
 
+	private Predicate<String> compoundRecognizer;
+
+
 	public ThesaurusLinterFSAWorker(final ThesaurusParser theParser, final DictionaryParser dicParser, final WordGenerator wordGenerator,
 			final Consumer<Exception> onCancelled, final DictionaryLookup dictionaryLookup){
 		super(new WorkerDataParser<>(WORKER_NAME, theParser));
@@ -77,8 +76,8 @@ public class ThesaurusLinterFSAWorker extends WorkerThesaurus{
 			//check if the word is present in the dictionary
 			final String[] words = StringUtils.split(originalDefinition, " –");
 			for(int i = 0; i < words.length; i ++)
-				if(dictionaryLookup.lookup(words[i]).isEmpty())
-					LOGGER.warn(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(ENTRY_NOT_IN_DICTIONARY, words[i], originalDefinition));
+				if(dictionaryLookup.lookup(words[i]).isEmpty() && !compoundRecognizer.test(words[i]))
+					report(Diagnostic.warning(-1, null, ENTRY_NOT_IN_DICTIONARY, words[i], originalDefinition));
 
 			//check if each part of `entry`, with appropriate PoS, exists
 			final List<SynonymsEntry> syns = data.getSynonyms();
@@ -90,14 +89,22 @@ public class ThesaurusLinterFSAWorker extends WorkerThesaurus{
 					final String definition = ThesaurusDictionary.removeSynonymUse(definitions.get(j));
 					//check also that the found PoS has `originalDefinition` among its synonyms
 					if(!theParser.contains(definition, partOfSpeeches, originalDefinition))
-						LOGGER.error(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(MISSING_ENTRY, definition,
+						report(Diagnostic.error(-1, null, MISSING_ENTRY, definition,
 							partOfSpeeches.toString(), originalDefinition));
 				}
 			}
 		};
 
-		final Function<Void, List<IndexDataPair<ThesaurusEntry>>> step1 = ignored -> {
-			prepareProcessing("Execute " + workerData.getWorkerName());
+		final Function<Void, Void> step1 = ignored -> {
+			prepareProcessing("Reading compounds from dictionary file (step 1/2)");
+
+			//words missing from the FSA could still be valid compounds
+			compoundRecognizer = wordGenerator.createCompoundRecognizer(dicParser.getDicFile(), dicParser.getCharset());
+
+			return null;
+		};
+		final Function<Void, List<IndexDataPair<ThesaurusEntry>>> step2 = ignored -> {
+			resetProcessing("Execute " + workerData.getWorkerName() + " (step 2/2)");
 
 			processLines(dataProcessor);
 
@@ -105,7 +112,7 @@ public class ThesaurusLinterFSAWorker extends WorkerThesaurus{
 
 			return null;
 		};
-		setProcessor(step1);
+		setProcessor(step1.andThen(step2));
 	}
 
 }
@@ -29,7 +29,6 @@ import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.BloomFilterParam
 import io.github.mtrevisan.hunlinter.datastructures.bloomfilter.ScalableInMemoryBloomFilter;
 import io.github.mtrevisan.hunlinter.gui.ProgressCallback;
 import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
-import io.github.mtrevisan.hunlinter.parsers.ParserManager;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
 import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
 import io.github.mtrevisan.hunlinter.parsers.thesaurus.SynonymsEntry;
@@ -39,14 +38,12 @@ import io.github.mtrevisan.hunlinter.parsers.thesaurus.ThesaurusParser;
 import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
 import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
 import io.github.mtrevisan.hunlinter.services.ParserHelper;
-import io.github.mtrevisan.hunlinter.services.system.JavaHelper;
 import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerDataParser;
 import io.github.mtrevisan.hunlinter.workers.core.WorkerThesaurus;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
 import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
 import org.apache.commons.lang3.StringUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.nio.charset.Charset;
@@ -60,8 +57,6 @@ import java.util.function.Function;
 
 public class ThesaurusLinterWorker extends WorkerThesaurus{
 
-	private static final Logger LOGGER = LoggerFactory.getLogger(ThesaurusLinterWorker.class);
-
 	public static final String WORKER_NAME = "Thesaurus linter";
 
 	private static final String MISSING_ENTRY = "Thesaurus doesn't contain definition {} with part-of-speech {} (from entry {})";
@@ -100,7 +95,7 @@ public class ThesaurusLinterWorker extends WorkerThesaurus{
 					final String definition = ThesaurusDictionary.removeSynonymUse(definitions.get(j));
 					//check also that the found PoS has `originalDefinition` among its synonyms
 					if(!theParser.contains(definition, partOfSpeeches, originalDefinition))
-						LOGGER.error(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(MISSING_ENTRY, definition,
+						report(Diagnostic.error(-1, null, MISSING_ENTRY, definition,
 							partOfSpeeches.toString(), originalDefinition));
 				}
 			}
@@ -112,7 +107,7 @@ public class ThesaurusLinterWorker extends WorkerThesaurus{
 			final String[] words = StringUtils.split(originalDefinition.toLowerCase(Locale.ROOT), " –");
 			for(int i = 0; i < words.length; i ++)
 				if(!bloomFilter.contains(words[i]))
-					LOGGER.warn(ParserManager.MARKER_APPLICATION, JavaHelper.textFormat(ENTRY_NOT_IN_DICTIONARY, words[i], originalDefinition));
+					report(Diagnostic.warning(-1, null, ENTRY_NOT_IN_DICTIONARY, words[i], originalDefinition));
 		};
 
 		final Function<Void, Void> step1 = ignored -> {
@@ -156,7 +151,7 @@ public class ThesaurusLinterWorker extends WorkerThesaurus{
 				}
 			}
 			catch(final LinterException e){
-				LOGGER.error(ParserManager.MARKER_APPLICATION, "{}, line {}: {}", e.getMessage(), lineIndex + 1, line);
+				report(Diagnostic.error(lineIndex, line, e.getMessage()));
 			}
 		};
 		final ProgressCallback progressCallback = lineIndex -> {
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter;
+
+import io.github.mtrevisan.hunlinter.workers.ProjectLoaderWorker;
+import io.github.mtrevisan.hunlinter.workers.core.IndexDataPair;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.Diagnostic;
+import io.github.mtrevisan.hunlinter.workers.diagnostics.DiagnosticsJSONWriter;
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterWarning;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+
+class BatchLinterTest{
+
+	@Test
+	void warningsAreAttributedToTheRunningTask() throws IOException, ParseException{
+		StringWriter out = new StringWriter();
+		DiagnosticsJSONWriter writer = new DiagnosticsJSONWriter(DiagnosticsJSONWriter.Format.JSON, out);
+		BatchLinter.WarningsListener listener = new BatchLinter.WarningsListener(writer);
+
+		listener.parsingWarnings(new LinterWarning("Loading warning"));
+		writer.endTask(ProjectLoaderWorker.WORKER_NAME, 10l);
+		listener.setTask("Dictionary linter");
+		writer.write("Dictionary linter", Diagnostic.error(0, "foo/A", "Error on {}", "foo"));
+		listener.parsingWarnings(new LinterWarning("First warning")
+			.withIndexDataPair(IndexDataPair.of(1, "bar/B")));
+		listener.parsingWarnings(new LinterWarning("Second warning"));
+		writer.endTask("Dictionary linter", 20l);
+		listener.setTask("Hyphenation linter");
+		writer.endTask("Hyphenation linter", 30l);
+		writer.close();
+
+		JSONObject report = (JSONObject)new JSONParser().parse(out.toString());
+		Map<String, long[]> counts = taskCounts(report);
+		Assertions.assertEquals(3, counts.size());
+		Assertions.assertArrayEquals(new long[]{0l, 1l}, counts.get(ProjectLoaderWorker.WORKER_NAME));
+		Assertions.assertArrayEquals(new long[]{1l, 2l}, counts.get("Dictionary linter"));
+		Assertions.assertArrayEquals(new long[]{0l, 0l}, counts.get("Hyphenation linter"));
+		Assertions.assertEquals(1l, report.get("errors"));
+		Assertions.assertEquals(3l, report.get("warnings"));
+
+		JSONArray diagnostics = (JSONArray)report.get("diagnostics");
+		Assertions.assertEquals(4, diagnostics.size());
+		JSONObject warning = (JSONObject)diagnostics.get(2);
+		Assertions.assertEquals("Dictionary linter", warning.get("task"));
+		Assertions.assertEquals("warning", warning.get("severity"));
+		Assertions.assertEquals(2l, warning.get("line"));
+		Assertions.assertEquals("First warning", warning.get("message"));
+		Assertions.assertEquals("bar/B", warning.get("data"));
+	}
+
+	@Test
+	void ndjsonRoundTrip() throws IOException, ParseException{
+		StringWriter out = new StringWriter();
+		DiagnosticsJSONWriter writer = new DiagnosticsJSONWriter(DiagnosticsJSONWriter.Format.NDJSON, out);
+
+		writer.write("first", Diagnostic.error(4, "a\"b", "Error {}", 1));
+		writer.write("first", Diagnostic.warning(-1, null, "Warning"));
+		writer.endTask("first", 5l);
+		writer.write("second", Diagnostic.error(0, null, "Error {}", 2));
+		writer.endTask("second", 6l);
+		writer.close();
+
+		String[] lines = out.toString().split("\n");
+		Assertions.assertEquals(5, lines.length);
+		JSONParser parser = new JSONParser();
+		JSONObject error = (JSONObject)parser.parse(lines[0]);
+		Assertions.assertEquals("diagnostic", error.get("type"));
+		Assertions.assertEquals(5l, error.get("line"));
+		Assertions.assertEquals("a\"b", error.get("data"));
+		Assertions.assertFalse(((JSONObject)parser.parse(lines[1])).containsKey("line"));
+		JSONObject first = (JSONObject)parser.parse(lines[2]);
+		Assertions.assertEquals("task", first.get("type"));
+		Assertions.assertEquals(1l, first.get("errors"));
+		Assertions.assertEquals(1l, first.get("warnings"));
+		JSONObject second = (JSONObject)parser.parse(lines[4]);
+		Assertions.assertEquals("second", second.get("task"));
+		Assertions.assertEquals(1l, second.get("errors"));
+		Assertions.assertEquals(0l, second.get("warnings"));
+	}
+
+
+	private static Map<String, long[]> taskCounts(JSONObject report){
+		Map<String, long[]> counts = new HashMap<>();
+		for(Object task : (JSONArray)report.get("tasks")){
+			JSONObject summary = (JSONObject)task;
+			counts.put((String)summary.get("task"), new long[]{(Long)summary.get("errors"), (Long)summary.get("warnings")});
+		}
+		return counts;
+	}
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+class MpscRingBufferTest{
+
+	@Test
+	void offerAndPoll(){
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+		Assertions.assertEquals(4, buffer.capacity());
+		Assertions.assertTrue(buffer.isEmpty());
+		for(int i = 0; i < 4; i ++)
+			Assertions.assertTrue(buffer.offer(i));
+		Assertions.assertFalse(buffer.offer(4));
+		Assertions.assertEquals(4, buffer.size());
+
+		Assertions.assertEquals(0, buffer.poll());
+		Assertions.assertTrue(buffer.offer(4));
+		for(int i = 1; i < 5; i ++)
+			Assertions.assertEquals(i, buffer.poll());
+		Assertions.assertNull(buffer.poll());
+		Assertions.assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	void drain(){
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(16);
+		for(int i = 0; i < 10; i ++)
+			buffer.offer(i);
+
+		List<Integer> drained = new ArrayList<>();
+		Assertions.assertEquals(6, buffer.drain(drained::add, 6));
+		Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5), drained);
+		Assertions.assertEquals(4, buffer.drain(drained::add, 6));
+		Assertions.assertEquals(10, drained.size());
+	}
+
+	@Test
+	void multipleProducers() throws InterruptedException{
+		int producers = 4;
+		int elementsPerProducer = 100_000;
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+
+		Thread[] threads = new Thread[producers];
+		for(int p = 0; p < producers; p ++){
+			int producer = p;
+			threads[p] = new Thread(() -> {
+				for(int i = 0; i < elementsPerProducer; i ++)
+					buffer.put(producer * elementsPerProducer + i);
+			});
+			threads[p].start();
+		}
+
+		int[] lastSeen = new int[producers];
+		Arrays.fill(lastSeen, -1);
+		int received = 0;
+		while(received < producers * elementsPerProducer){
+			Integer element = buffer.poll();
+			if(element == null){
+				Thread.onSpinWait();
+				continue;
+			}
+
+			//elements of the same producer must come out in order
+			int producer = element / elementsPerProducer;
+			int value = element % elementsPerProducer;
+			Assertions.assertEquals(lastSeen[producer] + 1, value);
+			lastSeen[producer] = value;
+			received ++;
+		}
+		for(Thread thread : threads)
+			thread.join();
+
+		Assertions.assertTrue(buffer.isEmpty());
+	}
+
+}
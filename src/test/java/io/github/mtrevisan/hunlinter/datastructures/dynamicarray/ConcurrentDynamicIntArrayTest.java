@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.dynamicarray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+
+class ConcurrentDynamicIntArrayTest{
+
+	@Test
+	void parallelAdd(){
+		ConcurrentDynamicIntArray array = new ConcurrentDynamicIntArray(100);
+
+		IntStream.range(0, 1_000_000)
+			.parallel()
+			.forEach(array::add);
+
+		Assertions.assertEquals(1_000_000, array.size());
+		int[] values = array.toArray();
+		Arrays.sort(values);
+		for(int i = 0; i < values.length; i ++)
+			Assertions.assertEquals(i, values[i]);
+		AtomicLong sum = new AtomicLong();
+		array.forEach(sum::addAndGet);
+		Assertions.assertEquals(1_000_000l * 999_999 / 2, sum.get());
+	}
+
+	@Test
+	void emptyArray(){
+		ConcurrentDynamicIntArray array = new ConcurrentDynamicIntArray();
+
+		Assertions.assertTrue(array.isEmpty());
+		Assertions.assertEquals(0, array.toArray().length);
+	}
+
+}
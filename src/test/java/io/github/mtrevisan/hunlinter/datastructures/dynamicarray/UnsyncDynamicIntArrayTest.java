@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.dynamicarray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class UnsyncDynamicIntArrayTest{
+
+	@Test
+	void forEachAndToArray(){
+		UnsyncDynamicIntArray array = new UnsyncDynamicIntArray();
+
+		for(int i = 0; i < 100_000; i ++)
+			array.add(i);
+
+		int[] values = array.toArray();
+		Assertions.assertEquals(100_000, values.length);
+		for(int i = 0; i < values.length; i ++)
+			Assertions.assertEquals(i, values[i]);
+		AtomicLong sum = new AtomicLong();
+		array.forEach(sum::addAndGet);
+		Assertions.assertEquals(100_000l * 99_999 / 2, sum.get());
+	}
+
+	@Test
+	void pop(){
+		UnsyncDynamicIntArray array = new UnsyncDynamicIntArray();
+		for(int i = 0; i < 1_000; i ++)
+			array.push(i);
+
+		for(int i = 999; i >= 0; i --)
+			Assertions.assertEquals(i, array.pop());
+
+		Assertions.assertTrue(array.isEmpty());
+		Assertions.assertEquals(0, array.toArray().length);
+	}
+
+	@Test
+	void remove(){
+		UnsyncDynamicIntArray array = new UnsyncDynamicIntArray();
+		for(int i = 0; i < 300; i ++)
+			array.add(i);
+
+		for(int i = 0; i < 100; i ++)
+			array.remove();
+
+		Assertions.assertEquals(200, array.size());
+		Assertions.assertEquals(199, array.get(199));
+		int[] values = array.toArray();
+		Assertions.assertEquals(200, values.length);
+		for(int i = 0; i < values.length; i ++)
+			Assertions.assertEquals(i, values[i]);
+	}
+
+	@Test
+	void shrinkAndRegrow(){
+		UnsyncDynamicIntArray array = new UnsyncDynamicIntArray();
+		for(int i = 0; i < 10_000; i ++)
+			array.add(i);
+
+		array.shrink(3);
+
+		Assertions.assertEquals(3, array.size());
+		Assertions.assertArrayEquals(new int[]{0, 1, 2}, array.toArray());
+
+		for(int i = 3; i < 5_000; i ++)
+			array.add(-i);
+
+		Assertions.assertEquals(5_000, array.size());
+		Assertions.assertEquals(2, array.get(2));
+		Assertions.assertEquals(-3, array.get(3));
+		Assertions.assertEquals(-4_999, array.get(4_999));
+		AtomicLong sum = new AtomicLong();
+		array.forEach(sum::addAndGet);
+		Assertions.assertEquals(3 - (5_000l * 4_999 / 2 - 3), sum.get());
+	}
+
+	@Test
+	void log2(){
+		for(int k = 0; k < 31; k ++){
+			Assertions.assertEquals(k, Location.log2(1 << k));
+			if(k > 0)
+				Assertions.assertEquals(k - 1, Location.log2((1 << k) - 1));
+		}
+		Assertions.assertEquals(30, Location.log2(Integer.MAX_VALUE));
+	}
+
+	@Test
+	void locationsAreDistinct(){
+		Set<Long> locations = new HashSet<>();
+		for(int i = 0; i < 100_000; i ++)
+			Assertions.assertTrue(locations.add(((long)Location.block(i) << 32) | Location.element(i)));
+	}
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSATestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+
+class ExternalSequenceSorterTest{
+
+	@Test
+	void inMemory() throws IOException{
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(1024 * 1024);
+		sorter.add(new byte[]{2, 1});
+		sorter.add(new byte[]{1});
+		sorter.add(new byte[]{2, 1});
+		sorter.add(new byte[]{(byte)0xFF});
+
+		Assertions.assertEquals(4, sorter.size());
+		Assertions.assertEquals(0, sorter.getRunsCount());
+		List<byte[]> sorted = new ArrayList<>();
+		sorter.forEachSorted(sorted::add);
+		Assertions.assertEquals(3, sorted.size());
+		Assertions.assertArrayEquals(new byte[]{1}, sorted.get(0));
+		Assertions.assertArrayEquals(new byte[]{2, 1}, sorted.get(1));
+		Assertions.assertArrayEquals(new byte[]{(byte)0xFF}, sorted.get(2));
+		Assertions.assertEquals(0, sorter.size());
+	}
+
+	@Test
+	void spilledRuns() throws IOException{
+		Random random = new Random(0l);
+		TreeSet<byte[]> expected = new TreeSet<>(LexicographicalComparator.lexicographicalComparator());
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(2048);
+		for(int i = 0; i < 5_000; i ++){
+			byte[] sequence = new byte[1 + random.nextInt(4)];
+			for(int j = 0; j < sequence.length; j ++)
+				sequence[j] = (byte)(random.nextInt(6) + (j == 0? 0: 250));
+			sorter.add(sequence);
+			expected.add(sequence);
+		}
+
+		Assertions.assertTrue(sorter.getRunsCount() > 1);
+		List<byte[]> sorted = new ArrayList<>();
+		sorter.forEachSorted(sorted::add);
+		Assertions.assertEquals(expected.size(), sorted.size());
+		int index = 0;
+		for(byte[] sequence : expected)
+			Assertions.assertTrue(Arrays.equals(sequence, sorted.get(index ++)));
+		Assertions.assertEquals(0, sorter.getRunsCount());
+	}
+
+	@Test
+	void concurrentSpills() throws IOException{
+		Random random = new Random(3l);
+		List<byte[]> input = new ArrayList<>();
+		for(int i = 0; i < 20_000; i ++){
+			byte[] sequence = new byte[1 + random.nextInt(6)];
+			random.nextBytes(sequence);
+			input.add(sequence);
+		}
+		TreeSet<byte[]> expected = new TreeSet<>(LexicographicalComparator.lexicographicalComparator());
+		expected.addAll(input);
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(4096);
+
+		IntStream.range(0, input.size() / 10)
+			.parallel()
+			.forEach(i -> {
+				if((i & 1) == 0)
+					sorter.addAll(input.subList(i * 10, i * 10 + 10));
+				else
+					for(int j = i * 10; j < i * 10 + 10; j ++)
+						sorter.add(input.get(j));
+			});
+
+		Assertions.assertEquals(input.size(), sorter.size());
+		Assertions.assertTrue(sorter.getRunsCount() > 1);
+		List<byte[]> sorted = new ArrayList<>();
+		sorter.forEachSorted(sorted::add);
+		Assertions.assertEquals(expected.size(), sorted.size());
+		int index = 0;
+		for(byte[] sequence : expected)
+			Assertions.assertTrue(Arrays.equals(sequence, sorted.get(index ++)));
+	}
+
+	@Test
+	void buildAutomaton() throws IOException{
+		Random random = new Random(17l);
+		List<byte[]> input = new ArrayList<>();
+		for(int i = 0; i < 5_000; i ++){
+			byte[] sequence = new byte[1 + random.nextInt(10)];
+			for(int j = 0; j < sequence.length; j ++)
+				sequence[j] = (byte)random.nextInt(30);
+			input.add(sequence);
+		}
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(4096);
+		for(byte[] sequence : input)
+			sorter.add(sequence);
+		FSABuilder builder = new FSABuilder();
+		sorter.forEachSorted(builder::add);
+		FSAAbstract fsa = builder.complete();
+
+		FSATestUtils.checkCorrect(input, fsa);
+	}
+
+}
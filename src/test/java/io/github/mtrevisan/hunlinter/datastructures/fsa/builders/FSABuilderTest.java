@@ -122,6 +122,18 @@ class FSABuilderTest{
 		FSATestUtils.checkMinimal(fsa);
 	}
 
+	@Test
+	void random25000_smallPagesOffHeap(){
+		List<byte[]> in = generateRandom(25_000, 1, 20, 0, 255);
+
+		//pages are not a multiple of the arc size, so some arcs span two pages
+		FSABuilder builder = new FSABuilder(1, true);
+		FSAAbstract fsa = builder.build(in);
+
+		FSATestUtils.checkCorrect(in, fsa);
+		FSATestUtils.checkMinimal(fsa);
+	}
+
 	/** Generate a sorted list of random sequences. */
 	private List<byte[]> generateRandom(int count, int lengthMin, int lengthMax, int alphabetMin, int alphabetMax){
 		final List<byte[]> input = new ArrayList<>();
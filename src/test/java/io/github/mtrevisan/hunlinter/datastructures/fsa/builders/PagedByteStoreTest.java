@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+class PagedByteStoreTest{
+
+	@Test
+	void capacity(){
+		PagedByteStore store = new PagedByteStore(10, false);
+
+		Assertions.assertEquals(0, store.capacity());
+		store.ensureCapacity(17);
+		Assertions.assertEquals(32, store.capacity());
+	}
+
+	@Test
+	void intAcrossPages(){
+		PagedByteStore store = new PagedByteStore(8, true);
+		store.ensureCapacity(24);
+
+		store.setInt(6, 0x1234_5678);
+		store.setInt(16, 0xCAFE_BABE);
+
+		Assertions.assertEquals(0x1234_5678, store.getInt(6));
+		Assertions.assertEquals((byte)0x12, store.get(6));
+		Assertions.assertEquals((byte)0x78, store.get(9));
+		Assertions.assertEquals(0xCAFE_BABE, store.getInt(16));
+	}
+
+	@Test
+	void copyAcrossPages(){
+		PagedByteStore store = new PagedByteStore(8, false);
+		store.ensureCapacity(40);
+		for(int i = 0; i < 13; i ++)
+			store.set(3 + i, (byte)i);
+		store.or(3, 0x80);
+
+		store.copy(3, 21, 13);
+
+		Assertions.assertTrue(store.equals(3, 21, 13));
+		Assertions.assertEquals((byte)0x80, store.get(21));
+		Assertions.assertEquals((byte)12, store.get(33));
+		store.set(33, (byte)0);
+		Assertions.assertFalse(store.equals(3, 21, 13));
+	}
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.fsa.builders;
+
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSAAbstract;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.FSATestUtils;
+import io.github.mtrevisan.hunlinter.datastructures.fsa.serializers.CFSASerializer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+class PartitionedFSABuilderTest{
+
+	@Test
+	void emptyInput() throws IOException{
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(1024);
+
+		FSAAbstract fsa = PartitionedFSABuilder.build(sorter, 4, null);
+
+		FSATestUtils.checkCorrect(List.of(), fsa);
+	}
+
+	@Test
+	void sharedSuffixes() throws IOException{
+		List<byte[]> input = List.of(new byte[]{'a', 'x', 'y'}, new byte[]{'b', 'x', 'y'}, new byte[]{'c', 'x', 'y'},
+			new byte[]{'d', 'x'});
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(1024 * 1024);
+		for(int i = input.size() - 1; i >= 0; i --)
+			sorter.add(input.get(i));
+
+		FSAAbstract fsa = PartitionedFSABuilder.build(sorter, 4, null);
+
+		FSATestUtils.checkCorrect(input, fsa);
+		FSATestUtils.checkMinimal(fsa);
+	}
+
+	@Test
+	void sameAsSequential() throws IOException{
+		Random random = new Random(0l);
+		List<byte[]> input = new ArrayList<>();
+		ExternalSequenceSorter sorter = new ExternalSequenceSorter(16 * 1024);
+		for(int i = 0; i < 20_000; i ++){
+			byte[] sequence = new byte[1 + random.nextInt(12)];
+			for(int j = 0; j < sequence.length; j ++)
+				sequence[j] = (byte)(j == 0? random.nextInt(256): 'a' + random.nextInt(4));
+			input.add(sequence);
+			sorter.add(sequence);
+		}
+		AtomicLong added = new AtomicLong();
+
+		FSAAbstract fsa = PartitionedFSABuilder.build(sorter, 5, added::incrementAndGet);
+
+		FSATestUtils.checkCorrect(input, fsa);
+		FSATestUtils.checkMinimal(fsa);
+		input.sort(LexicographicalComparator.lexicographicalComparator());
+		FSAAbstract sequential = new FSABuilder()
+			.build(input.stream().map(ByteBuffer::wrap).distinct().map(ByteBuffer::array).toList());
+		Assertions.assertEquals(input.stream().map(ByteBuffer::wrap).distinct().count(), added.get());
+		Assertions.assertEquals(countStates(sequential), countStates(fsa));
+		FSATestUtils.checkCorrect(input, FSAAbstract.read(new ByteArrayInputStream(serialize(fsa))));
+	}
+
+	private static int countStates(FSAAbstract fsa){
+		int[] states = {0};
+		fsa.visitPostOrder(state -> {
+			states[0] ++;
+			return true;
+		});
+		return states[0];
+	}
+
+	private static byte[] serialize(FSAAbstract fsa) throws IOException{
+		return new CFSASerializer()
+			.serialize(fsa, new ByteArrayOutputStream(), null)
+			.toByteArray();
+	}
+
+}
@@ -29,12 +29,14 @@ import io.github.mtrevisan.hunlinter.datastructures.fsa.FSATestUtils;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSABuilder;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.FSAFlags;
 import io.github.mtrevisan.hunlinter.datastructures.fsa.builders.LexicographicalComparator;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
 import io.github.mtrevisan.hunlinter.services.text.StringHelper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -177,6 +179,25 @@ class CFSASerializerTest{
 		Assertions.assertEquals(Arrays.asList("0 a", "1 aba", "2 ac", "3 b", "4 ba", "5 c"), result);
 	}
 
+	@Test
+	void readMemoryMapped() throws IOException{
+		List<String> input = Arrays.asList("a", "aba", "ac", "b", "ba", "c");
+		input.sort(Comparator.naturalOrder());
+
+		List<byte[]> in = input.stream()
+			.map(StringHelper::getRawBytes)
+			.collect(Collectors.toList());
+		FSABuilder builder = new FSABuilder();
+		FSAAbstract fsa1 = builder.build(in);
+
+		byte[] fsaData = createSerializer().serialize(fsa1, new ByteArrayOutputStream(), null).toByteArray();
+		File file = FileHelper.createDeleteOnExitFile("fsa", ".fsa", fsaData);
+
+		FSAAbstract fsa2 = FSAAbstract.read(file.toPath());
+
+		FSATestUtils.checkCorrect(in, fsa2);
+	}
+
 	private FSASerializerInterface createSerializer(){
 		return new CFSASerializer();
 	}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.datastructures.symbols;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+class SymbolListTest{
+
+	@Test
+	void intern(){
+		SymbolTable symbols = new SymbolTable();
+
+		int a = symbols.intern("a");
+		int b = symbols.intern("b");
+
+		Assertions.assertEquals(a, symbols.intern(new String("a")));
+		Assertions.assertNotEquals(a, b);
+		Assertions.assertEquals("b", symbols.symbol(b));
+		Assertions.assertEquals(SymbolTable.NOT_FOUND, symbols.idOf("c"));
+		Assertions.assertEquals(2, symbols.size());
+	}
+
+	@Test
+	void containsAndEquals(){
+		SymbolTable symbols = new SymbolTable();
+
+		SymbolList list = SymbolList.of(symbols, new String[]{"B", "A"});
+
+		Assertions.assertTrue(list.contains("A"));
+		Assertions.assertFalse(list.contains("C"));
+		Assertions.assertEquals(Arrays.asList("B", "A"), list);
+		Assertions.assertEquals(List.of("A", "B"), list.sorted());
+		Assertions.assertEquals(Arrays.asList("A", "B").hashCode(), list.sorted().hashCode());
+	}
+
+	@Test
+	void unionAndWithout(){
+		SymbolTable symbols = new SymbolTable();
+		SymbolList list = SymbolList.of(symbols, new String[]{"A", "B"});
+
+		SymbolList union = list.union(Arrays.asList("C", "A"));
+		SymbolList without = union.without("B");
+
+		Assertions.assertEquals(List.of("A", "B", "C"), union);
+		Assertions.assertEquals(List.of("A", "C"), without);
+		Assertions.assertSame(without, without.without("D"));
+		Assertions.assertEquals(List.of("A", "B"), list);
+	}
+
+	@Test
+	void containsIdOnUnsortedIds(){
+		SymbolTable symbols = new SymbolTable();
+		for(int i = 0; i < 20; i ++)
+			symbols.intern(Integer.toString(i));
+		SymbolList list = SymbolList.of(symbols, new String[]{"17", "3", "11", "0"}).sorted();
+
+		Assertions.assertEquals(List.of("0", "11", "17", "3"), list);
+		Assertions.assertTrue(list.containsId(symbols.idOf("3")));
+		Assertions.assertTrue(list.containsId(symbols.idOf("17")));
+		Assertions.assertFalse(list.containsId(symbols.idOf("4")));
+		Assertions.assertFalse(list.containsId(SymbolTable.NOT_FOUND));
+		Assertions.assertEquals(3, list.indexOf("3"));
+		Assertions.assertTrue(list.containsAnyId(new int[]{symbols.idOf("5"), symbols.idOf("11")}));
+		Assertions.assertFalse(list.containsAnyId(new int[]{symbols.idOf("5"), SymbolTable.NOT_FOUND}));
+	}
+
+	@Test
+	void internNullable(){
+		SymbolTable symbols = new SymbolTable();
+
+		int a = symbols.internNullable("a");
+		int[] ids = symbols.internNullable(new String[]{null, "a", "b"});
+
+		Assertions.assertEquals(SymbolTable.NOT_FOUND, symbols.internNullable((String)null));
+		Assertions.assertArrayEquals(new int[]{SymbolTable.NOT_FOUND, a, symbols.idOf("b")}, ids);
+		Assertions.assertEquals(2, symbols.size());
+	}
+
+}
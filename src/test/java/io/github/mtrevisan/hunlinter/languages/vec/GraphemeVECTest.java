@@ -222,4 +222,12 @@ class GraphemeVECTest{
 		Assertions.assertTrue(GraphemeVEC.isHyatus("spüo"));
 	}
 
+	@Test
+	void sst(){
+		//short words without vowels
+		Assertions.assertFalse(GraphemeVEC.isDiphtong("sst"));
+		Assertions.assertFalse(GraphemeVEC.isHyatus("sst"));
+		Assertions.assertFalse(GraphemeVEC.isEterophonicSequence("sst"));
+	}
+
 }
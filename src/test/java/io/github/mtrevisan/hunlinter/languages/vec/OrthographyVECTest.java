@@ -54,6 +54,18 @@ class OrthographyVECTest{
 		Assertions.assertEquals(input, word);
 	}
 
+	@Test
+	void sst(){
+		//regression: short words without vowels used to throw
+		String input = "sst";
+		String word = orthography.correctOrthography(input);
+		Assertions.assertEquals("st", word);
+
+		input = "ss";
+		word = orthography.correctOrthography(input);
+		Assertions.assertEquals("s", word);
+	}
+
 	@Test
 	void h(){
 		String input = "h";
@@ -96,4 +108,14 @@ class OrthographyVECTest{
 		Assertions.assertEquals(input, word);
 	}
 
+	@Test
+	void rewrites(){
+		Assertions.assertSame("cia", orthography.correctOrthography("cia"));
+		Assertions.assertEquals("xl", orthography.correctOrthography("sl"));
+		Assertions.assertEquals("ju", orthography.correctOrthography("iu"));
+		Assertions.assertEquals("k", orthography.correctOrthography("hk"));
+		Assertions.assertEquals("đen", orthography.correctOrthography("dhen"));
+		Assertions.assertEquals("ganba", orthography.correctOrthography("gamba"));
+	}
+
 }
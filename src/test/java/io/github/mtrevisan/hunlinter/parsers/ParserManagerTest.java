@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers;
+
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
+import io.github.mtrevisan.hunlinter.parsers.hyphenation.HyphenationParser;
+import io.github.mtrevisan.hunlinter.languages.DictionaryCorrectnessChecker;
+import io.github.mtrevisan.hunlinter.services.Packager;
+import io.github.mtrevisan.hunlinter.workers.exceptions.ProjectNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+class ParserManagerTest{
+
+	private static final String LANGUAGE = "xxx";
+
+	@TempDir
+	Path folder;
+
+	private Packager packager;
+	private ParserManager parserManager;
+
+
+	@BeforeEach
+	void setUp() throws IOException, SAXException, ProjectNotFoundException{
+		Files.createDirectories(folder.resolve("META-INF"));
+		Files.writeString(folder.resolve("META-INF/manifest.xml"), """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<manifest:manifest xmlns:manifest="http://openoffice.org/2001/manifest">
+				<manifest:file-entry manifest:media-type="application/vnd.sun.star.configuration-data" manifest:full-path="dictionaries.xcu"/>
+				<manifest:file-entry manifest:media-type="application/vnd.sun.star.configuration-data" manifest:full-path="paths.xcu"/>
+			</manifest:manifest>
+			""");
+		Files.writeString(folder.resolve("dictionaries.xcu"), """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<oor:component-data xmlns:oor="http://openoffice.org/2001/registry" oor:name="Linguistic" oor:package="org.openoffice.Office">
+				<node oor:name="ServiceManager">
+					<node oor:name="Dictionaries">
+						<node oor:name="HunSpellDic_xxx" oor:op="fuse">
+							<prop oor:name="Locations" oor:type="oor:string-list">
+								<value>%origin%/dictionaries/xxx.aff %origin%/dictionaries/xxx.dic</value>
+							</prop>
+							<prop oor:name="Locales" oor:type="oor:string-list">
+								<value>xxx</value>
+							</prop>
+						</node>
+						<node oor:name="HyphDic_xxx" oor:op="fuse">
+							<prop oor:name="Locations" oor:type="oor:string-list">
+								<value>%origin%/dictionaries/hyph_xxx.dic</value>
+							</prop>
+							<prop oor:name="Locales" oor:type="oor:string-list">
+								<value>xxx</value>
+							</prop>
+						</node>
+					</node>
+				</node>
+			</oor:component-data>
+			""");
+		Files.writeString(folder.resolve("paths.xcu"), """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<oor:component-data xmlns:oor="http://openoffice.org/2001/registry" oor:name="Paths" oor:package="org.openoffice.Office">
+				<node oor:name="Paths">
+					<node oor:name="AutoCorrect" oor:op="fuse">
+						<node oor:name="InternalPaths">
+							<node oor:name="%origin%/autocorr" oor:op="fuse"/>
+						</node>
+					</node>
+				</node>
+			</oor:component-data>
+			""");
+		Files.createDirectories(folder.resolve("dictionaries"));
+		Files.writeString(folder.resolve("dictionaries/xxx.aff"), "SET UTF-8\nSFX A Y 1\nSFX A 0 s .\n");
+		Files.writeString(folder.resolve("dictionaries/xxx.dic"), "2\nfoo/A\nbar\n");
+		Files.writeString(folder.resolve("dictionaries/hyph_xxx.dic"), "UTF-8\n1b1\n");
+		Files.createDirectories(folder.resolve("autocorr"));
+		writeExceptions(folder.resolve("autocorr/" + Packager.FILENAME_SENTENCE_EXCEPTIONS), "abc.");
+		writeExceptions(folder.resolve("autocorr/" + Packager.FILENAME_WORD_EXCEPTIONS), "ABc");
+
+		packager = new Packager();
+		packager.reload(folder);
+		packager.extractConfigurationFolders(LANGUAGE);
+
+		parserManager = new ParserManager(packager);
+		parserManager.openAffixFile(packager.getAffixFile());
+		parserManager.openHyphenationFile(packager.getHyphenationFile());
+		parserManager.getCorrectnessChecker();
+		parserManager.prepareDictionaryFile(packager.getDictionaryFile());
+		parserManager.openSentenceExceptionsFile(packager.getSentenceExceptionsFile());
+		parserManager.openWordExceptionsFile(packager.getWordExceptionsFile());
+	}
+
+	@Test
+	void reloadSentenceExceptions() throws IOException{
+		AffixData affixData = parserManager.getAffixData();
+		DictionaryParser dicParser = parserManager.getDicParser();
+		HyphenationParser hypParser = parserManager.getHypParser();
+		DictionaryCorrectnessChecker checker = parserManager.getChecker();
+		WordGenerator wordGenerator = parserManager.getWordGenerator();
+		Assertions.assertEquals(1, parserManager.getSexParser().getExceptionsCounter());
+
+		File sexFile = packager.getSentenceExceptionsFile();
+		writeExceptions(sexFile.toPath(), "abc.", "def.");
+		parserManager.reloadComponent(sexFile.toPath());
+
+		Assertions.assertEquals(2, parserManager.getSexParser().getExceptionsCounter());
+		Assertions.assertEquals(1, parserManager.getWexParser().getExceptionsCounter());
+		Assertions.assertSame(affixData, parserManager.getAffixData());
+		Assertions.assertSame(dicParser, parserManager.getDicParser());
+		Assertions.assertSame(hypParser, parserManager.getHypParser());
+		Assertions.assertSame(checker, parserManager.getChecker());
+		Assertions.assertSame(wordGenerator, parserManager.getWordGenerator());
+	}
+
+	@Test
+	void reloadHyphenation() throws IOException{
+		AffixData affixData = parserManager.getAffixData();
+		DictionaryParser dicParser = parserManager.getDicParser();
+		HyphenationParser hypParser = parserManager.getHypParser();
+		WordGenerator wordGenerator = parserManager.getWordGenerator();
+
+		File hypFile = packager.getHyphenationFile();
+		Files.writeString(hypFile.toPath(), "UTF-8\n1b1\n1c1\n");
+		parserManager.reloadComponent(hypFile.toPath());
+
+		//the hyphenator and its dependents are rebuilt
+		Assertions.assertNotSame(hypParser, parserManager.getHypParser());
+		Assertions.assertNotSame(wordGenerator, parserManager.getWordGenerator());
+		//the other parsers are left alone
+		Assertions.assertSame(affixData, parserManager.getAffixData());
+		Assertions.assertSame(dicParser, parserManager.getDicParser());
+		Assertions.assertEquals(1, parserManager.getSexParser().getExceptionsCounter());
+		Assertions.assertEquals(1, parserManager.getWexParser().getExceptionsCounter());
+	}
+
+	@Test
+	void reloadAidByAbsolutePath() throws IOException{
+		//the aid file is known by a relative path, whereas the file listener reports the absolute one
+		File aidFile = parserManager.getAidFile();
+		Assertions.assertFalse(aidFile.isAbsolute());
+		Files.createDirectories(aidFile.toPath().getParent());
+		try{
+			Files.writeString(aidFile.toPath(), "UTF-8\naid0\naid1\n");
+			WordGenerator wordGenerator = parserManager.getWordGenerator();
+
+			parserManager.reloadComponent(aidFile.getAbsoluteFile().toPath());
+
+			Assertions.assertEquals(2, parserManager.getAidParser().getLines().size());
+			Assertions.assertSame(wordGenerator, parserManager.getWordGenerator());
+		}
+		finally{
+			Files.deleteIfExists(aidFile.toPath());
+		}
+	}
+
+	@Test
+	void postponedReload() throws IOException{
+		File sexFile = packager.getSentenceExceptionsFile();
+		writeExceptions(sexFile.toPath(), "abc.", "def.");
+
+		parserManager.postponeReloadComponent(sexFile.toPath());
+		Assertions.assertEquals(1, parserManager.getSexParser().getExceptionsCounter());
+
+		parserManager.reloadPostponedComponents();
+		Assertions.assertEquals(2, parserManager.getSexParser().getExceptionsCounter());
+	}
+
+	@Test
+	void unchangedSaveIsIgnored() throws IOException{
+		parserManager.fileModified(packager.getHyphenationFile().toPath());
+		HyphenationParser hypParser = parserManager.getHypParser();
+
+		//saving without changing the content does not reload anything
+		parserManager.fileModified(packager.getHyphenationFile().toPath());
+
+		Assertions.assertSame(hypParser, parserManager.getHypParser());
+	}
+
+
+	private static void writeExceptions(Path path, String... exceptions) throws IOException{
+		StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<block-list:block-list xmlns:block-list=\"http://openoffice.org/2001/block-list\">\n");
+		for(String exception : exceptions)
+			sb.append("\t<block-list:block block-list:abbreviated-name=\"").append(exception).append("\"/>\n");
+		sb.append("</block-list:block-list>\n");
+		Files.writeString(path, sb);
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary;
+
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+
+
+class DictionaryIndexTest{
+
+	private static final String CONTENT = "7\r\nzèta\r\nalfa\r\nbeta\r\n\r\nb\na\nc";
+
+
+	@Test
+	void linesAndSections() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic", CONTENT.getBytes(StandardCharsets.UTF_8));
+
+		DictionaryIndex index = DictionaryIndex.create(dicFile.toPath(), StandardCharsets.UTF_8, Comparator.naturalOrder(), "key");
+
+		Assertions.assertEquals(8, index.getLinesCount());
+		Assertions.assertEquals(2, index.getSectionsCount());
+		Assertions.assertEquals(0, index.searchSection(2));
+		Assertions.assertEquals(-1, index.searchSection(4));
+		Assertions.assertEquals(1, index.searchSection(7));
+		Assertions.assertEquals(5, index.getNextSectionStart(1));
+		Assertions.assertEquals(-1, index.getNextSectionStart(5));
+		Assertions.assertEquals(1, index.getPreviousSectionStart(5));
+		Assertions.assertEquals(new DictionaryParser.ByteRange(3, 22), index.getSectionByteRange(1));
+		Assertions.assertEquals(List.of("alfa", "beta", "", "b"),
+			index.readLines(dicFile.toPath(), StandardCharsets.UTF_8, 2, 6));
+		Assertions.assertEquals(List.of("c"), index.readLines(dicFile.toPath(), StandardCharsets.UTF_8, 7, 8));
+	}
+
+	@Test
+	void persistence() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic", CONTENT.getBytes(StandardCharsets.UTF_8));
+		Path indexPath = Files.createTempFile("xxx", ".idx");
+		indexPath.toFile().deleteOnExit();
+		DictionaryIndex index = DictionaryIndex.create(dicFile.toPath(), StandardCharsets.UTF_8, Comparator.naturalOrder(), "key");
+
+		index.write(indexPath);
+		DictionaryIndex readIndex = DictionaryIndex.read(indexPath, "key");
+
+		Assertions.assertNull(DictionaryIndex.read(indexPath, "other key"));
+		Assertions.assertTrue(readIndex.matches(dicFile.toPath()));
+		Assertions.assertEquals(index.getLinesCount(), readIndex.getLinesCount());
+		Assertions.assertEquals(index.getSectionByteRange(5), readIndex.getSectionByteRange(5));
+		Assertions.assertEquals(List.of("zèta", "alfa"), readIndex.readLines(dicFile.toPath(), StandardCharsets.UTF_8, 1, 3));
+	}
+
+	@Test
+	void updateSortedSection() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic", CONTENT.getBytes(StandardCharsets.UTF_8));
+		DictionaryIndex index = DictionaryIndex.create(dicFile.toPath(), StandardCharsets.UTF_8, Comparator.naturalOrder(), "key");
+
+		byte[] sortedSection = "alfa\r\nbeta\r\nzèta\r\n".getBytes(StandardCharsets.UTF_8);
+		Files.write(dicFile.toPath(), ("7\r\nalfa\r\nbeta\r\nzèta\r\n\r\nb\na\nc").getBytes(StandardCharsets.UTF_8));
+		index.updateSortedSection(1, sortedSection);
+
+		Assertions.assertEquals(1, index.getSectionsCount());
+		Assertions.assertEquals(-1, index.searchSection(1));
+		Assertions.assertEquals(List.of("alfa", "beta", "zèta"), index.readLines(dicFile.toPath(), StandardCharsets.UTF_8, 1, 4));
+	}
+
+	@Test
+	void contentChangedWithSameStamp() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic", CONTENT.getBytes(StandardCharsets.UTF_8));
+		DictionaryIndex index = DictionaryIndex.create(dicFile.toPath(), StandardCharsets.UTF_8, Comparator.naturalOrder(), "key");
+		FileTime lastModified = Files.getLastModifiedTime(dicFile.toPath());
+
+		Assertions.assertTrue(index.verifyContent(dicFile.toPath()));
+
+		//same length, same modification time, different content
+		Files.write(dicFile.toPath(), CONTENT.replace("alfa", "alfo").getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(dicFile.toPath(), lastModified);
+
+		Assertions.assertTrue(index.matches(dicFile.toPath()));
+		Assertions.assertFalse(index.verifyContent(dicFile.toPath()));
+	}
+
+	@Test
+	void verifyAfterUpdateSortedSection() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic", CONTENT.getBytes(StandardCharsets.UTF_8));
+		DictionaryIndex index = DictionaryIndex.create(dicFile.toPath(), StandardCharsets.UTF_8, Comparator.naturalOrder(), "key");
+
+		byte[] sortedSection = "alfa\r\nbeta\r\nzèta\r\n".getBytes(StandardCharsets.UTF_8);
+		Files.write(dicFile.toPath(), ("7\r\nalfa\r\nbeta\r\nzèta\r\n\r\nb\na\nc").getBytes(StandardCharsets.UTF_8));
+		index.updateSortedSection(1, sortedSection);
+
+		Assertions.assertFalse(index.verifyContent(dicFile.toPath()));
+
+		index.updateFileStamp(dicFile.toPath());
+
+		Assertions.assertTrue(index.verifyContent(dicFile.toPath()));
+	}
+
+}
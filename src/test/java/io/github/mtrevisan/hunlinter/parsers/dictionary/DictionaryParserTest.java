@@ -33,6 +33,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 
 class DictionaryParserTest{
@@ -110,4 +112,16 @@ class DictionaryParserTest{
 		Assertions.assertEquals("c3", replaced);
 	}
 
+	@Test
+	void boundaryByteRanges() throws IOException{
+		File dicFile = FileHelper.createDeleteOnExitFile("xxx", ".dic",
+			"5\r\nzèta\r\nalfa\r\nbeta\r\n\r\nb\r\na".getBytes(StandardCharsets.UTF_8));
+		DictionaryParser dicParser = new DictionaryParser(dicFile, "xxx", StandardCharsets.UTF_8);
+
+		Assertions.assertEquals(Map.of(1, 3), dicParser.getBoundaries());
+		DictionaryParser.ByteRange range = dicParser.getBoundaryByteRange(1);
+		Assertions.assertEquals(new DictionaryParser.ByteRange(3, 22), range);
+		Assertions.assertNull(dicParser.getBoundaryByteRange(5));
+	}
+
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+
+class AffixAppendingIndexTest extends TestBase{
+
+	@Test
+	void candidates() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"SFX A Y 3",
+			"SFX A 0 a .",
+			"SFX A 0 ba .",
+			"SFX A 0 c .",
+			"PFX B Y 2",
+			"PFX B 0 b .",
+			"PFX B 0 bc .",
+			"SFX C Y 1",
+			"SFX C o 0 o"
+		);
+		loadData(affFile, language);
+
+		AffixAppendingIndex index = new AffixAppendingIndex(affixData.getRuleEntries());
+		List<AffixAppendingIndex.Candidate> candidates = index.getCandidates("bcba");
+
+		Assertions.assertEquals(5, candidates.size());
+		Assertions.assertEquals("SFX A 0 a .", candidates.get(0).affixEntry().toString());
+		Assertions.assertEquals("SFX A 0 ba .", candidates.get(1).affixEntry().toString());
+		Assertions.assertEquals("PFX B 0 b .", candidates.get(2).affixEntry().toString());
+		Assertions.assertEquals("PFX B 0 bc .", candidates.get(3).affixEntry().toString());
+		Assertions.assertEquals("SFX C o 0 o", candidates.get(4).affixEntry().toString());
+		for(AffixAppendingIndex.Candidate candidate : candidates)
+			Assertions.assertTrue(candidate.affixEntry().canInverseApplyTo("bcba"));
+	}
+
+	@Test
+	void noCandidates() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"SFX A Y 1",
+			"SFX A 0 a .",
+			"PFX B Y 1",
+			"PFX B 0 b ."
+		);
+		loadData(affFile, language);
+
+		AffixAppendingIndex index = new AffixAppendingIndex(affixData.getRuleEntries());
+		List<AffixAppendingIndex.Candidate> candidates = index.getCandidates("ccc");
+
+		Assertions.assertTrue(candidates.isEmpty());
+	}
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.text.PermutationsWithRepetitions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+@SuppressWarnings("ALL")
+class CompoundIteratorTest extends TestBase{
+
+	@Test
+	void sameAsListBasedGenerator() throws IOException{
+		List<List<Inflection>> components = loadComponents();
+
+		for(boolean forbidTriples : new boolean[]{false, true})
+			for(boolean simplifyTriples : new boolean[]{false, true}){
+				List<String> expected = listBasedCompounds(components, "X", forbidTriples, simplifyTriples);
+				List<String> words = compounds(components, 0, components.get(0).size(), forbidTriples, simplifyTriples);
+
+				Assertions.assertEquals(expected, words, "forbid triples " + forbidTriples + ", simplify triples " + simplifyTriples);
+			}
+	}
+
+	@Test
+	void splitByFirstComponent() throws IOException{
+		List<List<Inflection>> components = loadComponents();
+
+		List<String> words = new ArrayList<>();
+		for(int i = 0; i < components.get(0).size(); i ++)
+			words.addAll(compounds(components, i, i + 1, true, false));
+
+		Assertions.assertEquals(compounds(components, 0, components.get(0).size(), true, false), words);
+	}
+
+	@Test
+	void prefixFilter() throws IOException{
+		List<List<Inflection>> components = loadComponents();
+
+		List<String> words = new ArrayList<>();
+		CompoundIterator itr = new CompoundIterator(components, 0, components.get(0).size(), "X", false, false, false,
+			prefix -> prefix.toString().startsWith("ee"));
+		while(itr.hasNext())
+			words.add(itr.next().word());
+
+		List<String> expected = new ArrayList<>(listBasedCompounds(components, "X", false, false));
+		expected.removeIf(word -> word.startsWith("ee"));
+		Assertions.assertEquals(expected, words);
+	}
+
+	@Test
+	void compoundFlagSameAsListBasedGenerator() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"COMPOUNDMIN 1",
+			"CHECKCOMPOUNDTRIPLE",
+			"COMPOUNDFLAG A");
+		loadData(affFile, language);
+
+		String[] words = new String[]{"foo", "ooh", "eel", "opera", "bar", "xy", "kl", "mnp", "qrs", "tuv", "wz", "ij", "gh", "cd"};
+		String[] inputCompounds = Arrays.stream(words)
+			.map(word -> word + "/A")
+			.toArray(String[]::new);
+		int limit = 500;
+		//parallel generation, split by first component, bounded by the limit
+		List<String> compounds = wordGenerator.applyCompoundFlag(inputCompounds, limit, 3)
+			.stream()
+			.map(Inflection::getWord)
+			.toList();
+
+		List<String> expected = new ArrayList<>();
+		for(int[] permutation : new PermutationsWithRepetitions(words.length, 3, false).permutations(limit)){
+			List<List<Inflection>> components = new ArrayList<>(permutation.length);
+			for(int index : permutation)
+				components.add(List.of(createInflection(words[index], "A", null)));
+			for(String compound : listBasedCompounds(components, null, true, false))
+				if(expected.size() < limit && !expected.contains(compound))
+					expected.add(compound);
+		}
+		Assertions.assertEquals(expected, compounds);
+	}
+
+
+	private List<List<Inflection>> loadComponents() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"FORBIDDENWORDFLAG X");
+		loadData(affFile, language);
+
+		List<Inflection> words = Arrays.asList(
+			createInflection("foo", null, null),
+			createInflection("ooh", null, null),
+			createInflection("bad", "X", null),
+			createInflection("eel", null, null),
+			createInflection("opera", null, null)
+		);
+		return Arrays.asList(words, words, words);
+	}
+
+	private static List<String> compounds(List<List<Inflection>> components, int firstIndexStart, int firstIndexEnd,
+			boolean forbidTriples, boolean simplifyTriples){
+		List<String> words = new ArrayList<>();
+		CompoundIterator itr = new CompoundIterator(components, firstIndexStart, firstIndexEnd, "X", false, forbidTriples,
+			simplifyTriples, null);
+		while(itr.hasNext())
+			words.add(itr.next().word());
+		return words;
+	}
+
+	/** The list-based generator: composes every tuple of the Cartesian product from scratch, then discards the invalid ones. */
+	private static List<String> listBasedCompounds(List<List<Inflection>> components, String forbiddenWordFlag, boolean forbidTriples,
+			boolean simplifyTriples){
+		List<String> words = new ArrayList<>();
+		StringBuilder sb = new StringBuilder();
+		int[] indexes = new int[components.size()];
+		boolean completed = false;
+		while(!completed){
+			sb.setLength(0);
+			for(int i = 0; i < indexes.length; i ++){
+				Inflection next = components.get(i).get(indexes[i]);
+				if(next.hasContinuationFlag(forbiddenWordFlag)){
+					sb.setLength(0);
+					break;
+				}
+
+				String nextCompound = next.getWord();
+				boolean containsTriple = CompoundIterator.containsTriple(sb, nextCompound);
+				if(containsTriple && simplifyTriples)
+					nextCompound = nextCompound.substring(1);
+				else if(containsTriple && forbidTriples){
+					sb.setLength(0);
+					break;
+				}
+				sb.append(nextCompound);
+			}
+			if(!sb.isEmpty())
+				words.add(sb.toString());
+
+			//obtain next tuple
+			int i = indexes.length - 1;
+			while(i >= 0){
+				indexes[i] ++;
+				if(indexes[i] < components.get(i).size())
+					break;
+
+				indexes[i --] = 0;
+			}
+			completed = (i == -1);
+		}
+		return words;
+	}
+
+}
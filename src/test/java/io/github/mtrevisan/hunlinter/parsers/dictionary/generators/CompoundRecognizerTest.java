@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import io.github.mtrevisan.hunlinter.services.text.PermutationsWithRepetitions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+
+class CompoundRecognizerTest extends TestBase{
+
+	@Test
+	void compoundRuleWithBoundaryAffixes() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"COMPOUNDRULE 1",
+			"COMPOUNDRULE vw",
+			"SFX A Y 5",
+			"SFX A 0 e .",
+			"SFX A 0 er .",
+			"SFX A 0 en .",
+			"SFX A 0 em .",
+			"SFX A 0 es .");
+		loadData(affFile, language);
+
+		String[] inputCompounds = new String[]{
+			"arbeits/v",
+			"scheu/Aw",
+			"farbig/A"
+		};
+		CompoundRecognizer recognizer = wordGenerator.createCompoundRulesRecognizer(inputCompounds, "vw");
+
+		List<Inflection> words = wordGenerator.applyCompoundRules(inputCompounds, "vw", 10);
+		for(Inflection word : words)
+			Assertions.assertTrue(recognizer.isCompound(word.getWord()), word.getWord());
+		Assertions.assertEquals(Arrays.asList("arbeits", "scheu"), recognizer.segment("arbeitsscheu"));
+		Assertions.assertEquals(Collections.emptyList(), recognizer.segment("arbeitsscheue"));
+		Assertions.assertFalse(recognizer.isCompound("scheuarbeits"));
+		Assertions.assertFalse(recognizer.isCompound("arbeitsfarbig"));
+		Assertions.assertFalse(recognizer.isCompound("arbeitsscheux"));
+		Assertions.assertFalse(recognizer.isCompound("arbeits"));
+	}
+
+	@Test
+	void infiniteCompoundRule() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"COMPOUNDMIN 1",
+			"COMPOUNDRULE 1",
+			"COMPOUNDRULE A*B*C*");
+		loadData(affFile, language);
+
+		String[] inputCompounds = new String[]{
+			"a/A",
+			"b/B",
+			"c/BC"
+		};
+		CompoundRecognizer recognizer = wordGenerator.createCompoundRulesRecognizer(inputCompounds, "A*B*C*");
+
+		List<Inflection> words = wordGenerator.applyCompoundRules(inputCompounds, "A*B*C*", 100);
+		for(Inflection word : words)
+			Assertions.assertTrue(recognizer.isCompound(word.getWord()), word.getWord());
+		Assertions.assertTrue(recognizer.isCompound("aaaabcbcc"));
+		Assertions.assertEquals(Arrays.asList("a", "a", "b", "c", "b", "c"), recognizer.segment("aabcbc"));
+		Assertions.assertFalse(recognizer.isCompound("a"));
+		Assertions.assertFalse(recognizer.isCompound("ba"));
+		Assertions.assertFalse(recognizer.isCompound("abd"));
+	}
+
+	@Test
+	void compoundFlag() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"COMPOUNDMIN 1",
+			"COMPOUNDFLAG A",
+			"CHECKCOMPOUNDTRIPLE");
+		loadData(affFile, language);
+
+		String[] inputCompounds = new String[]{
+			"foo/A",
+			"bar/A",
+			"oo/A",
+			"xy/A"
+		};
+		CompoundRecognizer recognizer = wordGenerator.createCompoundFlagRecognizer(inputCompounds, 3);
+
+		Assertions.assertTrue(recognizer.isCompound("foobar"));
+		Assertions.assertTrue(recognizer.isCompound("barxyfoo"));
+		Assertions.assertEquals(Arrays.asList("bar", "oo"), recognizer.segment("baroo"));
+		Assertions.assertFalse(recognizer.isCompound("foooo"));
+		Assertions.assertFalse(recognizer.isCompound("barxyfoobar"));
+		Assertions.assertFalse(recognizer.isCompound("bar"));
+
+		recognizer = wordGenerator.createCompoundFlagRecognizer(inputCompounds, PermutationsWithRepetitions.MAX_COMPOUNDS_INFINITY);
+
+		Assertions.assertTrue(recognizer.isCompound("barxyfoobar"));
+	}
+
+	@Test
+	void dictionary() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"COMPOUNDMIN 1",
+			"COMPOUNDFLAG A",
+			"COMPOUNDRULE 2",
+			"COMPOUNDRULE vw",
+			"COMPOUNDRULE vz");
+		File dicFile = FileHelper.createDeleteOnExitFile(language, ".dic",
+			"5",
+			"foo/A",
+			"bar/A",
+			"baz",
+			"arbeits/v",
+			"scheu/w");
+		loadData(affFile, dicFile, language);
+
+		Predicate<String> recognizer = wordGenerator.createCompoundRecognizer(dicFile, affixData.getCharset());
+
+		Assertions.assertTrue(recognizer.test("foobar"));
+		Assertions.assertTrue(recognizer.test("arbeitsscheu"));
+		Assertions.assertFalse(recognizer.test("foobaz"));
+		Assertions.assertFalse(recognizer.test("scheuarbeits"));
+		Assertions.assertFalse(recognizer.test("foo"));
+	}
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.parsers.dictionary.generators;
+
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixParser;
+import io.github.mtrevisan.hunlinter.parsers.vos.DictionaryEntry;
+import io.github.mtrevisan.hunlinter.parsers.vos.Inflection;
+import io.github.mtrevisan.hunlinter.services.system.BoundedCache;
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class InflectionCacheTest{
+
+	@Test
+	void reuseUntilLineOrAffixChange() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"SFX A Y 1",
+			"SFX A 0 s .");
+		AffixParser affParser = new AffixParser();
+		affParser.parse(affFile, language);
+		InflectionCache cache = new InflectionCache();
+		WordGenerator wordGenerator = new WordGenerator(affParser.getAffixData(), null, null, cache);
+
+		List<Inflection> inflections = wordGenerator.applyAffixRules("foo/A");
+
+		Assertions.assertEquals(2, inflections.size());
+		Assertions.assertSame(inflections, wordGenerator.applyAffixRules(new String("foo/A")));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> inflections.remove(0));
+		//an edited line is expanded again
+		Assertions.assertEquals(1, wordGenerator.applyAffixRules("foo").size());
+
+		//a new generator sharing the cache reuses the expansions
+		WordGenerator otherWordGenerator = new WordGenerator(affParser.getAffixData(), null, null, cache);
+		Assertions.assertSame(inflections, otherWordGenerator.applyAffixRules("foo/A"));
+
+		//reloading the affix file invalidates them
+		affParser.parse(affFile, language);
+		List<Inflection> reloadedInflections = wordGenerator.applyAffixRules("foo/A");
+		Assertions.assertNotSame(inflections, reloadedInflections);
+		Assertions.assertEquals(inflections, reloadedInflections);
+	}
+
+	@Test
+	void hitsOnSubsetOfFullPass() throws IOException{
+		String language = "xxx";
+		File affFile = FileHelper.createDeleteOnExitFile(language, ".aff",
+			"SET UTF-8",
+			"SFX A Y 1",
+			"SFX A 0 s .",
+			"SFX B Y 3",
+			"SFX B 0 a .",
+			"SFX B 0 e .",
+			"SFX B 0 i .");
+		AffixParser affParser = new AffixParser();
+		affParser.parse(affFile, language);
+		//smaller than the whole dictionary, larger than the lines with the flag
+		InflectionCache cache = new InflectionCache(2_000);
+		WordGenerator wordGenerator = new WordGenerator(affParser.getAffixData(), null, null, cache);
+		List<String> lines = new ArrayList<>();
+		for(int i = 0; i < 1_000; i ++)
+			lines.add("w" + i + (i % 4 == 0? "/A": "/B"));
+
+		//full pass (as the rules reducer does): only the lines with the flag go through the cache
+		List<String> linesWithFlag = new ArrayList<>();
+		for(String line : lines){
+			DictionaryEntry dicEntry = wordGenerator.createFromDictionaryLine(line);
+			if(dicEntry.hasContinuationFlag("A")){
+				wordGenerator.applyAffixRules(line);
+				linesWithFlag.add(line);
+			}
+			else
+				wordGenerator.applyAffixRules(dicEntry);
+		}
+		//second read of the lines with the flag (as the reduction check does)
+		for(String line : linesWithFlag)
+			wordGenerator.applyAffixRules(line);
+
+		BoundedCache.Statistics statistics = cache.getStatistics();
+		Assertions.assertEquals(250, statistics.hits());
+		Assertions.assertEquals(250, statistics.misses());
+		Assertions.assertEquals(0, statistics.evictions());
+		Assertions.assertEquals(0.5, statistics.hitRate());
+	}
+
+}
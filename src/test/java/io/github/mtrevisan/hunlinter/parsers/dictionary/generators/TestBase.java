@@ -59,7 +59,7 @@ class TestBase{
 
 	protected Inflection createInflection(String word, String continuationFlags, String morphologicalFields){
 		FlagParsingStrategy strategy = affixData.getFlagParsingStrategy();
-		return new Inflection(word, continuationFlags, morphologicalFields, null, strategy);
+		return new Inflection(word, continuationFlags, morphologicalFields, null, strategy, affixData.getSymbolTable());
 	}
 
 }
@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.parsers.vos;
 
+import io.github.mtrevisan.hunlinter.datastructures.symbols.SymbolTable;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.FlagParsingStrategy;
 import io.github.mtrevisan.hunlinter.parsers.affix.strategies.ParsingStrategyFactory;
 import io.github.mtrevisan.hunlinter.parsers.enums.AffixType;
@@ -233,7 +234,7 @@ class AffixEntryTest{
 
 
 	private AffixEntry createAffixEntry(final String line, final RuleEntry parent, final FlagParsingStrategy strategy){
-		return new AffixEntry(line, 0, parent.getType(), parent.getFlag(), strategy, null, null);
+		return new AffixEntry(line, 0, parent.getType(), parent.getFlag(), strategy, new SymbolTable(), null, null);
 	}
 
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services;
+
+import io.github.mtrevisan.hunlinter.services.system.FileHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+
+class ParallelZipWriterTest{
+
+	@TempDir
+	Path folder;
+
+
+	@Test
+	void write() throws IOException{
+		Path dir = Files.createDirectory(folder.resolve("dictionaries"));
+		Path affix = Files.writeString(dir.resolve("xx.aff"), "# comment\nSET UTF-8\n\nTRY abc # trailing\n");
+		byte[] binary = new byte[100_000];
+		for(int i = 0; i < binary.length; i ++)
+			binary[i] = (byte)(i % 7);
+		Path data = Files.write(dir.resolve("data.bin"), binary);
+		Path empty = Files.createFile(folder.resolve("empty.txt"));
+		List<ParallelZipWriter.Entry> entries = Arrays.asList(
+			ParallelZipWriter.Entry.ofDirectory("dictionaries", dir),
+			ParallelZipWriter.Entry.ofFile("dictionaries/xx.aff", affix, true),
+			ParallelZipWriter.Entry.ofFile("dictionaries/data.bin", data, false),
+			ParallelZipWriter.Entry.ofFile("èmpty.txt", empty, false)
+		);
+
+		ParallelZipWriter writer = new ParallelZipWriter(Deflater.BEST_COMPRESSION,
+			line -> (line.isEmpty() || line.startsWith("#")? null: line.replaceFirst(" #.*$", "")));
+		Path output = folder.resolve("output.zip");
+		writer.write(entries, output);
+
+		try(ZipFile zip = new ZipFile(output.toFile(), StandardCharsets.UTF_8)){
+			List<String> names = new ArrayList<>();
+			Collections.list(zip.entries())
+				.forEach(entry -> names.add(entry.getName()));
+			Assertions.assertEquals(Arrays.asList("dictionaries/", "dictionaries/xx.aff", "dictionaries/data.bin", "èmpty.txt"), names);
+			Assertions.assertTrue(zip.getEntry("dictionaries/").isDirectory());
+			Assertions.assertEquals("SET UTF-8\nTRY abc\n", new String(read(zip, "dictionaries/xx.aff"), StandardCharsets.UTF_8));
+			Assertions.assertArrayEquals(binary, read(zip, "dictionaries/data.bin"));
+			Assertions.assertEquals(0, read(zip, "èmpty.txt").length);
+		}
+
+		//the second time the entries are read from the cache
+		Path secondOutput = folder.resolve("output2.zip");
+		writer.write(entries, secondOutput);
+
+		Assertions.assertArrayEquals(Files.readAllBytes(output), Files.readAllBytes(secondOutput));
+	}
+
+	@Test
+	void corruptedCacheEntry() throws IOException{
+		byte[] binary = new byte[10_000];
+		for(int i = 0; i < binary.length; i ++)
+			binary[i] = (byte)(i % 13);
+		Path data = Files.write(folder.resolve("corrupted.bin"), binary);
+		List<ParallelZipWriter.Entry> entries = List.of(ParallelZipWriter.Entry.ofFile("corrupted.bin", data, false));
+		ParallelZipWriter writer = new ParallelZipWriter(Deflater.BEST_SPEED, null);
+		Path output = folder.resolve("output.zip");
+		writer.write(entries, output);
+
+		//truncate the cached entry
+		Path cachePath = FileHelper.getCachePath("package-" + FileHelper.calculateContentHash(data) + "-" + Deflater.BEST_SPEED
+			+ ".deflate");
+		byte[] cached = Files.readAllBytes(cachePath);
+		Files.write(cachePath, Arrays.copyOf(cached, cached.length / 2));
+
+		Path secondOutput = folder.resolve("output2.zip");
+		writer.write(entries, secondOutput);
+
+		Assertions.assertArrayEquals(Files.readAllBytes(output), Files.readAllBytes(secondOutput));
+		try(ZipFile zip = new ZipFile(secondOutput.toFile(), StandardCharsets.UTF_8)){
+			Assertions.assertArrayEquals(binary, read(zip, "corrupted.bin"));
+		}
+	}
+
+	@Test
+	void zip64() throws IOException{
+		Path dir = Files.createDirectory(folder.resolve("dir"));
+		Path data = Files.writeString(folder.resolve("data.txt"), "data\n");
+		int directories = 70_000;
+		List<ParallelZipWriter.Entry> entries = new ArrayList<>(directories + 1);
+		for(int i = 0; i < directories; i ++)
+			entries.add(ParallelZipWriter.Entry.ofDirectory("dir" + i, dir));
+		entries.add(ParallelZipWriter.Entry.ofFile("data.txt", data, false));
+
+		ParallelZipWriter writer = new ParallelZipWriter(Deflater.BEST_SPEED, null);
+		Path output = folder.resolve("output.zip");
+		writer.write(entries, output);
+
+		try(ZipFile zip = new ZipFile(output.toFile(), StandardCharsets.UTF_8)){
+			Assertions.assertEquals(directories + 1, zip.size());
+			Assertions.assertTrue(zip.getEntry("dir69999/").isDirectory());
+			Assertions.assertEquals("data\n", new String(read(zip, "data.txt"), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static byte[] read(ZipFile zip, String name) throws IOException{
+		ZipEntry entry = zip.getEntry(name);
+		try(InputStream is = zip.getInputStream(entry)){
+			return is.readAllBytes();
+		}
+	}
+
+}
@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.eventbus;
+
+import io.github.mtrevisan.hunlinter.services.eventbus.events.VetoEvent;
+import io.github.mtrevisan.hunlinter.services.eventbus.exceptions.VetoException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+
+class BasicEventBusTest{
+
+	private static final long TIMEOUT_MILLIS = 10_000l;
+	private static final int LAST = -2;
+
+
+	record Event(int value){}
+
+	static class Receiver{
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+
+		@EventHandler
+		void onEvent(Event event){
+			received.add(event.value());
+		}
+	}
+
+	static final class CountedEvent implements CoalescableEvent{
+		final int value;
+		int occurrences = 1;
+
+		CountedEvent(int value){
+			this.value = value;
+		}
+
+		@Override
+		public void coalesce(CoalescableEvent other){
+			occurrences += (other != this? other.getOccurrences(): 1);
+		}
+
+		@Override
+		public int getOccurrences(){
+			return occurrences;
+		}
+
+		@Override
+		public boolean equals(Object obj){
+			return (obj instanceof CountedEvent other && value == other.value);
+		}
+
+		@Override
+		public int hashCode(){
+			return Integer.hashCode(value);
+		}
+	}
+
+	static class CountedReceiver{
+		final List<Integer> received = new CopyOnWriteArrayList<>();
+		final List<Integer> occurrences = new CopyOnWriteArrayList<>();
+
+		@EventHandler
+		void onEvent(CountedEvent event){
+			received.add(event.value);
+			occurrences.add(event.getOccurrences());
+		}
+	}
+
+	static class BlockingReceiver{
+		final CountDownLatch entered = new CountDownLatch(2);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@EventHandler
+		void onEvent(Event event) throws InterruptedException{
+			entered.countDown();
+			release.await();
+		}
+	}
+
+	static class Vetoer{
+		final List<Integer> seen = new CopyOnWriteArrayList<>();
+
+		@EventHandler(canVeto = true)
+		void onEvent(Event event){
+			seen.add(event.value());
+			if(event.value() % 2 != 0)
+				throw new VetoException();
+		}
+	}
+
+	static class Observer{
+		final List<Integer> seen = new CopyOnWriteArrayList<>();
+
+		@EventHandler(canVeto = true)
+		void onEvent(Event event){
+			seen.add(event.value());
+		}
+	}
+
+	static class VetoReceiver{
+		final List<Integer> vetoed = new CopyOnWriteArrayList<>();
+
+		@EventHandler
+		void onVeto(VetoEvent event){
+			vetoed.add(((Event)event.getSource()).value());
+		}
+	}
+
+
+	@Test
+	void batchedOrdering() throws InterruptedException{
+		BasicEventBus bus = new BasicEventBus(true);
+		bus.start();
+		Receiver receiver = new Receiver();
+		bus.subscribe(receiver);
+
+		int count = 5_000;
+		for(int i = 0; i < count; i ++)
+			bus.publishBatched(new Event(i));
+		bus.publishBatched(new Event(LAST));
+
+		waitFor(() -> receiver.received.contains(LAST));
+		List<Integer> expected = new ArrayList<>(IntStream.range(0, count).boxed().toList());
+		expected.add(LAST);
+		Assertions.assertEquals(expected, receiver.received);
+	}
+
+	@Test
+	void batchedEqualEventsAreAllDelivered() throws InterruptedException{
+		BasicEventBus bus = new BasicEventBus(true);
+		bus.start();
+		Receiver receiver = new Receiver();
+		bus.subscribe(receiver);
+
+		for(int i = 0; i < 10; i ++)
+			bus.publishBatched(new Event(7));
+		bus.publishBatched(new Event(LAST));
+
+		waitFor(() -> receiver.received.contains(LAST));
+		Assertions.assertEquals(11, receiver.received.size());
+		Assertions.assertEquals(10, Collections.frequency(receiver.received, 7));
+	}
+
+	@Test
+	void batchedCoalescableEventsAreCounted() throws InterruptedException{
+		BasicEventBus bus = new BasicEventBus(true);
+		bus.start();
+		CountedReceiver receiver = new CountedReceiver();
+		bus.subscribe(receiver);
+
+		CountedEvent event = new CountedEvent(3);
+		for(int i = 0; i < 1_000; i ++){
+			bus.publishBatched(new CountedEvent(7));
+			bus.publishBatched(new CountedEvent(i % 2));
+		}
+		//the very same instance published twice counts twice
+		bus.publishBatched(event);
+		bus.publishBatched(event);
+		bus.publishBatched(new CountedEvent(LAST));
+
+		waitFor(() -> receiver.received.contains(LAST));
+		//no occurrence is lost, whatever the number of batches
+		Assertions.assertEquals(1_000, occurrencesOf(receiver, 7));
+		Assertions.assertEquals(500, occurrencesOf(receiver, 0));
+		Assertions.assertEquals(500, occurrencesOf(receiver, 1));
+		Assertions.assertEquals(2, occurrencesOf(receiver, 3));
+		//equal events in the same batch are delivered once
+		Assertions.assertTrue(receiver.received.size() < 2_000);
+		Assertions.assertEquals(LAST, receiver.received.getLast());
+	}
+
+	@Test
+	void pendingUntilHandled() throws InterruptedException{
+		//regular handlers are run asynchronously
+		BasicEventBus bus = new BasicEventBus(false);
+		bus.start();
+		BlockingReceiver receiver = new BlockingReceiver();
+		bus.subscribe(receiver);
+
+		bus.publish(new Event(1));
+		bus.publishBatched(new Event(2));
+		Assertions.assertTrue(receiver.entered.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		//both events are out of their queues, but still being handled
+		Assertions.assertTrue(bus.hasPendingEvents());
+
+		receiver.release.countDown();
+		waitFor(() -> !bus.hasPendingEvents());
+	}
+
+	@Test
+	void batchedFlushing() throws InterruptedException{
+		BasicEventBus bus = new BasicEventBus(true);
+		bus.start();
+		Receiver receiver = new Receiver();
+		bus.subscribe(receiver);
+
+		//a lone event is delivered without waiting for a batch to fill up
+		bus.publishBatched(new Event(1));
+		waitFor(() -> receiver.received.size() == 1);
+		waitFor(() -> !bus.hasPendingEvents());
+
+		//the consumer wakes up again after having gone idle
+		Thread.sleep(50l);
+		bus.publishBatched(new Event(2));
+		waitFor(() -> receiver.received.size() == 2);
+		Assertions.assertEquals(List.of(1, 2), receiver.received);
+		Assertions.assertFalse(bus.hasPendingEvents());
+	}
+
+	@Test
+	void batchedVetoesMatchPublish() throws InterruptedException{
+		Assertions.assertEquals(vetoOutcome(BasicEventBus::publish), vetoOutcome(BasicEventBus::publishBatched));
+	}
+
+	@Test
+	void batchedVetoes() throws InterruptedException{
+		List<List<Integer>> outcome = vetoOutcome(BasicEventBus::publishBatched);
+
+		//regular handlers are skipped for vetoed events
+		Assertions.assertEquals(List.of(0, 2, 4, 6, 8, LAST), outcome.get(0));
+		//every veto handler is notified, even when another one vetoes the event
+		Assertions.assertEquals(List.of(LAST, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9), outcome.get(1));
+		//a veto event is published for each veto
+		Assertions.assertEquals(List.of(1, 3, 5, 7, 9), outcome.get(2));
+	}
+
+
+	private static List<List<Integer>> vetoOutcome(BiConsumer<BasicEventBus, Object> publisher) throws InterruptedException{
+		BasicEventBus bus = new BasicEventBus(true);
+		bus.start();
+		Receiver receiver = new Receiver();
+		Vetoer vetoer = new Vetoer();
+		Observer observer = new Observer();
+		VetoReceiver vetoReceiver = new VetoReceiver();
+		bus.subscribe(receiver);
+		bus.subscribe(vetoer);
+		bus.subscribe(observer);
+		bus.subscribe(vetoReceiver);
+
+		for(int i = 0; i < 10; i ++)
+			publisher.accept(bus, new Event(i));
+		publisher.accept(bus, new Event(LAST));
+
+		waitFor(() -> receiver.received.contains(LAST) && vetoReceiver.vetoed.size() == 5);
+		Assertions.assertEquals(11, vetoer.seen.size());
+		return List.of(receiver.received, sorted(observer.seen), sorted(vetoReceiver.vetoed));
+	}
+
+	private static int occurrencesOf(CountedReceiver receiver, int value){
+		int occurrences = 0;
+		for(int i = 0; i < receiver.received.size(); i ++)
+			if(receiver.received.get(i) == value)
+				occurrences += receiver.occurrences.get(i);
+		return occurrences;
+	}
+
+	private static List<Integer> sorted(List<Integer> list){
+		List<Integer> copy = new ArrayList<>(list);
+		Collections.sort(copy);
+		return copy;
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException{
+		long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while(!condition.getAsBoolean()){
+			if(System.currentTimeMillis() > deadline)
+				Assertions.fail("Timeout while waiting for the events to be delivered");
+
+			Thread.sleep(5l);
+		}
+	}
+
+}
@@ -138,4 +138,36 @@ class HunSpellRegexWordGeneratorTest{
 		Assertions.assertEquals(expected, words);
 	}
 
+	@Test
+	void recognizeOneForEach(){
+		String[] regex = new String[]{"abc", "de", "?", "a", "*"};
+
+		HunSpellRegexWordGenerator generator = new HunSpellRegexWordGenerator(regex);
+		HunSpellRegexRecognizer recognizer = generator.compile();
+
+		List<List<String>> words = generator.generateAll(1, 20);
+		for(List<String> word : words)
+			Assertions.assertTrue(recognizer.matches(word), word.toString());
+		Assertions.assertFalse(recognizer.matches(Collections.emptyList()));
+		Assertions.assertFalse(recognizer.matches(Arrays.asList("de", "a")));
+		Assertions.assertFalse(recognizer.matches(Arrays.asList("abc", "a", "de")));
+		Assertions.assertFalse(recognizer.matches(Arrays.asList("abc", "de", "de")));
+	}
+
+	@Test
+	void recognizeAllZeroOrMore(){
+		String[] regex = new String[]{"abc", "*", "de", "*", "a", "*"};
+
+		HunSpellRegexWordGenerator generator = new HunSpellRegexWordGenerator(regex);
+		HunSpellRegexRecognizer recognizer = generator.compile();
+
+		Assertions.assertTrue(recognizer.matches(Collections.emptyList()));
+		Assertions.assertTrue(recognizer.matches(Arrays.asList("abc", "abc", "de", "a", "a")));
+		Assertions.assertTrue(recognizer.matches(Arrays.asList("de", "a")));
+		Assertions.assertFalse(recognizer.matches(Arrays.asList("a", "de")));
+		Assertions.assertFalse(recognizer.matches(Arrays.asList("de", "abc")));
+		Assertions.assertEquals(HunSpellRegexRecognizer.NO_STATE,
+			recognizer.nextState(recognizer.nextState(recognizer.getInitialState(), "a"), "abc"));
+	}
+
 }
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.sorters;
+
+import io.github.mtrevisan.hunlinter.languages.BaseBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+
+class CollationKeySorterTest{
+
+	private static final Random RND = new Random(666);
+	private static final String ALPHABET = "aàbcdđeéèfghiïjklƚmnñoóòprsŧtuüvx -'AÀBÈ";
+
+
+	@Test
+	void naturalOrder(){
+		CollationKeySorter sorter = CollationKeySorter.naturalOrder();
+		String[] data = randomWords(10_000);
+		String[] expected = data.clone();
+		Arrays.sort(expected);
+
+		sorter.sort(data, 0, data.length, true);
+
+		Assertions.assertArrayEquals(expected, data);
+	}
+
+	@Test
+	void sameOrderAsCollator(){
+		CollationKeySorter sorter = BaseBuilder.getSorter("vec-IT");
+		Comparator<String> comparator = sorter.comparator();
+		String[] data = randomWords(10_000);
+		String[] expected = data.clone();
+		Arrays.sort(expected, comparator);
+
+		sorter.sort(data, 0, data.length, true);
+
+		Assertions.assertArrayEquals(expected, data);
+		for(int i = 1; i < data.length; i ++)
+			Assertions.assertEquals(Integer.signum(comparator.compare(data[i - 1], data[i])),
+				Integer.signum(CollationKeySorter.compareSortKeys(sorter.getSortKey(data[i - 1]), sorter.getSortKey(data[i]))));
+	}
+
+	@Test
+	void sortSubList(){
+		CollationKeySorter sorter = BaseBuilder.getSorter("vec-IT");
+		List<String> list = new ArrayList<>(List.of("z", "cavàl", "b", "àla", "ala", "a"));
+
+		sorter.sort(list.subList(1, 5), false);
+
+		Assertions.assertEquals(List.of("z", "ala", "àla", "b", "cavàl", "a"), list);
+	}
+
+
+	private static String[] randomWords(final int count){
+		final String[] words = new String[count];
+		for(int i = 0; i < count; i ++){
+			final StringBuilder sb = new StringBuilder();
+			final int length = 1 + RND.nextInt(8);
+			for(int j = 0; j < length; j ++)
+				sb.append(ALPHABET.charAt(RND.nextInt(ALPHABET.length())));
+			words[i] = sb.toString();
+		}
+		return words;
+	}
+
+}
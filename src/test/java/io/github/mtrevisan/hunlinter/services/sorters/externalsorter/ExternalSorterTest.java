@@ -24,6 +24,7 @@
  */
 package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
 
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +32,10 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
 
 class ExternalSorterTest{
@@ -102,4 +106,41 @@ class ExternalSorterTest{
 		Assertions.assertEquals("a\r\nc\r\ne\r\ng\r\ni\r\nj\r\nk\r\n", Files.readString(outputFile.toPath()));
 	}
 
+	@Test
+	void sortBinaryRunsDistinctResult() throws Exception{
+		ExternalSorterOptions options = ExternalSorterOptions.builder()
+			.charset(StandardCharsets.UTF_8)
+			.binaryRuns()
+			.removeDuplicates()
+			.lineSeparator("\n")
+			.build();
+
+		ExternalSorter.sort(inputFile, options, outputFile);
+
+		Assertions.assertEquals("a\nc\ne\ng\ni\nj\nk\n", Files.readString(outputFile.toPath()));
+	}
+
+	@Test
+	void sortBinaryRunsManyRuns() throws Exception{
+		File in = File.createTempFile("sort", ".in");
+		in.deleteOnExit();
+		List<String> lines = new ArrayList<>();
+		Random random = new Random(0l);
+		for(int i = 0; i < 10_000; i ++)
+			lines.add(Integer.toString(random.nextInt(5_000)));
+		Files.write(in.toPath(), lines, StandardCharsets.UTF_8);
+		ExternalSorterOptions options = ExternalSorterOptions.builder()
+			.charset(StandardCharsets.UTF_8)
+			.sorter(CollationKeySorter.naturalOrder())
+			.binaryRuns()
+			.maxTemporaryFileSize(4_000)
+			.lineSeparator("\n")
+			.build();
+
+		ExternalSorter.sort(in, options, outputFile);
+
+		lines.sort(Comparator.naturalOrder());
+		Assertions.assertEquals(lines, Files.readAllLines(outputFile.toPath(), StandardCharsets.UTF_8));
+	}
+
 }
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.sorters.externalsorter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+class LoserTreeTest{
+
+	@Test
+	void noSources(){
+		LoserTree tree = new LoserTree(0, (i, j) -> 0, i -> true);
+
+		Assertions.assertEquals(-1, tree.winner());
+	}
+
+	@Test
+	void mergeSources(){
+		Random random = new Random(0l);
+		for(int size = 1; size <= 9; size ++){
+			int[][] sources = new int[size][];
+			List<Integer> expected = new ArrayList<>();
+			for(int i = 0; i < size; i ++){
+				sources[i] = random.ints(random.nextInt(20), 0, 50)
+					.sorted()
+					.toArray();
+				Arrays.stream(sources[i]).forEach(expected::add);
+			}
+			expected.sort(null);
+
+			List<Integer> merged = merge(sources);
+
+			Assertions.assertEquals(expected, merged);
+		}
+	}
+
+	@Test
+	void stableOnTies(){
+		int[][] sources = {{1, 2}, {1, 2}, {1}};
+		int[] heads = new int[sources.length];
+		LoserTree tree = new LoserTree(sources.length,
+			(i, j) -> Integer.compare(sources[i][heads[i]], sources[j][heads[j]]),
+			i -> heads[i] == sources[i].length);
+
+		List<Integer> order = new ArrayList<>();
+		int winner;
+		while((winner = tree.winner()) >= 0){
+			order.add(winner);
+			heads[winner] ++;
+			tree.replay();
+		}
+
+		Assertions.assertEquals(List.of(0, 1, 2, 0, 1), order);
+	}
+
+
+	private static List<Integer> merge(int[][] sources){
+		int[] heads = new int[sources.length];
+		LoserTree tree = new LoserTree(sources.length,
+			(i, j) -> Integer.compare(sources[i][heads[i]], sources[j][heads[j]]),
+			i -> heads[i] == sources[i].length);
+
+		List<Integer> merged = new ArrayList<>();
+		int winner;
+		while((winner = tree.winner()) >= 0){
+			merged.add(sources[winner][heads[winner]]);
+			heads[winner] ++;
+			tree.replay();
+		}
+		return merged;
+	}
+
+}
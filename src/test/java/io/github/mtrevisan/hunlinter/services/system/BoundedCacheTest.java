@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.system;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+
+class BoundedCacheTest{
+
+	@Test
+	void hitsAndMisses(){
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 10);
+		AtomicInteger computations = new AtomicInteger();
+		Function<Integer, String> function = key -> {
+			computations.incrementAndGet();
+			return String.valueOf(key);
+		};
+
+		Assertions.assertEquals("1", cache.get(1, function));
+		Assertions.assertEquals("1", cache.get(1, function));
+		Assertions.assertEquals("2", cache.get(2, function));
+
+		Assertions.assertEquals(2, computations.get());
+		BoundedCache.Statistics statistics = cache.getStatistics();
+		Assertions.assertEquals(1, statistics.hits());
+		Assertions.assertEquals(2, statistics.misses());
+		Assertions.assertEquals(0, statistics.evictions());
+		Assertions.assertEquals(2, statistics.size());
+	}
+
+	@Test
+	void evictsUnreferencedFirst(){
+		BoundedCache<Integer, String> cache = new BoundedCache<>("test", 3);
+		for(int i = 0; i < 3; i ++)
+			cache.get(i, String::valueOf);
+		//give a second chance to the oldest entry
+		cache.get(0, String::valueOf);
+
+		cache.get(3, String::valueOf);
+
+		Assertions.assertEquals(3, cache.size());
+		Assertions.assertEquals(1, cache.getStatistics().evictions());
+		AtomicInteger computations = new AtomicInteger();
+		cache.get(0, key -> {
+			computations.incrementAndGet();
+			return String.valueOf(key);
+		});
+		Assertions.assertEquals(0, computations.get());
+	}
+
+	@Test
+	void weightBound(){
+		BoundedCache<String, String> cache = new BoundedCache<>("test", 10, (key, value) -> value.length());
+		cache.get("a", key -> "aaaa");
+		cache.get("b", key -> "bbbb");
+		cache.get("c", key -> "cccc");
+
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertTrue(cache.getStatistics().weight() <= 10);
+	}
+
+	@Test
+	void recursiveComputation(){
+		BoundedCache<Integer, Long> cache = new BoundedCache<>("test", 100);
+		Function<Integer, Long>[] fibonacci = new Function[1];
+		fibonacci[0] = n -> (n < 2? (long)n: cache.get(n - 1, fibonacci[0]) + cache.get(n - 2, fibonacci[0]));
+
+		Assertions.assertEquals(12_586_269_025l, cache.get(50, fibonacci[0]));
+	}
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.system;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+
+class FileHelperTest{
+
+	@Test
+	void trimCache() throws IOException{
+		String prefix = "trim-test-" + System.nanoTime() + "-";
+		Path[] files = new Path[4];
+		for(int i = 0; i < files.length; i ++){
+			files[i] = FileHelper.getCachePath(prefix + i + ".bin");
+			Files.write(files[i], new byte[10]);
+			Files.setLastModifiedTime(files[i], FileTime.fromMillis(1_000_000l * (i + 1)));
+		}
+		Path temporary = FileHelper.getCachePath(prefix + "x.tmp");
+		Files.write(temporary, new byte[10]);
+
+		try{
+			FileHelper.trimCache(prefix, ".bin", 3, Long.MAX_VALUE);
+
+			Assertions.assertFalse(Files.exists(files[0]));
+			Assertions.assertTrue(Files.exists(files[1]));
+			Assertions.assertTrue(Files.exists(temporary));
+
+			FileHelper.touchCacheFile(files[1]);
+			FileHelper.trimCache(prefix, ".bin", 3, 25l);
+
+			Assertions.assertTrue(Files.exists(files[1]));
+			Assertions.assertTrue(Files.exists(files[3]));
+			Assertions.assertFalse(Files.exists(files[2]));
+		}
+		finally{
+			for(final Path file : files)
+				Files.deleteIfExists(file);
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+}
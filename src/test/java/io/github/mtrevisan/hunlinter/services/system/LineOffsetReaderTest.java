@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.services.system;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class LineOffsetReaderTest{
+
+	@Test
+	void terminators() throws IOException{
+		byte[] content = "a\nbb\r\nccc\rdd\r\r\ne".getBytes(StandardCharsets.UTF_8);
+
+		List<String> lines = new ArrayList<>();
+		List<Long> starts = new ArrayList<>();
+		try(LineOffsetReader reader = new LineOffsetReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)){
+			String line;
+			while((line = reader.readLine()) != null){
+				lines.add(line);
+				starts.add(reader.getLineStart());
+			}
+			Assertions.assertEquals(content.length, reader.getPosition());
+		}
+
+		Assertions.assertEquals(List.of("a", "bb", "ccc", "dd", "", "e"), lines);
+		Assertions.assertEquals(List.of(0l, 2l, 6l, 10l, 13l, 15l), starts);
+	}
+
+	@Test
+	void sameLinesAsBufferedReader() throws IOException{
+		String[] contents = {"a\nb\n", "a\r\nb", "a\rb\r", "\n\r\n\r", "x\r\r\ny\n\nz", "\r\n"};
+		for(String content : contents)
+			Assertions.assertEquals(readWithBufferedReader(content, StandardCharsets.UTF_8),
+				readWithLineOffsetReader(content, StandardCharsets.UTF_8), () -> "Content " + content.replace("\r", "\\r")
+					.replace("\n", "\\n"));
+	}
+
+	@Test
+	void multiByteCharset() throws IOException{
+		String content = "﻿zèta\r\nàlfa\rbèta\nŧ";
+
+		Assertions.assertEquals(List.of("zèta", "àlfa", "bèta", "ŧ"), readWithLineOffsetReader(content, StandardCharsets.UTF_8));
+		try(LineOffsetReader reader = new LineOffsetReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8)){
+			reader.readLine();
+			//BOM (3 bytes) is counted in the offsets
+			Assertions.assertEquals(3l, reader.getLineStart());
+			reader.readLine();
+			Assertions.assertEquals(3l + 5l + 2l, reader.getLineStart());
+		}
+	}
+
+	@Test
+	void lineBoundaries(){
+		byte[] bytes = "ab\r\ncd\ref\ngh".getBytes(StandardCharsets.US_ASCII);
+
+		Assertions.assertEquals(2, LineOffsetReader.findLineEnd(bytes, 0, bytes.length));
+		Assertions.assertEquals(4, LineOffsetReader.skipTerminator(bytes, 2, bytes.length));
+		Assertions.assertEquals(6, LineOffsetReader.findLineEnd(bytes, 4, bytes.length));
+		Assertions.assertEquals(7, LineOffsetReader.skipTerminator(bytes, 6, bytes.length));
+		Assertions.assertEquals(9, LineOffsetReader.findLineEnd(bytes, 7, bytes.length));
+		Assertions.assertEquals(10, LineOffsetReader.skipTerminator(bytes, 9, bytes.length));
+		Assertions.assertEquals(12, LineOffsetReader.findLineEnd(bytes, 10, bytes.length));
+		Assertions.assertEquals(12, LineOffsetReader.skipTerminator(bytes, 12, bytes.length));
+		//a `\r` at the limit is a terminator on its own
+		Assertions.assertEquals(3, LineOffsetReader.skipTerminator(bytes, 2, 3));
+	}
+
+
+	private static List<String> readWithLineOffsetReader(String content, Charset charset) throws IOException{
+		List<String> lines = new ArrayList<>();
+		try(LineOffsetReader reader = new LineOffsetReader(new ByteArrayInputStream(content.getBytes(charset)), charset)){
+			String line;
+			while((line = reader.readLine()) != null)
+				lines.add(line);
+		}
+		return lines;
+	}
+
+	private static List<String> readWithBufferedReader(String content, Charset charset) throws IOException{
+		List<String> lines = new ArrayList<>();
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content.getBytes(charset)),
+				charset))){
+			String line;
+			while((line = reader.readLine()) != null)
+				lines.add(line);
+		}
+		return lines;
+	}
+
+}
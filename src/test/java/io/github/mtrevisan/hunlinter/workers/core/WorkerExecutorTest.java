@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.core;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+
+class WorkerExecutorTest{
+
+	@Test
+	void boundedPool(){
+		int parallelism = 2;
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+		WorkerExecutor.executeParallel("bounded", parallelism, () -> IntStream.range(0, 200)
+			.parallel()
+			.forEach(i -> {
+				int current = running.incrementAndGet();
+				maxRunning.accumulateAndGet(current, Math::max);
+				threadNames.add(Thread.currentThread().getName());
+				try{
+					Thread.sleep(1l);
+				}
+				catch(InterruptedException ie){
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+			}));
+
+		Assertions.assertTrue(maxRunning.get() <= parallelism, "Too many threads: " + maxRunning.get());
+		Assertions.assertTrue(threadNames.size() <= parallelism, "Too many threads: " + threadNames);
+		for(String threadName : threadNames)
+			Assertions.assertTrue(threadName.startsWith("bounded-"), "Thread outside the pool: " + threadName);
+	}
+
+	@Test
+	void failurePropagation(){
+		IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+			() -> WorkerExecutor.executeParallel("failing", 2, () -> {
+				throw new IllegalStateException("failure");
+			}));
+
+		Assertions.assertEquals("failure", exception.getMessage());
+	}
+
+	@Test
+	void parallelism(){
+		WorkerData workerData = new WorkerData("worker");
+		Assertions.assertEquals(WorkerExecutor.defaultParallelism(), workerData.getParallelism());
+
+		workerData.withSequentialProcessing()
+			.withParallelism(3);
+		Assertions.assertEquals(3, workerData.getParallelism());
+		Assertions.assertFalse(workerData.isParallelProcessing());
+
+		workerData.withParallelism(0);
+		Assertions.assertEquals(WorkerExecutor.defaultParallelism(), workerData.getParallelism());
+	}
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+class WorkerProjectTest{
+
+	private ExecutorService executor;
+
+
+	@BeforeEach
+	void setUp(){
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown(){
+		executor.shutdownNow();
+	}
+
+	@Test
+	void stageOrdering() throws IOException, SAXException, InterruptedException{
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		List<WorkerProject.Stage> stages = List.of(
+			stage("a", events),
+			stage("b", events, "a"),
+			stage("c", events, "a"),
+			stage("d", events, "b", "c"),
+			stage("e", events));
+
+		Map<String, Long> timings = WorkerProject.executeStages(stages, executor, WorkerProjectTest::execute);
+
+		Assertions.assertEquals(5, timings.size());
+		Assertions.assertEquals(10, events.size());
+		Assertions.assertTrue(events.indexOf("end a") < events.indexOf("start b"));
+		Assertions.assertTrue(events.indexOf("end a") < events.indexOf("start c"));
+		Assertions.assertTrue(events.indexOf("end b") < events.indexOf("start d"));
+		Assertions.assertTrue(events.indexOf("end c") < events.indexOf("start d"));
+	}
+
+	@Test
+	void failurePropagation(){
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		IOException failure = new IOException("cannot read a");
+		List<WorkerProject.Stage> stages = List.of(
+			new WorkerProject.Stage("a", () -> {
+				throw failure;
+			}),
+			stage("b", events, "a"),
+			stage("c", events));
+
+		IOException ioe = Assertions.assertThrows(IOException.class,
+			() -> WorkerProject.executeStages(stages, executor, WorkerProjectTest::execute));
+
+		Assertions.assertSame(failure, ioe);
+		//the dependent stage is skipped, the independent one is completed
+		Assertions.assertEquals(List.of("start c", "end c"), events);
+	}
+
+	@Test
+	void runtimeFailurePropagation(){
+		List<WorkerProject.Stage> stages = List.of(
+			new WorkerProject.Stage("a", () -> {
+				throw new IllegalStateException("broken a");
+			}));
+
+		IllegalStateException ise = Assertions.assertThrows(IllegalStateException.class,
+			() -> WorkerProject.executeStages(stages, executor, WorkerProjectTest::execute));
+
+		Assertions.assertEquals("broken a", ise.getMessage());
+	}
+
+
+	private static WorkerProject.Stage stage(String name, List<String> events, String... dependencies){
+		return new WorkerProject.Stage(name, () -> {
+			events.add("start " + name);
+			try{
+				Thread.sleep(10);
+			}
+			catch(InterruptedException ie){
+				Thread.currentThread().interrupt();
+			}
+			events.add("end " + name);
+		}, dependencies);
+	}
+
+	private static long execute(WorkerProject.Stage stage){
+		try{
+			stage.function().execute();
+		}
+		catch(IOException | SAXException e){
+			throw new CompletionException(e);
+		}
+		return 0l;
+	}
+
+}
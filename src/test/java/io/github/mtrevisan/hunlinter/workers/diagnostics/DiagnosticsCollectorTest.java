@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.diagnostics;
+
+import io.github.mtrevisan.hunlinter.workers.exceptions.LinterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+
+class DiagnosticsCollectorTest{
+
+	@Test
+	void sinkRouting(){
+		DiagnosticsCollector collector = new DiagnosticsCollector();
+
+		DiagnosticsSink sink = collector.forLine(3, "foo/A", () -> "rule A");
+		sink.error("Error on {}", "foo");
+		sink.warning("Warning on {}", "bar");
+
+		List<Diagnostic> diagnostics = collector.drain();
+		Assertions.assertEquals(2, diagnostics.size());
+		Diagnostic error = diagnostics.get(0);
+		Assertions.assertEquals(Diagnostic.Severity.ERROR, error.severity());
+		Assertions.assertEquals(3, error.index());
+		Assertions.assertEquals("foo/A", error.data());
+		Assertions.assertEquals("Error on {}", error.code());
+		Assertions.assertEquals("Error on foo (via rule A)", error.getMessage());
+		Diagnostic warning = diagnostics.get(1);
+		Assertions.assertEquals(Diagnostic.Severity.WARNING, warning.severity());
+		Assertions.assertEquals("Warning on bar (via rule A)", warning.getMessage());
+	}
+
+	@Test
+	void ordering(){
+		DiagnosticsCollector collector = new DiagnosticsCollector();
+
+		collector.forLine(7, "c", null).error("third");
+		collector.forLine(2, "a", null).error("first");
+		collector.forLine(5, "b", null).warning("second");
+		collector.forLine(2, "a", null).warning("first bis");
+
+		List<Diagnostic> diagnostics = collector.drain();
+		Assertions.assertEquals(List.of("first", "first bis", "second", "third"),
+			diagnostics.stream().map(Diagnostic::getMessage).toList());
+	}
+
+	@Test
+	void concurrentCollection() throws Exception{
+		int threads = 4;
+		int linesPerThread = 1_000;
+		DiagnosticsCollector collector = new DiagnosticsCollector();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try{
+			List<Future<?>> futures = new ArrayList<>(threads);
+			for(int t = 0; t < threads; t ++){
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					for(int i = 0; i < linesPerThread; i ++){
+						int index = i * threads + offset;
+						collector.forLine(index, "line " + index, null)
+							.error("Error {}", index);
+					}
+				}));
+			}
+			for(Future<?> future : futures)
+				future.get();
+		}
+		finally{
+			executor.shutdown();
+		}
+
+		List<Diagnostic> diagnostics = collector.drain();
+		Assertions.assertEquals(IntStream.range(0, threads * linesPerThread).boxed().toList(),
+			diagnostics.stream().map(Diagnostic::index).toList());
+	}
+
+	@Test
+	void drainClears(){
+		DiagnosticsCollector collector = new DiagnosticsCollector();
+		collector.forLine(0, "a", null).error("first");
+
+		Assertions.assertEquals(1, collector.drain().size());
+		Assertions.assertTrue(collector.drain().isEmpty());
+
+		collector.forLine(1, "b", null).error("second");
+		Assertions.assertEquals(1, collector.drain().size());
+	}
+
+	@Test
+	void throwingSink(){
+		DiagnosticsSink sink = DiagnosticsSink.throwing(0);
+
+		LinterException exception = Assertions.assertThrows(LinterException.class, () -> sink.error("Error on {}", "foo"));
+		Assertions.assertEquals("Error on foo", exception.getMessage());
+	}
+
+}
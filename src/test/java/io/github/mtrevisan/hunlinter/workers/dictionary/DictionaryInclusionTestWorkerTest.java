@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+
+class DictionaryInclusionTestWorkerTest{
+
+	private static final String LANGUAGE = "xxx";
+
+	@TempDir
+	Path folder;
+
+
+	@Test
+	void corruptCacheIsRebuiltFromDictionary() throws IOException{
+		File affFile = folder.resolve(LANGUAGE + ".aff").toFile();
+		Files.writeString(affFile.toPath(), "SET UTF-8\nSFX A Y 1\nSFX A 0 s .\n");
+		File dicFile = folder.resolve(LANGUAGE + ".dic").toFile();
+		Files.write(dicFile.toPath(), List.of("2", "foo/A", "bar"), StandardCharsets.UTF_8);
+
+		AffixParser affParser = new AffixParser();
+		affParser.parse(affFile, LANGUAGE);
+		AffixData affixData = affParser.getAffixData();
+		DictionaryParser dicParser = new DictionaryParser(dicFile, LANGUAGE, affixData.getCharset());
+
+		DictionaryInclusionTestWorker worker = new DictionaryInclusionTestWorker(affixData, dicParser);
+		worker.executeSynchronously();
+		Assertions.assertTrue(worker.isInDictionary("foos"));
+
+		//corrupt the cached automaton
+		List<Path> cachePaths = findCachePaths(dicFile.toPath());
+		Assertions.assertEquals(1, cachePaths.size());
+		Files.write(cachePaths.get(0), new byte[]{1, 2, 3});
+
+		worker = new DictionaryInclusionTestWorker(affixData, dicParser);
+		worker.executeSynchronously();
+		Assertions.assertTrue(worker.isInDictionary("foos"));
+		Assertions.assertTrue(worker.isInDictionary("bar"));
+		Assertions.assertFalse(worker.isInDictionary("bars"));
+
+		//the rewritten cache is valid
+		worker = new DictionaryInclusionTestWorker(affixData, dicParser);
+		worker.executeSynchronously();
+		Assertions.assertTrue(worker.isInDictionary("foo"));
+	}
+
+	private static List<Path> findCachePaths(Path dicPath) throws IOException{
+		String prefix = "inclusion-" + Integer.toHexString(dicPath.toAbsolutePath().normalize().toString().hashCode()) + "-";
+		Path cacheFolder = Path.of(System.getProperty("java.io.tmpdir"), "hunlinter-cache");
+		try(Stream<Path> paths = Files.list(cacheFolder)){
+			return paths.filter(path -> path.getFileName().toString().startsWith(prefix))
+				.toList();
+		}
+	}
+
+}
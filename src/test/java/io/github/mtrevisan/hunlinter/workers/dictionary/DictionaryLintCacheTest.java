@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+class DictionaryLintCacheTest{
+
+	private static final String AFFIX_HASH = "0123456789abcdef";
+
+
+	@Test
+	void hit(){
+		DictionaryLintCache cache = new DictionaryLintCache();
+		lint(cache, AFFIX_HASH, "foo/A", "bar/B");
+
+		boolean valid = cache.begin(AFFIX_HASH, null, null);
+
+		Assertions.assertTrue(valid);
+		DictionaryLintCache.LineResult result = cache.get(cache.keyOf("bar/B"));
+		Assertions.assertNotNull(result);
+		Assertions.assertEquals(1, result.errors());
+		Assertions.assertArrayEquals(new String[]{"B"}, result.usedFlags());
+	}
+
+	@Test
+	void missAfterLineChange(){
+		DictionaryLintCache cache = new DictionaryLintCache();
+		lint(cache, AFFIX_HASH, "foo/A", "bar/B");
+
+		cache.begin(AFFIX_HASH, null, null);
+
+		Assertions.assertNotNull(cache.get(cache.keyOf("foo/A")));
+		Assertions.assertNull(cache.get(cache.keyOf("foo/AB")));
+		Assertions.assertNull(cache.get(cache.keyOf("fooo/A")));
+	}
+
+	@Test
+	void removedLinesAreDropped(){
+		DictionaryLintCache cache = new DictionaryLintCache();
+		lint(cache, AFFIX_HASH, "foo/A", "bar/B");
+		lint(cache, AFFIX_HASH, "foo/A");
+
+		cache.begin(AFFIX_HASH, null, null);
+
+		Assertions.assertNotNull(cache.get(cache.keyOf("foo/A")));
+		Assertions.assertNull(cache.get(cache.keyOf("bar/B")));
+	}
+
+	@Test
+	void invalidationOnAffixChange(){
+		DictionaryLintCache cache = new DictionaryLintCache();
+		lint(cache, AFFIX_HASH, "foo/A", "bar/B");
+		DictionaryLintCache.LineKey oldKey = cache.keyOf("foo/A");
+
+		boolean valid = cache.begin("fedcba9876543210", null, null);
+
+		Assertions.assertFalse(valid);
+		Assertions.assertNull(cache.get(cache.keyOf("foo/A")));
+		Assertions.assertNotEquals(oldKey, cache.keyOf("foo/A"));
+
+		//a result computed against the old rules cannot sneak into the new ones
+		cache.put(oldKey, new DictionaryLintCache.LineResult(0, new String[0]));
+		cache.commit("fedcba9876543210", null, null);
+		Assertions.assertTrue(cache.begin("fedcba9876543210", null, null));
+		Assertions.assertNull(cache.get(cache.keyOf("foo/A")));
+	}
+
+	@Test
+	void invalidationOnClear(){
+		DictionaryLintCache cache = new DictionaryLintCache();
+		lint(cache, AFFIX_HASH, "foo/A");
+
+		cache.clear();
+
+		Assertions.assertFalse(cache.hasResults());
+		Assertions.assertFalse(cache.begin(AFFIX_HASH, null, null));
+		Assertions.assertNull(cache.get(cache.keyOf("foo/A")));
+	}
+
+
+	private static void lint(DictionaryLintCache cache, String affixHash, String... lines){
+		cache.begin(affixHash, null, null);
+		for(String line : lines){
+			int index = line.indexOf('/');
+			cache.put(cache.keyOf(line), new DictionaryLintCache.LineResult(1, new String[]{line.substring(index + 1)}));
+		}
+		cache.commit(affixHash, null, null);
+	}
+
+}
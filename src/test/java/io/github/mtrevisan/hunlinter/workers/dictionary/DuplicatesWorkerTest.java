@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixData;
+import io.github.mtrevisan.hunlinter.parsers.affix.AffixParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.generators.WordGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+class DuplicatesWorkerTest{
+
+	private static final String LANGUAGE = "xxx";
+
+	@TempDir
+	Path folder;
+
+
+	@Test
+	void parallelDuplicates() throws IOException{
+		int words = 20_000;
+		int duplicates = 500;
+		List<String> lines = new ArrayList<>(words + duplicates);
+		for(int i = 0; i < words; i ++)
+			lines.add("w" + i);
+		//repeat some of the words, far apart from the original ones so that they end up on different threads
+		Set<String> expected = new HashSet<>(duplicates);
+		for(int i = 0; i < duplicates; i ++){
+			String word = "w" + (i * 37);
+			expected.add(word);
+			lines.add(lines.size() / 2 + i, word);
+		}
+		lines.addFirst(Integer.toString(lines.size()));
+
+		File affFile = folder.resolve(LANGUAGE + ".aff").toFile();
+		Files.writeString(affFile.toPath(), "SET UTF-8\n");
+		File dicFile = folder.resolve(LANGUAGE + ".dic").toFile();
+		Files.write(dicFile.toPath(), lines, StandardCharsets.UTF_8);
+		File outputFile = folder.resolve("duplicates.txt").toFile();
+
+		AffixParser affParser = new AffixParser();
+		affParser.parse(affFile, LANGUAGE);
+		AffixData affixData = affParser.getAffixData();
+		DictionaryParser dicParser = new DictionaryParser(dicFile, LANGUAGE, affixData.getCharset());
+		WordGenerator wordGenerator = new WordGenerator(affixData, dicParser, null);
+
+		DuplicatesWorker worker = new DuplicatesWorker(LANGUAGE, dicParser, wordGenerator, null, outputFile);
+		worker.executeSynchronously();
+
+		Set<String> reported = new HashSet<>();
+		for(String line : Files.readAllLines(outputFile.toPath(), StandardCharsets.UTF_8))
+			reported.add(line.substring(0, line.indexOf(':')));
+		Assertions.assertEquals(expected, reported);
+	}
+
+}
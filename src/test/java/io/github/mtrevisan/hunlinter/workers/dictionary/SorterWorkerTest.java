@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2019-2022 Mauro Trevisan
+ *
+ * Permission is hereby granted, free of charge, to any person
+ * obtaining a copy of this software and associated documentation
+ * files (the "Software"), to deal in the Software without
+ * restriction, including without limitation the rights to use,
+ * copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the
+ * Software is furnished to do so, subject to the following
+ * conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES
+ * OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT
+ * HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ * FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR
+ * OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.mtrevisan.hunlinter.workers.dictionary;
+
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryIndex;
+import io.github.mtrevisan.hunlinter.parsers.dictionary.DictionaryParser;
+import io.github.mtrevisan.hunlinter.services.sorters.CollationKeySorter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+class SorterWorkerTest{
+
+	private static final CollationKeySorter SORTER = new CollationKeySorter(Collator.getInstance(Locale.ROOT));
+
+	@TempDir
+	Path folder;
+
+
+	@Test
+	void middleSection() throws IOException{
+		String content = "11\nalfa\nbeta\ngama\n\nzeta\nalfa\nbeta\n\ndelta\ngama\nbeta\n";
+
+		String sorted = sortSection(content, StandardCharsets.UTF_8, 0);
+
+		Assertions.assertEquals("11\nalfa\nbeta\ngama\n\nalfa\nbeta\nzeta\n\ndelta\ngama\nbeta\n", sorted);
+	}
+
+	@Test
+	void crlf() throws IOException{
+		String content = "5\r\nzeta\r\nalfa\r\nbeta\r\n\r\nlast\r\n";
+
+		String sorted = sortSection(content, StandardCharsets.UTF_8, 0);
+
+		Assertions.assertEquals("5\r\nalfa\r\nbeta\r\nzeta\r\n\r\nlast\r\n", sorted);
+	}
+
+	@Test
+	void loneCarriageReturn() throws IOException{
+		String content = "4\rzeta\ralfa\rbeta\r\rlast";
+
+		String sorted = sortSection(content, StandardCharsets.UTF_8, 0);
+
+		Assertions.assertEquals("4\ralfa\rbeta\rzeta\r\rlast", sorted);
+	}
+
+	@Test
+	void lastLineWithoutNewline() throws IOException{
+		String content = "3\nzeta\nalfa\nbeta";
+
+		String sorted = sortSection(content, StandardCharsets.UTF_8, 0);
+
+		Assertions.assertEquals("3\nalfa\nbeta\nzeta", sorted);
+	}
+
+	@Test
+	void multiByteCharset() throws IOException{
+		List<String> words = new ArrayList<>(List.of("ŧeta", "èpsilon", "alfa", "đelta"));
+		String content = "4\n" + String.join("\n", words) + "\n";
+
+		String sorted = sortSection(content, StandardCharsets.UTF_8, 0);
+
+		SORTER.sort(words, false);
+		Assertions.assertEquals("4\n" + String.join("\n", words) + "\n", sorted);
+	}
+
+	@Test
+	void wrongLinesCount() throws IOException{
+		String content = "3\nzeta\nalfa\nbeta\n";
+		Path dicPath = write(content, StandardCharsets.UTF_8);
+		DictionaryParser.ByteRange range = createIndex(dicPath, StandardCharsets.UTF_8)
+			.getSectionByteRange(1);
+
+		Assertions.assertNull(SorterWorker.sortSectionInPlace(dicPath, StandardCharsets.UTF_8, SORTER, range, 2));
+		Assertions.assertEquals(content, Files.readString(dicPath, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void misalignedRange() throws IOException{
+		String content = "3\nzeta\nalfa\nbeta\n";
+		Path dicPath = write(content, StandardCharsets.UTF_8);
+
+		//starts in the middle of a line
+		Assertions.assertNull(SorterWorker.sortSectionInPlace(dicPath, StandardCharsets.UTF_8, SORTER,
+			new DictionaryParser.ByteRange(3, 17), 3));
+		//ends in the middle of a line
+		Assertions.assertNull(SorterWorker.sortSectionInPlace(dicPath, StandardCharsets.UTF_8, SORTER,
+			new DictionaryParser.ByteRange(2, 16), 3));
+		Assertions.assertEquals(content, Files.readString(dicPath, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void splitTerminator() throws IOException{
+		String content = "3\r\nzeta\r\nalfa\r\nbeta\r\n";
+		Path dicPath = write(content, StandardCharsets.UTF_8);
+
+		//ends between the `\r` and the `\n` of the last line
+		Assertions.assertNull(SorterWorker.sortSectionInPlace(dicPath, StandardCharsets.UTF_8, SORTER,
+			new DictionaryParser.ByteRange(3, 20), 3));
+		Assertions.assertEquals(content, Files.readString(dicPath, StandardCharsets.UTF_8));
+	}
+
+
+	private String sortSection(String content, Charset charset, int section) throws IOException{
+		Path dicPath = write(content, charset);
+		DictionaryIndex index = createIndex(dicPath, charset);
+		int start = index.getSectionStart(section);
+		int end = index.getSectionEnd(section);
+
+		byte[] sortedSection = SorterWorker.sortSectionInPlace(dicPath, charset, SORTER, index.getSectionByteRange(start),
+			end - start + 1);
+
+		Assertions.assertNotNull(sortedSection);
+		return Files.readString(dicPath, charset);
+	}
+
+	private Path write(String content, Charset charset) throws IOException{
+		Path dicPath = folder.resolve("xxx.dic");
+		Files.write(dicPath, content.getBytes(charset));
+		return dicPath;
+	}
+
+	private static DictionaryIndex createIndex(Path dicPath, Charset charset) throws IOException{
+		return DictionaryIndex.create(dicPath, charset, SORTER.comparator(), "key");
+	}
+
+}